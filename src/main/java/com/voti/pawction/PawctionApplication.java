@@ -1,6 +1,11 @@
 package com.voti.pawction;
 
 import com.voti.pawction.config.AuctionSchedulerProperties;
+import com.voti.pawction.config.BiddingProperties;
+import com.voti.pawction.config.BidAdmissionProperties;
+import com.voti.pawction.config.BidRateLimitProperties;
+import com.voti.pawction.config.LedgerProperties;
+import com.voti.pawction.config.StatementExportProperties;
 import com.voti.pawction.services.user.UserService;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -8,7 +13,8 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.ApplicationContext;
 
 @SpringBootApplication
-@EnableConfigurationProperties(AuctionSchedulerProperties.class)
+@EnableConfigurationProperties({AuctionSchedulerProperties.class, BiddingProperties.class, BidRateLimitProperties.class,
+        BidAdmissionProperties.class, LedgerProperties.class, StatementExportProperties.class})
 public class PawctionApplication {
 
     public static void main(String[] args) {
@@ -7,6 +7,45 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "auction.scheduler")
 public class AuctionSchedulerProperties {
     private boolean enabled = true;
-    private String cron = "*/30 * * * * *";
+    /** Safety-net poll; the close wheel normally closes auctions on time. */
+    private String cron = "0 */5 * * * *";
     private int graceSeconds = 2;
+    /** Close auctions from the in-memory timing wheel as their end time passes. */
+    private boolean wheelEnabled = true;
+    private long wheelTickMs = 50;
+    /** Auctions closed concurrently by one close run, each in its own transaction. */
+    private int closeWorkers = 8;
+    /** Expired auction ids claimed per query. */
+    private int closeBatchSize = 200;
+    /** Attempts per auction before it is left for the next run. */
+    private int closeMaxAttempts = 3;
+    private long closeRetryBackoffMs = 200;
+    /** Expired auctions are split by {@code auctionId mod closeShards}; each shard is leased separately. */
+    private int closeShards = 16;
+    /** Longest a node keeps a shard lease if it dies mid-close; then another node takes the shard over. */
+    private long closeShardLeaseSeconds = 300;
+    /** Finalize bids, pick the winner and release holds with bulk statements on close. */
+    private boolean setBasedClose = true;
+    /** Safety-net sweep of the settlement timer index; timers normally fire on time. */
+    private long settlementSweepMs = 300_000;
+    /** How long a node owns the settlement timers it claimed before others may retry them. */
+    private long settlementLeaseSeconds = 60;
+    /** Due settlement timers leased per claim. */
+    private int settlementClaimBatch = 50;
+    /** Claims a settlement timer gets before it is parked; re-registering the timer resets the count. */
+    private int settlementMaxAttempts = 5;
+    /** How often scheduled auctions starting within the lookahead are picked up and prepared. */
+    private long activationPollMs = 30_000;
+    /** Scheduled auctions are read and prepared this long before their start time. */
+    private long activationLookaheadSeconds = 60;
+    /** Scheduled auctions activated per UPDATE and broadcast per home-feed message. */
+    private int activationBatchSize = 500;
+    /** Prepare close plans for auctions about to end, so the close only applies the plan. */
+    private boolean preCloseEnabled = true;
+    /** Close plans are prepared for auctions ending within this many seconds. */
+    private long preCloseLeadSeconds = 180;
+    /** How often close plans are brought up to date with the bids placed since. */
+    private long preCloseScanMs = 2_000;
+    /** Most close plans kept at once, soonest ending first. */
+    private int preCloseMaxPlans = 5_000;
 }
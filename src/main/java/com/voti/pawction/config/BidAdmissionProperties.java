@@ -0,0 +1,31 @@
+package com.voti.pawction.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "auction.admission")
+public class BidAdmissionProperties {
+    private boolean enabled = true;
+
+    /** Concurrent bids allowed when the limiter starts. */
+    private int initialLimit = 4;
+
+    /** The limit never drops below this. */
+    private int minLimit = 1;
+
+    /**
+     * The limit never grows past this. Keep it below the connection pool size so page views
+     * always find a free connection while bids are shed.
+     */
+    private int maxLimit = 6;
+
+    /** A bid slower than this counts as congestion and shrinks the limit. */
+    private long targetLatencyMs = 250;
+
+    /** Factor the limit is multiplied by on congestion. */
+    private double backoffRatio = 0.9;
+
+    /** Seconds clients are asked to wait before retrying a shed bid. */
+    private int retryAfterSeconds = 1;
+}
@@ -0,0 +1,25 @@
+package com.voti.pawction.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "auction.rate-limit")
+public class BidRateLimitProperties {
+    private boolean enabled = true;
+
+    /** Burst of bids one user may submit before being throttled. */
+    private int perUserCapacity = 5;
+
+    /** Bids per second one user earns back. */
+    private int perUserRefillPerSecond = 2;
+
+    /** Burst of bids one auction accepts across all users. */
+    private int perAuctionCapacity = 50;
+
+    /** Bids per second one auction earns back. */
+    private int perAuctionRefillPerSecond = 25;
+
+    /** Buckets per dimension (rounded up to a power of two); ids that share a stripe share a bucket. */
+    private int stripes = 4096;
+}
@@ -0,0 +1,40 @@
+package com.voti.pawction.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "auction.bidding")
+public class BiddingProperties {
+    /**
+     * How concurrent bids on the same auction are serialized.
+     * <ul>
+     *   <li>{@code LOCKING} – every bid takes a PESSIMISTIC_WRITE lock on the auction row.</li>
+     *   <li>{@code SEQUENCED} – bids are ordered by a single in-memory owner per auction and
+     *       persisted asynchronously; the auction must be served by one node.</li>
+     *   <li>{@code OPTIMISTIC} – bids read the auction without a lock and apply with a
+     *       conditional update on its {@code version}; a losing racer is told it was outbid.</li>
+     * </ul>
+     */
+    public enum Mode { LOCKING, SEQUENCED, OPTIMISTIC }
+
+    private Mode mode = Mode.LOCKING;
+
+    /** Maximum time a caller waits for the sequencer to accept or reject its bid. */
+    private long ackTimeoutMs = 5000;
+
+    /** Attempts an OPTIMISTIC bid makes when the version moved but the bid still beats the price. */
+    private int optimisticMaxAttempts = 3;
+
+    /** How long a submitted idempotency key is answered from memory before falling back to the database. */
+    private long idempotencyTtlSeconds = 600;
+
+    /** Upper bound on remembered idempotency keys; the oldest are dropped first. */
+    private int idempotencyMaxEntries = 10_000;
+
+    /** Soft-close auctions: a bid this many seconds before the end extends the auction. */
+    private int softCloseWindowSeconds = 120;
+
+    /** Soft-close auctions: the extended end time is the bid time plus this many seconds. */
+    private int softCloseExtensionSeconds = 120;
+}
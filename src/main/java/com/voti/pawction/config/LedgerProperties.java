@@ -0,0 +1,36 @@
+package com.voti.pawction.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "ledger")
+public class LedgerProperties {
+    /** Periodically snapshot account balances so reads only sum the journal tail. */
+    private boolean snapshotEnabled = true;
+
+    private long snapshotMs = 600_000;
+
+    /** Accounts with fewer new entries than this keep their current snapshot. */
+    private int snapshotMinEntries = 100;
+
+    /**
+     * Account ids to recompute from the journal at startup, comma-separated, or {@code all}.
+     * Empty by default; see {@link com.voti.pawction.services.wallet.LedgerRebuildRunner}.
+     */
+    private String rebuild;
+
+    /** Run the reconciliation job on {@code reconcileCron}. */
+    private boolean reconcileEnabled = true;
+
+    private String reconcileCron = "0 30 3 * * *";
+
+    /** Account ids per range; each range is checked with a few set-based reads. */
+    private int reconcileRangeSize = 10_000;
+
+    /** Ranges checked at the same time, each on its own connection; keep below the pool size. */
+    private int reconcileParallelism = 4;
+
+    /** Discrepancies kept in the report; all of them are counted and logged. */
+    private int reconcileMaxReported = 1000;
+}
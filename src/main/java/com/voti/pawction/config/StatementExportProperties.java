@@ -0,0 +1,47 @@
+package com.voti.pawction.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+
+@Data
+@ConfigurationProperties(prefix = "statement.export")
+public class StatementExportProperties {
+    /**
+     * Line format of a statement.
+     * <ul>
+     *   <li>{@code CSV} – a header line, then one comma-separated line per row.</li>
+     *   <li>{@code NDJSON} – one JSON object per line.</li>
+     * </ul>
+     */
+    public enum Format { CSV, NDJSON }
+
+    /** Buffer between the row reader and the output, in bytes; the only memory an export holds. */
+    private int bufferBytes = 64 * 1024;
+
+    /**
+     * Exports streamed at once. Each holds a pooled connection until the client has downloaded
+     * it, so further requests are turned away instead of queueing for the pool.
+     */
+    private int maxConcurrentExports = 2;
+
+    /**
+     * File the startup export job writes, e.g. {@code --statement.export.file=/data/statement.csv.gz};
+     * a {@code .gz} name is gzip-compressed. Empty by default; see
+     * {@link com.voti.pawction.services.wallet.StatementExportRunner}.
+     */
+    private String file;
+
+    /** Format of the exported file. */
+    private Format format = Format.CSV;
+
+    /** First day exported, inclusive; open if unset. */
+    private LocalDate from;
+
+    /** Last day exported, inclusive; open if unset. */
+    private LocalDate to;
+
+    /** Exports one account only; platform-wide if unset. */
+    private Long accountId;
+}
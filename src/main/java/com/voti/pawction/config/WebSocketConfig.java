@@ -5,6 +5,7 @@ import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.server.support.HttpSessionHandshakeInterceptor;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -14,12 +15,15 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         // Endpoint clients connect to
         registry.addEndpoint("/ws-auction")
                 .setAllowedOriginPatterns("*")
+                // copies the HTTP session (and its loggedInUser) into the socket for /app/bid
+                .addInterceptors(new HttpSessionHandshakeInterceptor())
                 .withSockJS(); // fallback for browsers without native WebSocket
     }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.setApplicationDestinationPrefixes("/app");
-        registry.enableSimpleBroker("/topic");
+        registry.enableSimpleBroker("/topic", "/queue");
+        registry.setUserDestinationPrefix("/user");
     }
 }
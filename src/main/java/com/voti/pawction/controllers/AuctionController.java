@@ -5,14 +5,18 @@ import com.voti.pawction.dtos.request.AuctionRequest.CreateAuctionRequest;
 import com.voti.pawction.dtos.request.RegisterPetAndAuctionRequest;
 import com.voti.pawction.dtos.request.UserRequest.LoginRequest;
 import com.voti.pawction.dtos.request.UserRequest.RegisterUserRequest;
+import com.voti.pawction.dtos.response.BidDto;
 import com.voti.pawction.dtos.response.PetDto;
 import com.voti.pawction.dtos.response.UserDto;
+import com.voti.pawction.entities.auction.enums.Bid_Status;
 import com.voti.pawction.entities.pet.enums.Category;
 import com.voti.pawction.exceptions.AccountExceptions.InvalidAmountException;
 import com.voti.pawction.exceptions.AuctionExceptions.AuctionInvalidStateException;
 import com.voti.pawction.exceptions.AuctionExceptions.AuctionNotFoundException;
 import com.voti.pawction.exceptions.AuctionExceptions.InvalidAuctionException;
+import com.voti.pawction.exceptions.BidExceptions.BidRateLimitedException;
 import com.voti.pawction.exceptions.BidExceptions.InvalidBidException;
+import com.voti.pawction.exceptions.BidExceptions.OutbidWhileSubmittingException;
 import com.voti.pawction.exceptions.PetExceptions.PetNotFoundException;
 import com.voti.pawction.exceptions.PetExceptions.ValidationException;
 import com.voti.pawction.exceptions.UserExceptions.InvalidCredentialsException;
@@ -20,7 +24,7 @@ import com.voti.pawction.exceptions.UserExceptions.UserEmailExistsException;
 import com.voti.pawction.exceptions.UserExceptions.UserNotFoundException;
 import com.voti.pawction.exceptions.UserExceptions.WeakPasswordException;
 import com.voti.pawction.services.auction.AuctionService;
-import com.voti.pawction.services.auction.BiddingService;
+import com.voti.pawction.services.auction.BidSubmissionService;
 import com.voti.pawction.services.pet.PetService;
 import com.voti.pawction.services.storage.FileStorageService;
 import com.voti.pawction.services.user.UserService;
@@ -45,7 +49,7 @@ public class AuctionController {
     private final UserService userService;
     private final PetService petService;
     private final FileStorageService fileStorageService;
-    private final BiddingService biddingService;
+    private final BidSubmissionService bidSubmissionService;
 
     private boolean isLoggedIn(HttpSession session) {
         return session.getAttribute("loggedInUser") != null;
@@ -112,6 +116,8 @@ public class AuctionController {
     @PostMapping("/auction/bid/place")
     public String increaseBid(@RequestParam Long auctionId,
                               @RequestParam BigDecimal newBidAmount,
+                              @RequestParam(defaultValue = "false") boolean proxy,
+                              @RequestParam(required = false) String idempotencyKey,
                               HttpSession session,
                               RedirectAttributes redirectAttributes) {
 
@@ -123,9 +129,17 @@ public class AuctionController {
         }
 
         try {
-            biddingService.placeBid(user.getUserId(), auctionId, newBidAmount);
-            redirectAttributes.addFlashAttribute("successMessage", "Your bid has been increased successfully!");
-        } catch (AuctionInvalidStateException | InvalidBidException | InvalidAmountException | UserNotFoundException
+            BidDto bid = proxy
+                    ? bidSubmissionService.submitProxy(user.getUserId(), auctionId, newBidAmount, idempotencyKey)
+                    : bidSubmissionService.submit(user.getUserId(), auctionId, newBidAmount, idempotencyKey);
+            if (bid.getStatus() == Bid_Status.OUTBID) {
+                redirectAttributes.addFlashAttribute("errorMessage",
+                        "Another bidder's maximum bid is higher. The price is now $" + bid.getAmount() + " or more.");
+            } else {
+                redirectAttributes.addFlashAttribute("successMessage", "Your bid has been increased successfully!");
+            }
+        } catch (AuctionInvalidStateException | InvalidBidException | OutbidWhileSubmittingException
+                | BidRateLimitedException | InvalidAmountException | UserNotFoundException
                 | AuctionNotFoundException | IllegalArgumentException ex) {
             redirectAttributes.addFlashAttribute("errorMessage", ex.getMessage());
         }
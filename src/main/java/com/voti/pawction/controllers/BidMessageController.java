@@ -0,0 +1,115 @@
+package com.voti.pawction.controllers;
+
+import com.voti.pawction.dtos.request.BidRequest.PlaceBidRequest;
+import com.voti.pawction.dtos.response.BidAckDto;
+import com.voti.pawction.dtos.response.BidDto;
+import com.voti.pawction.dtos.response.UserDto;
+import com.voti.pawction.entities.auction.enums.Bid_Status;
+import com.voti.pawction.exceptions.AccountExceptions.InvalidAmountException;
+import com.voti.pawction.exceptions.AuctionExceptions.AuctionInvalidStateException;
+import com.voti.pawction.exceptions.AuctionExceptions.AuctionNotFoundException;
+import com.voti.pawction.exceptions.BidExceptions.BidOverloadedException;
+import com.voti.pawction.exceptions.BidExceptions.BidRateLimitedException;
+import com.voti.pawction.exceptions.BidExceptions.InvalidBidException;
+import com.voti.pawction.exceptions.BidExceptions.OutbidWhileSubmittingException;
+import com.voti.pawction.exceptions.UserExceptions.UserNotFoundException;
+import com.voti.pawction.services.auction.AuctionService;
+import com.voti.pawction.services.auction.BidSubmissionService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * STOMP counterpart of {@code POST /auction/bid/place}.
+ *
+ * <p>Clients send a {@link PlaceBidRequest} to {@code /app/bid} over the socket they already hold
+ * for auction updates and receive a {@link BidAckDto} on {@code /user/queue/bids}. The bidder is
+ * taken from the HTTP session copied into the socket at handshake time, never from the payload.
+ * Price changes still reach every viewer through the existing {@code /topic} broadcasts.</p>
+ */
+@Controller
+@AllArgsConstructor
+@Slf4j
+public class BidMessageController {
+    private static final String UNEXPECTED_FAILURE = "Your bid could not be placed. Please try again.";
+
+    private final BidSubmissionService bidSubmissionService;
+    private final AuctionService auctionService;
+
+    @MessageMapping("/bid")
+    @SendToUser(destinations = "/queue/bids", broadcast = false)
+    public BidAckDto placeBid(@Payload PlaceBidRequest request, SimpMessageHeaderAccessor headers) {
+        UserDto user = loggedInUser(headers);
+        if (user == null) {
+            return rejected(request, "You must be logged in to place a bid.", null);
+        }
+        if (request.getAuctionId() == null || request.getAmount() == null) {
+            return rejected(request, "Auction and amount are required.", null);
+        }
+
+        try {
+            BidDto bid = request.isProxy()
+                    ? bidSubmissionService.submitProxy(user.getUserId(), request.getAuctionId(),
+                            request.getAmount(), request.getIdempotencyKey())
+                    : bidSubmissionService.submit(user.getUserId(), request.getAuctionId(),
+                            request.getAmount(), request.getIdempotencyKey());
+
+            var minNext = auctionService.nextMinimumBid(request.getAuctionId());
+            if (bid.getStatus() == Bid_Status.OUTBID) {
+                return rejected(request, "Another bidder's maximum bid is higher. The price is now $"
+                        + bid.getAmount() + " or more.", minNext);
+            }
+            return new BidAckDto(request.getAuctionId(), request.getIdempotencyKey(), true, bid.getStatus(),
+                    bid.getAmount(), minNext, "Your bid has been placed successfully!");
+        } catch (AuctionInvalidStateException | InvalidBidException | OutbidWhileSubmittingException
+                 | InvalidAmountException | UserNotFoundException | IllegalArgumentException ex) {
+            return rejected(request, ex.getMessage(), minimumOrNull(request.getAuctionId()));
+        } catch (BidRateLimitedException | BidOverloadedException | AuctionNotFoundException ex) {
+            return rejected(request, ex.getMessage(), null);
+        } catch (RuntimeException ex) {
+            log.error("[bid-socket] bid of {} on auction {} by user {} failed",
+                    request.getAmount(), request.getAuctionId(), user.getUserId(), ex);
+            return rejected(request, UNEXPECTED_FAILURE, null);
+        }
+    }
+
+    /**
+     * Answers anything thrown before {@link #placeBid} runs its submission, e.g. a payload that
+     * cannot be converted, so the client's form is never left waiting for an acknowledgement.
+     */
+    @MessageExceptionHandler
+    @SendToUser(destinations = "/queue/bids", broadcast = false)
+    public BidAckDto handleFailure(Exception ex) {
+        log.error("[bid-socket] bid message could not be handled", ex);
+        return new BidAckDto(null, null, false, null, null, null, UNEXPECTED_FAILURE);
+    }
+
+    private UserDto loggedInUser(SimpMessageHeaderAccessor headers) {
+        Map<String, Object> attributes = headers.getSessionAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (UserDto) attributes.get("loggedInUser");
+    }
+
+    private BigDecimal minimumOrNull(Long auctionId) {
+        try {
+            return auctionService.nextMinimumBid(auctionId);
+        } catch (AuctionNotFoundException ex) {
+            return null;
+        }
+    }
+
+    private BidAckDto rejected(PlaceBidRequest request, String message, BigDecimal minNext) {
+        return new BidAckDto(request.getAuctionId(), request.getIdempotencyKey(), false, null,
+                request.getAmount(), minNext, message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.voti.pawction.controllers;
 
+import com.voti.pawction.config.StatementExportProperties;
 import com.voti.pawction.dtos.response.AuctionDto;
 import com.voti.pawction.dtos.response.BidDto;
 import com.voti.pawction.dtos.response.PetDto;
@@ -9,6 +10,8 @@ import com.voti.pawction.entities.pet.enums.Category;
 import com.voti.pawction.entities.wallet.Account;
 import com.voti.pawction.exceptions.AccountExceptions.AccountNotFoundException;
 import com.voti.pawction.exceptions.AccountExceptions.InvalidAmountException;
+import com.voti.pawction.exceptions.AccountExceptions.InvalidCursorException;
+import com.voti.pawction.exceptions.AccountExceptions.StatementExportBusyException;
 import com.voti.pawction.exceptions.AuctionExceptions.AuctionNotFoundException;
 import com.voti.pawction.exceptions.PetExceptions.PetNotFoundException;
 import com.voti.pawction.exceptions.SearchExceptions.EmptySearchException;
@@ -21,16 +24,20 @@ import com.voti.pawction.services.auction.BiddingService;
 import com.voti.pawction.services.pet.PetService;
 import com.voti.pawction.services.user.UserService;
 import com.voti.pawction.services.wallet.AccountService;
+import com.voti.pawction.services.wallet.StatementExportService;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.text.NumberFormat;
+import java.time.LocalDate;
 import java.util.*;
 
 @Controller
@@ -45,6 +52,10 @@ public class UIController {
     private final PetService petService;
     private final BiddingService biddingService;
     private final AccountService accountService;
+    private final StatementExportService statementExportService;
+
+    /** Rows per page of the transaction and hold history on the account page. */
+    private static final int HISTORY_PAGE_SIZE = 20;
 
     private boolean isLoggedIn(HttpSession session) {
         return session.getAttribute("loggedInUser") != null;
@@ -65,12 +76,6 @@ public class UIController {
                     ? auctionService.getLiveAuctions(user.getUserId(), null)
                     : auctionService.getLiveAuctions(null, null);
 
-            for (Map<String, Object> product : products) {
-                Long auctionId = (Long) product.get("auctionId");
-                int bidCount = biddingService.getBidCountForAuction(auctionId);
-                product.put("bidCount", bidCount);
-            }
-
             model.addAttribute("products", products);
 
         } catch (PetNotFoundException ex) {
@@ -109,12 +114,6 @@ public class UIController {
 
             List<Map<String, Object>> products = auctionService.getLiveAuctions(userId, type);
 
-            for (Map<String, Object> product : products) {
-                Long auctionId = (Long) product.get("auctionId");
-                int bidCount = biddingService.getBidCountForAuction(auctionId);
-                product.put("bidCount", bidCount);
-            }
-
             model.addAttribute("products", products);
 
 
@@ -173,8 +172,7 @@ public class UIController {
 
             UserDto user = (UserDto) session.getAttribute("loggedInUser");
 
-            int bidCount = biddingService.getBidCountForAuction(auctionId);
-            model.addAttribute("bidCount", bidCount);
+            model.addAttribute("bidCount", auction.getBidCount());
 
             if (user == null) {
                 // not logged in
@@ -191,6 +189,8 @@ public class UIController {
 
                 BigDecimal minNextBidAmount = auctionService.nextMinimumBid(auctionId);
                 model.addAttribute("minNextBidAmount", minNextBidAmount);
+                // one key per rendered form, so a resubmitted form is recognized as the same bid
+                model.addAttribute("bidIdempotencyKey", UUID.randomUUID().toString());
                 // only allow bid lookup if not the owner
                 if (!isAuctionOwner) {
                     BidDto highestBid = biddingService.getUsersHighestBidForAuction(user.getUserId(), auctionId);
@@ -265,7 +265,9 @@ public class UIController {
     }
 
     @GetMapping("/account")
-    public String showAccountPage(HttpSession session, Model model, RedirectAttributes redirectAttributes) {
+    public String showAccountPage(@RequestParam(value = "txCursor", required = false) String txCursor,
+                                  @RequestParam(value = "holdCursor", required = false) String holdCursor,
+                                  HttpSession session, Model model, RedirectAttributes redirectAttributes) {
         if (!isLoggedIn(session)) {
             redirectAttributes.addFlashAttribute("errorMessage", "You must be logged in to view your account.");
             return "redirect:/login";
@@ -282,9 +284,20 @@ public class UIController {
 
             model.addAttribute("balance", balance);
             model.addAttribute("availableBalance", available);
+
+            // one page of each history; older rows are reached through the page cursors
+            model.addAttribute("transactionPage",
+                    accountService.getTransactionPage(user.getUserId(), txCursor, HISTORY_PAGE_SIZE));
+            model.addAttribute("holdPage",
+                    accountService.getHoldPage(user.getUserId(), null, holdCursor, HISTORY_PAGE_SIZE));
+            model.addAttribute("txCursor", txCursor);
+            model.addAttribute("holdCursor", holdCursor);
         } catch (AccountNotFoundException ex) {
             redirectAttributes.addFlashAttribute("errorMessage", "Account not found: " + ex.getMessage());
             return "redirect:/home";
+        } catch (InvalidCursorException ex) {
+            redirectAttributes.addFlashAttribute("errorMessage", ex.getMessage());
+            return "redirect:/account";
         }
 
         // Auctions created by this user
@@ -292,23 +305,45 @@ public class UIController {
         // Auctions this user has bid on
         List<Map<String, Object>> auctionsBiddedOn = biddingService.getAuctionsUserHasBiddedOn(user.getUserId());
 
-        for (Map<String, Object> product : myAuctions) {
-            Long auctionId = (Long) product.get("auctionId");
-            int bidCount = biddingService.getBidCountForAuction(auctionId);
-            product.put("bidCount", bidCount);
-        }
-        for (Map<String, Object> product : auctionsBiddedOn) {
-            Long auctionId = (Long) product.get("auctionId");
-            int bidCount = biddingService.getBidCountForAuction(auctionId);
-            product.put("bidCount", bidCount);
-        }
-
         model.addAttribute("myAuctions", myAuctions);
         model.addAttribute("auctionsIBiddedOn", auctionsBiddedOn);
 
         return "account";
     }
 
+    /**
+     * Downloads the logged-in user's statement for a date range, streamed straight into the
+     * response as it is read. Answers 503 while the maximum number of exports is running.
+     */
+    @GetMapping("/account/statement")
+    public void exportStatement(@RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                @RequestParam(value = "format", defaultValue = "CSV") StatementExportProperties.Format format,
+                                @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+                                HttpSession session, HttpServletResponse response) throws IOException {
+        if (!isLoggedIn(session)) {
+            response.sendRedirect("/login");
+            return;
+        }
+        UserDto user = (UserDto) session.getAttribute("loggedInUser");
+
+        var fileName = "statement-" + user.getUserId()
+                + (format == StatementExportProperties.Format.NDJSON ? ".ndjson" : ".csv")
+                + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip"
+                : format == StatementExportProperties.Format.NDJSON ? "application/x-ndjson" : "text/csv");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+
+        try {
+            statementExportService.export(user.getUserId(), from, to, format, gzip, response.getOutputStream());
+        } catch (StatementExportBusyException ex) {
+            // nothing was written yet; drop the download headers
+            response.reset();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, ex.getMessage());
+        }
+    }
+
     @GetMapping("/search")
     public String showSearchPage(@RequestParam("breed") String breed,
                                  HttpSession session,
@@ -329,12 +364,6 @@ public class UIController {
 
             List<Map<String, Object>> products = auctionService.getLiveAuctionsByBreed(userId, normalized);
 
-            for (Map<String, Object> product : products) {
-                Long auctionId = (Long) product.get("auctionId");
-                int bidCount = biddingService.getBidCountForAuction(auctionId);
-                product.put("bidCount", bidCount);
-            }
-
             model.addAttribute("products", products);
             model.addAttribute("searchTerm", breed);
             model.addAttribute("pageTitle", "Search Results for " + breed);
@@ -0,0 +1,29 @@
+package com.voti.pawction.controllers.advice;
+
+import com.voti.pawction.config.BidAdmissionProperties;
+import com.voti.pawction.exceptions.BidExceptions.BidOverloadedException;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+@ControllerAdvice
+@AllArgsConstructor
+public class BidOverloadAdvice {
+    private final BidAdmissionProperties props;
+
+    /**
+     * Answers a shed bid with a plain 503 and {@code Retry-After}, without rendering a page
+     * or touching the database.
+     */
+    @ExceptionHandler(BidOverloadedException.class)
+    public ResponseEntity<String> handleOverload(BidOverloadedException exc) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(props.getRetryAfterSeconds()))
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(exc.getMessage());
+    }
+}
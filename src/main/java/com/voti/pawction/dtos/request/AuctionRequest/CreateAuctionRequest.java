@@ -9,6 +9,8 @@ import java.time.LocalDateTime;
 public class CreateAuctionRequest {
     private BigDecimal startPrice;
     private String description;
+    private LocalDateTime startAt;
     private LocalDateTime endedAt;
+    private boolean softClose;
 
 }
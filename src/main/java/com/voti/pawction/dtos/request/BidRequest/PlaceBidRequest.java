@@ -0,0 +1,13 @@
+package com.voti.pawction.dtos.request.BidRequest;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class PlaceBidRequest {
+    private Long auctionId;
+    private BigDecimal amount;
+    private boolean proxy;
+    private String idempotencyKey;
+}
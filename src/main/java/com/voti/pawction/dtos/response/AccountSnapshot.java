@@ -0,0 +1,25 @@
+package com.voti.pawction.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * What the bid path needs to know about the bidder's account, read in one query:
+ * the stored balance, the held total and the id of the hold the account already
+ * has on the auction being bid on (any status), if any. The available amount is
+ * advisory; placing the hold re-checks it atomically.
+ */
+@Getter
+@AllArgsConstructor
+public class AccountSnapshot {
+    Long accountId;
+    BigDecimal balance;
+    BigDecimal held;
+    Long existingHoldId;
+
+    public BigDecimal getAvailable() {
+        return balance.subtract(held);
+    }
+}
@@ -0,0 +1,24 @@
+package com.voti.pawction.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One listing card of the home feed, read in a single query with its pet so that scheduled
+ * auctions can be prepared before they start and broadcast together once they go LIVE.
+ */
+@Getter
+@AllArgsConstructor
+public class AuctionCardDto {
+    Long auctionId;
+    String petName;
+    String imageUrl;
+    String description;
+    BigDecimal currentPrice;
+    LocalDateTime startTime;
+    LocalDateTime endTime;
+    int bidCount;
+}
@@ -0,0 +1,20 @@
+package com.voti.pawction.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The fields of a LIVE auction that decide its close: how many bids it has, which bids lead and
+ * whose they are.
+ * A close plan built from one state is still valid while the auction shows the same state.
+ */
+@Getter
+@AllArgsConstructor
+public class AuctionCloseState {
+    Long auctionId;
+    int bidCount;
+    Long winningBidId;
+    Long runnerUpBidId;
+    Long winnerAccountId;
+    Long runnerUpAccountId;
+}
@@ -16,10 +16,12 @@ public class AuctionDto {
     BigDecimal highestBid;
     Auction_Status status;
     LocalDateTime createdAt;
+    LocalDateTime startTime;
     LocalDateTime endTime;
     String description;
     LocalDateTime updatedAt;
     Long petId;
     Long sellingUserId;
     Payment_Status paymentStatus;
+    int bidCount;
 }
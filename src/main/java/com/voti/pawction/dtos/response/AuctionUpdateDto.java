@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
@@ -15,4 +16,5 @@ public class AuctionUpdateDto {
     private int bidCount;
     private BigDecimal userBidAmount;
     private BigDecimal minNextBidAmount;
+    private LocalDateTime endTime;
 }
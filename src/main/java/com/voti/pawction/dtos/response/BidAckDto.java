@@ -0,0 +1,21 @@
+package com.voti.pawction.dtos.response;
+
+import com.voti.pawction.entities.auction.enums.Bid_Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BidAckDto {
+    private Long auctionId;
+    private String idempotencyKey;
+    private boolean accepted;
+    private Bid_Status status;
+    private BigDecimal amount;
+    private BigDecimal minNextBidAmount;
+    private String message;
+}
@@ -0,0 +1,57 @@
+package com.voti.pawction.dtos.response;
+
+import com.voti.pawction.exceptions.AccountExceptions.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * One page of a history ordered newest first by {@code (time, id)}, with an opaque cursor for the
+ * page after it. The cursor carries the last row's time and id, so the next page starts with an
+ * index seek instead of skipping the rows already shown; it is {@code null} on the last page.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    List<T> items;
+    String nextCursor;
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Position in a newest-first history: rows strictly older than {@code (at, id)} come next.
+     */
+    public record Key(LocalDateTime at, Long id) {
+        /** Starts before every row. */
+        public static final Key FIRST = new Key(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+        public String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((at + "_" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * @param cursor a cursor from {@link CursorPage#getNextCursor()}, or null/blank for the first page
+         * @throws InvalidCursorException if the cursor was not produced by {@link #encode()}
+         */
+        public static Key decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return FIRST;
+            }
+            try {
+                var raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+                int sep = raw.lastIndexOf('_');
+                return new Key(LocalDateTime.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new InvalidCursorException("Invalid page cursor: " + cursor);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.voti.pawction.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * A HELD deposit hold as the bulk release needs it: which hold, on which auction, whose account
+ * and how much, without loading the hold entity and its eager account and auction.
+ */
+@Getter
+@AllArgsConstructor
+public class HeldHold {
+    Long holdId;
+    Long auctionId;
+    Long accountId;
+    BigDecimal amount;
+}
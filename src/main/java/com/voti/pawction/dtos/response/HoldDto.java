@@ -0,0 +1,24 @@
+package com.voti.pawction.dtos.response;
+
+import com.voti.pawction.entities.wallet.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row of an account's deposit hold history with the pet it was placed for, read in one
+ * query instead of loading the hold with its eager account and auction.
+ */
+@Getter
+@AllArgsConstructor
+public class HoldDto {
+    Long holdId;
+    Long auctionId;
+    String petName;
+    Status status;
+    BigDecimal amount;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+}
@@ -0,0 +1,31 @@
+package com.voti.pawction.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * An account's CASH and HELD totals in the ledger as of entry {@code lastEntryId}
+ * (0 if the account has no entries).
+ */
+@Getter
+@AllArgsConstructor
+public class LedgerBalance {
+    BigDecimal cash;
+    BigDecimal held;
+    Long lastEntryId;
+
+    public static final LedgerBalance EMPTY = new LedgerBalance(BigDecimal.ZERO, BigDecimal.ZERO, 0L);
+
+    /** Cash plus held, i.e. what {@code account.balance} should show. */
+    public BigDecimal getBalance() {
+        return cash.add(held);
+    }
+
+    /** This balance followed by the entries summed in {@code tail}. */
+    public LedgerBalance plus(LedgerBalance tail) {
+        return new LedgerBalance(cash.add(tail.cash), held.add(tail.held),
+                Math.max(lastEntryId, tail.lastEntryId));
+    }
+}
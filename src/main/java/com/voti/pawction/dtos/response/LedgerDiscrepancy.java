@@ -0,0 +1,42 @@
+package com.voti.pawction.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * One finding of the reconciliation job: an account figure that disagrees with the records it is
+ * derived from, or a hold left HELD on an auction that can no longer need it.
+ */
+@Getter
+@AllArgsConstructor
+public class LedgerDiscrepancy {
+    public enum Kind {
+        /** {@code account.balance} differs from the account's CASH and HELD journal lines. */
+        BALANCE_VS_LEDGER,
+        /** {@code account.held_total} differs from the account's HELD journal lines. */
+        HELD_VS_LEDGER,
+        /** {@code account.held_total} differs from the sum of the account's HELD holds. */
+        HELD_VS_HOLDS,
+        /** {@code account.balance} differs from deposits and settlements less withdrawals and forfeits. */
+        BALANCE_VS_TRANSACTIONS,
+        /** A HELD hold on a SETTLED or CANCELED auction. */
+        HOLD_ON_CLOSED_AUCTION,
+        /**
+         * The account's latest {@code ledger_snapshot} differs, in its CASH or HELD book, from the
+         * journal lines up to its last entry: the snapshot or the journal was changed after it was taken.
+         */
+        SNAPSHOT_VS_LEDGER
+    }
+
+    Kind kind;
+    Long accountId;
+    /** The hold concerned, for {@link Kind#HOLD_ON_CLOSED_AUCTION}; null otherwise. */
+    Long holdId;
+    Long auctionId;
+    /** The value derived from the records. */
+    BigDecimal expected;
+    /** The value stored. */
+    BigDecimal actual;
+}
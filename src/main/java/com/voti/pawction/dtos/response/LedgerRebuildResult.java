@@ -0,0 +1,25 @@
+package com.voti.pawction.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Outcome of recomputing an account from its journal: the stored balance and held total
+ * before, and the values replayed from the ledger, which the account now carries.
+ */
+@Getter
+@AllArgsConstructor
+public class LedgerRebuildResult {
+    Long accountId;
+    BigDecimal balanceBefore;
+    BigDecimal heldBefore;
+    BigDecimal balanceAfter;
+    BigDecimal heldAfter;
+    Long lastEntryId;
+
+    public boolean isChanged() {
+        return balanceBefore.compareTo(balanceAfter) != 0 || heldBefore.compareTo(heldAfter) != 0;
+    }
+}
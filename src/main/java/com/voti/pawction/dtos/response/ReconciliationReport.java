@@ -0,0 +1,32 @@
+package com.voti.pawction.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Outcome of one reconciliation run. {@code discrepancyCount} counts every finding, while
+ * {@code discrepancies} keeps only the first {@code reconcileMaxReported} of them.
+ */
+@Getter
+@AllArgsConstructor
+public class ReconciliationReport {
+    LocalDateTime startedAt;
+    LocalDateTime finishedAt;
+    int ranges;
+    int failedRanges;
+    long accountsChecked;
+    long discrepancyCount;
+    List<LedgerDiscrepancy> discrepancies;
+
+    public Duration getDuration() {
+        return Duration.between(startedAt, finishedAt);
+    }
+
+    public boolean isClean() {
+        return discrepancyCount == 0 && failedRanges == 0;
+    }
+}
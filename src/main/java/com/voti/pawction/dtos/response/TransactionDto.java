@@ -0,0 +1,20 @@
+package com.voti.pawction.dtos.response;
+
+import com.voti.pawction.entities.wallet.enums.Transaction_Type;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row of an account's transaction history, read without the transaction's eager account.
+ */
+@Getter
+@AllArgsConstructor
+public class TransactionDto {
+    Long transactionId;
+    Transaction_Type type;
+    BigDecimal amount;
+    LocalDateTime createdAt;
+}
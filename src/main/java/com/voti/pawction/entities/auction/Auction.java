@@ -11,6 +11,7 @@ import lombok.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -40,15 +41,44 @@ public class Auction {
     @Column(name = "status", nullable = false)
     private Auction_Status status;
 
+    // Set for auctions created ahead of time; they stay SCHEDULED until then
+    @Column(name = "start_time")
+    private LocalDateTime startTime;
+
     @Column(name = "end_time", nullable = false)
     private LocalDateTime endTime;
 
+    // Soft close: a bid this close to endTime extends it; null for a hard close
+    @Column(name = "soft_close_window_seconds")
+    private Integer softCloseWindowSeconds;
+
+    @Column(name = "soft_close_extension_seconds")
+    private Integer softCloseExtensionSeconds;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @Column(name = "winning_bid_id")
+    private Long winningBidId;
+
+    // Hidden proxy ceiling of the current leader; null when the leader placed a plain bid
+    @Column(name = "leader_max_bid")
+    private BigDecimal leaderMaxBid;
+
+    @Column(name = "runner_up_bid_id")
+    private Long runnerUpBidId;
+
+    @Builder.Default
+    @Column(name = "bid_count", nullable = false)
+    private int bidCount = 0;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "payment_due_at")
     private LocalDateTime paymentDueDate;
 
@@ -95,6 +125,40 @@ public class Auction {
     @JoinColumn(name = "seller_user_id")
     @ToString.Exclude
     private User sellingUser;
-}
 
+    /**
+     * Whether a bid at {@code at} falls into this auction's soft-close window.
+     *
+     * @param at the bid time
+     * @return false for hard-close auctions
+     */
+    public boolean inSoftCloseWindow(LocalDateTime at) {
+        return softCloseWindowSeconds != null
+                && softCloseExtensionSeconds != null
+                && !at.isBefore(endTime.minusSeconds(softCloseWindowSeconds));
+    }
 
+    /**
+     * Pushes {@code endTime} out to {@code bidTime + softCloseExtensionSeconds} if the bid fell
+     * into the soft-close window. The end time only ever moves later. It is rounded up to a
+     * whole second, since the column keeps whole seconds and MySQL would round the fraction
+     * itself, leaving the value published with the deadline change different from the stored one.
+     *
+     * @param bidTime time the bid was accepted
+     * @return true if {@code endTime} changed
+     */
+    public boolean extendForBidAt(LocalDateTime bidTime) {
+        if (!inSoftCloseWindow(bidTime)) {
+            return false;
+        }
+        var extended = bidTime.plusSeconds(softCloseExtensionSeconds);
+        if (extended.getNano() != 0) {
+            extended = extended.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        }
+        if (!extended.isAfter(endTime)) {
+            return false;
+        }
+        endTime = extended;
+        return true;
+    }
+}
@@ -29,6 +29,14 @@ public class Bid {
     @Column(name="status",nullable = false)
     public Bid_Status bidStatus;
 
+    // Proxy ceiling the bidder asked the system to defend; null for a plain bid
+    @Column(name = "max_amount")
+    private BigDecimal maxAmount;
+
+    // Client-supplied key of the submission that created this bid; unique per user
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+
     @Column(name="bid_Time", nullable = false)
     private LocalDateTime bidTime;
 
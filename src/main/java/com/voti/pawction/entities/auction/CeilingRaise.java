@@ -0,0 +1,50 @@
+package com.voti.pawction.entities.auction;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A leader raising their own maximum bid, submitted with an idempotency key. The raise moves
+ * no visible price and writes no bid row, so this is what a retry with the same key finds.
+ */
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+@Entity
+@Table(name = "ceiling_raise")
+public class CeilingRaise {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "raise_id")
+    private Long raiseId;
+
+    // the leader's WINNING bid at the time of the raise, null on auctions from before the pointer
+    @Column(name = "bid_id")
+    private Long bidId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "auction_id", nullable = false)
+    private Long auctionId;
+
+    // the visible price, unchanged by the raise
+    @Column(name = "price", nullable = false)
+    private BigDecimal price;
+
+    @Column(name = "max_amount", nullable = false)
+    private BigDecimal maxAmount;
+
+    @Column(name = "idempotency_key", nullable = false, length = 64)
+    private String idempotencyKey;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,36 @@
+package com.voti.pawction.entities.auction;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Durable deadline for an auction waiting on its winner's payment. At most one per auction;
+ * a node processes it only while it holds the lease.
+ */
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Entity
+@Table(name = "settlement_timer")
+public class SettlementTimer {
+
+    @Id
+    @Column(name = "auction_id")
+    private Long auctionId;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Column(name = "lease_owner", length = 64)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+}
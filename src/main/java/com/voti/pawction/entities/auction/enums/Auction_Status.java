@@ -1,5 +1,5 @@
 package com.voti.pawction.entities.auction.enums;
 
 public enum Auction_Status {
-    LIVE, ENDED, CANCELED, SETTLED;
+    SCHEDULED, LIVE, ENDED, CANCELED, SETTLED;
 }
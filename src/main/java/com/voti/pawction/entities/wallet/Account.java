@@ -1,7 +1,5 @@
 package com.voti.pawction.entities.wallet;
 
-import com.voti.pawction.entities.auction.Auction;
-import com.voti.pawction.entities.wallet.enums.Status;
 import com.voti.pawction.entities.wallet.enums.Transaction_Type;
 import com.voti.pawction.exceptions.AccountExceptions.InvalidAmountException;
 import jakarta.persistence.*;
@@ -28,9 +26,15 @@ public class Account {
     @Column(name = "account_id")
     private Long accountId;
 
+    // changed only through the conditional updates in AccountRepository, alongside a ledger posting
     @Column(name="balance", nullable = false)
     private BigDecimal balance=BigDecimal.ZERO;
 
+    // sum of HELD holds, written only by the conditional updates in AccountRepository
+    @Builder.Default
+    @Column(name="held_total", nullable = false, insertable = false, updatable = false)
+    private BigDecimal heldTotal = BigDecimal.ZERO;
+
     @Column(name="created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -54,33 +58,7 @@ public class Account {
     @ToString.Exclude
     private User user;
 
-    public Transaction deposit(BigDecimal amount) {
-        balance = balance.add(amount);
-        return addTransaction(Transaction_Type.DEPOSIT, amount);
-    }
-
-    public Transaction withdraw(BigDecimal amount) {
-        balance = balance.subtract(amount);
-        return  addTransaction(Transaction_Type.WITHDRAWAL, amount);
-    }
-
     //Helper methods
-    public DepositHold addHold(Auction auction, BigDecimal amount) {
-        if (auction == null) throw new IllegalArgumentException("auction is required");
-        if (amount == null || amount.signum() <= 0) throw new IllegalArgumentException("amount must be positive");
-
-        DepositHold hold = new DepositHold();
-        hold.setAmount(amount);
-        hold.setDepositStatus(Status.HELD);
-        hold.setCreatedAt(LocalDateTime.now());
-        hold.setUpdatedAt(LocalDateTime.now());
-        hold.setAuction(auction);
-        hold.setAccount(this);
-        holds.add(hold);
-
-        return hold;
-    }
-
     public Transaction addTransaction(Transaction_Type type, BigDecimal amount) {
         Objects.requireNonNull(amount, "amount");
         if (amount.signum() <= 0) throw new InvalidAmountException("Amount must be larger than 0");
@@ -0,0 +1,54 @@
+package com.voti.pawction.entities.wallet;
+
+import com.voti.pawction.entities.wallet.enums.Ledger_Book;
+import com.voti.pawction.entities.wallet.enums.Ledger_Entry_Type;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One line of a double-entry posting. Lines are only ever inserted; the lines sharing a
+ * {@code journalId} sum to zero. Written in batches by
+ * {@link com.voti.pawction.services.wallet.LedgerService}, read here.
+ */
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+@Entity
+@Table(name = "ledger_entry")
+public class LedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "entry_id")
+    private Long entryId;
+
+    @Column(name = "journal_id", nullable = false, length = 36)
+    private String journalId;
+
+    /** Null on platform books. */
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "book", nullable = false)
+    private Ledger_Book book;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false)
+    private Ledger_Entry_Type entryType;
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 4)
+    private BigDecimal amount;
+
+    @Column(name = "auction_id")
+    private Long auctionId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,49 @@
+package com.voti.pawction.entities.wallet;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * An account's CASH and HELD totals over its ledger entries up to {@code lastEntryId}.
+ * A balance is the latest snapshot plus the entries after it.
+ */
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+@Entity
+@Table(name = "ledger_snapshot")
+@IdClass(LedgerSnapshot.Key.class)
+public class LedgerSnapshot {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Id
+    @Column(name = "last_entry_id")
+    private Long lastEntryId;
+
+    @Column(name = "cash", nullable = false, precision = 19, scale = 4)
+    private BigDecimal cash;
+
+    @Column(name = "held", nullable = false, precision = 19, scale = 4)
+    private BigDecimal held;
+
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long accountId;
+        private Long lastEntryId;
+    }
+}
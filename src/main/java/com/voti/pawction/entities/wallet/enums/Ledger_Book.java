@@ -0,0 +1,16 @@
+package com.voti.pawction.entities.wallet.enums;
+
+/**
+ * The books a ledger line is posted to. CASH and HELD belong to an account and together make up
+ * its balance; EXTERNAL and FORFEITED are platform books without an account.
+ */
+public enum Ledger_Book {
+    /** Spendable money of an account. */
+    CASH,
+    /** Money of an account set aside by deposit holds. */
+    HELD,
+    /** Money entering (negative) or leaving (positive) the platform. */
+    EXTERNAL,
+    /** Deposits kept by the platform after a winner failed to pay. */
+    FORFEITED
+}
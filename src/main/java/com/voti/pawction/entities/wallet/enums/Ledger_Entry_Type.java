@@ -0,0 +1,12 @@
+package com.voti.pawction.entities.wallet.enums;
+
+public enum Ledger_Entry_Type {
+    /** Balance an account had when the ledger was introduced. */
+    OPENING,
+    DEPOSIT,
+    WITHDRAWAL,
+    HOLD,
+    HOLD_RELEASE,
+    FORFEIT,
+    SETTLEMENT
+}
@@ -3,5 +3,7 @@ package com.voti.pawction.entities.wallet.enums;
 public enum Transaction_Type {
     DEPOSIT,
     WITHDRAWAL,
-    SETTLEMENT
+    SETTLEMENT,
+    /** Audit entry for a deposit hold going back to available; the balance does not change. */
+    HOLD_RELEASE
 }
@@ -0,0 +1,7 @@
+package com.voti.pawction.exceptions.AccountExceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.voti.pawction.exceptions.AccountExceptions;
+
+public class StatementExportBusyException extends RuntimeException {
+    public StatementExportBusyException(String message) {
+        super(message);
+    }
+}
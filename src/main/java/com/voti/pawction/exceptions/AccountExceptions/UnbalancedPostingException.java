@@ -0,0 +1,7 @@
+package com.voti.pawction.exceptions.AccountExceptions;
+
+public class UnbalancedPostingException extends RuntimeException {
+    public UnbalancedPostingException(String message) {
+        super(message);
+    }
+}
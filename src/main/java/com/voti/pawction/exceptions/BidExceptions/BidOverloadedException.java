@@ -0,0 +1,7 @@
+package com.voti.pawction.exceptions.BidExceptions;
+
+public class BidOverloadedException extends RuntimeException {
+    public BidOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.voti.pawction.exceptions.BidExceptions;
+
+public class BidRateLimitedException extends RuntimeException {
+    public BidRateLimitedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.voti.pawction.exceptions.BidExceptions;
+
+import java.math.BigDecimal;
+
+public class OutbidWhileSubmittingException extends RuntimeException {
+    private final BigDecimal currentHighestBid;
+
+    public OutbidWhileSubmittingException(String message, BigDecimal currentHighestBid) {
+        super(message);
+        this.currentHighestBid = currentHighestBid;
+    }
+
+    public BigDecimal getCurrentHighestBid() {
+        return currentHighestBid;
+    }
+}
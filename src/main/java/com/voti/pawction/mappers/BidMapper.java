@@ -9,8 +9,10 @@ import org.mapstruct.Mapping;
 public interface BidMapper {
     @Mapping(source = "user.userId", target = "bidderId")
     @Mapping(source = "auction.auctionId", target = "auctionId")
+    @Mapping(source = "bidStatus", target = "status")
     BidDto toDto(Bid bid);
 
     @Mapping(source = "bidderId", target = "user.userId")
+    @Mapping(source = "status", target = "bidStatus")
     Bid toEntity(BidDto dto);
 }
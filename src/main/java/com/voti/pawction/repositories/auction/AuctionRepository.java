@@ -1,19 +1,26 @@
 package com.voti.pawction.repositories.auction;
 
+import com.voti.pawction.dtos.response.AuctionCardDto;
+import com.voti.pawction.dtos.response.AuctionCloseState;
+import com.voti.pawction.entities.User;
 import com.voti.pawction.entities.auction.Auction;
 import com.voti.pawction.entities.auction.Bid;
 import com.voti.pawction.entities.auction.enums.Auction_Status;
 import com.voti.pawction.entities.pet.enums.Category;
+import com.voti.pawction.scheduling.AuctionDeadline;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +38,112 @@ public interface AuctionRepository extends JpaRepository<Auction, Long> {
             Pageable page
     );
 
+    /**
+     * Keyset page of expired auction ids in one close shard, i.e. those with
+     * {@code auctionId mod shards = shard}. Pass {@code shards = 1, shard = 0} for all of them.
+     */
+    @Query("""
+        select a.auctionId from Auction a
+        where a.status = :status
+          and a.endTime <= :cutoff
+          and a.auctionId > :afterId
+          and mod(a.auctionId, :shards) = :shard
+        order by a.auctionId asc
+    """)
+    List<Long> findIdsInShardByStatusAndEndTimeLteAfter(
+            @Param("status") Auction_Status status,
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("afterId") Long afterId,
+            @Param("shards") int shards,
+            @Param("shard") int shard,
+            Pageable page
+    );
+
+    /**
+     * Close-relevant state of the auctions in {@code status} ending at or before {@code horizon},
+     * soonest first, with the accounts behind the winning and runner-up bids; used to prepare
+     * close plans ahead of the end time.
+     */
+    @Query("""
+        select new com.voti.pawction.dtos.response.AuctionCloseState(
+            a.auctionId, a.bidCount, a.winningBidId, a.runnerUpBidId, wu.userId, ru.userId)
+        from Auction a
+        left join Bid w on w.bidId = a.winningBidId
+        left join w.user wu
+        left join Bid r on r.bidId = a.runnerUpBidId
+        left join r.user ru
+        where a.status = :status
+          and a.endTime <= :horizon
+        order by a.endTime asc
+    """)
+    List<AuctionCloseState> findCloseStatesByStatusAndEndTimeLte(
+            @Param("status") Auction_Status status,
+            @Param("horizon") LocalDateTime horizon,
+            Pageable page
+    );
+
+    @Query("""
+        select new com.voti.pawction.scheduling.AuctionDeadline(a.auctionId, a.endTime)
+        from Auction a
+        where a.status = :status
+    """)
+    List<AuctionDeadline> findDeadlinesByStatus(@Param("status") Auction_Status status);
+
+    /**
+     * Keyset page of auctions in {@code status} starting at or before {@code cutoff}, as home-feed
+     * cards. Used to prepare scheduled auctions ahead of their start time.
+     */
+    @Query("""
+        select new com.voti.pawction.dtos.response.AuctionCardDto(
+            a.auctionId, p.petName, p.primaryPhotoUrl, a.description, a.highestBid,
+            a.startTime, a.endTime, a.bidCount)
+        from Auction a join a.pet p
+        where a.status = :status
+          and a.startTime <= :cutoff
+          and a.auctionId > :afterId
+        order by a.auctionId asc
+    """)
+    List<AuctionCardDto> findCardsByStatusAndStartTimeLteAfter(
+            @Param("status") Auction_Status status,
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("afterId") Long afterId,
+            Pageable page
+    );
+
+    /**
+     * Flips the given auctions from {@code from} to {@code to} if they are still in {@code from}
+     * and their start time has come; auctions canceled or activated elsewhere are left alone.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        update Auction a
+        set a.status = :to,
+            a.updatedAt = :now,
+            a.version = a.version + 1
+        where a.auctionId in :ids
+          and a.status = :from
+          and a.startTime <= :now
+    """)
+    int transitionStarted(@Param("ids") Collection<Long> ids,
+                          @Param("from") Auction_Status from,
+                          @Param("to") Auction_Status to,
+                          @Param("now") LocalDateTime now);
+
+    /**
+     * Locks and returns those of the given auctions that are still SCHEDULED and due at
+     * {@code now}. Another transaction activating or canceling any of them waits for the lock,
+     * so a following {@link #transitionStarted} flips exactly these rows.
+     */
+    @Query(value = """
+        select auction_id from auction
+        where auction_id in (:ids)
+          and status = 'SCHEDULED'
+          and start_time <= :now
+        for update
+        """, nativeQuery = true)
+    List<Long> lockDueScheduledIds(@Param("ids") Collection<Long> ids,
+                                   @Param("now") LocalDateTime now);
+
     @Query("""
        select a.auctionId
        from Auction a
@@ -47,6 +160,55 @@ public interface AuctionRepository extends JpaRepository<Auction, Long> {
     @Query("select a from Auction a where a.auctionId = :id")
     Optional<Auction> findByIdForUpdate(@Param("id") Long id);
 
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        update Auction a
+        set a.highestBid = :amount,
+            a.winningUser = :winner,
+            a.runnerUpBidId = :runnerUpBidId,
+            a.winningBidId = :bidId,
+            a.leaderMaxBid = null,
+            a.bidCount = a.bidCount + 1,
+            a.updatedAt = :now,
+            a.version = a.version + 1
+        where a.auctionId = :id
+          and a.status = :status
+          and a.highestBid < :amount
+          and (a.leaderMaxBid is null or a.leaderMaxBid <= a.highestBid)
+    """)
+    int applyAcceptedBid(@Param("id") Long id,
+                         @Param("amount") BigDecimal amount,
+                         @Param("winner") User winner,
+                         @Param("bidId") Long bidId,
+                         @Param("runnerUpBidId") Long runnerUpBidId,
+                         @Param("now") LocalDateTime now,
+                         @Param("status") Auction_Status status);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        update Auction a
+        set a.highestBid = :amount,
+            a.winningUser = :winner,
+            a.runnerUpBidId = :runnerUpBidId,
+            a.winningBidId = :bidId,
+            a.leaderMaxBid = null,
+            a.bidCount = a.bidCount + 1,
+            a.updatedAt = :now,
+            a.version = a.version + 1
+        where a.auctionId = :id
+          and a.version = :version
+          and a.status = :status
+          and a.highestBid < :amount
+    """)
+    int applyBidIfVersion(@Param("id") Long id,
+                          @Param("version") Long version,
+                          @Param("amount") BigDecimal amount,
+                          @Param("winner") User winner,
+                          @Param("bidId") Long bidId,
+                          @Param("runnerUpBidId") Long runnerUpBidId,
+                          @Param("now") LocalDateTime now,
+                          @Param("status") Auction_Status status);
+
     boolean existsByPet_PetId(Long petId);
 
     List<Auction> findByStatus(Auction_Status status);
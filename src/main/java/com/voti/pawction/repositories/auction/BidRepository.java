@@ -51,6 +51,37 @@ public interface BidRepository extends JpaRepository<Bid, Long> {
                        @Param("winningBidId") Long winningBidId,
                        @Param("status") Bid_Status status);
 
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE Bid b
+            SET b.bidStatus = :to
+            WHERE b.bidId = :bidId
+              AND b.bidStatus = :from
+            """)
+    int transitionStatus(@Param("bidId") Long bidId,
+                         @Param("from") Bid_Status from,
+                         @Param("to") Bid_Status to);
+
+    /**
+     * Sets the closing status of every bid of an auction in one statement: {@code won} for
+     * the winning bid and {@code outbid} for the rest. Rows already in their final status are
+     * left untouched.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE Bid b
+            SET b.bidStatus = CASE WHEN b.bidId = :winningBidId THEN :won ELSE :outbid END
+            WHERE b.auction.auctionId = :auctionId
+              AND ((b.bidId = :winningBidId AND b.bidStatus <> :won)
+                OR (b.bidId <> :winningBidId AND b.bidStatus <> :outbid))
+            """)
+    int finalizeOnClose(@Param("auctionId") Long auctionId,
+                        @Param("winningBidId") Long winningBidId,
+                        @Param("won") Bid_Status won,
+                        @Param("outbid") Bid_Status outbid);
+
+    List<Bid> findTop2ByAuction_AuctionIdOrderByAmountDescBidTimeAsc(Long auctionId);
+
     Optional<Bid> findTopByAuction_AuctionIdAndUser_UserIdOrderByAmountDesc(Long auctionId, Long userId);
 
     int countByAuction_AuctionId(Long auctionId);
@@ -64,4 +95,6 @@ public interface BidRepository extends JpaRepository<Bid, Long> {
     void deleteBidByAmount(BigDecimal amount);
 
     List<Bid> findByUser_UserId(Long userId);
+
+    Optional<Bid> findByUser_UserIdAndIdempotencyKey(Long userId, String idempotencyKey);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.voti.pawction.repositories.auction;
+
+import com.voti.pawction.entities.auction.CeilingRaise;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CeilingRaiseRepository extends JpaRepository<CeilingRaise, Long> {
+
+    Optional<CeilingRaise> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+}
@@ -0,0 +1,80 @@
+package com.voti.pawction.repositories.auction;
+
+import com.voti.pawction.entities.auction.SettlementTimer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SettlementTimerRepository extends JpaRepository<SettlementTimer, Long> {
+
+    /**
+     * Creates or moves the auction's timer and drops any lease on it, so a timer re-registered
+     * while being processed survives that run's {@link #completeIfLeased}.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        insert into settlement_timer (auction_id, due_at, lease_owner, lease_until, attempts)
+        values (:auctionId, :dueAt, null, null, 0)
+        on duplicate key update due_at = :dueAt, lease_owner = null, lease_until = null, attempts = 0
+        """, nativeQuery = true)
+    int upsert(@Param("auctionId") Long auctionId, @Param("dueAt") LocalDateTime dueAt);
+
+    /**
+     * Leases up to {@code limit} due timers whose lease is free or has run out by {@code now},
+     * and that have been claimed fewer than {@code maxAttempts} times. A single statement, so
+     * two nodes can never lease the same timer. {@code owner} is unique per claim, which lets
+     * {@link #findLeased} return exactly the timers this claim took.
+     */
+    @Modifying
+    @Query(value = """
+        update settlement_timer
+        set lease_owner = :owner, lease_until = :leaseUntil, attempts = attempts + 1
+        where due_at <= :now
+          and (lease_until is null or lease_until <= :now)
+          and attempts < :maxAttempts
+        order by due_at
+        limit :limit
+        """, nativeQuery = true)
+    int claimDue(@Param("owner") String owner,
+                 @Param("leaseUntil") LocalDateTime leaseUntil,
+                 @Param("now") LocalDateTime now,
+                 @Param("limit") int limit,
+                 @Param("maxAttempts") int maxAttempts);
+
+    @Query(value = """
+        select auction_id from settlement_timer
+        where lease_owner = :owner
+        order by due_at
+        """, nativeQuery = true)
+    List<Long> findLeased(@Param("owner") String owner);
+
+    @Modifying
+    @Query(value = """
+        delete from settlement_timer
+        where auction_id = :auctionId and lease_owner = :owner
+        """, nativeQuery = true)
+    int completeIfLeased(@Param("auctionId") Long auctionId, @Param("owner") String owner);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "delete from settlement_timer where auction_id = :auctionId", nativeQuery = true)
+    int deleteByAuction(@Param("auctionId") Long auctionId);
+
+    /**
+     * Earliest moment any timer can be claimed: its due time, or the end of its lease if a
+     * node currently holds it. Parked timers, claimed {@code maxAttempts} times, are skipped.
+     */
+    @Query("""
+        select min(case when t.leaseUntil is not null and t.leaseUntil > t.dueAt
+                        then t.leaseUntil else t.dueAt end)
+        from SettlementTimer t
+        where t.attempts < :maxAttempts
+        """)
+    Optional<LocalDateTime> findNextClaimableAt(@Param("maxAttempts") int maxAttempts);
+}
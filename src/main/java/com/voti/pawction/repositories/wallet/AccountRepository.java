@@ -1,22 +1,132 @@
 package com.voti.pawction.repositories.wallet;
 
+import com.voti.pawction.dtos.response.AccountSnapshot;
 import com.voti.pawction.entities.wallet.Account;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
-    @Lock(LockModeType.PESSIMISTIC_READ)
+    /**
+     * Balance minus the maintained sum of HELD holds; a single-row read.
+     */
     @Query("""
-   select a.balance - coalesce(sum(h.amount), 0)
+   select a.balance - a.heldTotal
    from Account a
-   left join a.holds h on h.depositStatus = com.voti.pawction.entities.wallet.enums.Status.HELD
    where a.accountId = :accountId
-    group by a.balance
 """)
-    BigDecimal computeAvailable(@Param("accountId") Long accountId);
+    Optional<BigDecimal> computeAvailable(@Param("accountId") Long accountId);
+
+    @Query("""
+   select a.balance
+   from Account a
+   where a.accountId = :accountId
+""")
+    Optional<BigDecimal> findBalance(@Param("accountId") Long accountId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.accountId = :accountId")
+    Optional<Account> findByIdForUpdate(@Param("accountId") Long accountId);
+
+    @Query("select a.accountId from Account a where a.accountId > :afterId order by a.accountId")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable page);
+
+    /**
+     * Adds {@code amount} to the balance.
+     *
+     * @return 1, or 0 if the account does not exist
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+   update Account a
+   set a.balance = a.balance + :amount
+   where a.accountId = :accountId
+""")
+    int credit(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Takes {@code amount} off the balance only if the available balance covers it.
+     *
+     * @return 1 if debited, 0 if funds are insufficient or the account does not exist
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+   update Account a
+   set a.balance = a.balance - :amount
+   where a.accountId = :accountId
+     and a.balance - a.heldTotal >= :amount
+""")
+    int debitAvailable(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Takes a forfeited hold's {@code amount} off both the balance and the held total.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+   update Account a
+   set a.balance = a.balance - :amount,
+       a.heldTotal = a.heldTotal - :amount
+   where a.accountId = :accountId
+""")
+    int debitHeld(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Sets the balance and held total to values recomputed from the ledger.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+   update Account a
+   set a.balance = :balance,
+       a.heldTotal = :held
+   where a.accountId = :accountId
+""")
+    int overwriteBalances(@Param("accountId") Long accountId,
+                          @Param("balance") BigDecimal balance,
+                          @Param("held") BigDecimal held);
+
+    /**
+     * Adds {@code amount} to the held total only if the available balance covers it.
+     *
+     * @return 1 if the amount was reserved, 0 if funds are insufficient or the account does not exist
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+   update Account a
+   set a.heldTotal = a.heldTotal + :amount
+   where a.accountId = :accountId
+     and a.balance - a.heldTotal >= :amount
+""")
+    int reserveHeld(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Takes {@code amount} off the held total, for a hold that leaves HELD.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+   update Account a
+   set a.heldTotal = a.heldTotal - :amount
+   where a.accountId = :accountId
+""")
+    int unreserveHeld(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+
+    @Query("""
+   select new com.voti.pawction.dtos.response.AccountSnapshot(
+       a.accountId,
+       a.balance,
+       a.heldTotal,
+       (select max(h.holdId) from DepositHold h
+        where h.account.accountId = a.accountId and h.auction.auctionId = :auctionId))
+   from Account a
+   where a.accountId = :accountId
+""")
+    Optional<AccountSnapshot> snapshotForBid(@Param("accountId") Long accountId,
+                                             @Param("auctionId") Long auctionId);
 }
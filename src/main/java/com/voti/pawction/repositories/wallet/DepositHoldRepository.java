@@ -1,10 +1,105 @@
 package com.voti.pawction.repositories.wallet;
 
+import com.voti.pawction.dtos.response.HeldHold;
+import com.voti.pawction.dtos.response.HoldDto;
 import com.voti.pawction.entities.wallet.DepositHold;
+import com.voti.pawction.entities.wallet.enums.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface DepositHoldRepository extends CrudRepository<DepositHold, Long> {
     Optional<DepositHold> findByAccountAccountIdAndAuctionAuctionId(Long accountId, Long auctionId);
+
+    List<DepositHold> findByAccountAccountIdAndDepositStatus(Long accountId, Status status);
+
+    /**
+     * Keyset page of an account's holds older than {@code (beforeAt, beforeId)}, newest first;
+     * served by {@code ix_deposit_hold_account_time}.
+     */
+    @Query("""
+            SELECT new com.voti.pawction.dtos.response.HoldDto(
+                h.holdId, a.auctionId, p.petName, h.depositStatus, h.amount, h.createdAt, h.updatedAt)
+            FROM DepositHold h JOIN h.auction a JOIN a.pet p
+            WHERE h.account.accountId = :accountId
+              AND (h.createdAt < :beforeAt
+                   OR (h.createdAt = :beforeAt AND h.holdId < :beforeId))
+            ORDER BY h.createdAt DESC, h.holdId DESC
+            """)
+    List<HoldDto> findPageByAccount(@Param("accountId") Long accountId,
+                                    @Param("beforeAt") LocalDateTime beforeAt,
+                                    @Param("beforeId") Long beforeId,
+                                    Pageable page);
+
+    /**
+     * Same as {@link #findPageByAccount} restricted to holds in {@code status};
+     * served by {@code ix_deposit_hold_account_status_time}.
+     */
+    @Query("""
+            SELECT new com.voti.pawction.dtos.response.HoldDto(
+                h.holdId, a.auctionId, p.petName, h.depositStatus, h.amount, h.createdAt, h.updatedAt)
+            FROM DepositHold h JOIN h.auction a JOIN a.pet p
+            WHERE h.account.accountId = :accountId
+              AND h.depositStatus = :status
+              AND (h.createdAt < :beforeAt
+                   OR (h.createdAt = :beforeAt AND h.holdId < :beforeId))
+            ORDER BY h.createdAt DESC, h.holdId DESC
+            """)
+    List<HoldDto> findPageByAccountAndStatus(@Param("accountId") Long accountId,
+                                             @Param("status") Status status,
+                                             @Param("beforeAt") LocalDateTime beforeAt,
+                                             @Param("beforeId") Long beforeId,
+                                             Pageable page);
+
+    /**
+     * The holds of an auction in status {@code status}, except those of {@code keptAccountIds}
+     * (must not be empty).
+     */
+    @Query("""
+            SELECT new com.voti.pawction.dtos.response.HeldHold(h.holdId, h.auction.auctionId, h.account.accountId, h.amount)
+            FROM DepositHold h
+            WHERE h.auction.auctionId = :auctionId
+              AND h.depositStatus = :status
+              AND h.account.accountId NOT IN :keptAccountIds
+            ORDER BY h.holdId
+            """)
+    List<HeldHold> findByAuctionAndStatusExcept(@Param("auctionId") Long auctionId,
+                                                @Param("status") Status status,
+                                                @Param("keptAccountIds") Collection<Long> keptAccountIds);
+
+    /**
+     * The holds of several auctions in status {@code status}, for preparing close plans in one query.
+     */
+    @Query("""
+            SELECT new com.voti.pawction.dtos.response.HeldHold(h.holdId, h.auction.auctionId, h.account.accountId, h.amount)
+            FROM DepositHold h
+            WHERE h.auction.auctionId IN :auctionIds
+              AND h.depositStatus = :status
+            ORDER BY h.holdId
+            """)
+    List<HeldHold> findByAuctionInAndStatus(@Param("auctionIds") Collection<Long> auctionIds,
+                                            @Param("status") Status status);
+
+    /**
+     * Moves the given holds from {@code from} to {@code to}; holds no longer in {@code from}
+     * are skipped.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE DepositHold h
+            SET h.depositStatus = :to, h.updatedAt = :now
+            WHERE h.holdId IN :holdIds
+              AND h.depositStatus = :from
+            """)
+    int transitionAll(@Param("holdIds") Collection<Long> holdIds,
+                      @Param("from") Status from,
+                      @Param("to") Status to,
+                      @Param("now") LocalDateTime now);
 }
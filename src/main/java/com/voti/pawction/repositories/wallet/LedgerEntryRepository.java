@@ -0,0 +1,33 @@
+package com.voti.pawction.repositories.wallet;
+
+import com.voti.pawction.dtos.response.LedgerBalance;
+import com.voti.pawction.entities.wallet.LedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    /**
+     * Sums an account's CASH and HELD lines after {@code afterEntryId}; with {@code afterEntryId = 0}
+     * this replays the whole journal of the account.
+     */
+    @Query("""
+        select new com.voti.pawction.dtos.response.LedgerBalance(
+            coalesce(sum(case when e.book = com.voti.pawction.entities.wallet.enums.Ledger_Book.CASH
+                              then e.amount else cast(0 as BigDecimal) end), cast(0 as BigDecimal)),
+            coalesce(sum(case when e.book = com.voti.pawction.entities.wallet.enums.Ledger_Book.HELD
+                              then e.amount else cast(0 as BigDecimal) end), cast(0 as BigDecimal)),
+            coalesce(max(e.entryId), :afterEntryId))
+        from LedgerEntry e
+        where e.accountId = :accountId
+          and e.entryId > :afterEntryId
+    """)
+    LedgerBalance sumAfter(@Param("accountId") Long accountId, @Param("afterEntryId") Long afterEntryId);
+
+    List<LedgerEntry> findByJournalIdOrderByEntryId(String journalId);
+
+    List<LedgerEntry> findByAccountIdOrderByEntryId(Long accountId);
+}
@@ -0,0 +1,11 @@
+package com.voti.pawction.repositories.wallet;
+
+import com.voti.pawction.entities.wallet.LedgerSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface LedgerSnapshotRepository extends JpaRepository<LedgerSnapshot, LedgerSnapshot.Key> {
+
+    Optional<LedgerSnapshot> findTopByAccountIdOrderByLastEntryIdDesc(Long accountId);
+}
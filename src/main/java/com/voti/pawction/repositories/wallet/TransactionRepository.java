@@ -1,11 +1,34 @@
 package com.voti.pawction.repositories.wallet;
 
+import com.voti.pawction.dtos.response.TransactionDto;
 import com.voti.pawction.entities.wallet.Transaction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface TransactionRepository extends CrudRepository<Transaction, Long> {
 
     List<Transaction> findByAccountAccountIdOrderByCreatedAtDesc(Long accountId);
+
+    /**
+     * Keyset page of an account's transactions older than {@code (beforeAt, beforeId)}, newest
+     * first; served by {@code ix_transaction_account_time}.
+     */
+    @Query("""
+        select new com.voti.pawction.dtos.response.TransactionDto(
+            t.transactionId, t.transactionType, t.amount, t.createdAt)
+        from Transaction t
+        where t.account.accountId = :accountId
+          and (t.createdAt < :beforeAt
+               or (t.createdAt = :beforeAt and t.transactionId < :beforeId))
+        order by t.createdAt desc, t.transactionId desc
+    """)
+    List<TransactionDto> findByAccountAccountIdOrderByCreatedAtDesc(@Param("accountId") Long accountId,
+                                                                    @Param("beforeAt") LocalDateTime beforeAt,
+                                                                    @Param("beforeId") Long beforeId,
+                                                                    Pageable page);
 }
@@ -0,0 +1,142 @@
+package com.voti.pawction.scheduling;
+
+import com.voti.pawction.config.AuctionSchedulerProperties;
+import com.voti.pawction.dtos.response.AuctionCardDto;
+import com.voti.pawction.entities.auction.enums.Auction_Status;
+import com.voti.pawction.repositories.auction.AuctionRepository;
+import com.voti.pawction.services.auction.AuctionService;
+import com.voti.pawction.services.socket.AuctionUpdateService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts SCHEDULED auctions at their start time.
+ *
+ * <p>Every {@code activationPollMs} this component reads the scheduled auctions starting within
+ * {@code activationLookaheadSeconds} as home-feed cards, one keyset-paged query with their pets,
+ * and groups them by start time. Each group is then activated at its start time by
+ * {@link AuctionService#activateScheduled(List)} with one UPDATE per {@code activationBatchSize}
+ * auctions, and announced with one {@code /topic/home/live} message per batch, so going LIVE costs
+ * no reads and no per-auction events. Auctions whose start passed while no node was running are
+ * activated together on the next poll.</p>
+ *
+ * <p>Several nodes may prepare the same auctions; the conditional UPDATE lets only one of them
+ * activate each auction. A failed batch is forgotten and picked up again by the next poll.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuctionActivationScheduler {
+    private final AuctionRepository auctionRepository;
+    private final AuctionService auctionService;
+    private final AuctionUpdateService auctionUpdateService;
+    private final AuctionSchedulerProperties props;
+    private final Clock clock;
+
+    // auctions already waiting for their start on this node
+    private final Set<Long> prepared = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService starter;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!props.isEnabled()) return;
+
+        starter = Executors.newSingleThreadScheduledExecutor(r -> {
+            var t = new Thread(r, "auction-activation");
+            t.setDaemon(true);
+            return t;
+        });
+        prepareUpcoming();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (starter != null) {
+            starter.shutdownNow();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auction.scheduler.activation-poll-ms:30000}")
+    public void prepareUpcoming() {
+        if (!props.isEnabled() || starter == null) return;
+
+        try {
+            int prepared = prepare();
+            if (prepared > 0) {
+                log.info("[auction-activation] prepared {} scheduled auctions", prepared);
+            }
+        } catch (Exception e) {
+            log.error("[auction-activation] could not read upcoming auctions", e);
+        }
+    }
+
+    /**
+     * Reads the scheduled auctions starting within the lookahead that are not prepared yet and
+     * queues one activation per start time and batch.
+     *
+     * @return the number of auctions newly prepared
+     */
+    int prepare() {
+        var now = LocalDateTime.now(clock);
+        var horizon = now.plusSeconds(props.getActivationLookaheadSeconds());
+        int batchSize = Math.max(1, props.getActivationBatchSize());
+
+        // auctions that should already have started share one batch at "now"
+        var byStart = new TreeMap<LocalDateTime, List<AuctionCardDto>>();
+        long afterId = 0L;
+        List<AuctionCardDto> page;
+        do {
+            page = auctionRepository.findCardsByStatusAndStartTimeLteAfter(
+                    Auction_Status.SCHEDULED, horizon, afterId, PageRequest.of(0, batchSize));
+            for (var card : page) {
+                afterId = card.getAuctionId();
+                if (prepared.add(card.getAuctionId())) {
+                    var at = card.getStartTime().isBefore(now) ? now : card.getStartTime();
+                    byStart.computeIfAbsent(at, k -> new ArrayList<>()).add(card);
+                }
+            }
+        } while (page.size() == batchSize);
+
+        int count = 0;
+        for (var group : byStart.entrySet()) {
+            long delay = Math.max(0, Duration.between(LocalDateTime.now(clock), group.getKey()).toMillis());
+            var cards = group.getValue();
+            for (int from = 0; from < cards.size(); from += batchSize) {
+                var batch = List.copyOf(cards.subList(from, Math.min(cards.size(), from + batchSize)));
+                starter.schedule(() -> activate(batch), delay, TimeUnit.MILLISECONDS);
+                count += batch.size();
+            }
+        }
+        return count;
+    }
+
+    private void activate(List<AuctionCardDto> batch) {
+        try {
+            var live = auctionService.activateScheduled(batch);
+            if (!live.isEmpty()) {
+                auctionUpdateService.sendAuctionsLive(live);
+                log.info("[auction-activation] {} auctions went LIVE", live.size());
+            }
+        } catch (Exception e) {
+            log.error("[auction-activation] failed to activate {} auctions; the next poll will retry",
+                    batch.size(), e);
+        } finally {
+            batch.forEach(card -> prepared.remove(card.getAuctionId()));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.voti.pawction.scheduling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports {@code LAGGING} on {@code /actuator/health} while auctions recently closed later than
+ * {@code auction.scheduler.grace-seconds} after their end time. The status is ordered between
+ * DOWN and UP and mapped to HTTP 200, so it alerts without failing liveness probes.
+ */
+@Component("auctionCloseLag")
+@RequiredArgsConstructor
+public class AuctionCloseLagHealthIndicator implements HealthIndicator {
+    static final Status LAGGING = new Status("LAGGING", "Auctions are closing later than the grace window");
+
+    private final SchedulerMetrics schedulerMetrics;
+
+    @Override
+    public Health health() {
+        var maxLag = schedulerMetrics.recentMaxCloseLag();
+        var grace = schedulerMetrics.grace();
+
+        var health = maxLag.compareTo(grace) > 0 ? Health.status(LAGGING) : Health.up();
+        return health
+                .withDetail("recentMaxLagMs", maxLag.toMillis())
+                .withDetail("graceSeconds", grace.toSeconds())
+                .build();
+    }
+}
@@ -0,0 +1,187 @@
+package com.voti.pawction.scheduling;
+
+import com.voti.pawction.config.AuctionSchedulerProperties;
+import com.voti.pawction.entities.auction.enums.Auction_Status;
+import com.voti.pawction.repositories.auction.AuctionRepository;
+import com.voti.pawction.services.auction.AuctionService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+
+/**
+ * Closes auctions within one tick of their end time.
+ *
+ * <p>Every LIVE auction is loaded into a {@link HierarchicalTimingWheel} at startup; afterwards
+ * {@link AuctionDeadlineChangedEvent}s, and {@link AuctionsActivatedEvent}s for scheduled auctions
+ * going LIVE, keep it current once the publishing transaction commits.
+ * A single driver thread advances the wheel every {@code wheelTickMs} and hands due auctions to
+ * {@link AuctionService#closeOneIfExpired(Long, LocalDateTime)} on virtual threads.</p>
+ *
+ * <p>Callers never touch the wheel: they record the wanted deadline in {@code deadlines} and
+ * enqueue it for the driver. Removing a deadline leaves the wheel entry in place; it is ignored
+ * when it fires because it no longer matches {@code deadlines}.</p>
+ *
+ * <p>Soft-close auctions move their deadline later on every late bid, so moving later does not
+ * touch the wheel either. The driver keeps at most one entry per auction and remembers its tick
+ * in {@code armed}; a later deadline only updates {@code deadlines}, an O(1) map write, and the
+ * armed entry re-inserts itself at the current deadline when it fires. Only an earlier deadline
+ * adds a second entry, and the superseded one is dropped when it fires. The cron job in
+ * {@link AuctionScheduler} remains as a low-frequency safety net, e.g. for auctions owned by
+ * another node.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuctionCloseWheel {
+    private static final int BITS = 6;
+    private static final int LEVELS = 4;
+
+    private final AuctionRepository auctionRepository;
+    private final AuctionService auctionService;
+    private final AuctionSchedulerProperties props;
+    private final Clock clock;
+
+    private final Map<Long, Long> deadlines = new ConcurrentHashMap<>();
+    private final Queue<long[]> pending = new ConcurrentLinkedQueue<>();
+    // tick of the live wheel entry per auction; touched by the driver thread only
+    private final Map<Long, Long> armed = new HashMap<>();
+    private final ExecutorService closers = Executors.newVirtualThreadPerTaskExecutor();
+    private ScheduledExecutorService driver;
+    private HierarchicalTimingWheel wheel;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled()) return;
+
+        wheel = new HierarchicalTimingWheel(BITS, LEVELS, tickOf(clock.millis()));
+        var live = auctionRepository.findDeadlinesByStatus(Auction_Status.LIVE);
+        live.forEach(d -> schedule(d.auctionId(), d.endTime()));
+
+        driver = Executors.newSingleThreadScheduledExecutor(r -> {
+            var t = new Thread(r, "auction-close-wheel");
+            t.setDaemon(true);
+            return t;
+        });
+        long tick = props.getWheelTickMs();
+        driver.scheduleAtFixedRate(this::turn, tick, tick, TimeUnit.MILLISECONDS);
+        log.info("[auction-close-wheel] started with {} live auctions, tick {}ms", live.size(), tick);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDeadlineChanged(AuctionDeadlineChangedEvent event) {
+        if (!enabled()) return; // nothing would ever drain deadlines or pending
+        if (event.endTime() == null) {
+            deadlines.remove(event.auctionId());
+        } else {
+            schedule(event.auctionId(), event.endTime());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onActivated(AuctionsActivatedEvent event) {
+        if (!enabled()) return;
+        event.auctions().forEach(card -> schedule(card.getAuctionId(), card.getEndTime()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (driver != null) {
+            driver.shutdownNow();
+        }
+        closers.shutdown();
+    }
+
+    private void schedule(Long auctionId, LocalDateTime endTime) {
+        long millis = endTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+        // round up so the wheel never fires before endTime has passed
+        long deadlineTick = tickOf(millis + props.getWheelTickMs() - 1);
+        deadlines.put(auctionId, deadlineTick);
+        pending.add(new long[]{auctionId, deadlineTick});
+    }
+
+    private void turn() {
+        try {
+            long[] next;
+            while ((next = pending.poll()) != null) {
+                arm(next[0], next[1]);
+            }
+            wheel.advanceTo(tickOf(clock.millis()), this::fire);
+        } catch (Exception e) {
+            log.error("[auction-close-wheel] tick failed", e);
+        }
+    }
+
+    /**
+     * Puts {@code auctionId} into the wheel unless an entry that fires no later is already armed;
+     * that entry will re-arm itself for the later deadline when it fires.
+     */
+    private void arm(long auctionId, long deadlineTick) {
+        var current = armed.get(auctionId);
+        if (current != null && current <= deadlineTick) {
+            return;
+        }
+        armed.put(auctionId, deadlineTick);
+        wheel.add(auctionId, deadlineTick, this::fire);
+    }
+
+    private void fire(long auctionId) {
+        long tick = wheel.currentTick();
+        var armedTick = armed.get(auctionId);
+        if (armedTick == null || armedTick > tick) {
+            return; // superseded by an earlier entry, or already handled this tick
+        }
+        armed.remove(auctionId);
+
+        var expected = deadlines.get(auctionId);
+        if (expected == null) {
+            return; // canceled
+        }
+        if (expected > tick) {
+            arm(auctionId, expected); // moved later, e.g. by a soft-close extension
+            return;
+        }
+        if (!deadlines.remove(auctionId, expected)) {
+            return; // moved while we looked; its pending entry re-arms it
+        }
+        closers.execute(() -> {
+            try {
+                if (!auctionService.closeOneIfExpired(auctionId, LocalDateTime.now(clock))) {
+                    rearmIfLive(auctionId);
+                }
+            } catch (Exception e) {
+                log.error("[auction-close-wheel] failed to close auction {}; the safety-net poll will retry",
+                        auctionId, e);
+            }
+        });
+    }
+
+    /**
+     * Puts an auction that fired before its stored end time back on the wheel, e.g. when the
+     * deadline it was armed with was earlier than the committed one.
+     */
+    private void rearmIfLive(long auctionId) {
+        auctionRepository.findById(auctionId)
+                .filter(a -> a.getStatus() == Auction_Status.LIVE)
+                .ifPresent(a -> schedule(auctionId, a.getEndTime()));
+    }
+
+    private boolean enabled() {
+        return props.isEnabled() && props.isWheelEnabled();
+    }
+
+    private long tickOf(long epochMillis) {
+        return epochMillis / props.getWheelTickMs();
+    }
+}
@@ -0,0 +1,9 @@
+package com.voti.pawction.scheduling;
+
+import java.time.LocalDateTime;
+
+/**
+ * Id and end time of a LIVE auction, as loaded into the {@link AuctionCloseWheel} at startup.
+ */
+public record AuctionDeadline(Long auctionId, LocalDateTime endTime) {
+}
@@ -0,0 +1,13 @@
+package com.voti.pawction.scheduling;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link com.voti.pawction.services.auction.AuctionService} whenever a LIVE auction's
+ * end time is set or changed, or the auction stops being LIVE.
+ *
+ * @param auctionId the auction identifier
+ * @param endTime   the new end time, or {@code null} when the auction no longer needs closing
+ */
+public record AuctionDeadlineChangedEvent(Long auctionId, LocalDateTime endTime) {
+}
@@ -1,10 +1,10 @@
 package com.voti.pawction.scheduling;
 
 import com.voti.pawction.config.AuctionSchedulerProperties;
+import com.voti.pawction.services.auction.AuctionClosePlanner;
 import com.voti.pawction.services.auction.AuctionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -17,11 +17,16 @@ import java.time.LocalDateTime;
 public class AuctionScheduler {
 
     private final AuctionService auctionService;
+    private final AuctionClosePlanner auctionClosePlanner;
     private final Clock clock;
     private final AuctionSchedulerProperties props;
 
-    @Scheduled(cron = "*/30 * * * * *", zone = "${app.zone-id:America/New_York}")
-    @SchedulerLock(name = "auction.closeExpired")
+    /**
+     * Safety net behind {@link AuctionCloseWheel}: picks up anything the wheel missed, e.g.
+     * after a failed close or while another node owned the auction. Runs on every node; the
+     * close shards are leased per shard, so nodes share the work instead of one doing all of it.
+     */
+    @Scheduled(cron = "${auction.scheduler.cron:0 */5 * * * *}", zone = "${app.zone-id:America/New_York}")
     public void closeExpired() {
         if (!props.isEnabled()) return;
 
@@ -36,4 +41,19 @@ public class AuctionScheduler {
             log.error("[auction-scheduler] error (cutoff {}, grace {}s)", cutoff, props.getGraceSeconds(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Keeps the close plans of auctions ending soon current, so that closing them at the end time
+     * only applies a plan. Runs on every node; each node prepares the auctions it may close.
+     */
+    @Scheduled(fixedDelayString = "${auction.scheduler.pre-close-scan-ms:2000}")
+    public void prepareClosePlans() {
+        if (!props.isEnabled() || !props.isPreCloseEnabled()) return;
+
+        try {
+            auctionClosePlanner.refresh();
+        } catch (Exception e) {
+            log.error("[auction-preclose] could not prepare close plans", e);
+        }
+    }
+}
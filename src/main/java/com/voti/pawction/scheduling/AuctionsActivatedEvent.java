@@ -0,0 +1,14 @@
+package com.voti.pawction.scheduling;
+
+import com.voti.pawction.dtos.response.AuctionCardDto;
+
+import java.util.List;
+
+/**
+ * Published by {@link com.voti.pawction.services.auction.AuctionService} once per activation batch
+ * instead of one {@link AuctionDeadlineChangedEvent} per auction.
+ *
+ * @param auctions the auctions that went from SCHEDULED to LIVE, with their end times
+ */
+public record AuctionsActivatedEvent(List<AuctionCardDto> auctions) {
+}
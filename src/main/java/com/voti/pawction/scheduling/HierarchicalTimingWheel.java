@@ -0,0 +1,123 @@
+package com.voti.pawction.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Hierarchical hashed timing wheel over {@code long} keys (Varghese &amp; Lauck, scheme 7).
+ *
+ * <p>Time is counted in ticks. Level 0 has one slot per tick; each slot of level {@code L} covers
+ * {@code 2^(bits*L)} ticks. An entry is placed on the lowest level whose span still separates its
+ * deadline from the current tick and is moved down (cascaded) when the clock reaches the start of
+ * its slot, so every entry is touched at most once per level. Deadlines beyond the top level wait
+ * in an overflow list that is re-examined each time the top level turns over.</p>
+ *
+ * <p>Not thread-safe: a single driver owns the wheel and calls {@link #add} and
+ * {@link #advanceTo} from one thread.</p>
+ */
+class HierarchicalTimingWheel {
+
+    private record Entry(long key, long deadlineTick) {
+    }
+
+    private final int bits;
+    private final int mask;
+    private final List<Entry>[][] levels;
+    private final List<Entry> overflow = new ArrayList<>();
+    private long currentTick;
+
+    /**
+     * @param bits      log2 of the slots per level
+     * @param levels    number of levels
+     * @param startTick tick the wheel starts at
+     */
+    @SuppressWarnings("unchecked")
+    HierarchicalTimingWheel(int bits, int levels, long startTick) {
+        this.bits = bits;
+        this.mask = (1 << bits) - 1;
+        this.levels = new List[levels][1 << bits];
+        for (var level : this.levels) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new ArrayList<>();
+            }
+        }
+        this.currentTick = startTick;
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Schedules {@code key} for {@code deadlineTick}. A deadline at or before the current tick is
+     * handed to {@code expired} right away.
+     */
+    void add(long key, long deadlineTick, LongConsumer expired) {
+        if (deadlineTick <= currentTick) {
+            expired.accept(key);
+            return;
+        }
+        place(new Entry(key, deadlineTick));
+    }
+
+    /**
+     * Moves the wheel forward one tick at a time up to {@code tick}, handing every key whose
+     * deadline is reached to {@code expired}.
+     */
+    void advanceTo(long tick, LongConsumer expired) {
+        while (currentTick < tick) {
+            currentTick++;
+            cascade();
+            var slot = levels[0][(int) (currentTick & mask)];
+            if (!slot.isEmpty()) {
+                var due = new ArrayList<>(slot);
+                slot.clear();
+                for (var entry : due) {
+                    expired.accept(entry.key());
+                }
+            }
+        }
+    }
+
+    private void cascade() {
+        for (int level = 1; level < levels.length; level++) {
+            int shift = bits * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            var slot = levels[level][(int) ((currentTick >>> shift) & mask)];
+            if (!slot.isEmpty()) {
+                var moving = new ArrayList<>(slot);
+                slot.clear();
+                moving.forEach(this::reinsert);
+            }
+            if (level == levels.length - 1 && ((currentTick >>> shift) & mask) == 0 && !overflow.isEmpty()) {
+                var waiting = new ArrayList<>(overflow);
+                overflow.clear();
+                waiting.forEach(this::reinsert);
+            }
+        }
+    }
+
+    private void reinsert(Entry entry) {
+        if (entry.deadlineTick() <= currentTick) {
+            // due on this tick: level 0 is processed right after the cascade
+            levels[0][(int) (currentTick & mask)].add(entry);
+            return;
+        }
+        place(entry);
+    }
+
+    private void place(Entry entry) {
+        long diff = entry.deadlineTick() ^ currentTick;
+        for (int level = 0; level < levels.length; level++) {
+            if ((diff >>> (bits * (level + 1))) == 0) {
+                int slot = (int) ((entry.deadlineTick() >>> (bits * level)) & mask);
+                levels[level][slot].add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+}
@@ -0,0 +1,33 @@
+package com.voti.pawction.scheduling;
+
+import com.voti.pawction.config.LedgerProperties;
+import com.voti.pawction.services.wallet.LedgerReconciliationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the ledger reconciliation on {@code ledger.reconcile-cron}. One node runs it; the ranges
+ * are spread over that node's threads rather than over nodes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerReconciliationScheduler {
+    private final LedgerReconciliationService reconciliationService;
+    private final LedgerProperties props;
+
+    @Scheduled(cron = "${ledger.reconcile-cron:0 30 3 * * *}", zone = "${app.zone-id:America/New_York}")
+    @SchedulerLock(name = "ledger.reconcile", lockAtMostFor = "PT2H")
+    public void reconcile() {
+        if (!props.isReconcileEnabled()) return;
+
+        try {
+            reconciliationService.reconcile();
+        } catch (Exception e) {
+            log.error("[ledger-reconcile] reconciliation failed", e);
+        }
+    }
+}
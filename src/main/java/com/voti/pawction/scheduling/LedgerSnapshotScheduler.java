@@ -0,0 +1,36 @@
+package com.voti.pawction.scheduling;
+
+import com.voti.pawction.config.LedgerProperties;
+import com.voti.pawction.services.wallet.LedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves account balance snapshots forward every {@code ledger.snapshot-ms}, so reading a balance
+ * sums a short journal tail. One run covers every due account, so a single node runs it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerSnapshotScheduler {
+    private final LedgerService ledgerService;
+    private final LedgerProperties props;
+
+    @Scheduled(fixedDelayString = "${ledger.snapshot-ms:600000}")
+    @SchedulerLock(name = "ledger.snapshot")
+    public void takeSnapshots() {
+        if (!props.isSnapshotEnabled()) return;
+
+        try {
+            int taken = ledgerService.takeSnapshots();
+            if (taken > 0) {
+                log.info("[ledger-snapshot] snapshotted {} accounts", taken);
+            }
+        } catch (Exception e) {
+            log.error("[ledger-snapshot] could not snapshot balances", e);
+        }
+    }
+}
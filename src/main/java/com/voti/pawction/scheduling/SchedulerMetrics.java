@@ -0,0 +1,142 @@
+package com.voti.pawction.scheduling;
+
+import com.voti.pawction.config.AuctionSchedulerProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Meters for the close and settlement jobs, exposed on {@code /actuator/metrics} and
+ * {@code /actuator/prometheus}.
+ *
+ * <ul>
+ *   <li>{@code auction.close.lag} – close time minus end time, per closed auction. The histogram has
+ *       a bucket at {@code graceSeconds}, so alerts can fire on the share of closes later than that.</li>
+ *   <li>{@code auction.close.late} – closes that lagged more than {@code graceSeconds}.</li>
+ *   <li>{@code auction.close.lock.wait} – time to acquire the auction row lock when closing.</li>
+ *   <li>{@code auction.end.duration} – {@code end()} per auction, i.e. winner selection and settlement.</li>
+ *   <li>{@code auction.close.run.duration} – one {@code closeExpiredAuctions} run on this node.</li>
+ *   <li>{@code auction.close.batch.size} – expired auction ids claimed per page.</li>
+ *   <li>{@code auction.close.shard.skipped} – close shards left to another node's lease.</li>
+ *   <li>{@code settlement.expire.run.duration} – one settlement expiry run, tagged by {@code job}.</li>
+ *   <li>{@code settlement.claim.batch.size} – settlement timers leased per claim.</li>
+ *   <li>{@code settlement.expired} – expired settlements, tagged {@code outcome=promoted|no_winner}.</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class SchedulerMetrics {
+    private final MeterRegistry meterRegistry;
+    private final AuctionSchedulerProperties props;
+    private final Timer closeLag;
+    private final Counter closeLate;
+    private final Timer lockWait;
+    private final Timer endDuration;
+    private final Timer closeRun;
+    private final DistributionSummary closeBatchSize;
+    private final Counter shardSkipped;
+    private final DistributionSummary settlementClaimSize;
+    private final Counter promoted;
+    private final Counter noWinner;
+
+    public SchedulerMetrics(MeterRegistry meterRegistry, AuctionSchedulerProperties props) {
+        this.meterRegistry = meterRegistry;
+        this.props = props;
+        this.closeLag = Timer.builder("auction.close.lag")
+                .description("Time between an auction's end time and its close")
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(sloBoundary(), sloBoundary().multipliedBy(5))
+                .register(meterRegistry);
+        this.closeLate = Counter.builder("auction.close.late")
+                .description("Auctions closed later than the grace window")
+                .register(meterRegistry);
+        this.lockWait = Timer.builder("auction.close.lock.wait")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.endDuration = Timer.builder("auction.end.duration")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.closeRun = meterRegistry.timer("auction.close.run.duration");
+        this.closeBatchSize = DistributionSummary.builder("auction.close.batch.size")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.shardSkipped = meterRegistry.counter("auction.close.shard.skipped");
+        this.settlementClaimSize = DistributionSummary.builder("settlement.claim.batch.size")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.promoted = meterRegistry.counter("settlement.expired", "outcome", "promoted");
+        this.noWinner = meterRegistry.counter("settlement.expired", "outcome", "no_winner");
+    }
+
+    /**
+     * Records how late an auction closed; lags beyond {@code graceSeconds} are also counted and logged.
+     */
+    public void recordCloseLag(Long auctionId, LocalDateTime endTime, LocalDateTime closedAt) {
+        var lag = Duration.between(endTime, closedAt);
+        if (lag.isNegative()) {
+            lag = Duration.ZERO;
+        }
+        closeLag.record(lag);
+        if (lag.compareTo(grace()) > 0) {
+            closeLate.increment();
+            log.warn("[auction-close] auction {} closed {}ms after its end time (grace {}s)",
+                    auctionId, lag.toMillis(), props.getGraceSeconds());
+        }
+    }
+
+    /**
+     * Largest close lag recorded recently, in the decaying window Micrometer keeps for timer maxima.
+     */
+    public Duration recentMaxCloseLag() {
+        return Duration.ofNanos((long) closeLag.max(TimeUnit.NANOSECONDS));
+    }
+
+    public Duration grace() {
+        return Duration.ofSeconds(Math.max(0, props.getGraceSeconds()));
+    }
+
+    // histogram boundaries must be positive
+    private Duration sloBoundary() {
+        return grace().isZero() ? Duration.ofSeconds(1) : grace();
+    }
+
+    public <T> T timeLockWait(Supplier<T> lock) {
+        return lockWait.record(lock);
+    }
+
+    public <T> T timeEnd(Supplier<T> end) {
+        return endDuration.record(end);
+    }
+
+    public <T> T timeCloseRun(Supplier<T> run) {
+        return closeRun.record(run);
+    }
+
+    public void recordCloseBatch(int size) {
+        closeBatchSize.record(size);
+    }
+
+    public void recordShardsSkipped(int skipped) {
+        shardSkipped.increment(skipped);
+    }
+
+    public <T> T timeSettlementRun(String job, Supplier<T> run) {
+        return meterRegistry.timer("settlement.expire.run.duration", "job", job).record(run);
+    }
+
+    public void recordSettlementClaim(int size) {
+        settlementClaimSize.record(size);
+    }
+
+    public void recordSettlementExpired(boolean promotedToRunnerUp) {
+        (promotedToRunnerUp ? promoted : noWinner).increment();
+    }
+}
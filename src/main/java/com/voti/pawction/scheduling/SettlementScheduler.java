@@ -1,24 +1,26 @@
 package com.voti.pawction.scheduling;
 
-import com.voti.pawction.services.auction.impl.SettlementServiceInterface;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.time.Clock;
-
+/**
+ * Safety net behind {@link SettlementTimerScheduler}: sweeps the settlement timer index in case
+ * a wakeup was missed. Timers are leased per row, so every node may run it.
+ */
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class SettlementScheduler {
-    private final SettlementServiceInterface settlementService;
-    private final Clock clock;
+    private final SettlementTimerScheduler settlementTimerScheduler;
 
-    @Scheduled(fixedDelayString = "${auction.scheduler.settlement-delay-ms:60000}")
+    @Scheduled(fixedDelayString = "${auction.scheduler.settlement-sweep-ms:300000}")
     public void expireOverdueSettlementsJob() {
-        int processed = settlementService.expireOverdueSettlements();
+        int processed = settlementTimerScheduler.sweep();
 
         if (processed > 0) {
-            System.out.println("Expired " + processed + " overdue settlements");
+            log.info("[settlement-scheduler] expired {} overdue settlements", processed);
         }
     }
 }
@@ -0,0 +1,13 @@
+package com.voti.pawction.scheduling;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link com.voti.pawction.services.auction.SettlementService} after it registers or
+ * moves a settlement timer, so the local {@link SettlementTimerScheduler} can wake up on time.
+ *
+ * @param auctionId the auction identifier
+ * @param dueAt     when the winner's payment window closes
+ */
+public record SettlementTimerChangedEvent(Long auctionId, LocalDateTime dueAt) {
+}
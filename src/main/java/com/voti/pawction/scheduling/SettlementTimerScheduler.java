@@ -0,0 +1,233 @@
+package com.voti.pawction.scheduling;
+
+import com.voti.pawction.config.AuctionSchedulerProperties;
+import com.voti.pawction.entities.auction.enums.Auction_Status;
+import com.voti.pawction.entities.auction.enums.Payment_Status;
+import com.voti.pawction.repositories.auction.AuctionRepository;
+import com.voti.pawction.repositories.auction.SettlementTimerRepository;
+import com.voti.pawction.services.auction.impl.SettlementServiceInterface;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fires settlement deadlines from the durable {@code settlement_timer} index.
+ *
+ * <p>{@link com.voti.pawction.services.auction.SettlementService} writes a timer row whenever
+ * a payment window opens or moves, and deletes it once the auction is paid, settled or
+ * canceled. This component sleeps until the earliest timer is due, leases a batch of due
+ * timers with a single conditional UPDATE, and runs
+ * {@link SettlementServiceInterface#expireAndPromoteNext(Long, LocalDateTime)} for each one in
+ * its own transaction, deleting the timer in that same transaction. A node that dies mid-run
+ * leaves its timers leased; they become claimable again when the lease runs out.</p>
+ *
+ * <p>Every claim counts as an attempt. A timer that has been claimed
+ * {@code settlementMaxAttempts} times without completing is parked: it stays in the table,
+ * is logged, and is no longer claimed until it is registered again.</p>
+ *
+ * <p>Nothing is kept only in memory: on startup the next wakeup is read back from the table,
+ * and {@link SettlementScheduler} sweeps it at a low frequency in case a wakeup was missed,
+ * e.g. for a timer registered on another node.</p>
+ */
+@Component
+@Slf4j
+public class SettlementTimerScheduler {
+    private static final int MAX_NODE_ID_LENGTH = 40;
+
+    private final SettlementTimerRepository timerRepository;
+    private final SettlementServiceInterface settlementService;
+    private final AuctionRepository auctionRepository;
+    private final AuctionSchedulerProperties props;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final SchedulerMetrics schedulerMetrics;
+    private final String nodeId;
+
+    private final ReentrantLock running = new ReentrantLock();
+    private final AtomicLong claims = new AtomicLong();
+    private ScheduledExecutorService timer;
+    private ScheduledFuture<?> wakeup;
+    private long wakeupAtMillis = Long.MAX_VALUE;
+
+    public SettlementTimerScheduler(SettlementTimerRepository timerRepository,
+                                    SettlementServiceInterface settlementService,
+                                    AuctionRepository auctionRepository,
+                                    AuctionSchedulerProperties props,
+                                    PlatformTransactionManager transactionManager,
+                                    Clock clock,
+                                    SchedulerMetrics schedulerMetrics,
+                                    @Value("${app.node-id:${random.uuid}}") String nodeId) {
+        this.timerRepository = timerRepository;
+        this.settlementService = settlementService;
+        this.auctionRepository = auctionRepository;
+        this.props = props;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.schedulerMetrics = schedulerMetrics;
+        this.nodeId = nodeId.length() > MAX_NODE_ID_LENGTH ? nodeId.substring(0, MAX_NODE_ID_LENGTH) : nodeId;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!props.isEnabled()) return;
+
+        timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            var t = new Thread(r, "settlement-timer");
+            t.setDaemon(true);
+            return t;
+        });
+        // fires whatever fell due while no node was running, then sleeps until the next timer
+        timer.execute(this::sweep);
+        log.info("[settlement-timer] started on node {}", nodeId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTimerChanged(SettlementTimerChangedEvent event) {
+        wakeAt(event.dueAt());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+    }
+
+    /**
+     * Fires every due timer this node can lease, then re-arms the wakeup for the next one.
+     * Runs at most once at a time per node; an overlapping call returns immediately and
+     * leaves the work to the running one.
+     *
+     * @return the number of auctions whose settlement expired
+     */
+    public int sweep() {
+        if (!running.tryLock()) return 0;
+
+        return schedulerMetrics.timeSettlementRun("timer", this::sweepLocked);
+    }
+
+    private int sweepLocked() {
+        int expired = 0;
+        try {
+            synchronized (this) {
+                wakeup = null;
+                wakeupAtMillis = Long.MAX_VALUE;
+            }
+            List<Long> leased;
+            do {
+                var lease = nodeId + "#" + claims.incrementAndGet();
+                leased = claim(lease);
+                schedulerMetrics.recordSettlementClaim(leased.size());
+                for (Long auctionId : leased) {
+                    if (fire(auctionId, lease)) {
+                        expired++;
+                    }
+                }
+            } while (leased.size() >= props.getSettlementClaimBatch());
+        } catch (Exception e) {
+            log.error("[settlement-timer] sweep failed", e);
+        } finally {
+            running.unlock();
+        }
+
+        rearm();
+        return expired;
+    }
+
+    private List<Long> claim(String lease) {
+        // datetime columns hold whole seconds
+        var now = LocalDateTime.now(clock).truncatedTo(ChronoUnit.SECONDS);
+        var leaseUntil = now.plusSeconds(props.getSettlementLeaseSeconds());
+        return transactionTemplate.execute(status -> {
+            if (timerRepository.claimDue(lease, leaseUntil, now, props.getSettlementClaimBatch(),
+                    props.getSettlementMaxAttempts()) == 0) {
+                return List.<Long>of();
+            }
+            return timerRepository.findLeased(lease);
+        });
+    }
+
+    /**
+     * Expires one settlement and retires its timer in the same transaction. A timer that
+     * fired early, e.g. because the deadline was moved without re-registering it, is moved
+     * to the auction's current deadline instead of being dropped.
+     */
+    private boolean fire(Long auctionId, String lease) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                var now = LocalDateTime.now(clock);
+                boolean expired = settlementService.expireAndPromoteNext(auctionId, now);
+                if (!expired) {
+                    auctionRepository.findById(auctionId)
+                            .filter(a -> a.getStatus() == Auction_Status.ENDED
+                                    && a.getPaymentStatus() != Payment_Status.PAID
+                                    && a.getWinningUser() != null
+                                    && a.getPaymentDueDate() != null
+                                    && a.getPaymentDueDate().isAfter(now))
+                            .ifPresent(a -> timerRepository.upsert(auctionId, a.getPaymentDueDate()));
+                }
+                timerRepository.completeIfLeased(auctionId, lease);
+                return expired;
+            }));
+        } catch (Exception e) {
+            if (parked(auctionId)) {
+                log.error("[settlement-timer] failed to expire settlement of auction {} after {} attempts; "
+                        + "timer parked until it is registered again", auctionId, props.getSettlementMaxAttempts(), e);
+            } else {
+                log.error("[settlement-timer] failed to expire settlement of auction {}; retrying once the lease lapses",
+                        auctionId, e);
+            }
+            return false;
+        }
+    }
+
+    private boolean parked(Long auctionId) {
+        try {
+            return timerRepository.findById(auctionId)
+                    .map(t -> t.getAttempts() >= props.getSettlementMaxAttempts())
+                    .orElse(false);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void rearm() {
+        try {
+            timerRepository.findNextClaimableAt(props.getSettlementMaxAttempts()).ifPresent(this::wakeAt);
+        } catch (Exception e) {
+            log.error("[settlement-timer] could not read the next deadline; the sweep will pick it up", e);
+        }
+    }
+
+    /**
+     * Makes sure a sweep runs no later than {@code dueAt}; an earlier pending wakeup is kept.
+     */
+    private synchronized void wakeAt(LocalDateTime dueAt) {
+        if (timer == null || dueAt == null) return;
+
+        long at = dueAt.atZone(clock.getZone()).toInstant().toEpochMilli();
+        if (wakeup != null && !wakeup.isDone() && wakeupAtMillis <= at) {
+            return;
+        }
+        if (wakeup != null) {
+            wakeup.cancel(false);
+        }
+        wakeupAtMillis = at;
+        wakeup = timer.schedule(this::sweep, Math.max(0, at - clock.millis()), TimeUnit.MILLISECONDS);
+    }
+}
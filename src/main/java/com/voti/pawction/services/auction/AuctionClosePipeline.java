@@ -0,0 +1,153 @@
+package com.voti.pawction.services.auction;
+
+import com.voti.pawction.config.AuctionSchedulerProperties;
+import com.voti.pawction.entities.auction.enums.Auction_Status;
+import com.voti.pawction.repositories.auction.AuctionRepository;
+import com.voti.pawction.scheduling.SchedulerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.*;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Closes every auction that expired by a cutoff, one transaction per auction.
+ *
+ * <p>Expired ids are claimed in batches by keyset on {@code auctionId}, so an auction that keeps
+ * failing is not read again in the same run. Each id is closed on a virtual thread, with at most
+ * {@code closeWorkers} running at once, inside its own {@link TransactionTemplate} transaction.
+ * A failure rolls back only that auction; it is retried up to {@code closeMaxAttempts} times
+ * and otherwise left LIVE for the next run.</p>
+ *
+ * <p>Records {@code auction.close.duration} per auction, {@code auction.close.closed},
+ * {@code auction.close.failed}, the claimed page sizes through {@link SchedulerMetrics} and a
+ * throughput line per run.</p>
+ */
+@Component
+@Slf4j
+public class AuctionClosePipeline {
+    private final AuctionRepository auctionRepository;
+    private final AuctionSchedulerProperties props;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerMetrics schedulerMetrics;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Timer closeTimer;
+    private final Counter closedCounter;
+    private final Counter failedCounter;
+
+    public AuctionClosePipeline(AuctionRepository auctionRepository,
+                                AuctionSchedulerProperties props,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                SchedulerMetrics schedulerMetrics) {
+        this.auctionRepository = auctionRepository;
+        this.props = props;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.schedulerMetrics = schedulerMetrics;
+        this.closeTimer = meterRegistry.timer("auction.close.duration");
+        this.closedCounter = meterRegistry.counter("auction.close.closed");
+        this.failedCounter = meterRegistry.counter("auction.close.failed");
+    }
+
+    /**
+     * Runs {@code closeOne} for every LIVE auction of one shard whose end time is at or before
+     * {@code cutoff}; the shard holds the auctions whose {@code auctionId mod shards} equals {@code shard}.
+     *
+     * @param cutoff   the expiry cutoff
+     * @param shard    the shard to close, in {@code [0, shards)}
+     * @param shards   the total number of shards
+     * @param closeOne closes one auction and returns whether it did; runs inside a fresh transaction
+     * @return number of auctions closed
+     */
+    public int closeExpired(LocalDateTime cutoff, int shard, int shards, Predicate<Long> closeOne) {
+        long started = System.nanoTime();
+        var permits = new Semaphore(Math.max(1, props.getCloseWorkers()));
+        var results = new ArrayList<Future<Boolean>>();
+
+        int batchSize = Math.max(1, props.getCloseBatchSize());
+        Long afterId = 0L;
+        while (true) {
+            var ids = auctionRepository.findIdsInShardByStatusAndEndTimeLteAfter(
+                    Auction_Status.LIVE, cutoff, afterId, shards, shard, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) break;
+            schedulerMetrics.recordCloseBatch(ids.size());
+
+            for (Long id : ids) {
+                permits.acquireUninterruptibly();
+                results.add(workers.submit(() -> {
+                    try {
+                        return closeWithRetry(id, closeOne);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            afterId = ids.getLast();
+        }
+
+        int closed = 0;
+        for (var result : results) {
+            try {
+                closed += result.get() ? 1 : 0;
+            } catch (ExecutionException e) {
+                log.error("[auction-close] worker failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        if (!results.isEmpty()) {
+            log.info("[auction-close] shard {}/{}: closed {}/{} auctions in {}ms ({} per second, {} workers)",
+                    shard, shards, closed, results.size(), elapsedMs, closed * 1000L / elapsedMs, props.getCloseWorkers());
+        }
+        return closed;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    private boolean closeWithRetry(Long auctionId, Predicate<Long> closeOne) {
+        int attempts = Math.max(1, props.getCloseMaxAttempts());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Supplier<Boolean> inTransaction = () -> transactionTemplate.execute(tx -> closeOne.test(auctionId));
+                Boolean closed = closeTimer.record(inTransaction);
+                if (Boolean.TRUE.equals(closed)) {
+                    closedCounter.increment();
+                    return true;
+                }
+                return false;
+            } catch (RuntimeException e) {
+                if (attempt >= attempts) {
+                    failedCounter.increment();
+                    log.error("[auction-close] giving up on auction {} after {} attempts", auctionId, attempt, e);
+                    return false;
+                }
+                log.warn("[auction-close] attempt {} for auction {} failed: {}", attempt, auctionId, e.getMessage());
+                sleep(props.getCloseRetryBackoffMs() * attempt);
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
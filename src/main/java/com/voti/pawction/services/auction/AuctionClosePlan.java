@@ -0,0 +1,40 @@
+package com.voti.pawction.services.auction;
+
+import com.voti.pawction.dtos.response.HeldHold;
+import com.voti.pawction.entities.auction.Auction;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Close work for one auction computed ahead of its end time by {@link AuctionClosePlanner}:
+ * the finalists whose holds stay HELD and every other hold to release.
+ *
+ * @param auctionId       the auction identifier
+ * @param bidCount        the auction's bid count when the plan was made
+ * @param winningBidId    the auction's winning bid pointer when the plan was made
+ * @param runnerUpBidId   the auction's runner-up bid pointer when the plan was made, or {@code null}
+ * @param winnerAccountId account of the winning bid
+ * @param keptAccountIds  accounts of the winning and runner-up bids
+ * @param releasable      the HELD holds of every other account
+ */
+public record AuctionClosePlan(Long auctionId,
+                               int bidCount,
+                               Long winningBidId,
+                               Long runnerUpBidId,
+                               Long winnerAccountId,
+                               List<Long> keptAccountIds,
+                               List<HeldHold> releasable) {
+
+    /**
+     * Whether the auction, read under its row lock, is still in the state this plan was made for.
+     * Every accepted bid moves the bid count, so a match means no bid arrived since.
+     */
+    public boolean matches(Auction auction) {
+        return auction.getBidCount() == bidCount
+                && Objects.equals(auction.getWinningBidId(), winningBidId)
+                && Objects.equals(auction.getRunnerUpBidId(), runnerUpBidId)
+                && auction.getWinningUser() != null
+                && Objects.equals(auction.getWinningUser().getUserId(), winnerAccountId);
+    }
+}
@@ -0,0 +1,132 @@
+package com.voti.pawction.services.auction;
+
+import com.voti.pawction.config.AuctionSchedulerProperties;
+import com.voti.pawction.config.BiddingProperties;
+import com.voti.pawction.dtos.response.AuctionCloseState;
+import com.voti.pawction.dtos.response.HeldHold;
+import com.voti.pawction.entities.auction.enums.Auction_Status;
+import com.voti.pawction.entities.wallet.enums.Status;
+import com.voti.pawction.repositories.auction.AuctionRepository;
+import com.voti.pawction.repositories.wallet.DepositHoldRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Prepares the close of auctions that end within {@code preCloseLeadSeconds}, so that the work
+ * left at the end time is applying a plan rather than reading every hold of the auction.
+ *
+ * <p>Each {@link #refresh()} reads the close state of the auctions in the lead window with one
+ * query and rebuilds only the plans whose state moved since, i.e. the auctions that took a bid;
+ * their HELD holds are read with one more query for all of them. The state is read before the
+ * holds, so a bid landing in between leaves a plan whose bid count no longer matches rather
+ * than a plan missing that bid's hold.</p>
+ *
+ * <p>Plans are local to the node and only a shortcut: {@link SettlementService#settleOnClose}
+ * takes the plan, checks it against the auction read under its row lock and falls back to
+ * reading the holds when it does not match. Plans are not kept in {@code SEQUENCED} bidding
+ * mode, where holds are written by the sequencer without moving the auction's bid count.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuctionClosePlanner {
+    private final AuctionRepository auctionRepository;
+    private final DepositHoldRepository holdRepository;
+    private final AuctionSchedulerProperties props;
+    private final BiddingProperties biddingProperties;
+    private final Clock clock;
+
+    private final Map<Long, AuctionClosePlan> plans = new ConcurrentHashMap<>();
+
+    private boolean isActive() {
+        return props.isEnabled()
+                && props.isPreCloseEnabled()
+                && biddingProperties.getMode() != BiddingProperties.Mode.SEQUENCED;
+    }
+
+    /**
+     * Brings the plans up to date with the auctions ending within the lead window: plans of
+     * auctions that left the window are dropped, plans of auctions that took a bid are rebuilt.
+     *
+     * @return the number of plans built
+     */
+    public int refresh() {
+        if (!isActive()) {
+            plans.clear();
+            return 0;
+        }
+
+        var horizon = LocalDateTime.now(clock).plusSeconds(Math.max(0, props.getPreCloseLeadSeconds()));
+        var states = auctionRepository.findCloseStatesByStatusAndEndTimeLte(
+                Auction_Status.LIVE, horizon, PageRequest.of(0, Math.max(1, props.getPreCloseMaxPlans())));
+
+        var inWindow = new HashSet<Long>();
+        var stale = new ArrayList<AuctionCloseState>();
+        for (var state : states) {
+            inWindow.add(state.getAuctionId());
+            // auctions without a winning bid have nothing to release worth preparing
+            if (state.getWinningBidId() == null || state.getWinnerAccountId() == null) {
+                continue;
+            }
+            var plan = plans.get(state.getAuctionId());
+            if (plan == null
+                    || plan.bidCount() != state.getBidCount()
+                    || !Objects.equals(plan.winningBidId(), state.getWinningBidId())
+                    || !Objects.equals(plan.runnerUpBidId(), state.getRunnerUpBidId())) {
+                stale.add(state);
+            }
+        }
+        plans.keySet().retainAll(inWindow);
+        if (stale.isEmpty()) {
+            return 0;
+        }
+
+        var holdsByAuction = holdRepository.findByAuctionInAndStatus(
+                        stale.stream().map(AuctionCloseState::getAuctionId).toList(), Status.HELD)
+                .stream()
+                .collect(Collectors.groupingBy(HeldHold::getAuctionId));
+
+        for (var state : stale) {
+            var kept = Stream.of(state.getWinnerAccountId(), state.getRunnerUpAccountId())
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .toList();
+            var releasable = holdsByAuction.getOrDefault(state.getAuctionId(), List.of()).stream()
+                    .filter(h -> !kept.contains(h.getAccountId()))
+                    .toList();
+            plans.put(state.getAuctionId(), new AuctionClosePlan(
+                    state.getAuctionId(),
+                    state.getBidCount(),
+                    state.getWinningBidId(),
+                    state.getRunnerUpBidId(),
+                    state.getWinnerAccountId(),
+                    kept,
+                    releasable));
+        }
+        log.debug("[auction-preclose] prepared {} close plans, {} held", stale.size(), plans.size());
+        return stale.size();
+    }
+
+    /**
+     * Removes and returns the plan for an auction, if one was prepared on this node. A plan is
+     * handed out once; a close that fails after taking it retries without it.
+     *
+     * @param auctionId the auction identifier
+     * @return the plan, or empty if none was prepared
+     */
+    public Optional<AuctionClosePlan> take(Long auctionId) {
+        if (!isActive()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(plans.remove(auctionId));
+    }
+}
@@ -0,0 +1,77 @@
+package com.voti.pawction.services.auction;
+
+import com.voti.pawction.config.AuctionSchedulerProperties;
+import com.voti.pawction.scheduling.SchedulerMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.core.LockConfiguration;
+import net.javacrumbs.shedlock.core.LockProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Splits closing expired auctions into {@code closeShards} shards by {@code auctionId mod closeShards}
+ * so that several nodes can close at the same time.
+ *
+ * <p>Each shard is leased through the {@code shedlock} table under the name
+ * {@code auction.close.shard-<n>}. A run walks all shards starting at a random one, closes the
+ * shards it can lease through {@link AuctionClosePipeline} and skips the ones another node is
+ * working on, so concurrent nodes end up on different shards. The lease is released as soon as
+ * the shard is done; if a node dies it lapses after {@code closeShardLeaseSeconds} and the shard
+ * is picked up by the next run on any node.</p>
+ *
+ * <p>Leases only spread the work. Every auction is still closed under its row lock by
+ * {@link AuctionService#closeOneIfExpired}, so a shard closed twice after a lease lapsed is harmless.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuctionCloseShards {
+    static final String LOCK_PREFIX = "auction.close.shard-";
+
+    private final LockProvider lockProvider;
+    private final AuctionClosePipeline auctionClosePipeline;
+    private final AuctionSchedulerProperties props;
+    private final Clock clock;
+    private final SchedulerMetrics schedulerMetrics;
+
+    /**
+     * Closes the expired auctions of every shard this node can lease.
+     *
+     * @param cutoff   the expiry cutoff
+     * @param closeOne closes one auction and returns whether it did; runs inside a fresh transaction
+     * @return number of auctions this node closed
+     */
+    public int closeExpired(LocalDateTime cutoff, Predicate<Long> closeOne) {
+        int shards = Math.max(1, props.getCloseShards());
+        var lease = Duration.ofSeconds(Math.max(1, props.getCloseShardLeaseSeconds()));
+        int first = ThreadLocalRandom.current().nextInt(shards);
+
+        int closed = 0;
+        int skipped = 0;
+        for (int i = 0; i < shards; i++) {
+            int shard = (first + i) % shards;
+            var lock = lockProvider.lock(new LockConfiguration(clock.instant(), LOCK_PREFIX + shard, lease, Duration.ZERO));
+            if (lock.isEmpty()) {
+                skipped++;
+                continue;
+            }
+            try {
+                closed += auctionClosePipeline.closeExpired(cutoff, shard, shards, closeOne);
+            } finally {
+                lock.get().unlock();
+            }
+        }
+
+        if (skipped > 0) {
+            schedulerMetrics.recordShardsSkipped(skipped);
+            log.debug("[auction-close] {} of {} shards were leased by other nodes", skipped, shards);
+        }
+        return closed;
+    }
+}
@@ -4,6 +4,9 @@ import com.voti.pawction.dtos.request.AuctionRequest.CreateAuctionRequest;
 import com.voti.pawction.dtos.request.AuctionRequest.UpdateAuctionDetailRequest;
 import com.voti.pawction.dtos.request.AuctionRequest.UpdateAuctionEndTimeRequest;
 import com.voti.pawction.dtos.request.PetRequest.UpdatePetWhenAuctionLiveRequest;
+import com.voti.pawction.config.AuctionSchedulerProperties;
+import com.voti.pawction.config.BiddingProperties;
+import com.voti.pawction.dtos.response.AuctionCardDto;
 import com.voti.pawction.dtos.response.AuctionDto;
 import com.voti.pawction.entities.User;
 import com.voti.pawction.entities.auction.Auction;
@@ -22,25 +25,31 @@ import com.voti.pawction.exceptions.UserExceptions.UserNotFoundException;
 import com.voti.pawction.mappers.AuctionMapper;
 import com.voti.pawction.repositories.UserRepository;
 import com.voti.pawction.repositories.auction.AuctionRepository;
+import com.voti.pawction.scheduling.AuctionDeadlineChangedEvent;
+import com.voti.pawction.scheduling.AuctionsActivatedEvent;
+import com.voti.pawction.scheduling.SchedulerMetrics;
 import com.voti.pawction.services.auction.impl.AuctionServiceInterface;
 import com.voti.pawction.services.auction.policy.AuctionPolicy;
+import com.voti.pawction.services.auction.sequencer.BidSequencer;
 import com.voti.pawction.services.pet.PetService;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 /**
  * Application service for Auction lifecycle: create, update, cancel, and end/close.
  *
  * Responsibilities:
- * - Create LIVE auctions (highestBid initialized to startPrice).
+ * - Create LIVE auctions (highestBid initialized to startPrice), or SCHEDULED ones that
+ *   {@link com.voti.pawction.scheduling.AuctionActivationScheduler} activates at their start time.
  * - Update mutable fields while LIVE (description, endTime, limited pet info).
  * - Cancel before first valid bid (policy).
  * - End/close auctions (seller-initiated or scheduled) and delegate post-close
@@ -50,6 +59,10 @@ import java.util.*;
  * - Write paths use PESSIMISTIC_WRITE where appropriate to avoid race conditions.
  * - End/close is idempotent to allow safe retries.
  *
+ * Scheduling:
+ * - Every end-time change and every exit from LIVE publishes an {@link AuctionDeadlineChangedEvent}
+ *   so that the close wheel fires on time.
+ *
  * Time:
  * - All times use the application zone (e.g., America/New_York) via injected Clock.
  */
@@ -63,20 +76,27 @@ public class AuctionService implements AuctionServiceInterface {
     private final PetService petService;
     private final BiddingService biddingService;
     private final SettlementService settlementService;
+    private final BidSequencer bidSequencer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuctionCloseShards auctionCloseShards;
+    private final AuctionSchedulerProperties schedulerProperties;
+    private final BiddingProperties biddingProperties;
+    private final SchedulerMetrics schedulerMetrics;
 
-    private static final int BATCH = 200;
     private final Clock clock;
 
     /**
-     * Create and immediately start a LIVE auction.
-     * Initializes highestBid to startPrice and sets endTime from the request.
+     * Create an auction and start it immediately, or at {@code startAt} if that lies in the future.
+     * Initializes highestBid to startPrice and sets endTime from the request. A future start
+     * leaves the auction SCHEDULED; it accepts no bids until it is activated.
+     * A soft-close auction takes its window and extension from {@link BiddingProperties}.
      *
      * @param sellingUserId seller's user id
      * @param petId pet id to list
-     * @param request payload with startPrice, description, endTime
+     * @param request payload with startPrice, description, optional startAt, endTime and soft-close flag
      * @return created auction as DTO
      * @throws InvalidAmountException if startPrice <= 0
-     * @throws InvalidAuctionException if description missing/blank or endTime invalid
+     * @throws InvalidAuctionException if description missing/blank or endTime invalid (relative to the start)
      * @throws UserNotFoundException if seller not found
      * @throws PetNotFoundException if pet not found
      */
@@ -85,7 +105,12 @@ public class AuctionService implements AuctionServiceInterface {
     public AuctionDto create(Long sellingUserId, Long petId, CreateAuctionRequest request) {
         requirePositive(request.getStartPrice());
 
-        requireFuture(LocalDateTime.now(clock), request.getEndedAt());
+        var now = LocalDateTime.now(clock);
+        // datetime columns hold whole seconds; truncate so the activation query sees the same value
+        var startAt = request.getStartAt() == null ? null : request.getStartAt().truncatedTo(ChronoUnit.SECONDS);
+        boolean scheduled = startAt != null && startAt.isAfter(now);
+
+        requireFuture(scheduled ? startAt : now, request.getEndedAt());
 
         if (request.getDescription() == null || request.getDescription().isBlank()) {
             throw new InvalidAuctionException("Auction description is required");
@@ -98,10 +123,15 @@ public class AuctionService implements AuctionServiceInterface {
         a.setStartPrice(request.getStartPrice());
         a.setHighestBid(request.getStartPrice());
         a.setDescription(request.getDescription());
-        a.setStatus(Auction_Status.LIVE);
-        a.setCreatedAt(LocalDateTime.now(clock));
-        a.setUpdatedAt(LocalDateTime.now(clock));
+        a.setStatus(scheduled ? Auction_Status.SCHEDULED : Auction_Status.LIVE);
+        a.setCreatedAt(now);
+        a.setUpdatedAt(now);
+        a.setStartTime(scheduled ? startAt : now);
         a.setEndTime(request.getEndedAt());
+        if (request.isSoftClose()) {
+            a.setSoftCloseWindowSeconds(biddingProperties.getSoftCloseWindowSeconds());
+            a.setSoftCloseExtensionSeconds(biddingProperties.getSoftCloseExtensionSeconds());
+        }
         a.setSellingUser(sellingUser);
         a.setPaymentDueDate(null);
         a.setPaymentStatus(Payment_Status.UNPAID);
@@ -110,6 +140,9 @@ public class AuctionService implements AuctionServiceInterface {
         var auction = auctionRepository.save(a);
         sellingUser.addAuction(auction);
         userRepository.save(sellingUser);
+        if (!scheduled) {
+            eventPublisher.publishEvent(new AuctionDeadlineChangedEvent(auction.getAuctionId(), auction.getEndTime()));
+        }
 
         return auctionMapper.toDto(auction);
     }
@@ -168,6 +201,8 @@ public class AuctionService implements AuctionServiceInterface {
 
         auction.setEndTime(request.getNewEndTime());
         auction.setUpdatedAt(LocalDateTime.now(clock));
+        bidSequencer.evict(auctionId);
+        eventPublisher.publishEvent(new AuctionDeadlineChangedEvent(auctionId, request.getNewEndTime()));
 
         return auctionMapper.toDto(auctionRepository.save(auction));
     }
@@ -215,7 +250,8 @@ public class AuctionService implements AuctionServiceInterface {
     @Override
     @Transactional
     public AuctionDto endEarly(Long auctionId) {
-        var auction = getAuctionOrThrow(auctionId);
+        // row lock like the other lifecycle changes, so a concurrent bid waits instead of failing the version check
+        var auction = getAuctionOrThrowForUpdate(auctionId);
 
         if (auction.getStatus() != Auction_Status.LIVE) {
             throw new AuctionInvalidStateException("Only LIVE auctions can be settled");
@@ -253,6 +289,10 @@ public class AuctionService implements AuctionServiceInterface {
      *   <li>Notifies {@code rankingService.onAuctionClosed(...)} for leaderboard/UI updates.</li>
      * </ul>
      *
+     * <p>With {@code auction.scheduler.set-based-close} on (the default), everything after the
+     * status change is done by {@link SettlementService#settleOnClose(Long, LocalDateTime)} in a
+     * fixed number of bulk statements instead.</p>
+     *
      * <p>This method is safe to call multiple times — it checks the auction state and only applies
      * missing post-close operations, making it suitable for both interactive calls and scheduler retries.</p>
      *
@@ -272,6 +312,12 @@ public class AuctionService implements AuctionServiceInterface {
         auction.setStatus(Auction_Status.ENDED);
         auction.setUpdatedAt(LocalDateTime.now(clock));
         auctionRepository.save(auction);
+        bidSequencer.evict(auctionId);
+        eventPublisher.publishEvent(new AuctionDeadlineChangedEvent(auctionId, null));
+
+        if (schedulerProperties.isSetBasedClose()) {
+            return settlementService.settleOnClose(auctionId, LocalDateTime.now(clock).plusHours(72));
+        }
 
         if (biddingService.getWinningBid(auctionId).isEmpty()) {
             return settlementService.noWinner(auction.getAuctionId());
@@ -291,11 +337,11 @@ public class AuctionService implements AuctionServiceInterface {
     }
 
     /**
-     * Cancel a LIVE auction before the first valid bid.
-     * Transitions LIVE -> CANCELED and releases all holds via SettlementService.
+     * Cancel a LIVE auction before the first valid bid, or a SCHEDULED one before it starts.
+     * Transitions LIVE/SCHEDULED -> CANCELED and releases all holds via SettlementService.
      *
      * @param auctionId auction identifier
-     * @throws AuctionInvalidStateException if auction is not LIVE
+     * @throws AuctionInvalidStateException if auction is neither LIVE nor SCHEDULED
      * @throws InvalidAuctionException if a first bid already occurred
      */
     @Override
@@ -303,8 +349,8 @@ public class AuctionService implements AuctionServiceInterface {
     public void cancel(Long auctionId) {
         var auction = getAuctionOrThrowForUpdate(auctionId);
 
-        if (auction.getStatus() != Auction_Status.LIVE) {
-            throw new AuctionInvalidStateException("Only LIVE auctions can be canceled");
+        if (auction.getStatus() != Auction_Status.LIVE && auction.getStatus() != Auction_Status.SCHEDULED) {
+            throw new AuctionInvalidStateException("Only LIVE or SCHEDULED auctions can be canceled");
         }
 
         if (!Objects.equals(auction.getHighestBid(), auction.getStartPrice())) {
@@ -314,32 +360,63 @@ public class AuctionService implements AuctionServiceInterface {
         auction.setStatus(Auction_Status.CANCELED);
         auction.setUpdatedAt(LocalDateTime.now(clock));
         auctionRepository.save(auction);
+        bidSequencer.evict(auctionId);
+        eventPublisher.publishEvent(new AuctionDeadlineChangedEvent(auctionId, null));
     }
 
     /**
-     * Close all auctions whose endTime <= now and are still LIVE.
-     * For each candidate, flips to ENDED (with locking) and delegates to {@link #end(Long)}.
+     * Moves a prepared batch of SCHEDULED auctions to LIVE with one conditional UPDATE.
+     * <p>
+     * The rows still SCHEDULED and due are locked and read first, so auctions that were
+     * canceled, or activated by another node, since the batch was read are neither flipped nor
+     * returned, even when the other node's update ran in the same second. The activated
+     * auctions are announced with a single {@link AuctionsActivatedEvent} so the close wheel
+     * learns their end times in one go.
      *
-     * @return number of auctions processed
+     * @param batch cards of scheduled auctions whose start time has come
+     * @return the cards of the auctions this call activated
      */
     @Override
     @Transactional
-    public int closeExpiredAuctions() {
-        int processed = 0;
-        LocalDateTime nowNY = LocalDateTime.now(clock);
+    public List<AuctionCardDto> activateScheduled(List<AuctionCardDto> batch) {
+        if (batch.isEmpty()) {
+            return List.of();
+        }
+
+        var now = LocalDateTime.now(clock).truncatedTo(ChronoUnit.SECONDS);
+        var ids = batch.stream().map(AuctionCardDto::getAuctionId).toList();
 
-        List<Long> ids;
-        do {
-            ids = auctionRepository.findIdsByStatusAndEndTimeLte(
-                    Auction_Status.LIVE, nowNY, PageRequest.of(0, BATCH));
+        var due = auctionRepository.lockDueScheduledIds(ids, now);
+        if (due.isEmpty()) {
+            return List.of();
+        }
+        auctionRepository.transitionStarted(due, Auction_Status.SCHEDULED, Auction_Status.LIVE, now);
 
-            for (Long id : ids) {
-                processed += closeOneIfExpired(id, nowNY) ? 1 : 0;
-            }
-            auctionRepository.flush();
-        } while (!ids.isEmpty());
+        var live = batch;
+        if (due.size() < batch.size()) {
+            // rare: some were canceled, activated elsewhere or not yet due
+            var flipped = new HashSet<>(due);
+            live = batch.stream().filter(card -> flipped.contains(card.getAuctionId())).toList();
+        }
 
-        return processed;
+        eventPublisher.publishEvent(new AuctionsActivatedEvent(live));
+        return live;
+    }
+
+    /**
+     * Close all auctions whose endTime <= now and are still LIVE, in the close shards this node
+     * can lease (see {@link AuctionCloseShards}); other nodes close the remaining shards in parallel.
+     * Each shard's candidates are handed to {@link AuctionClosePipeline}, which closes each one through
+     * {@link #closeOneIfExpired(Long, LocalDateTime)} in its own transaction on a bounded pool
+     * of workers, so one failing auction neither rolls back nor blocks the others.
+     *
+     * @return number of auctions this node closed
+     */
+    @Override
+    public int closeExpiredAuctions() {
+        LocalDateTime nowNY = LocalDateTime.now(clock);
+        return schedulerMetrics.timeCloseRun(
+                () -> auctionCloseShards.closeExpired(nowNY, id -> closeOneIfExpired(id, nowNY)));
     }
 
     /**
@@ -348,6 +425,7 @@ public class AuctionService implements AuctionServiceInterface {
      * concurrent closes/bids, flips LIVE -&gt; ENDED when {@code endTime &le nowNY},
      * stamps {@code updatedAt} (and {@code paymentDueAt} if missing), persists the change,
      * and finally calls {@link #end(Long)} to perform winner selection and settlement coordination.
+     * Records the lock wait, the {@code end()} latency and the close lag in {@link SchedulerMetrics}.
      *
      * @param auctionId    the auction id to evaluate
      * @param nowNY the current timestamp in application time zone (e.g., America/New_York)
@@ -357,11 +435,13 @@ public class AuctionService implements AuctionServiceInterface {
     @Transactional
     @Override
     public boolean closeOneIfExpired(Long auctionId, LocalDateTime nowNY) {
-        var auction = getAuctionOrThrowForUpdate(auctionId);
+        var auction = schedulerMetrics.timeLockWait(() -> getAuctionOrThrowForUpdate(auctionId));
 
         if (auction.getStatus() != Auction_Status.LIVE || auction.getEndTime().isAfter(nowNY)) return false;
 
-        end(auction.getAuctionId());
+        var endTime = auction.getEndTime();
+        schedulerMetrics.timeEnd(() -> end(auctionId));
+        schedulerMetrics.recordCloseLag(auctionId, endTime, LocalDateTime.now(clock));
         return true;
     }
 
@@ -510,6 +590,7 @@ public class AuctionService implements AuctionServiceInterface {
      *           <li>imageUrl – primary photo URL of the pet</li>
      *           <li>currentPrice – current highest bid</li>
      *           <li>endDate – auction end time</li>
+     *           <li>bidCount – number of bids placed</li>
      *         </ul>
      *
      * @throws IllegalStateException if repository or mapping fails unexpectedly
@@ -532,6 +613,7 @@ public class AuctionService implements AuctionServiceInterface {
                     product.put("imageUrl", pet.getPrimaryPhotoUrl());
                     product.put("currentPrice", auctionDto.getHighestBid());
                     product.put("endDate", auctionDto.getEndTime());
+                    product.put("bidCount", auctionDto.getBidCount());
                     return product;
                 })
                 .toList();
@@ -552,6 +634,7 @@ public class AuctionService implements AuctionServiceInterface {
      *   <li><b>imageUrl</b> – the primary photo URL of the pet</li>
      *   <li><b>currentPrice</b> – the current highest bid for the auction</li>
      *   <li><b>endDate</b> – the scheduled end time of the auction</li>
+     *   <li><b>bidCount</b> – the number of bids placed on the auction</li>
      * </ul>
      *
      * @param userId the unique identifier of the user whose auctions should be retrieved
@@ -573,6 +656,7 @@ public class AuctionService implements AuctionServiceInterface {
                     product.put("imageUrl", pet.getPrimaryPhotoUrl());
                     product.put("currentPrice", auctionDto.getHighestBid());
                     product.put("endDate", auctionDto.getEndTime());
+                    product.put("bidCount", auctionDto.getBidCount());
                     return product;
                 })
                 .toList();
@@ -590,6 +674,7 @@ public class AuctionService implements AuctionServiceInterface {
      *           <li>imageUrl – primary photo URL of the pet</li>
      *           <li>currentPrice – current highest bid</li>
      *           <li>endDate – auction end time</li>
+     *           <li>bidCount – number of bids placed</li>
      *         </ul>
      * @throws EmptySearchException if the breed search term is null
      * @throws SearchLengthException if the breed search term is less than 3 letters
@@ -618,6 +703,7 @@ public class AuctionService implements AuctionServiceInterface {
                     product.put("imageUrl", pet.getPrimaryPhotoUrl());
                     product.put("currentPrice", dto.getHighestBid());
                     product.put("endDate", dto.getEndTime());
+                    product.put("bidCount", dto.getBidCount());
                     return product;
                 })
                 .toList();
@@ -0,0 +1,187 @@
+package com.voti.pawction.services.auction;
+
+import com.voti.pawction.config.BiddingProperties;
+import com.voti.pawction.dtos.response.BidDto;
+import com.voti.pawction.entities.auction.enums.Bid_Status;
+import com.voti.pawction.exceptions.AuctionExceptions.AuctionInvalidStateException;
+import com.voti.pawction.exceptions.BidExceptions.BidOverloadedException;
+import com.voti.pawction.exceptions.BidExceptions.InvalidBidException;
+import com.voti.pawction.exceptions.BidExceptions.OutbidWhileSubmittingException;
+import com.voti.pawction.mappers.BidMapper;
+import com.voti.pawction.repositories.auction.BidRepository;
+import com.voti.pawction.repositories.auction.CeilingRaiseRepository;
+import com.voti.pawction.services.auction.admission.BidAdmissionLimiter;
+import com.voti.pawction.services.auction.idempotency.BidIdempotencyCache;
+import com.voti.pawction.services.auction.impl.BidSubmissionServiceInterface;
+import com.voti.pawction.services.auction.policy.AuctionPolicy;
+import com.voti.pawction.services.auction.ratelimit.BidRateLimiter;
+import com.voti.pawction.services.auction.sequencer.BidSequencer;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Front door for bid submission.
+ *
+ * <p>Controllers call this service instead of {@link BiddingService#placeBid} directly so that
+ * the way concurrent bids are serialized can be switched with {@code auction.bidding.mode}
+ * without touching the web layer.</p>
+ */
+@Service
+@AllArgsConstructor
+public class BidSubmissionService implements BidSubmissionServiceInterface {
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private final BiddingService biddingService;
+    private final BidSequencer bidSequencer;
+    private final AuctionPolicy auctionPolicy;
+    private final BiddingProperties props;
+    private final BidIdempotencyCache idempotencyCache;
+    private final BidRepository bidRepository;
+    private final BidMapper bidMapper;
+    private final BidRateLimiter bidRateLimiter;
+    private final BidAdmissionLimiter bidAdmissionLimiter;
+    private final CeilingRaiseRepository ceilingRaiseRepository;
+
+    @Override
+    public BidDto submit(Long bidderId, Long auctionId, BigDecimal amount, String idempotencyKey) {
+        return deduplicated(bidderId, auctionId, idempotencyKey, () -> switch (props.getMode()) {
+            case SEQUENCED -> bidSequencer.submit(bidderId, auctionId, amount, idempotencyKey);
+            case OPTIMISTIC -> admitted(() -> submitOptimistic(bidderId, auctionId, amount, idempotencyKey));
+            case LOCKING -> admitted(() -> biddingService.placeBid(bidderId, auctionId, amount, idempotencyKey));
+        });
+    }
+
+    @Override
+    public BidDto submitProxy(Long bidderId, Long auctionId, BigDecimal maxAmount, String idempotencyKey) {
+        return deduplicated(bidderId, auctionId, idempotencyKey, () -> switch (props.getMode()) {
+            case SEQUENCED -> bidSequencer.submitProxy(bidderId, auctionId, maxAmount, idempotencyKey);
+            case OPTIMISTIC, LOCKING -> admitted(
+                    () -> biddingService.placeProxyBid(bidderId, auctionId, maxAmount, idempotencyKey));
+        });
+    }
+
+    /**
+     * Runs database work inside a slot of the adaptive in-flight limit, so that a saturated
+     * connection pool sheds bids quickly instead of parking servlet threads.
+     * <p>
+     * Sequenced bids are not wrapped here: {@link BidSequencer} claims the slot inside the
+     * auction's lane, so a bid waiting behind a slow lane does not hold one.
+     *
+     * @throws BidOverloadedException if no slot is free
+     */
+    private <T> T admitted(Supplier<T> work) {
+        long startedAt = bidAdmissionLimiter.acquire();
+        try {
+            return work.get();
+        } finally {
+            bidAdmissionLimiter.release(startedAt);
+        }
+    }
+
+    /**
+     * Runs a submission at most once per {@code (bidderId, idempotencyKey)}.
+     * <p>
+     * A repeat is answered, in order, from the in-memory window (waiting if the first attempt
+     * is still running), from the bid row or ceiling raise that carries the key, and finally
+     * by the unique constraint when two nodes race on the same key. None of these take the auction lock.
+     * A failed submission is forgotten so the client can retry with the same key.
+     * <p>
+     * A {@link BidRateLimiter} token is taken before any database work, once the in-memory window
+     * has missed. It is given back if the bid row or ceiling raise answers the repeat, so a
+     * client resending a recorded bid is not charged for it; a repeat answered from memory is
+     * never charged.
+     * <p>
+     * The admission slot is claimed only around the database work, so a repeat waiting on
+     * the first attempt does not hold one while it waits.
+     */
+    private BidDto deduplicated(Long bidderId, Long auctionId, String idempotencyKey, Supplier<BidDto> submission) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            bidRateLimiter.acquire(bidderId, auctionId);
+            return submission.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidBidException("Idempotency key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        var pending = new CompletableFuture<BidDto>();
+        var earlier = idempotencyCache.reserve(bidderId, idempotencyKey, pending);
+        if (earlier != null) {
+            return awaitEarlier(earlier);
+        }
+
+        try {
+            bidRateLimiter.acquire(bidderId, auctionId);
+            var recorded = admitted(() -> findRecorded(bidderId, idempotencyKey));
+            recorded.ifPresent(bid -> bidRateLimiter.refund(bidderId, auctionId));
+            var result = recorded.orElseGet(() -> submitOrRecover(bidderId, idempotencyKey, submission));
+            pending.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            idempotencyCache.forget(bidderId, idempotencyKey, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private BidDto submitOrRecover(Long bidderId, String idempotencyKey, Supplier<BidDto> submission) {
+        try {
+            return submission.get();
+        } catch (DataIntegrityViolationException e) {
+            // the same key was recorded concurrently, e.g. by another node
+            return admitted(() -> findRecorded(bidderId, idempotencyKey)).orElseThrow(() -> e);
+        }
+    }
+
+    private Optional<BidDto> findRecorded(Long bidderId, String idempotencyKey) {
+        return bidRepository.findByUser_UserIdAndIdempotencyKey(bidderId, idempotencyKey)
+                .map(bidMapper::toDto)
+                .or(() -> ceilingRaiseRepository.findByUserIdAndIdempotencyKey(bidderId, idempotencyKey)
+                        .map(r -> new BidDto(r.getBidId(), r.getUserId(), r.getAuctionId(), r.getPrice(),
+                                Bid_Status.WINNING, r.getCreatedAt())));
+    }
+
+    private BidDto awaitEarlier(CompletableFuture<BidDto> earlier) {
+        try {
+            return earlier.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs {@link BiddingService#placeBidOptimistic} with a bounded retry.
+     * <p>
+     * Each attempt is its own transaction. After a version conflict the auction is re-read:
+     * if the bid no longer beats the new price the bidder is told right away that they were
+     * outbid; otherwise the bid is tried again, up to {@code optimisticMaxAttempts} times.
+     *
+     * @throws OutbidWhileSubmittingException if a concurrent bid took the price past this amount
+     * @throws AuctionInvalidStateException   if the attempts run out while the auction keeps changing
+     */
+    private BidDto submitOptimistic(Long bidderId, Long auctionId, BigDecimal amount, String idempotencyKey) {
+        int attempts = Math.max(1, props.getOptimisticMaxAttempts());
+        for (int attempt = 1; attempt <= attempts; attempt++) {
+            try {
+                return biddingService.placeBidOptimistic(bidderId, auctionId, amount, idempotencyKey);
+            } catch (OptimisticLockingFailureException e) {
+                var current = auctionPolicy.getAuctionOrThrow(auctionId).getHighestBid();
+                if (!auctionPolicy.isValidIncrement(current, amount)) {
+                    throw new OutbidWhileSubmittingException(
+                            "Another bid of " + current + " was placed while yours was submitted", current);
+                }
+            }
+        }
+        throw new AuctionInvalidStateException("Auction is busy, please retry your bid");
+    }
+}
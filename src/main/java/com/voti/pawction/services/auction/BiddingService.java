@@ -6,6 +6,7 @@ import com.voti.pawction.dtos.response.BidUpdateDto;
 import com.voti.pawction.entities.User;
 import com.voti.pawction.entities.auction.Auction;
 import com.voti.pawction.entities.auction.Bid;
+import com.voti.pawction.entities.auction.CeilingRaise;
 import com.voti.pawction.entities.auction.enums.Auction_Status;
 import com.voti.pawction.entities.auction.enums.Bid_Status;
 import com.voti.pawction.entities.pet.Pet;
@@ -20,12 +21,18 @@ import com.voti.pawction.mappers.BidMapper;
 import com.voti.pawction.repositories.UserRepository;
 import com.voti.pawction.repositories.auction.AuctionRepository;
 import com.voti.pawction.repositories.auction.BidRepository;
+import com.voti.pawction.repositories.auction.CeilingRaiseRepository;
+import com.voti.pawction.scheduling.AuctionDeadlineChangedEvent;
 import com.voti.pawction.services.auction.impl.BiddingServiceInterface;
 import com.voti.pawction.services.auction.policy.AuctionPolicy;
+import com.voti.pawction.services.auction.policy.BidVerdict;
+import com.voti.pawction.services.auction.policy.ProxyBidResolver;
 import com.voti.pawction.services.pet.PetService;
 import com.voti.pawction.services.socket.AuctionUpdateService;
 import com.voti.pawction.services.wallet.AccountService;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -48,6 +55,8 @@ public class BiddingService implements BiddingServiceInterface {
     private final Clock clock;
     private final AuctionMapper auctionMapper;
     private final PetService petService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CeilingRaiseRepository ceilingRaiseRepository;
 
 
     /**
@@ -57,13 +66,20 @@ public class BiddingService implements BiddingServiceInterface {
      * <ul>
      *   <li>Loads the bidder and auction with a row lock.</li>
      *   <li>Validates auction status and end time.</li>
-     *   <li>Computes the required deposit hold amount via {@link AuctionPolicy#requireAmount(Long)}.</li>
-     *   <li>Checks that the bid amount is a valid increment over the current highest bid.</li>
-     *   <li>Ensures the bidder has sufficient available funds and places a wallet hold.</li>
-     *   <li>Persists the bid as {@link Bid_Status#WINNING}.</li>
-     *   <li>Marks all other bids on this auction as {@link Bid_Status#OUTBID} in bulk.</li>
-     *   <li>Updates the auction's {@code highestBid} and {@code winningUser}.</li>
+     *   <li>Reads the bidder's account snapshot once via {@link AccountService#getBidSnapshot(Long, Long)}.</li>
+     *   <li>Evaluates hold amount, increment and funds in one pass via
+     *       {@link AuctionPolicy#evaluate(Auction, BigDecimal, com.voti.pawction.dtos.response.AccountSnapshot)}.</li>
+     *   <li>Places the wallet hold from that snapshot.</li>
+     *   <li>Resolves the bid against the leader's proxy ceiling, if any, via {@link ProxyBidResolver}.</li>
+     *   <li>Persists the resulting bid rows; the leading one as {@link Bid_Status#WINNING}.</li>
+     *   <li>Updates the auction's {@code highestBid}, {@code winningUser} and bid pointers.</li>
+     *   <li>Marks the previous winning bid as {@link Bid_Status#OUTBID}.</li>
+     *   <li>On a soft-close auction, extends {@code endTime} if the bid fell into the closing
+     *       window and republishes the deadline to the close wheel.</li>
      * </ul>
+     * Neither the auction nor the account is read again after the first load, so the number
+     * of statements per bid is fixed. If a leader's maximum bid covers this amount the leader
+     * keeps the auction and the returned bid is {@link Bid_Status#OUTBID}.
      *
      * @param bidderId  the id of the bidding user
      * @param auctionId the id of the auction to bid on
@@ -78,6 +94,51 @@ public class BiddingService implements BiddingServiceInterface {
     @Override
     @Transactional
     public BidDto placeBid(Long bidderId, Long auctionId, BigDecimal amount) {
+        return placeLockedBid(bidderId, auctionId, amount, false, null);
+    }
+
+    /**
+     * Same as {@link #placeBid(Long, Long, BigDecimal)}, recording the client's idempotency key
+     * on the bidder's row. A second bid with the same key for the same user fails on the
+     * {@code (user_id, idempotency_key)} unique constraint and the transaction rolls back.
+     *
+     * @param idempotencyKey client-supplied submission key, or {@code null}
+     * @throws org.springframework.dao.DataIntegrityViolationException if the key was already used
+     */
+    @Transactional
+    public BidDto placeBid(Long bidderId, Long auctionId, BigDecimal amount, String idempotencyKey) {
+        return placeLockedBid(bidderId, auctionId, amount, false, idempotencyKey);
+    }
+
+    /**
+     * Places a maximum (proxy) bid: the system bids for the user, one increment at a time,
+     * up to {@code maxAmount}.
+     * <p>
+     * The competition with the current leader's ceiling is resolved in memory in a single
+     * step by {@link ProxyBidResolver}, so a bid war between two maximums costs one locked
+     * transaction and one broadcast instead of one per increment. Only the resulting rows
+     * are written: the losing side's final bid and the leader's new visible price.
+     * A leader raising its own maximum changes nothing visible and broadcasts nothing.
+     *
+     * @param bidderId  the id of the bidding user
+     * @param auctionId the id of the auction to bid on
+     * @param maxAmount highest amount the system may bid on the user's behalf
+     * @param idempotencyKey client-supplied submission key recorded on the bidder's row, or {@code null}
+     * @return the bidder's resulting bid as a DTO (OUTBID if the leader's ceiling covered it)
+     * @throws AuctionInvalidStateException if the auction is not LIVE or already ended
+     * @throws InvalidBidException          if the maximum is not a valid increment, does not raise
+     *                                      the bidder's own ceiling, or funds are short
+     * @throws InvalidAmountException       if the amount is not positive
+     * @throws UserNotFoundException        if the bidder id is not found
+     * @throws AuctionNotFoundException     if the auction id is not found
+     */
+    @Transactional
+    public BidDto placeProxyBid(Long bidderId, Long auctionId, BigDecimal maxAmount, String idempotencyKey) {
+        return placeLockedBid(bidderId, auctionId, maxAmount, true, idempotencyKey);
+    }
+
+    private BidDto placeLockedBid(Long bidderId, Long auctionId, BigDecimal amount, boolean proxy,
+                                  String idempotencyKey) {
         var bidder = getUserOrThrow(bidderId);
 
         var auction = getAuctionOrThrowForUpdate(auctionId);
@@ -88,55 +149,285 @@ public class BiddingService implements BiddingServiceInterface {
             throw new AuctionInvalidStateException("Only LIVE auctions can accept bids");
         }
 
-        if (!auction.getEndTime().isAfter(LocalDateTime.now(clock))) {
+        var now = LocalDateTime.now(clock);
+        if (!auction.getEndTime().isAfter(now)) {
             throw new AuctionInvalidStateException("Auction already ended");
         }
 
-        BigDecimal requiredHold = auctionPolicy.requireAmount(auctionId);
+        var account = accountService.getBidSnapshot(bidderId, auctionId);
+        var verdict = auctionPolicy.evaluate(auction, amount, account);
+        requireAccepted(verdict);
+
+        var leader = auction.getWinningUser();
+        var resolution = ProxyBidResolver.resolve(
+                auction.getHighestBid(),
+                leader == null ? null : leader.getUserId(),
+                auction.getLeaderMaxBid(),
+                bidderId,
+                amount,
+                proxy,
+                auctionPolicy::minimumNextBid
+        );
+
+        Long previousWinningBidId = auction.getWinningBidId();
+
+        if (resolution.getOutcome() == ProxyBidResolver.Outcome.CEILING_RAISED) {
+            // the leader already holds a deposit and the visible price does not move
+            auction.setLeaderMaxBid(resolution.getLeaderMax());
+            auction.setUpdatedAt(now);
+            auctionRepository.save(auction);
+            if (idempotencyKey != null) {
+                // no bid row carries the key, so a retry would otherwise be rejected as not raising the ceiling
+                ceilingRaiseRepository.save(CeilingRaise.builder()
+                        .bidId(previousWinningBidId)
+                        .userId(bidderId)
+                        .auctionId(auctionId)
+                        .price(auction.getHighestBid())
+                        .maxAmount(resolution.getLeaderMax())
+                        .idempotencyKey(idempotencyKey)
+                        .createdAt(now)
+                        .build());
+            }
+            return new BidDto(previousWinningBidId, bidderId, auctionId, auction.getHighestBid(), Bid_Status.WINNING, now);
+        }
 
-        if (!auctionPolicy.isValidIncrement(auctionId, amount)) {
-            throw new InvalidBidException("Bid must be at least $1 higher than current highest bid");
+        accountService.placeHold(account, auction, verdict.getRequiredHold());
+
+        Bid winning = null;
+        Bid own = null;
+        Long lastOutbidId = null;
+        for (var step : resolution.getSteps()) {
+            var bid = new Bid();
+            bid.setAmount(step.getAmount());
+            bid.setMaxAmount(step.getMaxAmount());
+            bid.setBidStatus(step.getStatus());
+            bid.setBidTime(now);
+            bid.setAuction(auction);
+            if (bidderId.equals(step.getUserId())) {
+                bid.setUser(bidder);
+                bid.setIdempotencyKey(idempotencyKey);
+            } else {
+                bid.setUser(leader);
+            }
+            var saved = bidRepository.save(bid);
+
+            if (step.getStatus() == Bid_Status.WINNING) {
+                winning = saved;
+            } else {
+                lastOutbidId = saved.getBidId();
+            }
+            if (bidderId.equals(step.getUserId())) {
+                own = saved;
+            }
         }
 
-        if (accountService.getAvailable(bidderId).compareTo(requiredHold) < 0) {
-            throw new InvalidBidException("Insufficient funds to cover required deposit hold");
+        auction.setHighestBid(resolution.getPrice());
+        auction.setWinningUser(bidderId.equals(resolution.getLeaderId()) ? bidder : leader);
+        auction.setLeaderMaxBid(resolution.getLeaderMax());
+        auction.setRunnerUpBidId(lastOutbidId != null ? lastOutbidId : previousWinningBidId);
+        auction.setWinningBidId(winning.getBidId());
+        auction.setBidCount(auction.getBidCount() + resolution.getSteps().size());
+        auction.setUpdatedAt(now);
+
+        // under the same row lock closeOneIfExpired takes, so a close cannot slip in between
+        if (auction.extendForBidAt(now)) {
+            eventPublisher.publishEvent(new AuctionDeadlineChangedEvent(auctionId, auction.getEndTime()));
         }
 
-        accountService.placeHold(bidderId, auctionId, requiredHold);
+        // flushes the auction changes above before the status update clears the persistence context
+        demotePreviousWinner(auctionId, previousWinningBidId, winning.getBidId());
+
+        publishBid(auctionId, resolution.getPrice(), auction.getBidCount(), auction.getEndTime(), winning);
+
+        return bidMapper.toDto(own);
+    }
+
+    /**
+     * Places a bid without taking the auction row lock (OPTIMISTIC mode).
+     * <p>
+     * The auction is read without a lock and the bid is validated against that read. The new
+     * price is then applied with a conditional update that only matches while the auction's
+     * {@code version} is unchanged, so two racing bids cannot both win. When the update matches
+     * no row this method throws and the transaction, including the deposit hold, rolls back;
+     * {@link BidSubmissionService} decides whether to retry or report the bidder as outbid.
+     *
+     * @param bidderId  the id of the bidding user
+     * @param auctionId the id of the auction to bid on
+     * @param amount    proposed bid amount (must be positive)
+     * @param idempotencyKey client-supplied submission key, or {@code null}
+     * @return the created bid as a DTO
+     * @throws OptimisticLockingFailureException if the auction changed after it was read
+     * @throws AuctionInvalidStateException      if the auction is not LIVE or already ended
+     * @throws InvalidBidException               if the bid amount is not a valid increment or funds are short
+     * @throws InvalidAmountException            if the amount is not positive
+     * @throws UserNotFoundException             if the bidder id is not found
+     * @throws AuctionNotFoundException          if the auction id is not found
+     */
+    @Transactional
+    public BidDto placeBidOptimistic(Long bidderId, Long auctionId, BigDecimal amount, String idempotencyKey) {
+        var bidder = getUserOrThrow(bidderId);
+
+        var auction = getAuctionOrThrow(auctionId);
+
+        requirePositive(amount);
+
+        if (auction.getStatus() != Auction_Status.LIVE) {
+            throw new AuctionInvalidStateException("Only LIVE auctions can accept bids");
+        }
+
+        var now = LocalDateTime.now(clock);
+        if (!auction.getEndTime().isAfter(now)) {
+            throw new AuctionInvalidStateException("Auction already ended");
+        }
+
+        if (hasActiveProxy(auction) || auction.inSoftCloseWindow(now)) {
+            // a defended ceiling needs the resolver and an extension the row lock; same transaction
+            return placeLockedBid(bidderId, auctionId, amount, false, idempotencyKey);
+        }
+
+        var account = accountService.getBidSnapshot(bidderId, auctionId);
+        var verdict = auctionPolicy.evaluate(auction, amount, account);
+        requireAccepted(verdict);
+
+        Long previousWinningBidId = auction.getWinningBidId();
+
+        var bid = new Bid();
+        bid.setAmount(amount);
+        bid.setBidStatus(Bid_Status.WINNING);
+        bid.setBidTime(now);
+        bid.setAuction(auction);
+        bid.setUser(bidder);
+        bid.setIdempotencyKey(idempotencyKey);
+        var saved = bidRepository.save(bid);
+
+        int updated = auctionRepository.applyBidIfVersion(
+                auctionId, auction.getVersion(), amount, bidder, saved.getBidId(), previousWinningBidId,
+                now, Auction_Status.LIVE);
+        if (updated == 0) {
+            throw new OptimisticLockingFailureException("Auction " + auctionId + " changed while the bid was submitted");
+        }
+
+        accountService.placeHold(account, auction, verdict.getRequiredHold());
+
+        demotePreviousWinner(auctionId, previousWinningBidId, saved.getBidId());
+
+        // the update above did not refresh the loaded auction, so count from the value it was read with
+        publishBid(auctionId, amount, auction.getBidCount() + 1, auction.getEndTime(), saved);
+
+        return bidMapper.toDto(saved);
+    }
+
+    /**
+     * Persists a bid that the {@link com.voti.pawction.services.auction.sequencer.BidSequencer}
+     * has already accepted in memory.
+     * <p>
+     * The sequencer is the single writer for the auction on this node and has already
+     * validated status, end time, increment and funds, and placed the deposit hold.
+     * This method therefore does not take the auction row lock; it inserts the bid and
+     * advances {@code highestBid}/{@code winningUser} with a conditional update that only
+     * succeeds while the auction is still LIVE and the amount still beats the stored price.
+     *
+     * @param bidderId  the id of the bidding user
+     * @param auctionId the id of the auction
+     * @param amount    accepted bid amount
+     * @param bidTime   time the sequencer accepted the bid
+     * @param idempotencyKey client-supplied submission key, or {@code null}
+     * @return the persisted bid as a DTO
+     * @throws AuctionInvalidStateException if the auction closed (or moved past this amount)
+     *                                      before the bid could be recorded
+     * @throws UserNotFoundException        if the bidder id is not found
+     * @throws AuctionNotFoundException     if the auction id is not found
+     */
+    @Transactional
+    public BidDto recordSequencedBid(Long bidderId, Long auctionId, BigDecimal amount, LocalDateTime bidTime,
+                                     String idempotencyKey) {
+        var bidder = getUserOrThrow(bidderId);
+        var auction = getAuctionOrThrow(auctionId);
+        Long previousWinningBidId = auction.getWinningBidId();
 
         var bid = new Bid();
         bid.setAmount(amount);
         bid.setBidStatus(Bid_Status.WINNING);
-        bid.setBidTime(LocalDateTime.now(clock));
+        bid.setBidTime(bidTime);
         bid.setAuction(auction);
         bid.setUser(bidder);
+        bid.setIdempotencyKey(idempotencyKey);
         var saved = bidRepository.save(bid);
 
+        int updated = auctionRepository.applyAcceptedBid(
+                auctionId, amount, bidder, saved.getBidId(), previousWinningBidId,
+                LocalDateTime.now(clock), Auction_Status.LIVE);
+        if (updated == 0) {
+            throw new AuctionInvalidStateException("Auction " + auctionId + " no longer accepts a bid of " + amount);
+        }
+
+        demotePreviousWinner(auctionId, previousWinningBidId, saved.getBidId());
+
+        // the update above did not refresh the loaded auction, so count from the value it was read with
+        publishBid(auctionId, amount, auction.getBidCount() + 1, auction.getEndTime(), saved);
+
+        return bidMapper.toDto(saved);
+    }
+
+    /**
+     * Whether the current leader has a maximum bid above the visible price, i.e. a plain bid
+     * cannot simply take the lead with a conditional update.
+     *
+     * @param auction the auction as read
+     * @return true if a proxy ceiling is being defended
+     */
+    private static boolean hasActiveProxy(Auction auction) {
+        return auction.getLeaderMaxBid() != null
+                && auction.getLeaderMaxBid().compareTo(auction.getHighestBid()) > 0;
+    }
+
+    /**
+     * Hands the WINNING status from the auction's previous winning bid to the new one.
+     * <p>
+     * Only the bid referenced by {@code auction.winningBidId} can still be WINNING, so a
+     * single-row update is enough. Auctions that have no pointer yet (created before the
+     * pointer existed, or seeded directly) get one bulk sweep, after which the pointer
+     * takes over.
+     *
+     * @param auctionId            the auction identifier
+     * @param previousWinningBidId the pointer before this bid, or {@code null}
+     * @param newWinningBidId      the id of the bid that just became WINNING
+     */
+    private void demotePreviousWinner(Long auctionId, Long previousWinningBidId, Long newWinningBidId) {
+        if (previousWinningBidId != null) {
+            bidRepository.transitionStatus(previousWinningBidId, Bid_Status.WINNING, Bid_Status.OUTBID);
+            return;
+        }
+
         bidRepository.bulkMarkOutbid(
                 auctionId,
-                saved.getBidId(),
+                newWinningBidId,
                 Bid_Status.OUTBID
         );
+    }
 
-        auction.setHighestBid(amount);
-        auction.setWinningUser(bidder);
-        auction.setUpdatedAt(LocalDateTime.now(clock));
-        auctionRepository.save(auction);
-
-      //  bidder.addBid(auction,saved);
-        userRepository.save(bidder);
-
+    /**
+     * Broadcasts a newly winning bid to auction, account and home subscribers.
+     *
+     * @param auctionId  the auction identifier
+     * @param highestBid the auction's highest bid after this bid was applied
+     * @param bidCount   the auction's bid count after this bid was applied
+     * @param endTime    the auction's end time after this bid, moved if it was a soft-close extension
+     * @param saved      the persisted winning bid
+     */
+    private void publishBid(Long auctionId, BigDecimal highestBid, int bidCount, LocalDateTime endTime, Bid saved) {
         auctionUpdateService.sendAuctionUpdate(
-                auction.getAuctionId(),
-                auction.getHighestBid(),
-                getBidCountForAuction(auction.getAuctionId()),
+                auctionId,
+                highestBid,
+                bidCount,
                 saved.getAmount(),
-                auction.getHighestBid().add(BigDecimal.ONE)
+                highestBid.add(BigDecimal.ONE),
+                endTime
         );
 
         var message = new BidUpdateDto(
                 saved.getBidId(),
-                saved.getAuction().getAuctionId(),
+                auctionId,
                 saved.getUser().getName(),
                 saved.getAmount(),
                 saved.getBidTime(),
@@ -144,19 +435,14 @@ public class BiddingService implements BiddingServiceInterface {
         );
 
         auctionUpdateService.sendBidUpdate(message);
-
-
-
-
-
-        return bidMapper.toDto(bid);
     }
 
     /**
      * Returns the current winning bid for an auction, if any.
      * <p>
      * "Winning" is defined as the highest amount with earliest bid time
-     * (tie-breaker), as implemented by the repository query.
+     * (tie-breaker). The bid referenced by {@code auction.winningBidId} is returned
+     * directly; auctions without the pointer fall back to the repository query.
      *
      * @param auctionId the auction identifier
      * @return an {@link Optional} with the winning bid DTO, or empty if no bids exist
@@ -165,6 +451,10 @@ public class BiddingService implements BiddingServiceInterface {
     @Override
     public Optional<BidDto> getWinningBid(Long auctionId) {
         var auction = getAuctionOrThrow(auctionId);
+        if (auction.getWinningBidId() != null) {
+            return bidRepository.findById(auction.getWinningBidId())
+                    .map(bidMapper::toDto);
+        }
         return bidRepository.findTopByAuction_AuctionIdOrderByAmountDesc(auction.getAuctionId())
                 .map(bidMapper::toDto);
     }
@@ -174,7 +464,9 @@ public class BiddingService implements BiddingServiceInterface {
      * <p>
      * This is typically used for fallback logic when the provisional winner
      * fails to complete payment and the platform offers the item to the
-     * runner-up.
+     * runner-up. Because every bid must beat the current price, the runner-up is
+     * the bid that was winning before the current one, which the auction keeps in
+     * {@code runnerUpBidId}. Auctions without the pointers fall back to the sorted query.
      *
      * @param auctionId the auction identifier
      * @return an {@link Optional} with the second-highest bid DTO, or empty if fewer than two bids exist
@@ -183,6 +475,11 @@ public class BiddingService implements BiddingServiceInterface {
     @Override
     public Optional<BidDto> getSecondHighestBid(Long auctionId) {
         var auction = getAuctionOrThrow(auctionId);
+        if (auction.getWinningBidId() != null) {
+            return Optional.ofNullable(auction.getRunnerUpBidId())
+                    .flatMap(bidRepository::findById)
+                    .map(bidMapper::toDto);
+        }
         return bidRepository.findSecondByAuctionId(auction.getAuctionId())
                 .map(bidMapper::toDto);
     }
@@ -199,8 +496,15 @@ public class BiddingService implements BiddingServiceInterface {
                 .orElse(null);  // no exception, just return null
     }
 
+    /**
+     * Returns the number of bids placed on an auction, as kept on the auction row.
+     *
+     * @param auctionId the auction identifier
+     * @return the bid count
+     * @throws AuctionNotFoundException if the auction id is not found
+     */
     public int getBidCountForAuction(Long auctionId) {
-        return bidRepository.countByAuction_AuctionId(auctionId);
+        return getAuctionOrThrow(auctionId).getBidCount();
     }
 
     /**
@@ -208,10 +512,10 @@ public class BiddingService implements BiddingServiceInterface {
      * <p>
      * Behavior:
      * <ul>
-     *   <li>If no bids exist, does nothing.</li>
-     *   <li>Marks the top bid as {@link Bid_Status#WON} if it was still WINNING.</li>
-     *   <li>Marks all other bids on the auction as {@link Bid_Status#OUTBID}
-     *       using a bulk update.</li>
+     *   <li>If the auction has a {@code winningBidId}, flips only that bid from WINNING to
+     *       {@link Bid_Status#WON}; every earlier winner was already demoted when it was outbid.</li>
+     *   <li>Otherwise (no pointer yet), falls back to the top bid and a bulk
+     *       {@link Bid_Status#OUTBID} sweep; does nothing if no bids exist.</li>
      * </ul>
      * <p>
      * This method is idempotent and safe to call multiple times.
@@ -224,6 +528,11 @@ public class BiddingService implements BiddingServiceInterface {
     public void finalizeBidsOnClose(Long auctionId) {
         var auction = getAuctionOrThrow(auctionId);
 
+        if (auction.getWinningBidId() != null) {
+            bidRepository.transitionStatus(auction.getWinningBidId(), Bid_Status.WINNING, Bid_Status.WON);
+            return;
+        }
+
         if (auction.getBids().isEmpty()) {
             return;
         }
@@ -252,6 +561,24 @@ public class BiddingService implements BiddingServiceInterface {
     }
  */
 
+    /**
+     * Turns a rejected {@link BidVerdict} into the exception the bid path has always thrown.
+     *
+     * @param verdict the policy verdict
+     * @throws InvalidBidException if the verdict is a rejection
+     */
+    private void requireAccepted(BidVerdict verdict) {
+        if (verdict.isAccepted()) {
+            return;
+        }
+        switch (verdict.getRejection()) {
+            case INCREMENT_TOO_LOW ->
+                    throw new InvalidBidException("Bid must be at least $1 higher than current highest bid");
+            case INSUFFICIENT_FUNDS ->
+                    throw new InvalidBidException("Insufficient funds to cover required deposit hold");
+        }
+    }
+
     /**
      * Ensures a monetary amount is strictly positive.
      * Use this before setting start prices, bids, deposits, or fees.
@@ -344,6 +671,7 @@ public class BiddingService implements BiddingServiceInterface {
      *   <li><b>imageUrl</b> – the primary photo URL of the pet</li>
      *   <li><b>currentPrice</b> – the current highest bid for the auction</li>
      *   <li><b>endDate</b> – the scheduled end time of the auction</li>
+     *   <li><b>bidCount</b> – the number of bids placed on the auction</li>
      * </ul>
      *
      * @param userId the unique identifier of the user whose bidding history should be retrieved
@@ -366,6 +694,7 @@ public class BiddingService implements BiddingServiceInterface {
                     product.put("imageUrl", pet.getPrimaryPhotoUrl());
                     product.put("currentPrice", auctionDto.getHighestBid());
                     product.put("endDate", auctionDto.getEndTime());
+                    product.put("bidCount", auctionDto.getBidCount());
                     return product;
                 })
                 .toList();
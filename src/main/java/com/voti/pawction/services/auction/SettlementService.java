@@ -4,11 +4,13 @@ import com.voti.pawction.dtos.response.AuctionDto;
 import com.voti.pawction.dtos.response.BidDto;
 import com.voti.pawction.entities.User;
 import com.voti.pawction.entities.auction.Auction;
+import com.voti.pawction.entities.auction.Bid;
 import com.voti.pawction.entities.auction.enums.Auction_Status;
+import com.voti.pawction.entities.auction.enums.Bid_Status;
 import com.voti.pawction.entities.auction.enums.Payment_Status;
-import com.voti.pawction.entities.wallet.enums.Status;
 import com.voti.pawction.exceptions.AuctionExceptions.AuctionInvalidStateException;
 import com.voti.pawction.exceptions.AuctionExceptions.AuctionNotFoundException;
+import com.voti.pawction.exceptions.BidExceptions.BidNotFoundException;
 import com.voti.pawction.exceptions.PaymentExceptions.InvalidPaymentException;
 import com.voti.pawction.exceptions.PaymentExceptions.UnauthorizedPaymentException;
 import com.voti.pawction.exceptions.UserExceptions.UserNotFoundException;
@@ -16,9 +18,14 @@ import com.voti.pawction.mappers.AuctionMapper;
 import com.voti.pawction.mappers.BidMapper;
 import com.voti.pawction.repositories.UserRepository;
 import com.voti.pawction.repositories.auction.AuctionRepository;
+import com.voti.pawction.repositories.auction.BidRepository;
+import com.voti.pawction.repositories.auction.SettlementTimerRepository;
+import com.voti.pawction.scheduling.SchedulerMetrics;
+import com.voti.pawction.scheduling.SettlementTimerChangedEvent;
 import com.voti.pawction.services.auction.impl.SettlementServiceInterface;
 import com.voti.pawction.services.wallet.AccountService;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
@@ -67,6 +74,11 @@ public class SettlementService implements SettlementServiceInterface {
 
     private static final int BATCH = 50;
     private final BidMapper bidMapper;
+    private final SettlementTimerRepository settlementTimerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BidRepository bidRepository;
+    private final SchedulerMetrics schedulerMetrics;
+    private final AuctionClosePlanner auctionClosePlanner;
 
     /**
      * Begins the settlement phase for an auction that has already ENDED and has a winner.
@@ -77,8 +89,8 @@ public class SettlementService implements SettlementServiceInterface {
      *   <li>Validates that the auction status is {@link Auction_Status#ENDED}.</li>
      *   <li>Loads the first-place (winner) user and the optional second-highest bid.</li>
      *   <li>If the auction has no bids, delegates to {@link #noWinner(Long)}.</li>
-     *   <li>Iterates over deposit holds to release non-winner (and, depending on policy,
-     *       non-runner-up) holds back to their accounts via {@link AccountService#releaseHold(Long, Long)}.</li>
+     *   <li>Releases non-winner and non-runner-up holds back to their accounts in bulk via
+     *       {@link AccountService#releaseHoldsForAuction(Long, java.util.Collection)}.</li>
      *   <li>Stamps the winner and {@code paymentDueAt} deadline on the auction.</li>
      *   <li>Persists the updated auction and returns a {@link AuctionDto} view.</li>
      * </ul>
@@ -103,7 +115,8 @@ public class SettlementService implements SettlementServiceInterface {
         var firstPlace = getBidderOrThrow(winnerUserId);
         var secondPlace = biddingService.getSecondHighestBid(auctionId);
 
-        if (auction.getBids().isEmpty()) {
+        // bidCount answers without loading the bids; the collection check covers rows seeded without it
+        if (auction.getBidCount() == 0 && auction.getBids().isEmpty()) {
             return noWinner(auctionId);
         }
 
@@ -119,23 +132,115 @@ public class SettlementService implements SettlementServiceInterface {
         }
 
 
-        for (var depositHold : auction.getDepositHolds()) {
-            var accountId = depositHold.getAccount().getAccountId();
-            System.out.println(depositHold);
-            if (depositHold.getDepositStatus() != Status.HELD) {
-                continue;
-            }
+        accountService.releaseHoldsForAuction(auctionId, reservedId.keySet());
+
+        auction.setPaymentDueDate(paymentDueAt);
+        auction.setWinningUser(firstPlace);
+        auction.setUpdatedAt(LocalDateTime.now(clock));
+        registerTimer(auctionId, paymentDueAt);
+
+        return auctionMapper.toDto(auctionRepository.save(auction));
+    }
+
+    /**
+     * Finalizes a just-ENDED auction and begins its settlement with a fixed number of
+     * statements, however many bids and holds it has.
+     *
+     * <p>Flow:</p>
+     * <ul>
+     *   <li>Loads the auction with a row lock.</li>
+     *   <li>If {@link AuctionClosePlanner} prepared a plan and the auction still matches it, takes
+     *       the winner, the kept accounts and the holds to release from the plan without reading
+     *       bids or holds.</li>
+     *   <li>Otherwise takes the winner and runner-up from the auction's {@code winningBidId} and
+     *       {@code runnerUpBidId}; auctions without the pointers read their top two bids instead.</li>
+     *   <li>If the auction has no bids, delegates to {@link #noWinner(Long)}.</li>
+     *   <li>Stamps the winner and {@code paymentDueAt} deadline and registers the settlement timer.</li>
+     *   <li>Marks the winning bid {@link Bid_Status#WON} and every other bid
+     *       {@link Bid_Status#OUTBID} in one bulk update.</li>
+     *   <li>Releases every HELD deposit hold except the winner's and runner-up's in bulk.</li>
+     * </ul>
+     *
+     * <p>A planned hold that is no longer HELD fails the close with
+     * {@link com.voti.pawction.exceptions.AccountExceptions.HoldNotFoundException} and rolls it back;
+     * the plan is gone by then, so the retry reads the holds.</p>
+     *
+     * @param auctionId    the identifier of the auction that just ended
+     * @param paymentDueAt the deadline until which the winner may complete payment
+     * @return a {@link AuctionDto} representing the auction state
+     *
+     * @throws AuctionNotFoundException     if the auction id does not exist
+     * @throws AuctionInvalidStateException if the auction is not in {@code ENDED} status
+     * @throws BidNotFoundException         if the auction points at a bid that does not exist
+     */
+    @Override
+    public AuctionDto settleOnClose(Long auctionId, LocalDateTime paymentDueAt) {
+        var auction = getAuctionOrThrowForUpdate(auctionId);
+
+        if (auction.getStatus() != Auction_Status.ENDED) {
+            throw new AuctionInvalidStateException("Only ENDED auctions can begin settlement");
+        }
+
+        var plan = auctionClosePlanner.take(auctionId).filter(p -> p.matches(auction));
+        if (plan.isPresent()) {
+            return settlePlanned(auction, plan.get(), paymentDueAt);
+        }
 
-            if (!reservedId.containsKey(accountId)) {
-                System.out.println(accountService.releaseHold(accountId, auctionId));
+        Long winningBidId = auction.getWinningBidId();
+        Long runnerUpBidId = auction.getRunnerUpBidId();
+        List<Bid> finalists;
+        if (winningBidId != null) {
+            finalists = bidRepository.findAllById(runnerUpBidId == null
+                    ? List.of(winningBidId)
+                    : List.of(winningBidId, runnerUpBidId));
+        } else {
+            finalists = bidRepository.findTop2ByAuction_AuctionIdOrderByAmountDescBidTimeAsc(auctionId);
+            if (finalists.isEmpty()) {
+                return noWinner(auctionId);
             }
+            winningBidId = finalists.get(0).getBidId();
         }
 
+        Long winnerBidId = winningBidId;
+        var winningBid = finalists.stream()
+                .filter(b -> b.getBidId().equals(winnerBidId))
+                .findFirst()
+                .orElseThrow(() -> new BidNotFoundException("Winning bid not found by id: " + winnerBidId));
+
+        List<Long> reservedAccountIds = finalists.stream()
+                .map(b -> b.getUser().getUserId())
+                .distinct()
+                .toList();
+
+        var now = LocalDateTime.now(clock);
+        auction.setWinningUser(winningBid.getUser());
+        auction.setPaymentDueDate(paymentDueAt);
+        auction.setUpdatedAt(now);
+        auctionRepository.save(auction);
+        registerTimer(auctionId, paymentDueAt);
+
+        bidRepository.finalizeOnClose(auctionId, winningBidId, Bid_Status.WON, Bid_Status.OUTBID);
+        accountService.releaseHoldsForAuction(auctionId, reservedAccountIds);
+
+        // the bulk updates cleared the persistence context
+        return auctionMapper.toDto(auctionRepository.findById(auctionId)
+                .orElseThrow(() -> new AuctionNotFoundException("Auction not found by id: " + auctionId)));
+    }
+
+    // settleOnClose for a locked auction that still matches its close plan
+    private AuctionDto settlePlanned(Auction auction, AuctionClosePlan plan, LocalDateTime paymentDueAt) {
+        Long auctionId = auction.getAuctionId();
+
         auction.setPaymentDueDate(paymentDueAt);
-        auction.setWinningUser(firstPlace);
         auction.setUpdatedAt(LocalDateTime.now(clock));
+        auctionRepository.save(auction);
+        registerTimer(auctionId, paymentDueAt);
 
-        return auctionMapper.toDto(auctionRepository.save(auction));
+        bidRepository.finalizeOnClose(auctionId, plan.winningBidId(), Bid_Status.WON, Bid_Status.OUTBID);
+        accountService.releaseHolds(plan.releasable());
+
+        return auctionMapper.toDto(auctionRepository.findById(auctionId)
+                .orElseThrow(() -> new AuctionNotFoundException("Auction not found by id: " + auctionId)));
     }
 
 
@@ -176,6 +281,7 @@ public class SettlementService implements SettlementServiceInterface {
         auction.setPaymentDueDate(null);
         auction.setStatus(Auction_Status.SETTLED);
         auction.setUpdatedAt(LocalDateTime.now(clock));
+        settlementTimerRepository.deleteByAuction(auctionId);
         return auctionMapper.toDto(auctionRepository.save(auction));
     }
 
@@ -199,11 +305,11 @@ public class SettlementService implements SettlementServiceInterface {
      *   <li>Clears the payment due date.</li>
      *   <li>Transitions the auction to {@link Auction_Status#SETTLED}.</li>
      *   <li>Updates the {@code updatedAt} timestamp and persists the auction.</li>
+     *   <li>Credits the seller through {@link AccountService#settle(Long, Long, Long, BigDecimal)}.</li>
+     *   <li>Releases the deposit holds still HELD on the auction, the winner's and the runner-up's,
+     *       with their ledger postings, so no hold outlives the settlement.</li>
      * </ul>
      *
-     * <p>Note: This method currently records payment at the auction level only; the actual
-     * money movement or wallet ledger entries are expected to be handled elsewhere.</p>
-     *
      * @param auctionId   the auction being paid for
      * @param payerUserId the user id of the paying (winning) bidder
      * @param amount      the payment amount, expected to match the winning bid
@@ -276,8 +382,11 @@ public class SettlementService implements SettlementServiceInterface {
         auction.setStatus(Auction_Status.SETTLED);
         auction.setUpdatedAt(LocalDateTime.now(clock));
         auctionRepository.save(auction);
+        settlementTimerRepository.deleteByAuction(auctionId);
 
-        accountService.deposit(seller.getUserId(), biddingAmount);
+        accountService.settle(payerUserId, seller.getUserId(), auctionId, biddingAmount);
+        // the payment came from outside, so the winner's deposit goes back along with the runner-up's
+        accountService.releaseHoldsForAuction(auctionId, List.of());
     }
 
 
@@ -344,6 +453,7 @@ public class SettlementService implements SettlementServiceInterface {
             auction.setHighestBid(auction.getStartPrice());
             auctionRepository.save(auction);
             noWinner(auctionId);
+            schedulerMetrics.recordSettlementExpired(false);
             return true;
         }
 
@@ -357,6 +467,8 @@ public class SettlementService implements SettlementServiceInterface {
             auction.setPaymentDueDate(LocalDateTime.now(clock).plusHours(72));
             auction.setUpdatedAt(LocalDateTime.now(clock));
             auctionRepository.save(auction);
+            registerTimer(auctionId, auction.getPaymentDueDate());
+            schedulerMetrics.recordSettlementExpired(true);
             return true;
         }
 
@@ -364,6 +476,7 @@ public class SettlementService implements SettlementServiceInterface {
         auction.setHighestBid(auction.getStartPrice());
         auctionRepository.save(auction);
         noWinner(auctionId);
+        schedulerMetrics.recordSettlementExpired(false);
         return true;
     }
 
@@ -384,6 +497,10 @@ public class SettlementService implements SettlementServiceInterface {
      */
     @Override
     public int expireOverdueSettlements() {
+        return schedulerMetrics.timeSettlementRun("batch", this::expireOverdueSettlementsBatches);
+    }
+
+    private int expireOverdueSettlementsBatches() {
         int processed = 0;
         LocalDateTime nowNY = LocalDateTime.now(clock);
 
@@ -417,8 +534,8 @@ public class SettlementService implements SettlementServiceInterface {
      * <p>The method:</p>
      * <ul>
      *   <li>Loads the auction with a row lock.</li>
-     *   <li>Releases <strong>all</strong> deposit holds for that auction back to their accounts
-     *       via {@link AccountService#releaseHold(Long, Long)}.</li>
+     *   <li>Releases <strong>all</strong> HELD deposit holds for that auction back to their accounts
+     *       via {@link AccountService#releaseHoldsForAuction(Long, java.util.Collection)}.</li>
      *   <li>Clears the winning user and payment due date.</li>
      *   <li>Resets {@code highestBid} to the {@code startPrice}.</li>
      *   <li>Sets status to {@link Auction_Status#CANCELED} and updates timestamps.</li>
@@ -433,9 +550,7 @@ public class SettlementService implements SettlementServiceInterface {
     public void cancelAuctionSettlement(Long auctionId) {
         var auction = getAuctionOrThrowForUpdate(auctionId);
 
-        for (var depositHold : auction.getDepositHolds()) {
-            accountService.releaseHold(depositHold.getAccount().getAccountId(),auctionId);
-        }
+        accountService.releaseHoldsForAuction(auctionId, List.of());
 
         auction.setWinningUser(null);
         auction.setPaymentDueDate(null);
@@ -443,6 +558,19 @@ public class SettlementService implements SettlementServiceInterface {
         auction.setStatus(Auction_Status.CANCELED);
         auction.setUpdatedAt(LocalDateTime.now(clock));
         auctionRepository.save(auction);
+        settlementTimerRepository.deleteByAuction(auctionId);
+    }
+
+    /**
+     * Stores the payment deadline in the durable timer index, in the caller's transaction,
+     * and lets the local timer scheduler know once it commits.
+     *
+     * @param auctionId the auction waiting on payment
+     * @param dueAt     end of the payment window
+     */
+    private void registerTimer(Long auctionId, LocalDateTime dueAt) {
+        settlementTimerRepository.upsert(auctionId, dueAt);
+        eventPublisher.publishEvent(new SettlementTimerChangedEvent(auctionId, dueAt));
     }
 
     /**
@@ -0,0 +1,124 @@
+package com.voti.pawction.services.auction.admission;
+
+import com.voti.pawction.config.BidAdmissionProperties;
+import com.voti.pawction.exceptions.BidExceptions.BidOverloadedException;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Adaptive cap on the number of bids running at once.
+ *
+ * <p>A bid that finds the cap reached is refused immediately with {@link BidOverloadedException}
+ * instead of waiting for a database connection on a servlet thread. The cap follows
+ * additive-increase / multiplicative-decrease: each bid that finishes under
+ * {@code targetLatencyMs} with no thread waiting on the connection pool raises it by
+ * {@code 1/limit}; a slow bid, or one that finishes while the pool has waiters, multiplies it by
+ * {@code backoffRatio}. It stays within {@code [minLimit, maxLimit]}, and {@code maxLimit} sits
+ * below the pool size so read paths keep a connection.</p>
+ *
+ * <p>A slot covers only a bid's own database work. Callers claim it after any wait in a queue,
+ * so the latency that drives the limit is the database's, not the queue's. Work that can no
+ * longer be refused, such as writing a bid that was already accepted, enters with
+ * {@link #enter()}: it counts as in flight and adjusts the limit, but is never shed.</p>
+ *
+ * <p>Exposes {@code auction.bids.admission.limit}, {@code auction.bids.in_flight} and
+ * {@code auction.bids.shed}.</p>
+ */
+@Component
+@Slf4j
+public class BidAdmissionLimiter {
+    private final BidAdmissionProperties props;
+    private final IntSupplier poolWaiters;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter shed;
+    private volatile double limit;
+
+    public BidAdmissionLimiter(BidAdmissionProperties props, DataSource dataSource, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.poolWaiters = poolWaiters(dataSource);
+        this.limit = Math.clamp(props.getInitialLimit(), props.getMinLimit(), props.getMaxLimit());
+        this.shed = meterRegistry.counter("auction.bids.shed");
+        meterRegistry.gauge("auction.bids.admission.limit", this, l -> l.limit);
+        meterRegistry.gauge("auction.bids.in_flight", inFlight);
+    }
+
+    /**
+     * Claims a slot for one bid. Every successful call must be paired with {@link #release(long)}.
+     *
+     * @return the start time to pass to {@link #release(long)}
+     * @throws BidOverloadedException if the current limit is reached
+     */
+    public long acquire() {
+        if (!props.isEnabled()) {
+            return System.nanoTime();
+        }
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                shed.increment();
+                throw new BidOverloadedException("Bidding is busy right now, please try again in a moment");
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Claims a slot without checking the limit, for work that must run once started.
+     * Every call must be paired with {@link #release(long)}.
+     *
+     * @return the start time to pass to {@link #release(long)}
+     */
+    public long enter() {
+        if (props.isEnabled()) {
+            inFlight.incrementAndGet();
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Frees the slot and adjusts the limit from the bid's latency and the pool's waiters.
+     *
+     * @param startedAt value returned by {@link #acquire()} or {@link #enter()}
+     */
+    public void release(long startedAt) {
+        if (!props.isEnabled()) {
+            return;
+        }
+        inFlight.decrementAndGet();
+
+        long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        boolean congested = latencyMs > props.getTargetLatencyMs() || poolWaiters.getAsInt() > 0;
+        adjust(congested);
+    }
+
+    private synchronized void adjust(boolean congested) {
+        double next = congested ? limit * props.getBackoffRatio() : limit + 1.0 / limit;
+        limit = Math.clamp(next, props.getMinLimit(), props.getMaxLimit());
+    }
+
+    private static IntSupplier poolWaiters(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                var hikari = dataSource.unwrap(HikariDataSource.class);
+                return () -> {
+                    var pool = hikari.getHikariPoolMXBean();
+                    return pool == null ? 0 : pool.getThreadsAwaitingConnection();
+                };
+            }
+        } catch (SQLException e) {
+            log.warn("[bid-admission] cannot inspect connection pool, using latency only", e);
+        }
+        return () -> 0;
+    }
+}
@@ -0,0 +1,87 @@
+package com.voti.pawction.services.auction.idempotency;
+
+import com.voti.pawction.config.BiddingProperties;
+import com.voti.pawction.dtos.response.BidDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded, time-expiring memory of recent bid submissions keyed by {@code (userId, idempotencyKey)}.
+ *
+ * <p>Each entry holds the future outcome of the first submission with that key, so a repeat
+ * that arrives while the first one is still running waits for it instead of bidding again,
+ * and a repeat that arrives later gets the same {@link BidDto} back without touching the auction.</p>
+ *
+ * <p>Entries are kept in insertion order. With a single TTL that is also expiry order, so expired
+ * entries are always at the head and are trimmed there, together with the oldest ones once
+ * {@code idempotencyMaxEntries} is reached. The database unique constraint on
+ * {@code bid(user_id, idempotency_key)} covers whatever has been forgotten here.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class BidIdempotencyCache {
+    private final BiddingProperties props;
+    private final Clock clock;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>();
+
+    private record Key(Long userId, String idempotencyKey) {
+    }
+
+    private record Entry(CompletableFuture<BidDto> result, long expiresAtMillis) {
+    }
+
+    /**
+     * Registers {@code pending} as the outcome of this submission unless a live entry exists.
+     *
+     * @param userId         the submitting user
+     * @param idempotencyKey the client's key
+     * @param pending        future the caller will complete once its submission finishes
+     * @return the earlier submission's future, or {@code null} if {@code pending} was registered
+     *         and the caller must run the submission
+     */
+    public synchronized CompletableFuture<BidDto> reserve(Long userId, String idempotencyKey,
+                                                          CompletableFuture<BidDto> pending) {
+        long now = clock.millis();
+        trim(now);
+
+        var key = new Key(userId, idempotencyKey);
+        var existing = entries.get(key);
+        if (existing != null) {
+            return existing.result();
+        }
+
+        entries.put(key, new Entry(pending, now + props.getIdempotencyTtlSeconds() * 1000));
+        return null;
+    }
+
+    /**
+     * Drops the entry registered with {@code pending}, e.g. after the submission failed,
+     * so the client can retry with the same key.
+     */
+    public synchronized void forget(Long userId, String idempotencyKey, CompletableFuture<BidDto> pending) {
+        var key = new Key(userId, idempotencyKey);
+        var existing = entries.get(key);
+        if (existing != null && existing.result() == pending) {
+            entries.remove(key);
+        }
+    }
+
+    private void trim(long now) {
+        int max = Math.max(1, props.getIdempotencyMaxEntries());
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            var head = it.next().getValue();
+            if (head.expiresAtMillis() > now && entries.size() < max) {
+                break;
+            }
+            it.remove();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.voti.pawction.dtos.request.AuctionRequest.CreateAuctionRequest;
 import com.voti.pawction.dtos.request.AuctionRequest.UpdateAuctionDetailRequest;
 import com.voti.pawction.dtos.request.AuctionRequest.UpdateAuctionEndTimeRequest;
 import com.voti.pawction.dtos.request.PetRequest.UpdatePetWhenAuctionLiveRequest;
+import com.voti.pawction.dtos.response.AuctionCardDto;
 import com.voti.pawction.dtos.response.AuctionDto;
 import com.voti.pawction.exceptions.AccountExceptions.InvalidAmountException;
 import com.voti.pawction.exceptions.AuctionExceptions.AuctionInvalidStateException;
@@ -12,6 +13,7 @@ import com.voti.pawction.exceptions.UserExceptions.UserNotFoundException;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public interface AuctionServiceInterface {
     // -------- Creation / lifecycle --------
@@ -111,20 +113,30 @@ public interface AuctionServiceInterface {
     AuctionDto end(Long auctionId);
 
     /**
-     * Cancel a LIVE auction before the first valid bid.
-     * Transitions LIVE -> CANCELED and releases all holds via SettlementService.
+     * Cancel a LIVE auction before the first valid bid, or a SCHEDULED one before it starts.
+     * Transitions LIVE/SCHEDULED -> CANCELED and releases all holds via SettlementService.
      *
      * @param auctionId auction identifier
-     * @throws AuctionInvalidStateException if auction is not LIVE
+     * @throws AuctionInvalidStateException if auction is neither LIVE nor SCHEDULED
      * @throws InvalidAuctionException if a first bid already occurred
      */
     void cancel(Long auctionId);
 
     // -------- Scheduler / expiry handling --------
 
+    /**
+     * Move a batch of SCHEDULED auctions whose start time has come to LIVE in one statement,
+     * skipping any that were canceled or activated elsewhere in the meantime.
+     *
+     * @param batch cards of the scheduled auctions, as prepared ahead of their start
+     * @return the cards of the auctions that were activated
+     */
+    List<AuctionCardDto> activateScheduled(List<AuctionCardDto> batch);
+
     /**
      * Close all auctions whose endTime <= now and are still LIVE.
-     * For each candidate, flips to ENDED (with locking) and delegates to {@link #end(Long)}.
+     * For each candidate, flips to ENDED (with locking) and delegates to {@link #end(Long)},
+     * one transaction per auction; a failing auction is retried and then left for the next run.
      *
      * @return number of auctions processed
      */
@@ -0,0 +1,65 @@
+package com.voti.pawction.services.auction.impl;
+
+import com.voti.pawction.dtos.response.BidDto;
+import com.voti.pawction.exceptions.AccountExceptions.InvalidAmountException;
+import com.voti.pawction.exceptions.AuctionExceptions.AuctionInvalidStateException;
+import com.voti.pawction.exceptions.AuctionExceptions.AuctionNotFoundException;
+import com.voti.pawction.exceptions.BidExceptions.BidOverloadedException;
+import com.voti.pawction.exceptions.BidExceptions.BidRateLimitedException;
+import com.voti.pawction.exceptions.BidExceptions.InvalidBidException;
+import com.voti.pawction.exceptions.BidExceptions.OutbidWhileSubmittingException;
+import com.voti.pawction.exceptions.UserExceptions.UserNotFoundException;
+
+import java.math.BigDecimal;
+
+public interface BidSubmissionServiceInterface {
+    /**
+     * Entry point for bids coming from the UI.
+     * <p>
+     * Routes the bid to the concurrency strategy selected by {@code auction.bidding.mode}:
+     * the row-locking or version-checked path in
+     * {@link com.voti.pawction.services.auction.BiddingService}, or the in-memory
+     * {@link com.voti.pawction.services.auction.sequencer.BidSequencer}.
+     * <p>
+     * A repeat with the same {@code idempotencyKey} returns the original bid instead of
+     * bidding again.
+     *
+     * @param bidderId       the id of the bidding user
+     * @param auctionId      the id of the auction to bid on
+     * @param amount         proposed bid amount (must be positive)
+     * @param idempotencyKey client-supplied submission key (at most 64 characters), or {@code null}
+     * @return the accepted bid as a DTO
+     * @throws AuctionInvalidStateException if the auction is not LIVE or already ended
+     * @throws InvalidBidException          if the bid amount is not a valid increment, funds are short
+     *                                      or the idempotency key is too long
+     * @throws OutbidWhileSubmittingException if another bid beat this one while it was in flight (OPTIMISTIC)
+     * @throws BidRateLimitedException     if the bidder or the auction is over its bid rate
+     * @throws BidOverloadedException      if too many bids are in flight (callers should answer 503)
+     * @throws InvalidAmountException       if the amount is not positive
+     * @throws UserNotFoundException        if the bidder id is not found
+     * @throws AuctionNotFoundException     if the auction id is not found
+     */
+    BidDto submit(Long bidderId, Long auctionId, BigDecimal amount, String idempotencyKey);
+
+    /**
+     * Entry point for maximum (proxy) bids coming from the UI.
+     * <p>
+     * The system bids for the user up to {@code maxAmount}; the competition with the current
+     * leader's maximum is resolved in one step. Proxy bids always take the row-locked path,
+     * through the sequencer lane in SEQUENCED mode.
+     *
+     * @param bidderId  the id of the bidding user
+     * @param auctionId the id of the auction to bid on
+     * @param maxAmount highest amount the system may bid on the user's behalf
+     * @param idempotencyKey client-supplied submission key (at most 64 characters), or {@code null}
+     * @return the bidder's resulting bid; {@code OUTBID} if the leader's maximum covered it
+     * @throws AuctionInvalidStateException if the auction is not LIVE or already ended
+     * @throws InvalidBidException          if the maximum is not a valid increment or funds are short
+     * @throws BidRateLimitedException     if the bidder or the auction is over its bid rate
+     * @throws BidOverloadedException      if too many bids are in flight (callers should answer 503)
+     * @throws InvalidAmountException       if the amount is not positive
+     * @throws UserNotFoundException        if the bidder id is not found
+     * @throws AuctionNotFoundException     if the auction id is not found
+     */
+    BidDto submitProxy(Long bidderId, Long auctionId, BigDecimal maxAmount, String idempotencyKey);
+}
@@ -26,8 +26,8 @@ public interface BiddingServiceInterface {
      *   <li>Checks that the bid amount is a valid increment over the current highest bid.</li>
      *   <li>Ensures the bidder has sufficient available funds and places a wallet hold.</li>
      *   <li>Persists the bid as {@link Bid_Status#WINNING}.</li>
-     *   <li>Marks all other bids on this auction as {@link Bid_Status#OUTBID} in bulk.</li>
-     *   <li>Updates the auction's {@code highestBid} and {@code winningUser}.</li>
+     *   <li>Marks the previous winning bid as {@link Bid_Status#OUTBID}.</li>
+     *   <li>Updates the auction's {@code highestBid}, {@code winningUser} and {@code winningBidId}.</li>
      * </ul>
      *
      * @param bidderId  the id of the bidding user
@@ -74,10 +74,10 @@ public interface BiddingServiceInterface {
      * <p>
      * Behavior:
      * <ul>
-     *   <li>If no bids exist, does nothing.</li>
-     *   <li>Marks the top bid as {@link Bid_Status#WON} if it was still WINNING.</li>
-     *   <li>Marks all other bids on the auction as {@link Bid_Status#OUTBID}
-     *       using a bulk update.</li>
+     *   <li>If the auction has a {@code winningBidId}, flips only that bid from WINNING to
+     *       {@link Bid_Status#WON}; every earlier winner was already demoted when it was outbid.</li>
+     *   <li>Otherwise (no pointer yet), falls back to the top bid and a bulk
+     *       {@link Bid_Status#OUTBID} sweep; does nothing if no bids exist.</li>
      * </ul>
      * <p>
      * This method is idempotent and safe to call multiple times.
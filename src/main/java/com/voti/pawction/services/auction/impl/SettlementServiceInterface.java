@@ -29,8 +29,8 @@ public interface SettlementServiceInterface {
      *   <li>Validates that the auction status is {@link Auction_Status#ENDED}.</li>
      *   <li>Loads the first-place (winner) user and the optional second-highest bid.</li>
      *   <li>If the auction has no bids, delegates to {@link #noWinner(Long)}.</li>
-     *   <li>Iterates over deposit holds to release non-winner (and, depending on policy,
-     *       non-runner-up) holds back to their accounts via {@link AccountService#releaseHold(Long, Long)}.</li>
+     *   <li>Releases non-winner and non-runner-up holds back to their accounts in bulk via
+     *       {@link AccountService#releaseHoldsForAuction(Long, java.util.Collection)}.</li>
      *   <li>Stamps the winner and {@code paymentDueAt} deadline on the auction.</li>
      *   <li>Persists the updated auction and returns a {@link AuctionDto} view.</li>
      * </ul>
@@ -48,6 +48,20 @@ public interface SettlementServiceInterface {
                         Long winnerUserId,
                         LocalDateTime paymentDueAt);
 
+    /**
+     * Finalizes the bids of an auction that has just ENDED and begins its settlement in a
+     * fixed number of set-based statements: picks the winner and runner-up, marks bids WON or
+     * OUTBID, stamps {@code paymentDueAt} and releases every other HELD deposit hold.
+     *
+     * @param auctionId    the identifier of the auction that just ended
+     * @param paymentDueAt the deadline until which the winner may complete payment
+     * @return a {@link AuctionDto} representing the auction state
+     *
+     * @throws AuctionNotFoundException     if the auction id does not exist
+     * @throws AuctionInvalidStateException if the auction is not in {@code ENDED} status
+     */
+    AuctionDto settleOnClose(Long auctionId, LocalDateTime paymentDueAt);
+
     /**
      * Marks an ENDED auction as having no winner and finalizes it as SETTLED.
      *
@@ -194,7 +208,7 @@ public interface SettlementServiceInterface {
      * <ul>
      *   <li>Loads the auction with a row lock.</li>
      *   <li>Releases <strong>all</strong> deposit holds for that auction back to their accounts
-     *       via {@link AccountService#releaseHold(Long, Long)}.</li>
+     *       via {@link AccountService#releaseHoldsForAuction(Long, java.util.Collection)}.</li>
      *   <li>Clears the winning user and payment due date.</li>
      *   <li>Resets {@code highestBid} to the {@code startPrice}.</li>
      *   <li>Sets status to {@link Auction_Status#CANCELED} and updates timestamps.</li>
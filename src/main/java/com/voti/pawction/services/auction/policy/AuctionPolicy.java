@@ -1,5 +1,6 @@
 package com.voti.pawction.services.auction.policy;
 
+import com.voti.pawction.dtos.response.AccountSnapshot;
 import com.voti.pawction.entities.auction.Auction;
 import com.voti.pawction.exceptions.AccountExceptions.InvalidAmountException;
 import com.voti.pawction.exceptions.AuctionExceptions.AuctionNotFoundException;
@@ -23,8 +24,17 @@ public class AuctionPolicy {
      * @return required hold amount
      */
     public BigDecimal requireAmount(Long auctionId) {
-        var auction = getAuctionOrThrow(auctionId);
+        return requireAmount(getAuctionOrThrow(auctionId));
+    }
 
+    /**
+     * Same tiered policy as {@link #requireAmount(Long)}, evaluated against an auction
+     * that the caller has already loaded (e.g. an in-memory snapshot or a locked row).
+     *
+     * @param auction loaded auction
+     * @return required hold amount
+     */
+    public BigDecimal requireAmount(Auction auction) {
         var startPrice = auction.getStartPrice();
 
         if (startPrice.compareTo(BigDecimal.valueOf(50)) <= 0) {
@@ -51,13 +61,59 @@ public class AuctionPolicy {
      * @return true if proposedBid > highestBid; false otherwise
      */
     public boolean isValidIncrement(Long auctionId, BigDecimal proposedBid) {
-        var auction = getAuctionOrThrow(auctionId);
+        return isValidIncrement(getAuctionOrThrow(auctionId).getHighestBid(), proposedBid);
+    }
 
+    /**
+     * Validate a proposed bid against a known highest bid without reloading the auction.
+     *
+     * @param highestBid current highest bid
+     * @param proposedBid bid amount to validate (must be positive)
+     * @return true if proposedBid >= highestBid + 1; false otherwise
+     */
+    public boolean isValidIncrement(BigDecimal highestBid, BigDecimal proposedBid) {
         Objects.requireNonNull(proposedBid, "amount");
         if (proposedBid.signum() <= 0) throw new InvalidAmountException("amount must be larger than 0");
 
-        return proposedBid.compareTo(auction.getHighestBid()
-                .add(BigDecimal.ONE)) >= 0;
+        return proposedBid.compareTo(minimumNextBid(highestBid)) >= 0;
+    }
+
+    /**
+     * Evaluate a bid against an auction the caller already holds (typically locked with
+     * {@code findByIdForUpdate}) and a one-query snapshot of the bidder's account, without
+     * reading either again.
+     * <p>
+     * Status and end-time checks stay with the caller; this covers the hold amount, the
+     * increment rule and whether the bidder can cover the hold.
+     *
+     * @param auction     loaded auction
+     * @param proposedBid bid amount to validate (must be positive)
+     * @param account     bidder's account snapshot
+     * @return the verdict, carrying the required hold and the minimum next bid either way
+     */
+    public BidVerdict evaluate(Auction auction, BigDecimal proposedBid, AccountSnapshot account) {
+        var requiredHold = requireAmount(auction);
+        var minimumNextBid = minimumNextBid(auction.getHighestBid());
+
+        if (!isValidIncrement(auction.getHighestBid(), proposedBid)) {
+            return BidVerdict.reject(BidVerdict.Rejection.INCREMENT_TOO_LOW, requiredHold, minimumNextBid);
+        }
+
+        if (account.getAvailable().compareTo(requiredHold) < 0) {
+            return BidVerdict.reject(BidVerdict.Rejection.INSUFFICIENT_FUNDS, requiredHold, minimumNextBid);
+        }
+
+        return BidVerdict.accept(requiredHold, minimumNextBid);
+    }
+
+    /**
+     * Compute the smallest bid that would beat the given highest bid ($1 increment).
+     *
+     * @param highestBid current highest bid
+     * @return next minimum allowed bid
+     */
+    public BigDecimal minimumNextBid(BigDecimal highestBid) {
+        return highestBid.add(BigDecimal.ONE);
     }
 
     /**
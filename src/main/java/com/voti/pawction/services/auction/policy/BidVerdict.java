@@ -0,0 +1,32 @@
+package com.voti.pawction.services.auction.policy;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Outcome of {@link AuctionPolicy#evaluate}: whether the bid may be placed, and if not why,
+ * together with the deposit hold it needs and the smallest bid that would beat the current price.
+ */
+@Getter
+@AllArgsConstructor
+public class BidVerdict {
+    public enum Rejection { INCREMENT_TOO_LOW, INSUFFICIENT_FUNDS }
+
+    private final Rejection rejection;
+    private final BigDecimal requiredHold;
+    private final BigDecimal minimumNextBid;
+
+    public boolean isAccepted() {
+        return rejection == null;
+    }
+
+    static BidVerdict accept(BigDecimal requiredHold, BigDecimal minimumNextBid) {
+        return new BidVerdict(null, requiredHold, minimumNextBid);
+    }
+
+    static BidVerdict reject(Rejection rejection, BigDecimal requiredHold, BigDecimal minimumNextBid) {
+        return new BidVerdict(rejection, requiredHold, minimumNextBid);
+    }
+}
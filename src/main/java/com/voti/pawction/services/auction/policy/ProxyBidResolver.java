@@ -0,0 +1,123 @@
+package com.voti.pawction.services.auction.policy;
+
+import com.voti.pawction.entities.auction.enums.Bid_Status;
+import com.voti.pawction.exceptions.BidExceptions.InvalidBidException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Resolves a new bid against the current leader's proxy (maximum) bid in one step.
+ *
+ * <p>A proxy bid is a ceiling the system defends on the bidder's behalf, one increment at a
+ * time. Instead of replaying that bid war step by step, the resolver jumps straight to its
+ * end: who leads, at what visible price, and which bid rows record it. It has no repositories
+ * or clock, so the caller decides how the rows are persisted and broadcast.</p>
+ *
+ * <p>Rules (ties go to the earlier leader):</p>
+ * <ul>
+ *   <li>No leader yet: the challenger leads at the next minimum bid (proxy) or at its amount (plain).</li>
+ *   <li>The leader bids again: a proxy raises the hidden ceiling only; a plain bid moves the price.</li>
+ *   <li>Challenger's max &le; leader's ceiling: the leader defends at
+ *       {@code min(ceiling, next(challengerMax))} and the challenger's bid is recorded as OUTBID.</li>
+ *   <li>Challenger's max &gt; leader's ceiling: the leader's unused ceiling is recorded as OUTBID and
+ *       the challenger leads at {@code min(challengerMax, next(ceiling))} (proxy) or its amount (plain).</li>
+ * </ul>
+ */
+public final class ProxyBidResolver {
+
+    private ProxyBidResolver() {
+    }
+
+    public enum Outcome { CHALLENGER_LEADS, LEADER_DEFENDS, CEILING_RAISED }
+
+    /**
+     * One bid row to write, in order.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Step {
+        private final Long userId;
+        private final BigDecimal amount;
+        private final BigDecimal maxAmount;
+        private final Bid_Status status;
+    }
+
+    /**
+     * Result of a resolution: the rows to write, the visible price and the leader with its
+     * ceiling afterwards ({@code leaderMax} is {@code null} when the leader has no proxy).
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Resolution {
+        private final Outcome outcome;
+        private final List<Step> steps;
+        private final BigDecimal price;
+        private final Long leaderId;
+        private final BigDecimal leaderMax;
+    }
+
+    /**
+     * @param price          current visible price (auction highest bid)
+     * @param leaderId       current leader, or {@code null} when there are no bids
+     * @param leaderMax      current leader's proxy ceiling, or {@code null} for a plain leader
+     * @param challengerId   the bidding user
+     * @param challengerMax  the bid amount, or the ceiling when {@code proxy} is set; already
+     *                       checked to be at least one increment above {@code price}
+     * @param proxy          whether the challenger submitted a maximum bid
+     * @param minimumNextBid the increment rule, e.g. {@link AuctionPolicy#minimumNextBid(BigDecimal)}
+     * @return the resolution
+     * @throws InvalidBidException if the leader submits a maximum that does not raise its ceiling
+     */
+    public static Resolution resolve(BigDecimal price,
+                                     Long leaderId,
+                                     BigDecimal leaderMax,
+                                     Long challengerId,
+                                     BigDecimal challengerMax,
+                                     boolean proxy,
+                                     UnaryOperator<BigDecimal> minimumNextBid) {
+        var challengerCeiling = proxy ? challengerMax : null;
+        var ceiling = leaderMax != null && leaderMax.compareTo(price) > 0 ? leaderMax : price;
+
+        if (leaderId == null) {
+            var newPrice = proxy ? minimumNextBid.apply(price) : challengerMax;
+            return new Resolution(Outcome.CHALLENGER_LEADS,
+                    List.of(new Step(challengerId, newPrice, challengerCeiling, Bid_Status.WINNING)),
+                    newPrice, challengerId, challengerCeiling);
+        }
+
+        if (leaderId.equals(challengerId)) {
+            if (proxy) {
+                if (challengerMax.compareTo(ceiling) <= 0) {
+                    throw new InvalidBidException("Your maximum bid must be higher than your current maximum");
+                }
+                return new Resolution(Outcome.CEILING_RAISED, List.of(), price, leaderId, challengerMax);
+            }
+            // plain raise by the leader: the price moves, a higher ceiling it already has stays
+            var kept = ceiling.compareTo(challengerMax) > 0 ? ceiling : null;
+            return new Resolution(Outcome.CHALLENGER_LEADS,
+                    List.of(new Step(challengerId, challengerMax, kept, Bid_Status.WINNING)),
+                    challengerMax, challengerId, kept);
+        }
+
+        if (challengerMax.compareTo(ceiling) <= 0) {
+            var newPrice = ceiling.min(minimumNextBid.apply(challengerMax));
+            return new Resolution(Outcome.LEADER_DEFENDS,
+                    List.of(new Step(challengerId, challengerMax, challengerCeiling, Bid_Status.OUTBID),
+                            new Step(leaderId, newPrice, ceiling, Bid_Status.WINNING)),
+                    newPrice, leaderId, ceiling);
+        }
+
+        var steps = new ArrayList<Step>(2);
+        if (ceiling.compareTo(price) > 0) {
+            steps.add(new Step(leaderId, ceiling, ceiling, Bid_Status.OUTBID));
+        }
+        var newPrice = proxy ? challengerMax.min(minimumNextBid.apply(ceiling)) : challengerMax;
+        steps.add(new Step(challengerId, newPrice, challengerCeiling, Bid_Status.WINNING));
+        return new Resolution(Outcome.CHALLENGER_LEADS, steps, newPrice, challengerId, challengerCeiling);
+    }
+}
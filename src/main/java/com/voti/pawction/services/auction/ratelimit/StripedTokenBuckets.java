@@ -0,0 +1,104 @@
+package com.voti.pawction.services.auction.ratelimit;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed array of token buckets indexed by a hash of the key, updated with compare-and-set only.
+ *
+ * <p>Each slot packs one bucket into a {@code long}: the upper 40 bits hold the time of the last
+ * refill in milliseconds since this instance was created, the lower 24 bits the remaining tokens
+ * in thousandths. Refill is computed lazily on acquire, so idle buckets cost nothing and memory
+ * stays fixed no matter how many users or auctions are seen. Keys that hash to the same stripe
+ * share a bucket, which can only make the limit stricter for them.</p>
+ *
+ * <p>A zero slot is an unused bucket and starts full.</p>
+ */
+class StripedTokenBuckets {
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long ONE_TOKEN = 1000;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final long capacity;
+    private final long refillPerMilli;
+    private final Clock clock;
+    private final long origin;
+
+    /**
+     * @param stripes         number of buckets, rounded up to a power of two
+     * @param capacity        burst size in whole tokens (at most 16000)
+     * @param refillPerSecond whole tokens added per second
+     * @param clock           time source
+     */
+    StripedTokenBuckets(int stripes, int capacity, int refillPerSecond, Clock clock) {
+        if (capacity < 1 || capacity * ONE_TOKEN > TOKEN_MASK) {
+            throw new IllegalArgumentException("capacity must be between 1 and " + TOKEN_MASK / ONE_TOKEN);
+        }
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.slots = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.capacity = capacity * ONE_TOKEN;
+        // r tokens per second is r thousandths per millisecond
+        this.refillPerMilli = Math.max(0, refillPerSecond);
+        this.clock = clock;
+        // keeps every packed timestamp >= 1 so a zero slot always means "unused"
+        this.origin = clock.millis() - 1;
+    }
+
+    /**
+     * Takes one token from the bucket of {@code key}.
+     *
+     * @return true if a token was available
+     */
+    boolean tryAcquire(long key) {
+        int index = stripe(key);
+        while (true) {
+            long current = slots.get(index);
+            long now = clock.millis() - origin;
+
+            long tokens;
+            if (current == 0) {
+                tokens = capacity;
+            } else {
+                long last = current >>> TOKEN_BITS;
+                long elapsed = Math.max(0, now - last);
+                tokens = Math.min(capacity, (current & TOKEN_MASK) + elapsed * refillPerMilli);
+            }
+
+            if (tokens < ONE_TOKEN) {
+                return false;
+            }
+
+            long next = (now << TOKEN_BITS) | (tokens - ONE_TOKEN);
+            if (slots.compareAndSet(index, current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire(long)} for a request that was then
+     * rejected elsewhere. The refill time is kept, and the bucket never exceeds its capacity.
+     */
+    void refund(long key) {
+        int index = stripe(key);
+        while (true) {
+            long current = slots.get(index);
+            if (current == 0) {
+                return; // unused buckets are already full
+            }
+            long tokens = Math.min(capacity, (current & TOKEN_MASK) + ONE_TOKEN);
+            long next = (current & ~TOKEN_MASK) | tokens;
+            if (slots.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    private int stripe(long key) {
+        long h = key * 0x9E3779B97F4A7C15L; // spreads sequential ids across stripes
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
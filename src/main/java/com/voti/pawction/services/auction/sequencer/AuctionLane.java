@@ -0,0 +1,100 @@
+package com.voti.pawction.services.auction.sequencer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Single-owner execution lane for one auction.
+ *
+ * <p>Two serial queues are kept per auction:</p>
+ * <ul>
+ *   <li>the accept queue, where bids are validated and applied to the snapshot one at a time;</li>
+ *   <li>the persist queue, where accepted bids are written to the database in acceptance order.</li>
+ * </ul>
+ * Tasks run on a shared executor; ordering comes from chaining each task onto the
+ * previous one, so a lane never occupies a thread while it is idle. The lane also counts,
+ * per bidder, the accepted bids that are not written yet, so that a failed write can tell
+ * whether the bidder's hold still backs another bid.
+ */
+class AuctionLane {
+    private final Long auctionId;
+    private volatile AuctionSnapshot snapshot;
+    private CompletableFuture<?> acceptTail = CompletableFuture.completedFuture(null);
+    private CompletableFuture<?> persistTail = CompletableFuture.completedFuture(null);
+    private final ConcurrentMap<Long, Integer> unpersisted = new ConcurrentHashMap<>();
+
+    AuctionLane(Long auctionId) {
+        this.auctionId = auctionId;
+    }
+
+    Long auctionId() {
+        return auctionId;
+    }
+
+    AuctionSnapshot snapshot() {
+        return snapshot;
+    }
+
+    void snapshot(AuctionSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Drops the snapshot so that the next accept task reloads it from the database.
+     */
+    void invalidate() {
+        this.snapshot = null;
+    }
+
+    synchronized <T> CompletableFuture<T> enqueue(Supplier<T> task, Executor executor) {
+        CompletableFuture<T> next = acceptTail
+                .handle((r, e) -> null)
+                .thenApplyAsync(v -> task.get(), executor);
+        acceptTail = next;
+        return next;
+    }
+
+    /**
+     * Blocks until every bid accepted so far has been written. Called from an accept task
+     * before it bypasses the snapshot and works against the database directly.
+     */
+    void awaitPersisted() {
+        CompletableFuture<?> tail;
+        synchronized (this) {
+            tail = persistTail;
+        }
+        tail.handle((r, e) -> null).join();
+    }
+
+    synchronized <T> CompletableFuture<T> persist(Supplier<T> task, Executor executor) {
+        CompletableFuture<T> next = persistTail
+                .handle((r, e) -> null)
+                .thenApplyAsync(v -> task.get(), executor);
+        persistTail = next;
+        return next;
+    }
+
+    /**
+     * Counts an accepted bid of the bidder that has not been written yet.
+     */
+    void accepted(Long bidderId) {
+        unpersisted.merge(bidderId, 1, Integer::sum);
+    }
+
+    /**
+     * Stops counting one of the bidder's accepted bids, written or failed.
+     */
+    void settled(Long bidderId) {
+        unpersisted.computeIfPresent(bidderId, (id, n) -> n > 1 ? n - 1 : null);
+    }
+
+    /**
+     * Whether the bidder has accepted bids that are not written yet.
+     */
+    boolean hasUnpersisted(Long bidderId) {
+        return unpersisted.containsKey(bidderId);
+    }
+}
@@ -0,0 +1,47 @@
+package com.voti.pawction.services.auction.sequencer;
+
+import com.voti.pawction.entities.auction.enums.Auction_Status;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * In-memory view of the fields of an {@link com.voti.pawction.entities.auction.Auction}
+ * that bid sequencing needs. Only the owning {@link AuctionLane} mutates it, always from
+ * inside a lane task, so no further synchronization is required.
+ */
+@Getter
+@AllArgsConstructor
+class AuctionSnapshot {
+    private final Long auctionId;
+    private final Auction_Status status;
+    private final LocalDateTime endTime;
+    private final BigDecimal requiredHold;
+    private BigDecimal highestBid;
+    private Long winningUserId;
+    private final BigDecimal leaderMaxBid;
+    private final Integer softCloseWindowSeconds;
+
+    void accept(Long bidderId, BigDecimal amount) {
+        this.highestBid = amount;
+        this.winningUserId = bidderId;
+    }
+
+    /**
+     * Whether the leader defends a maximum bid above the visible price. Such bids are
+     * resolved by {@link com.voti.pawction.services.auction.BiddingService} under the row lock.
+     */
+    boolean hasActiveProxy() {
+        return leaderMaxBid != null && leaderMaxBid.compareTo(highestBid) > 0;
+    }
+
+    /**
+     * Whether a bid at {@code now} would extend a soft-close auction. Extensions move the
+     * end time, so such bids also go through the row lock instead of this snapshot.
+     */
+    boolean inSoftCloseWindow(LocalDateTime now) {
+        return softCloseWindowSeconds != null && !now.isBefore(endTime.minusSeconds(softCloseWindowSeconds));
+    }
+}
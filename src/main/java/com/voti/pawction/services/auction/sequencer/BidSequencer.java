@@ -0,0 +1,390 @@
+package com.voti.pawction.services.auction.sequencer;
+
+import com.voti.pawction.config.BiddingProperties;
+import com.voti.pawction.dtos.response.BidDto;
+import com.voti.pawction.entities.auction.enums.Auction_Status;
+import com.voti.pawction.exceptions.AccountExceptions.InvalidAmountException;
+import com.voti.pawction.exceptions.AuctionExceptions.AuctionInvalidStateException;
+import com.voti.pawction.exceptions.AuctionExceptions.AuctionNotFoundException;
+import com.voti.pawction.exceptions.BidExceptions.BidOverloadedException;
+import com.voti.pawction.exceptions.BidExceptions.InvalidBidException;
+import com.voti.pawction.exceptions.UserExceptions.UserNotFoundException;
+import com.voti.pawction.mappers.BidMapper;
+import com.voti.pawction.repositories.UserRepository;
+import com.voti.pawction.repositories.auction.AuctionRepository;
+import com.voti.pawction.repositories.auction.BidRepository;
+import com.voti.pawction.services.auction.BiddingService;
+import com.voti.pawction.services.auction.admission.BidAdmissionLimiter;
+import com.voti.pawction.services.auction.policy.AuctionPolicy;
+import com.voti.pawction.services.wallet.AccountService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Orders bids per auction in memory instead of through a PESSIMISTIC_WRITE row lock.
+ *
+ * <p>Each LIVE auction that receives bids gets one {@link AuctionLane}, keyed by auction id.
+ * The lane validates status, end time, increment and funds against an {@link AuctionSnapshot},
+ * places the deposit hold and applies the bid to the snapshot. The accepted bid is then
+ * handed to the lane's persist queue, which records it through
+ * {@link BiddingService#recordSequencedBid} in acceptance order, and the caller is
+ * acknowledged once its row is written. The next bid is validated while the previous one
+ * is still being written, so the two queues overlap.</p>
+ *
+ * <p>Different auctions never wait on each other, so throughput grows with the number of
+ * hot auctions rather than with how long the auction row stays locked.</p>
+ *
+ * <p>While the leader defends a proxy (maximum) bid, or a soft-close auction is inside its
+ * closing window, bids leave the snapshot path and are resolved by {@link BiddingService}
+ * under the row lock, still in lane order.</p>
+ *
+ * <p>The sequencer owns auctions per JVM: with several nodes, bids for one auction must be
+ * routed to the same node. A failed persist is reported to its bidder, invalidates the
+ * snapshot so that the next bid re-reads the database, and releases the bidder's hold if
+ * no other bid of theirs on the auction needs it.</p>
+ *
+ * <p>Bids claim a {@link BidAdmissionLimiter} slot only inside the lane, around their own
+ * database work, so bids waiting in a busy lane hold no slot and do not shed bids on other
+ * auctions. The write of an accepted bid always enters, even above the limit.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BidSequencer {
+    private static final int QUEUED = 0;
+    private static final int STARTED = 1;
+    private static final int ABANDONED = 2;
+
+    private final AuctionRepository auctionRepository;
+    private final BidRepository bidRepository;
+    private final BidMapper bidMapper;
+    private final AuctionPolicy auctionPolicy;
+    private final AccountService accountService;
+    private final BiddingService biddingService;
+    private final BiddingProperties props;
+    private final Clock clock;
+    private final BidAdmissionLimiter bidAdmissionLimiter;
+    private final UserRepository userRepository;
+
+    private final ConcurrentMap<Long, AuctionLane> lanes = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Submits a bid to the auction's lane and waits for it to be accepted or rejected.
+     * <p>
+     * Acceptance means the bid beat the in-memory highest bid, the hold was placed and the
+     * bid row was written by the lane's persist queue.
+     *
+     * @param bidderId  the id of the bidding user
+     * @param auctionId the id of the auction to bid on
+     * @param amount    proposed bid amount (must be positive)
+     * @param idempotencyKey client-supplied submission key stored with the bid row, or {@code null}
+     * @return the accepted bid
+     * @throws AuctionInvalidStateException if the auction is not LIVE, already ended, closed
+     *                                      before the bid was written, or the lane could not
+     *                                      take the bid within the ack timeout
+     * @throws InvalidBidException          if the increment or funds check fails
+     * @throws InvalidAmountException       if the amount is not positive
+     * @throws UserNotFoundException        if the bidder id is not found
+     * @throws AuctionNotFoundException     if the auction id is not found
+     * @throws BidOverloadedException       if no admission slot is free when the lane reaches the bid
+     */
+    public BidDto submit(Long bidderId, Long auctionId, BigDecimal amount, String idempotencyKey) {
+        requirePositive(amount);
+        return run(auctionId, lane -> accept(lane, bidderId, amount, idempotencyKey));
+    }
+
+    /**
+     * Submits a maximum (proxy) bid to the auction's lane.
+     * <p>
+     * Proxy bids are resolved against the leader's ceiling by
+     * {@link BiddingService#placeProxyBid(Long, Long, BigDecimal, String)} under the row lock. The lane
+     * first drains its persist queue so the database reflects every bid it acknowledged,
+     * and reloads its snapshot afterwards.
+     *
+     * @param bidderId  the id of the bidding user
+     * @param auctionId the id of the auction to bid on
+     * @param maxAmount highest amount the system may bid on the user's behalf
+     * @param idempotencyKey client-supplied submission key, or {@code null}
+     * @return the bidder's resulting bid
+     * @throws AuctionInvalidStateException if the auction is not LIVE, already ended, or the
+     *                                      lane could not take the bid within the ack timeout
+     * @throws InvalidBidException          if the increment or funds check fails
+     * @throws InvalidAmountException       if the amount is not positive
+     * @throws AuctionNotFoundException     if the auction id is not found
+     * @throws BidOverloadedException       if no admission slot is free when the lane reaches the bid
+     */
+    public BidDto submitProxy(Long bidderId, Long auctionId, BigDecimal maxAmount, String idempotencyKey) {
+        requirePositive(maxAmount);
+        return run(auctionId, lane -> CompletableFuture.completedFuture(throughDatabase(lane,
+                () -> biddingService.placeProxyBid(bidderId, auctionId, maxAmount, idempotencyKey))));
+    }
+
+    /**
+     * Runs a task in the auction's accept queue and waits for the future it returns, which
+     * completes when the bid is written.
+     */
+    private BidDto run(Long auctionId, Function<AuctionLane, CompletableFuture<BidDto>> task) {
+        var lane = lanes.computeIfAbsent(auctionId, AuctionLane::new);
+        var state = new AtomicInteger(QUEUED);
+
+        var ack = lane.enqueue(() -> {
+            if (!state.compareAndSet(QUEUED, STARTED)) {
+                return CompletableFuture.<BidDto>completedFuture(null); // caller already gave up on this bid
+            }
+            return task.apply(lane);
+        }, executor).thenCompose(Function.identity());
+
+        try {
+            return ack.get(props.getAckTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (state.compareAndSet(QUEUED, ABANDONED)) {
+                throw new AuctionInvalidStateException("Auction is busy, please retry your bid");
+            }
+            // already running: the outcome is imminent and must be reported, not dropped
+            return awaitStarted(ack);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuctionInvalidStateException("Interrupted while waiting for bid acknowledgement");
+        }
+    }
+
+    /**
+     * Drops the lane for an auction so the next bid reloads it from the database.
+     * Called when the auction is closed, canceled or its end time changes. When called
+     * inside a transaction the lane is dropped again after commit, so a bid that reloads
+     * the snapshot in between cannot keep the pre-commit state.
+     *
+     * @param auctionId the auction identifier
+     */
+    public void evict(Long auctionId) {
+        drop(auctionId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drop(auctionId);
+                }
+            });
+        }
+    }
+
+    private void drop(Long auctionId) {
+        var lane = lanes.remove(auctionId);
+        if (lane != null) {
+            lane.invalidate();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    // ---------- lane tasks ----------
+
+    private CompletableFuture<BidDto> accept(AuctionLane lane, Long bidderId, BigDecimal amount, String idempotencyKey) {
+        var now = LocalDateTime.now(clock);
+
+        long startedAt = bidAdmissionLimiter.acquire();
+        try {
+            requireBidder(bidderId);
+
+            var snapshot = snapshotOf(lane);
+
+            if (snapshot.getStatus() != Auction_Status.LIVE) {
+                lanes.remove(lane.auctionId(), lane);
+                throw new AuctionInvalidStateException("Only LIVE auctions can accept bids");
+            }
+
+            if (!snapshot.getEndTime().isAfter(now)) {
+                lanes.remove(lane.auctionId(), lane);
+                throw new AuctionInvalidStateException("Auction already ended");
+            }
+
+            if (!snapshot.hasActiveProxy() && !snapshot.inSoftCloseWindow(now)) {
+                return acceptOnSnapshot(lane, snapshot, bidderId, amount, idempotencyKey, now);
+            }
+        } finally {
+            bidAdmissionLimiter.release(startedAt);
+        }
+
+        // the slot is given back first, so it is not held while the lane's writes drain
+        return CompletableFuture.completedFuture(throughDatabase(lane,
+                () -> biddingService.placeBid(bidderId, lane.auctionId(), amount, idempotencyKey)));
+    }
+
+    /**
+     * Accepts a bid against the lane's snapshot: places the hold, applies the bid and queues
+     * its write. Runs inside the accept task's admission slot; the write holds its own.
+     */
+    private CompletableFuture<BidDto> acceptOnSnapshot(AuctionLane lane, AuctionSnapshot snapshot, Long bidderId,
+                                                       BigDecimal amount, String idempotencyKey, LocalDateTime now) {
+        if (idempotencyKey != null) {
+            // a retry that missed this node's idempotency cache, e.g. after a failover
+            var recorded = bidRepository.findByUser_UserIdAndIdempotencyKey(bidderId, idempotencyKey);
+            if (recorded.isPresent()) {
+                return CompletableFuture.completedFuture(bidMapper.toDto(recorded.get()));
+            }
+        }
+
+        if (!auctionPolicy.isValidIncrement(snapshot.getHighestBid(), amount)) {
+            throw new InvalidBidException("Bid must be at least $1 higher than current highest bid");
+        }
+
+        try {
+            // one conditional reservation checks the funds and holds them
+            accountService.placeHold(bidderId, lane.auctionId(), snapshot.getRequiredHold());
+        } catch (InvalidAmountException e) {
+            throw new InvalidBidException("Insufficient funds to cover required deposit hold");
+        }
+
+        snapshot.accept(bidderId, amount);
+        lane.accepted(bidderId);
+
+        return lane.persist(() -> {
+            // timed from here, so waiting behind the lane's earlier writes is not counted
+            long startedAt = bidAdmissionLimiter.enter();
+            try {
+                return biddingService.recordSequencedBid(bidderId, lane.auctionId(), amount, now, idempotencyKey);
+            } finally {
+                bidAdmissionLimiter.release(startedAt);
+                lane.settled(bidderId);
+            }
+        }, executor).whenComplete((bid, ex) -> {
+            if (ex != null) {
+                log.error("[bid-sequencer] failed to persist bid of {} by user {} on auction {}",
+                        amount, bidderId, lane.auctionId(), ex);
+                lane.invalidate();
+                // queued before the bidder hears of the failure, so a retry is accepted after it
+                lane.enqueue(() -> releaseUnbackedHold(lane, bidderId), executor);
+            }
+        });
+    }
+
+    /**
+     * Releases the hold of a bidder whose bid could not be written, unless another bid of
+     * theirs on the auction is recorded or still waiting to be. Runs in the accept queue,
+     * so no new bid of the bidder can reuse the hold while it is being released.
+     */
+    private Void releaseUnbackedHold(AuctionLane lane, Long bidderId) {
+        if (lane.hasUnpersisted(bidderId)
+                || bidRepository.existsByUser_UserIdAndAuction_AuctionId(bidderId, lane.auctionId())) {
+            return null;
+        }
+        try {
+            accountService.releaseHold(bidderId, lane.auctionId());
+        } catch (RuntimeException e) {
+            log.error("[bid-sequencer] failed to release hold of user {} on auction {}",
+                    bidderId, lane.auctionId(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Runs a locked bid from inside the lane once all acknowledged bids are persisted,
+     * then drops the snapshot since the bid may have moved the price and ceiling.
+     * The admission slot is claimed after the drain.
+     */
+    private BidDto throughDatabase(AuctionLane lane, Supplier<BidDto> bid) {
+        lane.awaitPersisted();
+        try {
+            return admitted(bid);
+        } finally {
+            lane.invalidate();
+        }
+    }
+
+    /**
+     * Returns the lane's snapshot, loading it from the database if it was dropped.
+     */
+    private AuctionSnapshot snapshotOf(AuctionLane lane) {
+        var snapshot = lane.snapshot();
+        if (snapshot == null) {
+            snapshot = load(lane.auctionId());
+            lane.snapshot(snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Checks that the bidder exists before any idempotency lookup or hold is made for them.
+     *
+     * @throws UserNotFoundException if the bidder id is not found
+     */
+    private void requireBidder(Long bidderId) {
+        if (!userRepository.existsById(bidderId)) {
+            throw new UserNotFoundException("User not found by id: " + bidderId);
+        }
+    }
+
+    private AuctionSnapshot load(Long auctionId) {
+        var auction = auctionRepository.findById(auctionId)
+                .orElseThrow(() -> new AuctionNotFoundException("Auction not found by id: " + auctionId));
+
+        return new AuctionSnapshot(
+                auction.getAuctionId(),
+                auction.getStatus(),
+                auction.getEndTime(),
+                auctionPolicy.requireAmount(auction),
+                auction.getHighestBid(),
+                auction.getWinningUser() == null ? null : auction.getWinningUser().getUserId(),
+                auction.getLeaderMaxBid(),
+                auction.getSoftCloseExtensionSeconds() == null ? null : auction.getSoftCloseWindowSeconds()
+        );
+    }
+
+    // ---------- helpers ----------
+
+    /**
+     * Runs database work inside a slot of the adaptive in-flight limit.
+     *
+     * @throws BidOverloadedException if no slot is free
+     */
+    private <T> T admitted(Supplier<T> work) {
+        long startedAt = bidAdmissionLimiter.acquire();
+        try {
+            return work.get();
+        } finally {
+            bidAdmissionLimiter.release(startedAt);
+        }
+    }
+
+    private static void requirePositive(BigDecimal amount) {
+        Objects.requireNonNull(amount, "amount");
+        if (amount.signum() <= 0) throw new InvalidAmountException("amount must be larger than 0");
+    }
+
+    private BidDto awaitStarted(CompletableFuture<BidDto> ack) {
+        try {
+            return ack.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuctionInvalidStateException("Interrupted while waiting for bid acknowledgement");
+        }
+    }
+
+    private RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException re) {
+            return re;
+        }
+        return new IllegalStateException("Bid sequencing failed", e.getCause());
+    }
+}
@@ -1,5 +1,6 @@
 package com.voti.pawction.services.socket;
 
+import com.voti.pawction.dtos.response.AuctionCardDto;
 import com.voti.pawction.dtos.response.AuctionUpdateDto;
 import com.voti.pawction.dtos.response.BidUpdateDto;
 import lombok.RequiredArgsConstructor;
@@ -7,14 +8,17 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class AuctionUpdateService {
     private final SimpMessagingTemplate messagingTemplate;
 
-    public void sendAuctionUpdate(Long auctionId, BigDecimal highestBid, int bidCount, BigDecimal userBidAmount, BigDecimal minNextBidAmount) {
-        AuctionUpdateDto message = new AuctionUpdateDto(auctionId, highestBid, bidCount, userBidAmount, minNextBidAmount);
+    public void sendAuctionUpdate(Long auctionId, BigDecimal highestBid, int bidCount, BigDecimal userBidAmount, BigDecimal minNextBidAmount,
+                                  LocalDateTime endTime) {
+        AuctionUpdateDto message = new AuctionUpdateDto(auctionId, highestBid, bidCount, userBidAmount, minNextBidAmount, endTime);
 
         messagingTemplate.convertAndSend("/topic/auction/" + auctionId, message);
         messagingTemplate.convertAndSend("/topic/myAccount", message);
@@ -25,4 +29,11 @@ public class AuctionUpdateService {
         messagingTemplate.convertAndSend("/topic/bids/" + bidUpdateDto.getAuctionId(), bidUpdateDto);
     }
 
+    /**
+     * Announces a batch of auctions that just went LIVE to the home feed in one message.
+     */
+    public void sendAuctionsLive(List<AuctionCardDto> auctions) {
+        messagingTemplate.convertAndSend("/topic/home/live", auctions);
+    }
+
 }
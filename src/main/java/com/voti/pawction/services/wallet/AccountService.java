@@ -1,10 +1,16 @@
 package com.voti.pawction.services.wallet;
 
+import com.voti.pawction.dtos.response.AccountSnapshot;
+import com.voti.pawction.dtos.response.CursorPage;
+import com.voti.pawction.dtos.response.HeldHold;
+import com.voti.pawction.dtos.response.HoldDto;
+import com.voti.pawction.dtos.response.TransactionDto;
 import com.voti.pawction.entities.auction.Auction;
 import com.voti.pawction.entities.wallet.Account;
 import com.voti.pawction.entities.wallet.DepositHold;
 import com.voti.pawction.entities.wallet.Transaction;
 import com.voti.pawction.entities.wallet.enums.Status;
+import com.voti.pawction.entities.wallet.enums.Transaction_Type;
 import com.voti.pawction.exceptions.AccountExceptions.HoldNotFoundException;
 import com.voti.pawction.exceptions.AccountExceptions.InvalidAmountException;
 import com.voti.pawction.exceptions.AuctionExceptions.AuctionNotFoundException;
@@ -16,13 +22,23 @@ import com.voti.pawction.repositories.wallet.TransactionRepository;
 import com.voti.pawction.services.wallet.impl.AccountServiceInterface;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.stereotype.Service;
 
 import com.voti.pawction.exceptions.AccountExceptions.AccountNotFoundException;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
@@ -32,17 +48,26 @@ public class AccountService implements AccountServiceInterface {
     private final DepositHoldRepository holdRepository;
     private final AuctionRepository auctionRepository;
     private final TransactionRepository txRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final LedgerService ledgerService;
+    private final Clock clock;
 
+    /** Holds updated per statement and ledger rows per JDBC batch in {@link #releaseHoldsForAuction}. */
+    private static final int RELEASE_BATCH = 500;
+
+    /** Largest page served by {@link #getTransactionPage} and {@link #getHoldPage}. */
+    static final int MAX_PAGE_SIZE = 100;
 
     /**
-     * Places a deposit hold for the given auction. Implementations must
-     * compute {@code available} inside the same transaction and reject the
-     * operation if insufficient funds are available.
+     * Places a deposit hold for the given auction. The amount is reserved against the
+     * account's held total with one conditional update, which fails if the available
+     * balance does not cover it, and the hold is inserted unless the account already
+     * has one on this auction, in which case that hold is returned and nothing is reserved.
      *
      * @param accountId the account identifier
      * @param auctionId the auction identifier
      * @param amount    positive hold amount
-     * @return the created hold
+     * @return the created hold, or the existing hold for this auction
      * @throws IllegalArgumentException if amount is null/non-positive
      * @throws AccountNotFoundException if account is not found by id
      * @throws InvalidAmountException    if insufficient available funds
@@ -51,27 +76,51 @@ public class AccountService implements AccountServiceInterface {
     @Override
     public DepositHold placeHold(Long accountId, Long auctionId, BigDecimal amount) {
         requirePositive(amount);
+        return reserveHold(accountId, auctionId, amount);
+    }
 
-        if (getAvailable(accountId).compareTo(amount) < 0) {
-            throw new InvalidAmountException("insufficient funds");
-        }
-
-        var auction = getAuctionOrThrow(auctionId);
-        var account = getAccountOrThrow(accountId);
+    /**
+     * Reads, in one query, the account balance, the held total and any hold it already
+     * has on the given auction.
+     *
+     * @param accountId the account identifier
+     * @param auctionId the auction the account is bidding on
+     * @return the account snapshot
+     * @throws AccountNotFoundException if account is not found by id
+     */
+    @Override
+    public AccountSnapshot getBidSnapshot(Long accountId, Long auctionId) {
+        return accountRepository.snapshotForBid(accountId, auctionId)
+                .orElseThrow(()-> new AccountNotFoundException("Account not found by id: " + accountId));
+    }
 
-        // Check if hold already exists
-        Optional<DepositHold> existingHold = holdRepository.findByAccountAccountIdAndAuctionAuctionId(accountId, auctionId);
+    /**
+     * Places a deposit hold using state the caller already read in this transaction.
+     * The account is referenced by id only, so the account row, its holds and the
+     * auction are not loaded again; a new hold costs the conditional reservation and
+     * one insert. The snapshot's available balance is not trusted: a concurrent bid of
+     * the same account may have reserved funds since it was read.
+     *
+     * @param account the bidder's account snapshot
+     * @param auction the auction being bid on
+     * @param amount  positive hold amount
+     * @return the created hold, or the existing hold for this auction
+     * @throws InvalidAmountException if amount is non-positive or funds are insufficient
+     */
+    @Override
+    public DepositHold placeHold(AccountSnapshot account, Auction auction, BigDecimal amount) {
+        requirePositive(amount);
 
-        if (existingHold.isPresent()) {
-            // Just return the existing hold, no update
-            return existingHold.get();
+        if (account.getExistingHoldId() != null) {
+            // same rule as placeHold(Long, Long, BigDecimal): one hold per account and auction
+            var existing = holdRepository.findById(account.getExistingHoldId())
+                    .orElseThrow(() -> new HoldNotFoundException("Hold not found by id: " + account.getExistingHoldId()));
+            if (existing.getDepositStatus() != Status.RELEASED) {
+                return existing;
+            }
         }
 
-        var a = getAccountOrThrow(accountId);
-        var hold = holdRepository.save(a.addHold(auction, amount));
-        accountRepository.save(a);
-
-        return hold;
+        return reserveHold(account.getAccountId(), auction.getAuctionId(), amount);
     }
 
     /**
@@ -97,16 +146,98 @@ public class AccountService implements AccountServiceInterface {
                 .findFirst()
                 .orElseThrow(() -> new InvalidAuctionException("Active hold not found for account on this auction"));
         releaseHold.setDepositStatus(Status.RELEASED);
+        releaseHold.setUpdatedAt(LocalDateTime.now(clock));
+        accountRepository.unreserveHeld(accountId, releaseHold.getAmount());
+        ledgerService.post(LedgerPosting.release(accountId, auctionId, releaseHold.getAmount()));
 
-        a.deposit(releaseHold.getAmount());
+        // the held amount never left the balance, so it is only recorded, not credited
+        txRepository.save(a.addTransaction(Transaction_Type.HOLD_RELEASE, releaseHold.getAmount()));
 
         return holdRepository.save(releaseHold);
     }
 
+    /**
+     * Releases every HELD hold on an auction except those of {@code keptAccountIds}.
+     * No money moves; each released hold gets a {@code HOLD_RELEASE} transaction and a
+     * release posting in the ledger.
+     *
+     * <p>One query reads the holds to release, they are flipped to RELEASED with one update per
+     * {@link #RELEASE_BATCH} holds, and the ledger entries are written in JDBC batches of the
+     * same size, so the cost does not grow with round trips per hold. Callers hold the auction
+     * row lock, so no hold changes status between the read and the update.</p>
+     *
+     * @param auctionId      the auction identifier
+     * @param keptAccountIds accounts whose holds stay HELD (e.g. winner and runner-up); may be empty
+     * @return the number of holds released
+     */
+    @Override
+    public int releaseHoldsForAuction(Long auctionId, Collection<Long> keptAccountIds) {
+        // NOT IN () is not valid SQL; no account has id 0
+        var kept = keptAccountIds == null || keptAccountIds.isEmpty() ? List.of(0L) : keptAccountIds;
+        return releaseHolds(holdRepository.findByAuctionAndStatusExcept(auctionId, Status.HELD, kept));
+    }
+
+    /**
+     * Releases exactly the given HELD holds, e.g. those listed by a close plan read ahead of time,
+     * in the same batches as {@link #releaseHoldsForAuction(Long, Collection)}.
+     *
+     * <p>All or nothing: if any of the holds is no longer HELD, nothing is recorded and
+     * {@link HoldNotFoundException} is thrown so that the caller's transaction rolls back the
+     * status updates already made.</p>
+     *
+     * @param holds the holds to release
+     * @return the number of holds released
+     * @throws HoldNotFoundException if a hold was released or forfeited since it was read
+     */
+    @Override
+    public int releaseHolds(List<HeldHold> holds) {
+        if (holds.isEmpty()) {
+            return 0;
+        }
+
+        var now = LocalDateTime.now(clock);
+        int released = 0;
+        for (int from = 0; from < holds.size(); from += RELEASE_BATCH) {
+            var ids = holds.subList(from, Math.min(from + RELEASE_BATCH, holds.size())).stream()
+                    .map(HeldHold::getHoldId)
+                    .toList();
+            released += holdRepository.transitionAll(ids, Status.HELD, Status.RELEASED, now);
+        }
+        if (released != holds.size()) {
+            throw new HoldNotFoundException((holds.size() - released) + " of " + holds.size()
+                    + " holds are no longer HELD");
+        }
+
+        // one held-total update per account, however many of its holds were released
+        var releasedByAccount = holds.stream().collect(Collectors.groupingBy(
+                HeldHold::getAccountId, Collectors.reducing(BigDecimal.ZERO, HeldHold::getAmount, BigDecimal::add)));
+        jdbcTemplate.batchUpdate(
+                "update account set held_total = held_total - ? where account_id = ?",
+                releasedByAccount.entrySet(), RELEASE_BATCH, (ps, entry) -> {
+                    ps.setBigDecimal(1, entry.getValue());
+                    ps.setLong(2, entry.getKey());
+                });
+
+        var occurredAt = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(
+                "insert into transaction (account_id, tx_type, amount, occurred_at) values (?, ?, ?, ?)",
+                holds, RELEASE_BATCH, (ps, hold) -> {
+                    ps.setLong(1, hold.getAccountId());
+                    ps.setString(2, Transaction_Type.HOLD_RELEASE.name());
+                    ps.setBigDecimal(3, hold.getAmount().setScale(2, RoundingMode.HALF_UP));
+                    ps.setTimestamp(4, occurredAt);
+                });
+        ledgerService.post(holds.stream()
+                .map(h -> LedgerPosting.release(h.getAccountId(), h.getAuctionId(), h.getAmount()))
+                .toList());
+
+        return released;
+    }
+
     /**
      * Forfeits an active hold for the given auction (e.g., penalty or
-     * auction rules). Implementations should post the corresponding debit
-     * to the account ledger and flip the hold status to FORFEITED.
+     * auction rules). The held amount leaves both the balance and the held
+     * total, a forfeit is posted to the ledger and the hold becomes FORFEITED.
      *
      * @param accountId the account identifier (explicit to avoid ambiguity)
      * @param auctionId the auction identifier
@@ -127,12 +258,15 @@ public class AccountService implements AccountServiceInterface {
                 .orElseThrow(() -> new HoldNotFoundException("Active hold not found for account on this auction"));
 
         penaltyHold.setDepositStatus(Status.FORFEITED);
+        accountRepository.debitHeld(accountId, penaltyHold.getAmount());
+        ledgerService.post(LedgerPosting.forfeit(accountId, auctionId, penaltyHold.getAmount()));
 
         return holdRepository.save(penaltyHold);
     }
 
     /**
-     * Credits money to the account and records a transaction entry.
+     * Credits money to the account, posts the deposit to the ledger and records a
+     * transaction entry.
      *
      * @param accountId the account identifier
      * @param amount    positive amount to credit
@@ -144,16 +278,17 @@ public class AccountService implements AccountServiceInterface {
     @Transactional
     public Transaction deposit(Long accountId, BigDecimal amount) {
         requirePositive(amount);
-        Account a = getAccountOrThrow(accountId);
-        Transaction deposit = txRepository.save(a.deposit(amount));
-        accountRepository.save(a);
-        return deposit;
+        if (accountRepository.credit(accountId, amount) == 0) {
+            throw new AccountNotFoundException("Account not found by id: " + accountId);
+        }
+        ledgerService.post(LedgerPosting.deposit(accountId, amount));
+        return recordTransaction(accountId, Transaction_Type.DEPOSIT, amount);
     }
 
     /**
-     * Withdraw money from the account and records a transaction entry.
-     * Implementations must compute {@code available} inside the same
-     * transaction and reject if insufficient.
+     * Withdraw money from the account, posts the withdrawal to the ledger and records
+     * a transaction entry. The debit is one conditional update on the available balance,
+     * so no hold can be reserved between the check and the debit.
      *
      * @param accountId the account identifier
      * @param amount    positive amount to debit
@@ -166,15 +301,39 @@ public class AccountService implements AccountServiceInterface {
     @Transactional
     public Transaction withdraw(Long accountId, BigDecimal amount) {
         requirePositive(amount);
-        if (getAvailable(accountId).compareTo(amount) < 0) {
+        if (accountRepository.debitAvailable(accountId, amount) == 0) {
+            if (!accountRepository.existsById(accountId)) {
+                throw new AccountNotFoundException("Account not found by id: " + accountId);
+            }
             throw new InvalidAmountException("insufficient available funds");
         }
-        var a = getAccountOrThrow(accountId);
-        Transaction withdraw = a.withdraw(amount);
-        accountRepository.save(a);
-        return withdraw;
-        //return txRepository.save(withdraw);
+        ledgerService.post(LedgerPosting.withdrawal(accountId, amount));
+        return recordTransaction(accountId, Transaction_Type.WITHDRAWAL, amount);
     }
+
+    /**
+     * Settles a won auction: the payer's payment comes in from outside the platform and is
+     * passed on to the payee, whose balance is credited. The ledger records the payment
+     * through the payer's cash book, so both sides appear in their journals.
+     *
+     * @param payerAccountId the winner's account identifier
+     * @param payeeAccountId the seller's account identifier
+     * @param auctionId      the settled auction
+     * @param amount         positive amount paid
+     * @return the payee's settlement transaction
+     * @throws InvalidAmountException   if amount is non-positive
+     * @throws AccountNotFoundException if the payee account is not found by id
+     */
+    @Override
+    public Transaction settle(Long payerAccountId, Long payeeAccountId, Long auctionId, BigDecimal amount) {
+        requirePositive(amount);
+        if (accountRepository.credit(payeeAccountId, amount) == 0) {
+            throw new AccountNotFoundException("Account not found by id: " + payeeAccountId);
+        }
+        ledgerService.post(LedgerPosting.settlement(payerAccountId, payeeAccountId, auctionId, amount));
+        return recordTransaction(payeeAccountId, Transaction_Type.SETTLEMENT, amount);
+    }
+
     /**
      * Returns the current balance stored on the account database.
      * This is the raw balance before subtracting any active holds.
@@ -185,27 +344,26 @@ public class AccountService implements AccountServiceInterface {
      */
     @Override
     public BigDecimal getBalance(Long accountId) {
-        return getAccountOrThrow(accountId).getBalance();
+        return accountRepository.findBalance(accountId)
+                .orElseThrow(()-> new AccountNotFoundException("Account not found by id: " + accountId));
     }
 
     /**
-     * Returns the current spendable amount after subtracting all HELD holds on account
-     * query in the database as:
-     * balance - SUM(HELD holds). Implementation should execute this inside
-     * a transaction and may use a locking query when called from mutation
-     * flows (e.g., withdraw/placeHold) to prevent double-spend.
+     * Returns the current spendable amount, balance minus the account's held total,
+     * read from the account row alone. The held total is kept equal to the sum of
+     * HELD holds by every hold placement and transition, so no holds are summed here.
      * @param accountId the account identifier
      * @throws  AccountNotFoundException if account is not found by id
      */
     @Override
     public BigDecimal getAvailable(Long accountId) {
-        BigDecimal available = accountRepository.computeAvailable(getAccountOrThrow(accountId).getAccountId());
-        if (available != null) return available;
-        return BigDecimal.ZERO;
+        return accountRepository.computeAvailable(accountId)
+                .orElseThrow(()-> new AccountNotFoundException("Account not found by id: " + accountId));
     }
 
     /**
      * Returns all deposit holds for the account, regardless of status.
+     * Loads the whole history; pages should use {@link #getHoldPage}.
      *
      * @param accountId the account identifier
      * @return list of holds (possibly empty)
@@ -217,19 +375,111 @@ public class AccountService implements AccountServiceInterface {
     }
 
     /**
-     * Returns only the active (HELD) deposit holds for the account.
+     * Returns only the active (HELD) deposit holds for the account, selected by the query
+     * rather than by filtering the account's whole hold collection.
      *
      * @param accountId the account identifier
      * @return list of active holds (possibly empty)
      */
     @Override
     public List<DepositHold> getActiveHolds(Long accountId) {
-        return getHolds(accountId).stream()
-                .filter(h -> h.getDepositStatus() == Status.HELD)
-                .toList();
+        return holdRepository.findByAccountAccountIdAndDepositStatus(accountId, Status.HELD);
+    }
+
+    /**
+     * Returns one page of the account's deposit holds, newest first. The page is read from
+     * {@code (account_id[, status], created_at, hold_id)} starting at the cursor, so its cost
+     * depends on the page size only, not on how many holds the account has.
+     *
+     * @param accountId the account identifier
+     * @param status    only holds in this status, or null for all
+     * @param cursor    the previous page's next cursor, or null for the first page
+     * @param size      page size, between 1 and {@link #MAX_PAGE_SIZE}
+     * @return the page and the cursor of the next one
+     * @throws AccountNotFoundException if no account is found by id
+     * @throws com.voti.pawction.exceptions.AccountExceptions.InvalidCursorException if the cursor is malformed
+     */
+    @Override
+    public CursorPage<HoldDto> getHoldPage(Long accountId, Status status, String cursor, int size) {
+        requireAccount(accountId);
+        var key = CursorPage.Key.decode(cursor);
+        var page = pageOf(size);
+        var rows = status == null
+                ? holdRepository.findPageByAccount(accountId, key.at(), key.id(), page)
+                : holdRepository.findPageByAccountAndStatus(accountId, status, key.at(), key.id(), page);
+        return toPage(rows, size, h -> new CursorPage.Key(h.getCreatedAt(), h.getHoldId()));
     }
 
     // ---------- helpers ----------
+    /**
+     * Reserves {@code amount} on the account's held total and inserts the HELD hold, the
+     * insert being skipped if the account already has a hold on the auction. A RELEASED hold,
+     * left by a bid that could not be recorded, is held again for the new amount. The
+     * reservation is a single conditional update, so concurrent bids of one account cannot
+     * together hold more than its balance.
+     *
+     * @return the new or re-held hold, or the existing hold for this auction
+     * @throws AccountNotFoundException if account is not found by id
+     * @throws InvalidAmountException   if the available balance does not cover the amount
+     * @throws AuctionNotFoundException if the auction does not exist
+     */
+    private DepositHold reserveHold(Long accountId, Long auctionId, BigDecimal amount) {
+        if (accountRepository.reserveHeld(accountId, amount) == 0) {
+            if (!accountRepository.existsById(accountId)) {
+                throw new AccountNotFoundException("Account not found by id: " + accountId);
+            }
+            throw new InvalidAmountException("insufficient funds");
+        }
+
+        var now = Timestamp.valueOf(LocalDateTime.now(clock));
+        var key = new GeneratedKeyHolder();
+        int inserted = jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement("""
+                    insert ignore into deposit_hold (account_id, auction_id, status, amount, created_at, updated_at)
+                    values (?, ?, 'HELD', ?, ?, ?)""", Statement.RETURN_GENERATED_KEYS);
+            ps.setLong(1, accountId);
+            ps.setLong(2, auctionId);
+            ps.setBigDecimal(3, amount);
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+            return ps;
+        }, key);
+        if (inserted == 1) {
+            ledgerService.post(LedgerPosting.hold(accountId, auctionId, amount));
+            long holdId = Objects.requireNonNull(key.getKey()).longValue();
+            return holdRepository.findById(holdId)
+                    .orElseThrow(() -> new HoldNotFoundException("Hold not found by id: " + holdId));
+        }
+
+        int reheld = jdbcTemplate.update("""
+                update deposit_hold set status = 'HELD', amount = ?, updated_at = ?
+                where account_id = ? and auction_id = ? and status = 'RELEASED'""",
+                amount, now, accountId, auctionId);
+        if (reheld == 1) {
+            ledgerService.post(LedgerPosting.hold(accountId, auctionId, amount));
+            return holdRepository.findByAccountAccountIdAndAuctionAuctionId(accountId, auctionId)
+                    .orElseThrow(() -> new AuctionNotFoundException("Auction not found by id: " + auctionId));
+        }
+
+        // one hold per account and auction: keep the existing one and give the reservation back
+        accountRepository.unreserveHeld(accountId, amount);
+        return holdRepository.findByAccountAccountIdAndAuctionAuctionId(accountId, auctionId)
+                .orElseThrow(() -> new AuctionNotFoundException("Auction not found by id: " + auctionId));
+    }
+
+    /**
+     * Saves a statement entry for a balance change already applied by a conditional update.
+     * The account is referenced by id only, so it is not loaded.
+     */
+    private Transaction recordTransaction(Long accountId, Transaction_Type type, BigDecimal amount) {
+        return txRepository.save(Transaction.builder()
+                .account(accountRepository.getReferenceById(accountId))
+                .transactionType(type)
+                .amount(amount.setScale(2, RoundingMode.HALF_UP))
+                .createdAt(LocalDateTime.now(clock))
+                .build());
+    }
+
     /**
      * Ensures a monetary amount is strictly positive.
      * Use this before setting start prices, bids, deposits, or fees.
@@ -278,6 +528,51 @@ public class AccountService implements AccountServiceInterface {
      */
     @Override
     public List<Transaction> getTransactions(Long accountId) {
-        return getAccountOrThrow(accountId).getTransactions();
+        requireAccount(accountId);
+        return txRepository.findByAccountAccountIdOrderByCreatedAtDesc(accountId);
+    }
+
+    /**
+     * Returns one page of the account's transactions, newest first, read from
+     * {@code (account_id, occurred_at, transaction_id)} starting at the cursor.
+     *
+     * @param accountId the account identifier
+     * @param cursor    the previous page's next cursor, or null for the first page
+     * @param size      page size, between 1 and {@link #MAX_PAGE_SIZE}
+     * @return the page and the cursor of the next one
+     * @throws AccountNotFoundException if account is not found by id
+     * @throws com.voti.pawction.exceptions.AccountExceptions.InvalidCursorException if the cursor is malformed
+     */
+    @Override
+    public CursorPage<TransactionDto> getTransactionPage(Long accountId, String cursor, int size) {
+        requireAccount(accountId);
+        var key = CursorPage.Key.decode(cursor);
+        var rows = txRepository.findByAccountAccountIdOrderByCreatedAtDesc(
+                accountId, key.at(), key.id(), pageOf(size));
+        return toPage(rows, size, t -> new CursorPage.Key(t.getCreatedAt(), t.getTransactionId()));
+    }
+
+    // one row more than the page, to tell whether another page follows
+    private static PageRequest pageOf(int size) {
+        return PageRequest.of(0, clampPageSize(size) + 1);
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.min(MAX_PAGE_SIZE, Math.max(1, size));
+    }
+
+    private static <T> CursorPage<T> toPage(List<T> rows, int size, Function<T, CursorPage.Key> keyOf) {
+        int limit = clampPageSize(size);
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        var items = rows.subList(0, limit);
+        return new CursorPage<>(List.copyOf(items), keyOf.apply(items.get(limit - 1)).encode());
+    }
+
+    private void requireAccount(Long accountId) {
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException("Account not found by id: " + accountId);
+        }
     }
 }
@@ -0,0 +1,78 @@
+package com.voti.pawction.services.wallet;
+
+import com.voti.pawction.entities.wallet.enums.Ledger_Book;
+import com.voti.pawction.entities.wallet.enums.Ledger_Entry_Type;
+import com.voti.pawction.exceptions.AccountExceptions.UnbalancedPostingException;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One balanced double-entry posting: lines whose amounts sum to zero. A positive amount adds
+ * to the book, a negative one takes from it; money brought onto the platform shows as a
+ * negative EXTERNAL line.
+ *
+ * @param type      what the posting records
+ * @param auctionId the auction it concerns, or {@code null}
+ * @param lines     the lines, summing to zero
+ */
+public record LedgerPosting(Ledger_Entry_Type type, Long auctionId, List<Line> lines) {
+
+    /**
+     * @param accountId the account owning the book, or {@code null} for platform books
+     * @param book      the book posted to
+     * @param amount    signed amount
+     */
+    public record Line(Long accountId, Ledger_Book book, BigDecimal amount) {
+    }
+
+    public LedgerPosting {
+        lines = List.copyOf(lines);
+        var sum = lines.stream().map(Line::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (sum.signum() != 0) {
+            throw new UnbalancedPostingException(type + " posting does not balance: " + sum);
+        }
+    }
+
+    public static LedgerPosting deposit(Long accountId, BigDecimal amount) {
+        return new LedgerPosting(Ledger_Entry_Type.DEPOSIT, null, List.of(
+                new Line(null, Ledger_Book.EXTERNAL, amount.negate()),
+                new Line(accountId, Ledger_Book.CASH, amount)));
+    }
+
+    public static LedgerPosting withdrawal(Long accountId, BigDecimal amount) {
+        return new LedgerPosting(Ledger_Entry_Type.WITHDRAWAL, null, List.of(
+                new Line(accountId, Ledger_Book.CASH, amount.negate()),
+                new Line(null, Ledger_Book.EXTERNAL, amount)));
+    }
+
+    public static LedgerPosting hold(Long accountId, Long auctionId, BigDecimal amount) {
+        return new LedgerPosting(Ledger_Entry_Type.HOLD, auctionId, List.of(
+                new Line(accountId, Ledger_Book.CASH, amount.negate()),
+                new Line(accountId, Ledger_Book.HELD, amount)));
+    }
+
+    public static LedgerPosting release(Long accountId, Long auctionId, BigDecimal amount) {
+        return new LedgerPosting(Ledger_Entry_Type.HOLD_RELEASE, auctionId, List.of(
+                new Line(accountId, Ledger_Book.HELD, amount.negate()),
+                new Line(accountId, Ledger_Book.CASH, amount)));
+    }
+
+    public static LedgerPosting forfeit(Long accountId, Long auctionId, BigDecimal amount) {
+        return new LedgerPosting(Ledger_Entry_Type.FORFEIT, auctionId, List.of(
+                new Line(accountId, Ledger_Book.HELD, amount.negate()),
+                new Line(null, Ledger_Book.FORFEITED, amount)));
+    }
+
+    /**
+     * The winner pays for an auction from outside the platform and the seller is credited:
+     * the payment passes through the winner's cash, so it shows on both accounts.
+     */
+    public static LedgerPosting settlement(Long payerAccountId, Long payeeAccountId, Long auctionId, BigDecimal amount) {
+        return new LedgerPosting(Ledger_Entry_Type.SETTLEMENT, auctionId, List.of(
+                new Line(null, Ledger_Book.EXTERNAL, amount.negate()),
+                new Line(payerAccountId, Ledger_Book.CASH, amount),
+                new Line(payerAccountId, Ledger_Book.CASH, amount.negate()),
+                new Line(payeeAccountId, Ledger_Book.CASH, amount)));
+    }
+}
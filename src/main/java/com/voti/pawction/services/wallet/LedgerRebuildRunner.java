@@ -0,0 +1,72 @@
+package com.voti.pawction.services.wallet;
+
+import com.voti.pawction.config.LedgerProperties;
+import com.voti.pawction.repositories.wallet.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Recomputes accounts from their journal at startup, when {@code ledger.rebuild} is set, e.g.
+ * {@code --ledger.rebuild=all} or {@code --ledger.rebuild=12,15}. Each account is rebuilt in its
+ * own transaction and every account whose stored balance or held total differed is logged.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "ledger", name = "rebuild")
+public class LedgerRebuildRunner implements ApplicationRunner {
+    private static final int PAGE_SIZE = 500;
+
+    private final LedgerService ledgerService;
+    private final AccountRepository accountRepository;
+    private final LedgerProperties props;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        var target = props.getRebuild().trim();
+        if (target.isEmpty()) return;
+
+        int[] counts = new int[2];
+        if ("all".equalsIgnoreCase(target)) {
+            long afterId = 0L;
+            List<Long> page;
+            do {
+                page = accountRepository.findIdsAfter(afterId, PageRequest.of(0, PAGE_SIZE));
+                for (var id : page) {
+                    rebuild(id, counts);
+                    afterId = id;
+                }
+            } while (page.size() == PAGE_SIZE);
+        } else {
+            Arrays.stream(target.split(","))
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .map(Long::valueOf)
+                    .forEach(id -> rebuild(id, counts));
+        }
+        log.info("[ledger-rebuild] rebuilt {} accounts, {} corrected", counts[0], counts[1]);
+    }
+
+    private void rebuild(Long accountId, int[] counts) {
+        try {
+            var result = ledgerService.rebuild(accountId);
+            counts[0]++;
+            if (result.isChanged()) {
+                counts[1]++;
+                log.warn("[ledger-rebuild] account {}: balance {} -> {}, held {} -> {} (through entry {})",
+                        accountId, result.getBalanceBefore(), result.getBalanceAfter(),
+                        result.getHeldBefore(), result.getHeldAfter(), result.getLastEntryId());
+            }
+        } catch (Exception e) {
+            log.error("[ledger-rebuild] could not rebuild account {}", accountId, e);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.voti.pawction.services.wallet;
+
+import com.voti.pawction.config.LedgerProperties;
+import com.voti.pawction.dtos.response.LedgerDiscrepancy;
+import com.voti.pawction.dtos.response.ReconciliationReport;
+import com.voti.pawction.services.wallet.impl.LedgerReconciliationServiceInterface;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reconciles accounts against the records their figures are derived from and reports every
+ * disagreement as a {@link LedgerDiscrepancy}:
+ * <ul>
+ *   <li>{@code balance} and {@code held_total} against the account's journal lines;</li>
+ *   <li>{@code held_total} against the sum of its HELD holds;</li>
+ *   <li>{@code balance} against its DEPOSIT and SETTLEMENT transactions less WITHDRAWALs and
+ *       forfeited holds, which move money without a transaction row;</li>
+ *   <li>HELD holds on SETTLED or CANCELED auctions, which should have been released or forfeited;</li>
+ *   <li>the latest {@code ledger_snapshot} against the journal lines up to its last entry, which
+ *       catches a snapshot or journal line changed outside the ledger service.</li>
+ * </ul>
+ *
+ * <p>The account id space is split into ranges of {@code reconcileRangeSize} ids, checked by
+ * {@code reconcileParallelism} virtual threads. Each range costs three statements that aggregate
+ * per account on the server and return only the accounts that disagree, streamed one row at a
+ * time. The statements are plain autocommit SELECTs: InnoDB serves them from a consistent
+ * snapshot without taking row locks, so bidding and settlement are not blocked, and every figure
+ * of one account is compared as of the same instant.</p>
+ */
+@Service
+@Slf4j
+public class LedgerReconciliationService implements LedgerReconciliationServiceInterface {
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbc;
+    private final LedgerProperties props;
+    private final Clock clock;
+
+    private static final String ACCOUNT_SQL = """
+            select r.*
+            from (
+                select a.account_id,
+                       a.balance,
+                       a.held_total,
+                       coalesce(l.cash, 0) + coalesce(l.held, 0) as ledger_balance,
+                       coalesce(l.held, 0)                       as ledger_held,
+                       coalesce(h.held, 0)                       as holds_held,
+                       coalesce(t.net, 0) - coalesce(h.forfeited, 0) as statement_balance
+                from account a
+                left join (select account_id,
+                                  sum(case when book = 'CASH' then amount else 0 end) as cash,
+                                  sum(case when book = 'HELD' then amount else 0 end) as held
+                           from ledger_entry
+                           where account_id between ? and ?
+                           group by account_id) l on l.account_id = a.account_id
+                left join (select account_id,
+                                  sum(case when status = 'HELD' then amount else 0 end)      as held,
+                                  sum(case when status = 'FORFEITED' then amount else 0 end) as forfeited
+                           from deposit_hold
+                           where account_id between ? and ?
+                           group by account_id) h on h.account_id = a.account_id
+                left join (select account_id,
+                                  sum(case tx_type when 'DEPOSIT' then amount
+                                                   when 'SETTLEMENT' then amount
+                                                   when 'WITHDRAWAL' then -amount
+                                                   else 0 end) as net
+                           from transaction
+                           where account_id between ? and ?
+                           group by account_id) t on t.account_id = a.account_id
+                where a.account_id between ? and ?
+            ) r
+            where r.balance <> r.ledger_balance
+               or r.held_total <> r.ledger_held
+               or r.held_total <> r.holds_held
+               or r.balance <> r.statement_balance
+            order by r.account_id""";
+
+    private static final String CLOSED_HOLD_SQL = """
+            select h.hold_id, h.account_id, h.auction_id, h.amount
+            from deposit_hold h
+            join auction a on a.auction_id = h.auction_id
+            where h.account_id between ? and ?
+              and h.status = 'HELD'
+              and a.status in ('SETTLED', 'CANCELED')
+            order by h.hold_id""";
+
+    private static final String SNAPSHOT_SQL = """
+            select s.account_id,
+                   s.cash,
+                   s.held,
+                   coalesce(sum(case when e.book = 'CASH' then e.amount else 0 end), 0) as ledger_cash,
+                   coalesce(sum(case when e.book = 'HELD' then e.amount else 0 end), 0) as ledger_held
+            from ledger_snapshot s
+            join (select account_id, max(last_entry_id) as last_entry_id
+                  from ledger_snapshot
+                  where account_id between ? and ?
+                  group by account_id) m
+              on m.account_id = s.account_id and m.last_entry_id = s.last_entry_id
+            left join ledger_entry e
+              on e.account_id = s.account_id and e.entry_id <= s.last_entry_id
+            group by s.account_id, s.last_entry_id, s.cash, s.held
+            having s.cash <> ledger_cash or s.held <> ledger_held
+            order by s.account_id""";
+
+    public LedgerReconciliationService(JdbcTemplate jdbcTemplate, DataSource dataSource,
+                                       LedgerProperties props, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.props = props;
+        this.clock = clock;
+        // streams results instead of buffering a range's rows in memory
+        this.streamingJdbc = new JdbcTemplate(dataSource);
+        this.streamingJdbc.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    @Override
+    public ReconciliationReport reconcile() {
+        var bounds = jdbcTemplate.queryForMap("select min(account_id) as lo, max(account_id) as hi from account");
+        if (bounds.get("lo") == null) {
+            var now = LocalDateTime.now(clock);
+            return new ReconciliationReport(now, now, 0, 0, 0, 0, List.of());
+        }
+        return reconcile(((Number) bounds.get("lo")).longValue(), ((Number) bounds.get("hi")).longValue());
+    }
+
+    @Override
+    public ReconciliationReport reconcile(long fromId, long toId) {
+        var startedAt = LocalDateTime.now(clock);
+        long rangeSize = Math.max(1, props.getReconcileRangeSize());
+        int parallelism = Math.max(1, props.getReconcileParallelism());
+        var run = new Run(Math.max(0, props.getReconcileMaxReported()));
+
+        var futures = new ArrayList<Future<?>>();
+        try (var pool = Executors.newFixedThreadPool(parallelism,
+                Thread.ofVirtual().name("ledger-reconcile-", 0).factory())) {
+            for (long lo = fromId; lo <= toId; lo += rangeSize) {
+                long first = lo;
+                long last = Math.min(toId, lo + rangeSize - 1);
+                futures.add(pool.submit(() -> checkRange(first, last, run)));
+                if (last == toId) break;
+            }
+        }
+
+        int failed = 0;
+        for (var future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                failed++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed++;
+            }
+        }
+
+        var report = new ReconciliationReport(startedAt, LocalDateTime.now(clock), futures.size(), failed,
+                run.accounts.sum(), run.count.sum(), List.copyOf(run.kept));
+        if (report.isClean()) {
+            log.info("[ledger-reconcile] {} accounts in {} ranges reconciled in {}ms, no discrepancies",
+                    report.getAccountsChecked(), report.getRanges(), report.getDuration().toMillis());
+        } else {
+            log.warn("[ledger-reconcile] {} accounts in {} ranges reconciled in {}ms: {} discrepancies, {} ranges failed",
+                    report.getAccountsChecked(), report.getRanges(), report.getDuration().toMillis(),
+                    report.getDiscrepancyCount(), failed);
+        }
+        return report;
+    }
+
+    private void checkRange(long lo, long hi, Run run) {
+        try {
+            run.accounts.add(jdbcTemplate.queryForObject(
+                    "select count(*) from account where account_id between ? and ?", Long.class, lo, hi));
+
+            streamingJdbc.query(ACCOUNT_SQL, rs -> {
+                long accountId = rs.getLong("account_id");
+                var balance = rs.getBigDecimal("balance");
+                var held = rs.getBigDecimal("held_total");
+                compare(run, LedgerDiscrepancy.Kind.BALANCE_VS_LEDGER, accountId, rs, "ledger_balance", balance);
+                compare(run, LedgerDiscrepancy.Kind.HELD_VS_LEDGER, accountId, rs, "ledger_held", held);
+                compare(run, LedgerDiscrepancy.Kind.HELD_VS_HOLDS, accountId, rs, "holds_held", held);
+                compare(run, LedgerDiscrepancy.Kind.BALANCE_VS_TRANSACTIONS, accountId, rs, "statement_balance", balance);
+            }, lo, hi, lo, hi, lo, hi, lo, hi);
+
+            streamingJdbc.query(CLOSED_HOLD_SQL, rs -> {
+                run.report(new LedgerDiscrepancy(LedgerDiscrepancy.Kind.HOLD_ON_CLOSED_AUCTION,
+                        rs.getLong("account_id"), rs.getLong("hold_id"), rs.getLong("auction_id"),
+                        BigDecimal.ZERO, rs.getBigDecimal("amount")));
+            }, lo, hi);
+
+            streamingJdbc.query(SNAPSHOT_SQL, rs -> {
+                long accountId = rs.getLong("account_id");
+                compare(run, LedgerDiscrepancy.Kind.SNAPSHOT_VS_LEDGER, accountId, rs, "ledger_cash", rs.getBigDecimal("cash"));
+                compare(run, LedgerDiscrepancy.Kind.SNAPSHOT_VS_LEDGER, accountId, rs, "ledger_held", rs.getBigDecimal("held"));
+            }, lo, hi);
+        } catch (RuntimeException e) {
+            log.error("[ledger-reconcile] could not check accounts {} to {}", lo, hi, e);
+            throw e;
+        }
+    }
+
+    private static void compare(Run run, LedgerDiscrepancy.Kind kind, long accountId,
+                                ResultSet rs, String expectedColumn, BigDecimal actual) throws SQLException {
+        var expected = rs.getBigDecimal(expectedColumn);
+        if (expected.compareTo(actual) != 0) {
+            run.report(new LedgerDiscrepancy(kind, accountId, null, null, expected, actual));
+        }
+    }
+
+    /** Findings of one run, shared by the range tasks. */
+    private static final class Run {
+        final int maxKept;
+        final LongAdder accounts = new LongAdder();
+        final LongAdder count = new LongAdder();
+        final AtomicInteger keptCount = new AtomicInteger();
+        final ConcurrentLinkedQueue<LedgerDiscrepancy> kept = new ConcurrentLinkedQueue<>();
+
+        Run(int maxKept) {
+            this.maxKept = maxKept;
+        }
+
+        void report(LedgerDiscrepancy d) {
+            count.increment();
+            if (keptCount.incrementAndGet() <= maxKept) {
+                kept.add(d);
+            }
+            log.warn("[ledger-reconcile] {} on account {}{}: expected {}, actual {}", d.getKind(), d.getAccountId(),
+                    d.getHoldId() == null ? "" : " (hold " + d.getHoldId() + ", auction " + d.getAuctionId() + ")",
+                    d.getExpected(), d.getActual());
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.voti.pawction.services.wallet;
+
+import com.voti.pawction.config.LedgerProperties;
+import com.voti.pawction.dtos.response.LedgerBalance;
+import com.voti.pawction.dtos.response.LedgerRebuildResult;
+import com.voti.pawction.entities.wallet.enums.Ledger_Book;
+import com.voti.pawction.entities.wallet.enums.Ledger_Entry_Type;
+import com.voti.pawction.exceptions.AccountExceptions.AccountNotFoundException;
+import com.voti.pawction.repositories.wallet.AccountRepository;
+import com.voti.pawction.repositories.wallet.LedgerEntryRepository;
+import com.voti.pawction.repositories.wallet.LedgerSnapshotRepository;
+import com.voti.pawction.services.wallet.impl.LedgerServiceInterface;
+import jakarta.transaction.Transactional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Append-only double-entry journal of every money movement: deposits, withdrawals, holds,
+ * releases, forfeits and settlements.
+ *
+ * <p>Postings are only ever inserted, with one JDBC batch for all lines of a call; platform books
+ * (EXTERNAL, FORFEITED) have no row at all. An account's balance is its latest
+ * {@code ledger_snapshot} plus the entries after it, and {@link #takeSnapshots()} periodically
+ * moves the snapshot forward to keep that tail short.</p>
+ *
+ * <p>The {@code balance} and {@code held_total} columns of {@code account} remain as the
+ * guard that holds and withdrawals are checked against in one conditional update; they are
+ * changed in the same transaction as the posting. {@link #rebuild(Long)} recomputes them from
+ * the journal.</p>
+ *
+ * <p>Entry ids are handed out at insert time, not at commit, so they alone do not order
+ * commits. Every posting is therefore written under the row lock of each account it touches,
+ * and a snapshot is taken under the same locks: no posting for the account can be open while
+ * its snapshot is taken, and every later one gets a higher id than the snapshot's
+ * {@code last_entry_id}.</p>
+ */
+@Service
+@Transactional
+public class LedgerService implements LedgerServiceInterface {
+    private final LedgerEntryRepository entryRepository;
+    private final LedgerSnapshotRepository snapshotRepository;
+    private final AccountRepository accountRepository;
+    private final LedgerProperties props;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    /** Ledger lines per JDBC batch. */
+    private static final int POST_BATCH = 500;
+
+    /** Accounts locked and snapshotted per transaction. */
+    private static final int SNAPSHOT_BATCH = 100;
+
+    public LedgerService(LedgerEntryRepository entryRepository,
+                         LedgerSnapshotRepository snapshotRepository,
+                         AccountRepository accountRepository,
+                         LedgerProperties props,
+                         JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         Clock clock) {
+        this.entryRepository = entryRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.accountRepository = accountRepository;
+        this.props = props;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    private record Row(String journalId, Long accountId, Ledger_Book book, Ledger_Entry_Type type,
+                       BigDecimal amount, Long auctionId) {
+    }
+
+    @Override
+    public void post(LedgerPosting posting) {
+        post(List.of(posting));
+    }
+
+    /**
+     * Inserts the postings' lines, after locking the row of every account they touch in id
+     * order. Callers normally hold those locks already from the balance update that goes with
+     * the posting; taking them here keeps the rule for lines that come without one, such as the
+     * payer's side of a settlement.
+     */
+    @Override
+    public void post(List<LedgerPosting> postings) {
+        var rows = new ArrayList<Row>();
+        for (var posting : postings) {
+            var journalId = UUID.randomUUID().toString();
+            for (var line : posting.lines()) {
+                if (line.amount().signum() != 0) {
+                    rows.add(new Row(journalId, line.accountId(), line.book(), posting.type(),
+                            line.amount(), posting.auctionId()));
+                }
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        lockAccounts(rows.stream().map(Row::accountId).filter(Objects::nonNull).toList());
+
+        var occurredAt = Timestamp.valueOf(LocalDateTime.now(clock));
+        jdbcTemplate.batchUpdate("""
+                insert into ledger_entry (journal_id, account_id, book, entry_type, amount, auction_id, occurred_at)
+                values (?, ?, ?, ?, ?, ?, ?)""",
+                rows, POST_BATCH, (ps, row) -> {
+                    ps.setString(1, row.journalId());
+                    ps.setObject(2, row.accountId(), Types.BIGINT);
+                    ps.setString(3, row.book().name());
+                    ps.setString(4, row.type().name());
+                    ps.setBigDecimal(5, row.amount());
+                    ps.setObject(6, row.auctionId(), Types.BIGINT);
+                    ps.setTimestamp(7, occurredAt);
+                });
+    }
+
+    @Override
+    public LedgerBalance balanceOf(Long accountId) {
+        var base = snapshotRepository.findTopByAccountIdOrderByLastEntryIdDesc(accountId)
+                .map(s -> new LedgerBalance(s.getCash(), s.getHeld(), s.getLastEntryId()))
+                .orElse(LedgerBalance.EMPTY);
+        return base.plus(entryRepository.sumAfter(accountId, base.getLastEntryId()));
+    }
+
+    /**
+     * Recomputes an account from its whole journal, ignoring snapshots.
+     *
+     * <p>The account row is locked first so that no posting for it commits in between. Its
+     * {@code balance} and {@code held_total} are overwritten with the replayed values and a
+     * snapshot is recorded at the last entry, replacing one already taken there, so later reads
+     * start from verified totals even when the old snapshot disagreed with the journal.</p>
+     *
+     * @param accountId the account identifier
+     * @return the stored values before and after
+     * @throws AccountNotFoundException if account is not found by id
+     */
+    @Override
+    public LedgerRebuildResult rebuild(Long accountId) {
+        var account = accountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found by id: " + accountId));
+        var balanceBefore = account.getBalance();
+        var heldBefore = account.getHeldTotal();
+
+        var replayed = entryRepository.sumAfter(accountId, 0L);
+        var result = new LedgerRebuildResult(accountId, balanceBefore, heldBefore,
+                replayed.getBalance(), replayed.getHeld(), replayed.getLastEntryId());
+
+        if (result.isChanged()) {
+            accountRepository.overwriteBalances(accountId, replayed.getBalance(), replayed.getHeld());
+        }
+        if (replayed.getLastEntryId() > 0) {
+            jdbcTemplate.update("""
+                    insert into ledger_snapshot (account_id, last_entry_id, cash, held, taken_at)
+                    values (?, ?, ?, ?, ?)
+                    on duplicate key update cash = values(cash), held = values(held), taken_at = values(taken_at)""",
+                    accountId, replayed.getLastEntryId(), replayed.getCash(), replayed.getHeld(),
+                    Timestamp.valueOf(LocalDateTime.now(clock)));
+        }
+        return result;
+    }
+
+    /**
+     * Takes a new snapshot for every account that has at least {@code snapshotMinEntries}
+     * entries after its latest snapshot.
+     *
+     * <p>Due accounts are read first without locks, then snapshotted {@link #SNAPSHOT_BATCH} at a
+     * time, each batch in its own transaction: the account rows are locked, which waits for any
+     * posting still open on them, and one INSERT ... SELECT sums the entries after each account's
+     * latest snapshot. Bids on other accounts never wait for the whole run.</p>
+     *
+     * @return the number of snapshots taken
+     */
+    @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public int takeSnapshots() {
+        var due = jdbcTemplate.queryForList("""
+                select e.account_id
+                from ledger_entry e
+                left join (select account_id, max(last_entry_id) as last_entry_id
+                           from ledger_snapshot
+                           group by account_id) l
+                  on l.account_id = e.account_id
+                where e.account_id is not null
+                  and e.entry_id > coalesce(l.last_entry_id, 0)
+                group by e.account_id
+                having count(*) >= ?
+                order by e.account_id""",
+                Long.class, Math.max(1, props.getSnapshotMinEntries()));
+
+        int taken = 0;
+        for (int from = 0; from < due.size(); from += SNAPSHOT_BATCH) {
+            var batch = due.subList(from, Math.min(from + SNAPSHOT_BATCH, due.size()));
+            taken += Objects.requireNonNull(transactionTemplate.execute(status -> snapshot(batch)));
+        }
+        return taken;
+    }
+
+    /**
+     * Snapshots the given accounts at their last entry. Runs inside a transaction, which keeps
+     * the account rows locked until the snapshots are committed.
+     */
+    private int snapshot(List<Long> accountIds) {
+        lockAccounts(accountIds);
+
+        var in = String.join(", ", Collections.nCopies(accountIds.size(), "?"));
+        var args = new ArrayList<Object>();
+        args.add(Timestamp.valueOf(LocalDateTime.now(clock)));
+        args.addAll(accountIds);
+        return jdbcTemplate.update("""
+                insert into ledger_snapshot (account_id, last_entry_id, cash, held, taken_at)
+                with latest as (
+                    select s.account_id, s.last_entry_id, s.cash, s.held
+                    from ledger_snapshot s
+                    join (select account_id, max(last_entry_id) as last_entry_id
+                          from ledger_snapshot
+                          group by account_id) m
+                      on m.account_id = s.account_id and m.last_entry_id = s.last_entry_id
+                )
+                select e.account_id,
+                       max(e.entry_id),
+                       coalesce(max(l.cash), 0) + sum(case when e.book = 'CASH' then e.amount else 0 end),
+                       coalesce(max(l.held), 0) + sum(case when e.book = 'HELD' then e.amount else 0 end),
+                       ?
+                from ledger_entry e
+                left join latest l on l.account_id = e.account_id
+                where e.account_id in (%s)
+                  and e.entry_id > coalesce(l.last_entry_id, 0)
+                group by e.account_id""".formatted(in),
+                args.toArray());
+    }
+
+    /**
+     * Locks the rows of the given accounts for the rest of the transaction, in id order so that
+     * two callers locking overlapping sets cannot deadlock on each other.
+     */
+    private void lockAccounts(Collection<Long> accountIds) {
+        var ids = new ArrayList<>(new TreeSet<>(accountIds));
+        for (int from = 0; from < ids.size(); from += POST_BATCH) {
+            var batch = ids.subList(from, Math.min(from + POST_BATCH, ids.size()));
+            jdbcTemplate.queryForList(
+                    "select account_id from account where account_id in (%s) order by account_id for update"
+                            .formatted(String.join(", ", Collections.nCopies(batch.size(), "?"))),
+                    Long.class, batch.toArray());
+        }
+    }
+}
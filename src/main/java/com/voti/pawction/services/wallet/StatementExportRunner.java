@@ -0,0 +1,48 @@
+package com.voti.pawction.services.wallet;
+
+import com.voti.pawction.config.StatementExportProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Writes a statement to {@code statement.export.file} at startup, for accounting's batch runs,
+ * e.g. {@code --statement.export.file=/data/2026-09.csv.gz --statement.export.from=2026-09-01
+ * --statement.export.to=2026-09-30}. The export goes to a {@code .part} file that is moved into
+ * place once complete, so a reader never picks up a half-written statement.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "statement.export", name = "file")
+public class StatementExportRunner implements ApplicationRunner {
+    private final StatementExportService statementExportService;
+    private final StatementExportProperties props;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        var target = Path.of(props.getFile().trim());
+        var part = target.resolveSibling(target.getFileName() + ".part");
+        boolean gzip = target.getFileName().toString().endsWith(".gz");
+
+        long rows;
+        try (var out = new BufferedOutputStream(Files.newOutputStream(part), props.getBufferBytes())) {
+            rows = statementExportService.export(props.getAccountId(), props.getFrom(), props.getTo(),
+                    props.getFormat(), gzip, out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(part);
+            throw e;
+        }
+        Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("[statement-export] {} rows written to {}", rows, target);
+    }
+}
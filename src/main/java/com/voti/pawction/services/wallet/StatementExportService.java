@@ -0,0 +1,216 @@
+package com.voti.pawction.services.wallet;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.voti.pawction.config.StatementExportProperties;
+import com.voti.pawction.exceptions.AccountExceptions.StatementExportBusyException;
+import com.voti.pawction.services.wallet.impl.StatementExportServiceInterface;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports account statements, i.e. {@code transaction} and {@code deposit_hold} rows in a date
+ * range, as CSV or NDJSON, optionally gzipped.
+ *
+ * <p>Rows are read with a forward-only, read-only statement whose fetch size is
+ * {@link Integer#MIN_VALUE}, which makes MySQL Connector/J stream the result one row at a time
+ * instead of buffering it, and every row is written out as soon as it is read. Memory therefore
+ * stays at one row plus {@code bufferBytes}, whether the statement has a hundred rows or millions.
+ * The queries are plain SQL without JPA, so no entity or persistence context is involved.</p>
+ *
+ * <p>The two tables are streamed one after the other, each in the order of an index so that
+ * MySQL never sorts: an account's rows by time through the account history indexes, the
+ * platform-wide export by primary key, which follows insertion time. All transactions therefore
+ * come before all holds. Each hold appears once, at its creation time, with its current status and
+ * last update. Releases also appear as {@code HOLD_RELEASE} transactions.</p>
+ *
+ * <p>An export holds a pooled connection for as long as the client takes to download it, so at
+ * most {@code maxConcurrentExports} run at once; further ones fail fast with
+ * {@link StatementExportBusyException} rather than wait for the pool.</p>
+ */
+@Service
+@Slf4j
+public class StatementExportService implements StatementExportServiceInterface {
+    static final String[] COLUMNS = {"record", "id", "account_id", "type", "amount", "auction_id", "occurred_at", "updated_at"};
+
+    private static final LocalDateTime NO_LOWER_BOUND = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime NO_UPPER_BOUND = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final JdbcTemplate streamingJdbc;
+    private final StatementExportProperties props;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Semaphore running;
+
+    public StatementExportService(DataSource dataSource, StatementExportProperties props) {
+        this.props = props;
+        this.running = new Semaphore(Math.max(1, props.getMaxConcurrentExports()));
+        // a template of its own: the shared one must keep buffering results for everyone else
+        this.streamingJdbc = new JdbcTemplate(dataSource);
+        this.streamingJdbc.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    @Override
+    public long export(Long accountId, LocalDate from, LocalDate to,
+                       StatementExportProperties.Format format, boolean gzip, OutputStream out) throws IOException {
+        if (!running.tryAcquire()) {
+            throw new StatementExportBusyException("Too many statements are being exported, please try again shortly");
+        }
+        try {
+            return exportRows(accountId, from, to, format, gzip, out);
+        } finally {
+            running.release();
+        }
+    }
+
+    private long exportRows(Long accountId, LocalDate from, LocalDate to,
+                            StatementExportProperties.Format format, boolean gzip, OutputStream out) throws IOException {
+        var start = from == null ? NO_LOWER_BOUND : from.atStartOfDay();
+        var end = to == null ? NO_UPPER_BOUND : to.plusDays(1).atStartOfDay();
+
+        var accountFilter = accountId == null ? "" : " and %s.account_id = ?";
+        var transactions = """
+                select 'TRANSACTION' as record, t.transaction_id as id, t.account_id, t.tx_type as type,
+                       t.amount, null as auction_id, t.occurred_at, t.occurred_at as updated_at
+                from transaction t
+                where t.occurred_at >= ? and t.occurred_at < ?%s
+                order by %s"""
+                .formatted(accountFilter.formatted("t"),
+                        accountId == null ? "t.transaction_id" : "t.occurred_at, t.transaction_id");
+        var holds = """
+                select 'HOLD' as record, h.hold_id as id, h.account_id, h.status as type,
+                       h.amount, h.auction_id, h.created_at as occurred_at, h.updated_at
+                from deposit_hold h
+                where h.created_at >= ? and h.created_at < ?%s
+                order by %s"""
+                .formatted(accountFilter.formatted("h"),
+                        accountId == null ? "h.hold_id" : "h.created_at, h.hold_id");
+        var queries = List.of(transactions, holds);
+
+        var args = new ArrayList<Object>();
+        args.add(Timestamp.valueOf(start));
+        args.add(Timestamp.valueOf(end));
+        if (accountId != null) {
+            args.add(accountId);
+        }
+
+        var sink = gzip ? new GZIPOutputStream(nonClosing(out), props.getBufferBytes()) : nonClosing(out);
+        try (var writer = new BufferedWriter(new OutputStreamWriter(sink, StandardCharsets.UTF_8), props.getBufferBytes())) {
+            var rows = format == StatementExportProperties.Format.NDJSON
+                    ? writeNdjson(queries, args, writer)
+                    : writeCsv(queries, args, writer);
+            log.info("[statement-export] wrote {} rows (account {}, {} to {}, {}{})",
+                    rows, accountId == null ? "all" : accountId, from, to, format, gzip ? ", gzip" : "");
+            return rows;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long writeCsv(List<String> queries, List<Object> args, Writer writer) throws IOException {
+        writer.write(String.join(",", COLUMNS));
+        writer.write('\n');
+        long[] rows = {0};
+        RowCallbackHandler row = rs -> {
+            try {
+                writer.write(rs.getString("record"));
+                writer.write(',');
+                writer.write(Long.toString(rs.getLong("id")));
+                writer.write(',');
+                writer.write(Long.toString(rs.getLong("account_id")));
+                writer.write(',');
+                writer.write(rs.getString("type"));
+                writer.write(',');
+                writer.write(rs.getBigDecimal("amount").toPlainString());
+                writer.write(',');
+                writer.write(nullableLong(rs, "auction_id", ""));
+                writer.write(',');
+                writer.write(time(rs, "occurred_at"));
+                writer.write(',');
+                writer.write(time(rs, "updated_at"));
+                writer.write('\n');
+                rows[0]++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        for (var sql : queries) {
+            streamingJdbc.query(sql, row, args.toArray());
+        }
+        return rows[0];
+    }
+
+    private long writeNdjson(List<String> queries, List<Object> args, Writer writer) throws IOException {
+        long[] rows = {0};
+        try (JsonGenerator json = jsonFactory.createGenerator(writer)) {
+            json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            json.setRootValueSeparator(null);
+            RowCallbackHandler row = rs -> {
+                try {
+                    json.writeStartObject();
+                    json.writeStringField("record", rs.getString("record"));
+                    json.writeNumberField("id", rs.getLong("id"));
+                    json.writeNumberField("accountId", rs.getLong("account_id"));
+                    json.writeStringField("type", rs.getString("type"));
+                    json.writeNumberField("amount", rs.getBigDecimal("amount"));
+                    long auctionId = rs.getLong("auction_id");
+                    if (rs.wasNull()) {
+                        json.writeNullField("auctionId");
+                    } else {
+                        json.writeNumberField("auctionId", auctionId);
+                    }
+                    json.writeStringField("occurredAt", time(rs, "occurred_at"));
+                    json.writeStringField("updatedAt", time(rs, "updated_at"));
+                    json.writeEndObject();
+                    json.writeRaw('\n');
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            for (var sql : queries) {
+                streamingJdbc.query(sql, row, args.toArray());
+            }
+        }
+        return rows[0];
+    }
+
+    private static String nullableLong(ResultSet rs, String column, String ifNull) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? ifNull : Long.toString(value);
+    }
+
+    private static String time(ResultSet rs, String column) throws SQLException {
+        var ts = rs.getTimestamp(column);
+        return ts == null ? "" : ts.toLocalDateTime().toString();
+    }
+
+    // closing the writer finishes the gzip trailer and flushes, but the caller owns the stream
+    private static OutputStream nonClosing(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+}
@@ -1,14 +1,21 @@
 package com.voti.pawction.services.wallet.impl;
 
+import com.voti.pawction.dtos.response.AccountSnapshot;
+import com.voti.pawction.dtos.response.CursorPage;
+import com.voti.pawction.dtos.response.HeldHold;
+import com.voti.pawction.dtos.response.HoldDto;
+import com.voti.pawction.dtos.response.TransactionDto;
 import com.voti.pawction.entities.User;
 import com.voti.pawction.entities.auction.Auction;
 import com.voti.pawction.entities.wallet.Account;
 import com.voti.pawction.entities.wallet.DepositHold;
 import com.voti.pawction.entities.wallet.Transaction;
+import com.voti.pawction.entities.wallet.enums.Status;
 import jakarta.transaction.Transactional;
 
 import javax.security.auth.login.AccountNotFoundException;
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 public interface AccountServiceInterface {
@@ -23,13 +30,10 @@ public interface AccountServiceInterface {
     BigDecimal getBalance(Long accountId);
 
     /**
-     * Returns the current spendable amount after subtracting all HELD holds on account
-     * query in the database as:
-     * balance - SUM(HELD holds). Implementation should execute this inside
-     * a transaction and may use a locking query when called from mutation
-     * flows (e.g., withdraw/placeHold) to prevent double-spend.
+     * Returns the current spendable amount, balance minus the account's held total.
+     * The held total is maintained with every hold transition, so this reads one row.
      */
-    BigDecimal getAvailable(Long accountId); // derived at read time
+    BigDecimal getAvailable(Long accountId);
 
     // ---- Holds ----
     /**
@@ -49,19 +53,56 @@ public interface AccountServiceInterface {
     List<DepositHold> getActiveHolds(Long accountId);
 
     /**
-     * Places a deposit hold for the given auction. Implementations must
-     * compute {@code available} inside the same transaction and reject the
-     * operation if insufficient funds are available.
+     * Returns one page of the account's deposit holds, newest first.
+     *
+     * @param accountId the account identifier
+     * @param status    only holds in this status, or null for all
+     * @param cursor    the previous page's next cursor, or null for the first page
+     * @param size      page size, capped by the implementation
+     * @return the page and the cursor of the next one
+     */
+    CursorPage<HoldDto> getHoldPage(Long accountId, Status status, String cursor, int size);
+
+    /**
+     * Places a deposit hold for the given auction. The amount is reserved with one
+     * conditional update of the account's held total that fails if the available
+     * balance does not cover it, so concurrent holds cannot overspend the account.
      *
      * @param accountId the account identifier
      * @param auctionId the auction identifier
      * @param amount    positive hold amount
-     * @return the created hold
+     * @return the created hold, or the existing hold for this auction
      * @throws IllegalArgumentException if amount is null/non-positive
      * @throws IllegalStateException    if insufficient available funds
      */
     DepositHold placeHold(Long accountId, Long auctionId, BigDecimal amount);
 
+    /**
+     * Reads, in one query, the account balance, its held total and any hold it already
+     * has on the given auction.
+     *
+     * @param accountId the account identifier
+     * @param auctionId the auction the account is bidding on
+     * @return the account snapshot
+     * @throws com.voti.pawction.exceptions.AccountExceptions.AccountNotFoundException if account is not found by id
+     */
+    AccountSnapshot getBidSnapshot(Long accountId, Long auctionId);
+
+    /**
+     * Places a deposit hold using state the caller already read in this transaction:
+     * the auction entity and the account snapshot from {@link #getBidSnapshot(Long, Long)}.
+     * Does not reload the account, the auction or the account's holds; funds are
+     * re-checked by the same conditional reservation as {@link #placeHold(Long, Long, BigDecimal)}.
+     *
+     * @param account the bidder's account snapshot
+     * @param auction the auction being bid on
+     * @param amount  positive hold amount
+     * @return the created hold, or the existing hold for this auction
+     * @throws IllegalArgumentException if amount is null/non-positive
+     * @throws IllegalStateException    if insufficient available funds
+     */
+    DepositHold placeHold(AccountSnapshot account, Auction auction, BigDecimal amount);
+
     /**
      * Releases an active hold for the given auction back to the account.
      * No money moves; status changes from HELD to RELEASED.
@@ -73,6 +114,29 @@ public interface AccountServiceInterface {
      */
     DepositHold releaseHold(Long accountId, Long auctionId);
 
+    /**
+     * Releases every HELD hold on an auction except those of the given accounts, with a
+     * fixed number of statements per batch of holds instead of one round trip per hold.
+     * No money moves; statuses change from HELD to RELEASED and each release is recorded
+     * in the account ledger.
+     *
+     * @param auctionId      the auction identifier
+     * @param keptAccountIds accounts whose holds stay HELD; may be empty
+     * @return the number of holds released
+     */
+    int releaseHoldsForAuction(Long auctionId, Collection<Long> keptAccountIds);
+
+    /**
+     * Releases exactly the given holds, read earlier, with the same batching as
+     * {@link #releaseHoldsForAuction(Long, Collection)}. Fails without recording anything
+     * if any of them is no longer HELD.
+     *
+     * @param holds the holds to release
+     * @return the number of holds released
+     * @throws HoldNotFoundException if a hold changed status since it was read
+     */
+    int releaseHolds(List<HeldHold> holds);
+
     /**
      * Forfeits an active hold for the given auction (e.g., penalty or
      * auction rules). Implementations should post the corresponding debit
@@ -109,6 +173,17 @@ public interface AccountServiceInterface {
      */
     Transaction withdraw(Long accountId, BigDecimal amount);
 
+    /**
+     * Credits the payee with a won auction's payment and posts the settlement to the ledger.
+     *
+     * @param payerAccountId the winner's account identifier
+     * @param payeeAccountId the seller's account identifier
+     * @param auctionId      the settled auction
+     * @param amount         positive amount paid
+     * @return the payee's settlement transaction
+     */
+    Transaction settle(Long payerAccountId, Long payeeAccountId, Long auctionId, BigDecimal amount);
+
 
     // ---- History ----
     /**
@@ -121,6 +196,16 @@ public interface AccountServiceInterface {
      */
     List<Transaction> getTransactions(Long accountId) throws AccountNotFoundException;
 
+    /**
+     * Returns one page of the account's transactions, newest first.
+     *
+     * @param accountId the account identifier
+     * @param cursor    the previous page's next cursor, or null for the first page
+     * @param size      page size, capped by the implementation
+     * @return the page and the cursor of the next one
+     */
+    CursorPage<TransactionDto> getTransactionPage(Long accountId, String cursor, int size);
+
 
 
 }
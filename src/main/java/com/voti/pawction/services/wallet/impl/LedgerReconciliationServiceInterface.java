@@ -0,0 +1,22 @@
+package com.voti.pawction.services.wallet.impl;
+
+import com.voti.pawction.dtos.response.ReconciliationReport;
+
+public interface LedgerReconciliationServiceInterface {
+
+    /**
+     * Checks every account against its journal, transactions and holds.
+     *
+     * @return the discrepancy report
+     */
+    ReconciliationReport reconcile();
+
+    /**
+     * Checks the accounts with ids in {@code [fromId, toId]}.
+     *
+     * @param fromId first account id, inclusive
+     * @param toId   last account id, inclusive
+     * @return the discrepancy report
+     */
+    ReconciliationReport reconcile(long fromId, long toId);
+}
@@ -0,0 +1,49 @@
+package com.voti.pawction.services.wallet.impl;
+
+import com.voti.pawction.dtos.response.LedgerBalance;
+import com.voti.pawction.dtos.response.LedgerRebuildResult;
+import com.voti.pawction.services.wallet.LedgerPosting;
+
+import java.util.List;
+
+public interface LedgerServiceInterface {
+
+    /**
+     * Appends one balanced posting to the journal.
+     *
+     * @param posting the posting
+     */
+    void post(LedgerPosting posting);
+
+    /**
+     * Appends several postings with batched inserts, each under its own journal id.
+     *
+     * @param postings the postings; may be empty
+     */
+    void post(List<LedgerPosting> postings);
+
+    /**
+     * Returns an account's balance from its latest snapshot plus the journal entries after it.
+     *
+     * @param accountId the account identifier
+     * @return the ledger balance
+     */
+    LedgerBalance balanceOf(Long accountId);
+
+    /**
+     * Recomputes an account from its whole journal, ignoring snapshots, stores the result
+     * on the account and records it as a new snapshot.
+     *
+     * @param accountId the account identifier
+     * @return the stored values before and after
+     * @throws com.voti.pawction.exceptions.AccountExceptions.AccountNotFoundException if account is not found by id
+     */
+    LedgerRebuildResult rebuild(Long accountId);
+
+    /**
+     * Snapshots every account with enough journal entries since its last snapshot.
+     *
+     * @return the number of snapshots taken
+     */
+    int takeSnapshots();
+}
@@ -0,0 +1,28 @@
+package com.voti.pawction.services.wallet.impl;
+
+import com.voti.pawction.config.StatementExportProperties;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface StatementExportServiceInterface {
+
+    /**
+     * Streams the transactions and then the deposit holds of one account, or of every account,
+     * in a date range to {@code out}, each oldest first.
+     *
+     * @param accountId the account identifier, or null for every account
+     * @param from      first day, inclusive, or null for no lower bound
+     * @param to        last day, inclusive, or null for no upper bound
+     * @param format    line format
+     * @param gzip      whether to gzip the output
+     * @param out       the destination; not closed
+     * @return the number of rows written
+     * @throws IOException if writing to {@code out} fails
+     * @throws com.voti.pawction.exceptions.AccountExceptions.StatementExportBusyException if the
+     *         maximum number of exports is already running
+     */
+    long export(Long accountId, LocalDate from, LocalDate to,
+                StatementExportProperties.Format format, boolean gzip, OutputStream out) throws IOException;
+}
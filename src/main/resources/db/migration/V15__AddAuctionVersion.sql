@@ -0,0 +1,2 @@
+alter table auction
+    add version bigint not null default 0;
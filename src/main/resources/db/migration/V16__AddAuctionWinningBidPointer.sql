@@ -0,0 +1,23 @@
+alter table auction
+    add winning_bid_id bigint null;
+
+-- Point each auction at its top bid (highest amount, earliest bid time).
+update auction a
+    join (select ranked.auction_id, ranked.bid_id
+          from (select b.auction_id,
+                       b.bid_id,
+                       row_number() over (partition by b.auction_id order by b.amount desc, b.bid_time, b.bid_id) as rn
+                from bid b) ranked
+          where ranked.rn = 1) top on top.auction_id = a.auction_id
+set a.winning_bid_id = top.bid_id;
+
+-- Only the pointed-to bid may still be WINNING; earlier winners become OUTBID.
+update bid b
+    join auction a on a.auction_id = b.auction_id
+set b.status = 'OUTBID'
+where b.status = 'WINNING'
+  and b.bid_id <> a.winning_bid_id;
+
+alter table auction
+    add constraint auction_bid_winning_bid_id_fk
+        foreign key (winning_bid_id) references bid (bid_id);
@@ -0,0 +1,23 @@
+alter table auction
+    add bid_count int not null default 0,
+    add runner_up_bid_id bigint null;
+
+update auction a
+    join (select b.auction_id, count(*) as cnt
+          from bid b
+          group by b.auction_id) counted on counted.auction_id = a.auction_id
+set a.bid_count = counted.cnt;
+
+-- Runner-up is the second bid in the same order as the winner (highest amount, earliest bid time).
+update auction a
+    join (select ranked.auction_id, ranked.bid_id
+          from (select b.auction_id,
+                       b.bid_id,
+                       row_number() over (partition by b.auction_id order by b.amount desc, b.bid_time, b.bid_id) as rn
+                from bid b) ranked
+          where ranked.rn = 2) second on second.auction_id = a.auction_id
+set a.runner_up_bid_id = second.bid_id;
+
+alter table auction
+    add constraint auction_bid_runner_up_bid_id_fk
+        foreign key (runner_up_bid_id) references bid (bid_id);
@@ -0,0 +1,5 @@
+alter table bid
+    add max_amount decimal(19, 4) null;
+
+alter table auction
+    add leader_max_bid decimal(19, 4) null;
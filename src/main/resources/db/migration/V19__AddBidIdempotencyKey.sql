@@ -0,0 +1,7 @@
+alter table bid
+    add idempotency_key varchar(64) null;
+
+-- A client key identifies one submission per user; plain bids without a key are unaffected.
+alter table bid
+    add constraint uq_bid_user_idempotency_key
+        unique (user_id, idempotency_key);
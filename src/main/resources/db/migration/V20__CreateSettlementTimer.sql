@@ -0,0 +1,23 @@
+create table settlement_timer
+(
+    auction_id  bigint      not null
+        primary key,
+    due_at      datetime    not null,
+    lease_owner varchar(64) null,
+    lease_until datetime    null,
+    attempts    int         not null default 0,
+    constraint settlement_timer_auction_auction_id_fk
+        foreign key (auction_id) references auction (auction_id)
+);
+
+create index ix_settlement_timer_due_at
+    on settlement_timer (due_at);
+
+-- Settlements already waiting for payment get their timer from the existing deadline.
+insert into settlement_timer (auction_id, due_at)
+select a.auction_id, a.payment_due_at
+from auction a
+where a.status = 'ENDED'
+  and a.payment_received = 'UNPAID'
+  and a.payment_due_at is not null
+  and a.winner_user_id is not null;
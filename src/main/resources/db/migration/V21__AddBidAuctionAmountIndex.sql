@@ -0,0 +1,3 @@
+-- Lets the close path read an auction's top two bids from the index instead of sorting all of them.
+create index ix_bid_auction_amount
+    on bid (auction_id, amount desc, bid_time);
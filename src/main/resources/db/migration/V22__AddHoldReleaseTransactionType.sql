@@ -0,0 +1,2 @@
+alter table transaction
+    modify tx_type enum ('DEPOSIT', 'WITHDRAWAL', 'SETTLEMENT', 'HOLD_RELEASE') not null;
@@ -0,0 +1,5 @@
+-- Soft close: a bid in the last soft_close_window_seconds pushes end_time out to
+-- bid time + soft_close_extension_seconds. Both null for a hard close.
+alter table auction
+    add column soft_close_window_seconds int null,
+    add column soft_close_extension_seconds int null;
@@ -0,0 +1,7 @@
+-- Auctions can be listed ahead of time: SCHEDULED until start_time, then LIVE.
+alter table auction
+    modify column status enum ('SCHEDULED', 'LIVE', 'ENDED', 'CANCELED', 'SETTLED') not null,
+    add column start_time datetime null;
+
+create index ix_auction_status_start
+    on auction (status, start_time);
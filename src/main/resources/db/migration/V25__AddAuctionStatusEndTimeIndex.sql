@@ -0,0 +1,3 @@
+-- Serves the pre-close scan (LIVE auctions ending soon) and the expired-auction claims.
+create index ix_auction_status_end
+    on auction (status, end_time);
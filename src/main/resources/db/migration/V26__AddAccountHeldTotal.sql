@@ -0,0 +1,10 @@
+alter table account
+    add held_total decimal(19, 4) not null default 0.0000;
+
+-- held_total is the sum of the account's HELD deposit holds, maintained on every hold transition.
+update account a
+    join (select h.account_id, sum(h.amount) as held
+          from deposit_hold h
+          where h.status = 'HELD'
+          group by h.account_id) summed on summed.account_id = a.account_id
+set a.held_total = summed.held;
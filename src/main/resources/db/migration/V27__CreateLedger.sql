@@ -0,0 +1,54 @@
+-- Append-only double-entry journal. The lines of one posting share a journal_id and sum to zero.
+-- account_id is null on platform books (EXTERNAL, FORFEITED), which have no account row.
+create table ledger_entry
+(
+    entry_id    bigint auto_increment
+        primary key,
+    journal_id  varchar(36)                                      not null,
+    account_id  bigint                                           null,
+    book        enum ('CASH', 'HELD', 'EXTERNAL', 'FORFEITED')   not null,
+    entry_type  enum ('OPENING', 'DEPOSIT', 'WITHDRAWAL', 'HOLD', 'HOLD_RELEASE', 'FORFEIT', 'SETTLEMENT')
+                                                                 not null,
+    amount      decimal(19, 4)                                   not null,
+    auction_id  bigint                                           null,
+    occurred_at datetime                                         not null,
+    constraint ledger_entry_account_account_id_fk
+        foreign key (account_id) references account (account_id),
+    constraint ledger_entry_auction_auction_id_fk
+        foreign key (auction_id) references auction (auction_id)
+);
+
+create index ix_ledger_entry_account_entry
+    on ledger_entry (account_id, entry_id);
+
+create index ix_ledger_entry_journal
+    on ledger_entry (journal_id);
+
+-- An account's CASH and HELD totals up to and including last_entry_id; rows are only ever added.
+create table ledger_snapshot
+(
+    account_id    bigint         not null,
+    last_entry_id bigint         not null,
+    cash          decimal(19, 4) not null,
+    held          decimal(19, 4) not null,
+    taken_at      datetime       not null,
+    primary key (account_id, last_entry_id),
+    constraint ledger_snapshot_account_account_id_fk
+        foreign key (account_id) references account (account_id)
+);
+
+-- Existing balances enter the journal as one opening posting per account.
+insert into ledger_entry (journal_id, account_id, book, entry_type, amount, occurred_at)
+select concat('opening-', a.account_id), a.account_id, 'CASH', 'OPENING', a.balance - a.held_total, now()
+from account a
+where a.balance - a.held_total <> 0;
+
+insert into ledger_entry (journal_id, account_id, book, entry_type, amount, occurred_at)
+select concat('opening-', a.account_id), a.account_id, 'HELD', 'OPENING', a.held_total, now()
+from account a
+where a.held_total <> 0;
+
+insert into ledger_entry (journal_id, account_id, book, entry_type, amount, occurred_at)
+select concat('opening-', a.account_id), null, 'EXTERNAL', 'OPENING', -a.balance, now()
+from account a
+where a.balance <> 0;
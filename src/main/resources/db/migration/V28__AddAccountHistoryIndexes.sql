@@ -0,0 +1,9 @@
+-- Serve the account history pages, newest first, with an index seek from the page cursor.
+create index ix_transaction_account_time
+    on transaction (account_id, occurred_at desc, transaction_id desc);
+
+create index ix_deposit_hold_account_time
+    on deposit_hold (account_id, created_at desc, hold_id desc);
+
+create index ix_deposit_hold_account_status_time
+    on deposit_hold (account_id, status, created_at desc, hold_id desc);
@@ -0,0 +1,22 @@
+-- A leader raising their own maximum writes no bid row. Raises submitted with an idempotency
+-- key are kept here, so that a retry with the same key is answered instead of rejected.
+create table ceiling_raise
+(
+    raise_id        bigint auto_increment
+        primary key,
+    bid_id          bigint         null,
+    user_id         bigint         not null,
+    auction_id      bigint         not null,
+    price           decimal(19, 4) not null,
+    max_amount      decimal(19, 4) not null,
+    idempotency_key varchar(64)    not null,
+    created_at      datetime       not null,
+    constraint uq_ceiling_raise_user_idempotency_key
+        unique (user_id, idempotency_key),
+    constraint ceiling_raise_bid_bid_id_fk
+        foreign key (bid_id) references bid (bid_id),
+    constraint ceiling_raise_user_user_id_fk
+        foreign key (user_id) references user (user_id),
+    constraint ceiling_raise_auction_auction_id_fk
+        foreign key (auction_id) references auction (auction_id)
+);
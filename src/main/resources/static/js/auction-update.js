@@ -10,6 +10,11 @@ stompClient.connect({}, function(frame) {
         updateHomePage(update);
     });
 
+    // Scheduled auctions going LIVE, one message per activation batch
+    stompClient.subscribe('/topic/home/live', function(message) {
+        JSON.parse(message.body).forEach(addHomeCard);
+    });
+
     stompClient.subscribe('/topic/myAccount', function(message) {
         var update = JSON.parse(message.body);
         updateMyAccount(update);
@@ -27,6 +32,11 @@ stompClient.connect({}, function(frame) {
         });
     }
 
+    // Acknowledgements for bids sent over this socket (see submitBidOverSocket)
+    stompClient.subscribe('/user/queue/bids', function(message) {
+        showBidAck(JSON.parse(message.body));
+    });
+
     stompClient.subscribe('/topic/bids/' + auctionId, function(message) {
         var bid = JSON.parse(message.body);
         appendBidRow(bid);
@@ -40,6 +50,82 @@ stompClient.connect({}, function(frame) {
     });
 });
 
+// Send bid forms over STOMP when the socket is up; otherwise the normal form post is used
+document.querySelectorAll('form.bid-form').forEach(function(form) {
+    form.addEventListener('submit', function(event) {
+        if (!stompClient.connected) {
+            return;
+        }
+        event.preventDefault();
+        submitBidOverSocket(form);
+    });
+});
+
+function submitBidOverSocket(form) {
+    var button = form.querySelector('button[type="submit"]');
+    if (button) {
+        button.disabled = true;
+    }
+    var proxyEl = form.querySelector('input[name="proxy"]');
+    stompClient.send('/app/bid', {}, JSON.stringify({
+        auctionId: form.querySelector('input[name="auctionId"]').value,
+        amount: form.querySelector('input[name="newBidAmount"]').value,
+        proxy: proxyEl ? proxyEl.checked : false,
+        idempotencyKey: form.querySelector('input[name="idempotencyKey"]').value
+    }));
+}
+
+function showBidAck(ack) {
+    var ackEl = document.getElementById('bidAck');
+    if (ackEl) {
+        ackEl.className = 'alert ' + (ack.accepted ? 'alert-success' : 'alert-danger');
+        ackEl.innerText = ack.message;
+    }
+
+    document.querySelectorAll('form.bid-form').forEach(function(form) {
+        var button = form.querySelector('button[type="submit"]');
+        if (button) {
+            button.disabled = false;
+        }
+        var keyEl = form.querySelector('input[name="idempotencyKey"]');
+        // the acknowledged key is spent; a new bid needs a new one
+        if (keyEl && keyEl.value === ack.idempotencyKey) {
+            keyEl.value = newIdempotencyKey();
+        }
+        var amountEl = form.querySelector('input[name="newBidAmount"]');
+        if (amountEl && ack.minNextBidAmount) {
+            amountEl.min = ack.minNextBidAmount;
+        }
+    });
+
+    var userBidEl = document.getElementById('userBidAmount');
+    if (userBidEl && ack.accepted) {
+        userBidEl.innerText = formatCurrency(ack.amount);
+    }
+}
+
+// crypto.randomUUID only exists in secure contexts (HTTPS or localhost); build a v4 UUID otherwise
+function newIdempotencyKey() {
+    if (window.crypto && crypto.randomUUID) {
+        return crypto.randomUUID();
+    }
+    var bytes = new Uint8Array(16);
+    if (window.crypto && crypto.getRandomValues) {
+        crypto.getRandomValues(bytes);
+    } else {
+        for (var i = 0; i < bytes.length; i++) {
+            bytes[i] = Math.floor(Math.random() * 256);
+        }
+    }
+    bytes[6] = (bytes[6] & 0x0f) | 0x40;
+    bytes[8] = (bytes[8] & 0x3f) | 0x80;
+    var hex = Array.prototype.map.call(bytes, function(b) {
+        return (b + 0x100).toString(16).substring(1);
+    }).join('');
+    return hex.substring(0, 8) + '-' + hex.substring(8, 12) + '-' + hex.substring(12, 16) + '-'
+        + hex.substring(16, 20) + '-' + hex.substring(20);
+}
+
 function updateHomePage(update) {
     var priceEl = document.getElementById("auction-price-" + update.auctionId);
     var bidsEl = document.getElementById("auction-bids-" + update.auctionId);
@@ -52,6 +138,55 @@ function updateHomePage(update) {
     }
 }
 
+function addHomeCard(card) {
+    var grid = document.getElementById("productGrid");
+    if (!grid || document.getElementById("auction-price-" + card.auctionId)) {
+        return;
+    }
+    var col = document.createElement("div");
+    col.className = "col-sm-6 col-md-4 col-lg-3 mb-4 d-flex";
+
+    var link = document.createElement("a");
+    link.href = "/product/" + card.auctionId;
+    link.className = "card flex-fill h-100 product-card text-decoration-none";
+
+    var img = document.createElement("img");
+    img.className = "card-img-top product-image";
+    img.src = card.imageUrl;
+    img.alt = card.petName;
+
+    var body = document.createElement("div");
+    body.className = "card-body d-flex flex-column";
+    var title = document.createElement("h5");
+    title.className = "card-title";
+    title.textContent = card.petName;
+    var text = document.createElement("p");
+    text.className = "card-text flex-grow-1";
+    text.textContent = card.description;
+
+    var meta = document.createElement("div");
+    meta.className = "product-meta mt-auto";
+    var price = document.createElement("span");
+    price.className = "product-price";
+    price.id = "auction-price-" + card.auctionId;
+    price.textContent = "Current Bid Price: $" + formatCurrency(card.currentPrice);
+    var end = document.createElement("span");
+    end.className = "text-muted small";
+    end.textContent = "End: " + formatBidTime(card.endTime);
+    var bids = document.createElement("span");
+    bids.className = "text-muted small";
+    bids.id = "auction-bids-" + card.auctionId;
+    bids.textContent = card.bidCount + " bids";
+    meta.append(price, document.createElement("br"), end, document.createElement("br"), bids);
+
+    body.append(title, text, meta);
+    link.append(img, body);
+    col.append(link);
+
+    var heading = grid.querySelector("h3");
+    grid.insertBefore(col, heading ? heading.nextSibling : grid.firstChild);
+}
+
 function updateMyAccount(update) {
     let priceEl = document.getElementById('auction-price-' + update.auctionId);
     let bidsEl = document.getElementById('auction-bids-' + update.auctionId);
@@ -72,6 +207,7 @@ function updateProductPage(update) {
     var countEl = document.getElementById("bidCount");
     var userBidEl = document.getElementById("userBidAmount");
     var bidInput = document.getElementById("minNextBidAmount");
+    var endTimeEl = document.getElementById("auctionEndTime");
     if (priceEl) {
         priceEl.innerText = formatCurrency(update.highestBid);
     }
@@ -84,6 +220,9 @@ function updateProductPage(update) {
     if (bidInput && update.minNextBidAmount) {
         bidInput.min = update.minNextBidAmount; // 👈 update the min attribute
     }
+    if (endTimeEl && update.endTime) {
+        endTimeEl.innerText = formatBidTime(update.endTime); // soft close may have pushed it out
+    }
 }
 
 function appendBidRow(bid) {
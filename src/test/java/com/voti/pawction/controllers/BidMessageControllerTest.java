@@ -0,0 +1,121 @@
+package com.voti.pawction.controllers;
+
+import com.voti.pawction.dtos.request.BidRequest.PlaceBidRequest;
+import com.voti.pawction.dtos.response.BidDto;
+import com.voti.pawction.dtos.response.UserDto;
+import com.voti.pawction.entities.auction.enums.Bid_Status;
+import com.voti.pawction.exceptions.BidExceptions.BidRateLimitedException;
+import com.voti.pawction.exceptions.BidExceptions.InvalidBidException;
+import com.voti.pawction.services.auction.AuctionService;
+import com.voti.pawction.services.auction.BidSubmissionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BidMessageControllerTest {
+    private static final Long USER_ID = 10L;
+    private static final Long AUCTION_ID = 1L;
+
+    private final BidSubmissionService bidSubmissionService = mock(BidSubmissionService.class);
+    private final AuctionService auctionService = mock(AuctionService.class);
+    private final BidMessageController controller = new BidMessageController(bidSubmissionService, auctionService);
+
+    private PlaceBidRequest request;
+    private SimpMessageHeaderAccessor headers;
+
+    @BeforeEach
+    void setUp() {
+        request = new PlaceBidRequest();
+        request.setAuctionId(AUCTION_ID);
+        request.setAmount(new BigDecimal("110.00"));
+        request.setIdempotencyKey("k-1");
+
+        headers = SimpMessageHeaderAccessor.create();
+        var attributes = new HashMap<String, Object>();
+        attributes.put("loggedInUser", new UserDto(USER_ID, "Bidder", "bidder@example.com"));
+        headers.setSessionAttributes(attributes);
+
+        when(auctionService.nextMinimumBid(AUCTION_ID)).thenReturn(new BigDecimal("111.00"));
+    }
+
+    @Test
+    @DisplayName("placeBid: an accepted bid is acknowledged with the next minimum")
+    void placeBid_accepted() {
+        when(bidSubmissionService.submit(USER_ID, AUCTION_ID, request.getAmount(), "k-1"))
+                .thenReturn(new BidDto(5L, USER_ID, AUCTION_ID, request.getAmount(), Bid_Status.WINNING, LocalDateTime.now()));
+
+        var ack = controller.placeBid(request, headers);
+
+        assertThat(ack.isAccepted()).isTrue();
+        assertThat(ack.getIdempotencyKey()).isEqualTo("k-1");
+        assertThat(ack.getMinNextBidAmount()).isEqualByComparingTo("111.00");
+    }
+
+    @Test
+    @DisplayName("placeBid: no session user is rejected without submitting")
+    void placeBid_notLoggedIn() {
+        headers.setSessionAttributes(new HashMap<>());
+
+        var ack = controller.placeBid(request, headers);
+
+        assertThat(ack.isAccepted()).isFalse();
+        verifyNoInteractions(bidSubmissionService);
+    }
+
+    @Test
+    @DisplayName("placeBid: a rule violation is rejected with its message")
+    void placeBid_invalidBid() {
+        when(bidSubmissionService.submit(any(), any(), any(), any()))
+                .thenThrow(new InvalidBidException("Bid must be at least $1 higher than current highest bid"));
+
+        var ack = controller.placeBid(request, headers);
+
+        assertThat(ack.isAccepted()).isFalse();
+        assertThat(ack.getMessage()).contains("at least $1");
+        assertThat(ack.getMinNextBidAmount()).isEqualByComparingTo("111.00");
+    }
+
+    @Test
+    @DisplayName("placeBid: throttling is rejected without a next minimum")
+    void placeBid_rateLimited() {
+        when(bidSubmissionService.submit(any(), any(), any(), any()))
+                .thenThrow(new BidRateLimitedException("Too many bids, slow down"));
+
+        var ack = controller.placeBid(request, headers);
+
+        assertThat(ack.isAccepted()).isFalse();
+        assertThat(ack.getMinNextBidAmount()).isNull();
+    }
+
+    @Test
+    @DisplayName("placeBid: an unexpected failure still produces an error ack for the key")
+    void placeBid_unexpectedFailure() {
+        when(bidSubmissionService.submit(any(), any(), any(), any()))
+                .thenThrow(new QueryTimeoutException("pool exhausted"));
+
+        var ack = controller.placeBid(request, headers);
+
+        assertThat(ack.isAccepted()).isFalse();
+        assertThat(ack.getIdempotencyKey()).isEqualTo("k-1");
+        assertThat(ack.getMessage()).isEqualTo("Your bid could not be placed. Please try again.");
+    }
+
+    @Test
+    @DisplayName("handleFailure: a message that never reached placeBid is answered with an error ack")
+    void handleFailure_answersWithErrorAck() {
+        var ack = controller.handleFailure(new IllegalStateException("bad payload"));
+
+        assertThat(ack.isAccepted()).isFalse();
+        assertThat(ack.getMessage()).isNotBlank();
+    }
+}
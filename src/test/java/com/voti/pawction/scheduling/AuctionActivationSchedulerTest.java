@@ -0,0 +1,148 @@
+package com.voti.pawction.scheduling;
+
+import com.voti.pawction.config.AuctionSchedulerProperties;
+import com.voti.pawction.dtos.response.AuctionCardDto;
+import com.voti.pawction.entities.auction.enums.Auction_Status;
+import com.voti.pawction.repositories.auction.AuctionRepository;
+import com.voti.pawction.services.auction.AuctionService;
+import com.voti.pawction.services.socket.AuctionUpdateService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AuctionActivationSchedulerTest {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-01T12:00:00Z"), ZoneId.of("UTC"));
+    private static final LocalDateTime NOW = LocalDateTime.now(CLOCK);
+
+    private final AuctionRepository auctionRepository = mock(AuctionRepository.class);
+    private final AuctionService auctionService = mock(AuctionService.class);
+    private final AuctionUpdateService auctionUpdateService = mock(AuctionUpdateService.class);
+    private final AuctionSchedulerProperties props = new AuctionSchedulerProperties();
+    private AuctionActivationScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        props.setActivationBatchSize(10);
+        scheduler = new AuctionActivationScheduler(auctionRepository, auctionService, auctionUpdateService, props, CLOCK);
+        scheduler.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("prepare: auctions sharing a start time are activated and announced together")
+    void prepare_groupsByStartTime() {
+        var a = card(1L, NOW.plusNanos(200_000_000));
+        var b = card(2L, NOW.plusNanos(200_000_000));
+        var c = card(3L, NOW.plusNanos(400_000_000));
+        pages(List.of(a, b, c));
+        when(auctionService.activateScheduled(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        assertThat(scheduler.prepare()).isEqualTo(3);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AuctionCardDto>> batches = ArgumentCaptor.forClass(List.class);
+        verify(auctionService, timeout(2000).times(2)).activateScheduled(batches.capture());
+        assertThat(batches.getAllValues().get(0)).containsExactly(a, b);
+        assertThat(batches.getAllValues().get(1)).containsExactly(c);
+        verify(auctionUpdateService, timeout(2000).times(2)).sendAuctionsLive(anyList());
+    }
+
+    @Test
+    @DisplayName("prepare: a start time group larger than the batch size is split into batches")
+    void prepare_splitsLargeGroups() {
+        props.setActivationBatchSize(2);
+        var at = NOW.plusNanos(100_000_000);
+        var a = card(1L, at);
+        var b = card(2L, at);
+        var c = card(3L, at);
+        when(auctionRepository.findCardsByStatusAndStartTimeLteAfter(eq(Auction_Status.SCHEDULED), any(), eq(0L), any()))
+                .thenReturn(List.of(a, b));
+        when(auctionRepository.findCardsByStatusAndStartTimeLteAfter(eq(Auction_Status.SCHEDULED), any(), eq(2L), any()))
+                .thenReturn(List.of(c));
+
+        assertThat(scheduler.prepare()).isEqualTo(3);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AuctionCardDto>> batches = ArgumentCaptor.forClass(List.class);
+        verify(auctionService, timeout(2000).times(2)).activateScheduled(batches.capture());
+        assertThat(batches.getAllValues()).containsExactlyInAnyOrder(List.of(a, b), List.of(c));
+    }
+
+    @Test
+    @DisplayName("prepare: auctions whose start already passed are activated at once in one batch")
+    void prepare_catchesUpOverdueAuctions() {
+        var a = card(1L, NOW.minusMinutes(10));
+        var b = card(2L, NOW.minusSeconds(3));
+        pages(List.of(a, b));
+        when(auctionService.activateScheduled(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        assertThat(scheduler.prepare()).isEqualTo(2);
+
+        verify(auctionService, timeout(2000)).activateScheduled(List.of(a, b));
+        verify(auctionUpdateService, timeout(2000)).sendAuctionsLive(List.of(a, b));
+    }
+
+    @Test
+    @DisplayName("prepare: an auction waiting for its start is not queued twice")
+    void prepare_skipsPreparedAuctions() {
+        var a = card(1L, NOW.plusMinutes(1));
+        pages(List.of(a));
+
+        assertThat(scheduler.prepare()).isEqualTo(1);
+        assertThat(scheduler.prepare()).isZero();
+    }
+
+    @Test
+    @DisplayName("activate: a failed batch is forgotten and activated by the next poll")
+    void activate_failure_isRetriedByNextPoll() throws InterruptedException {
+        var a = card(1L, NOW.minusSeconds(1));
+        pages(List.of(a));
+        when(auctionService.activateScheduled(anyList()))
+                .thenThrow(new IllegalStateException("deadlock"))
+                .thenAnswer(inv -> inv.getArgument(0));
+
+        assertThat(scheduler.prepare()).isEqualTo(1);
+        verify(auctionService, timeout(2000)).activateScheduled(List.of(a));
+        verify(auctionUpdateService, never()).sendAuctionsLive(anyList());
+
+        // the failed batch leaves the prepared set once its activation returns
+        long deadline = System.currentTimeMillis() + 2000;
+        while (scheduler.prepare() == 0) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+
+        verify(auctionService, timeout(2000).times(2)).activateScheduled(List.of(a));
+        verify(auctionUpdateService, timeout(2000)).sendAuctionsLive(List.of(a));
+    }
+
+    /** Serves the cards as a single page of the scheduled-auction query. */
+    private void pages(List<AuctionCardDto> cards) {
+        when(auctionRepository.findCardsByStatusAndStartTimeLteAfter(eq(Auction_Status.SCHEDULED), any(), eq(0L), any()))
+                .thenReturn(cards);
+    }
+
+    private static AuctionCardDto card(Long auctionId, LocalDateTime startTime) {
+        return new AuctionCardDto(auctionId, "Pet " + auctionId, null, "Scheduled auction",
+                new BigDecimal("15.00"), startTime, startTime.plusDays(1), 0);
+    }
+}
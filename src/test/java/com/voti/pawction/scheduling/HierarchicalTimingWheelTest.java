@@ -0,0 +1,99 @@
+package com.voti.pawction.scheduling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Uses 2 bits and 2 levels: level 0 spans 4 ticks, level 1 spans 16, later deadlines overflow.
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final int BITS = 2;
+    private static final int LEVELS = 2;
+
+    @Test
+    @DisplayName("advanceTo: every entry fires exactly on its deadline, on any level or in overflow")
+    void advanceTo_firesOnDeadline_acrossLevelsAndOverflow() {
+        for (long start : new long[]{0, 13, 63}) {
+            var wheel = new HierarchicalTimingWheel(BITS, LEVELS, start);
+            var firedAt = new HashMap<Long, Long>();
+
+            for (long d = 1; d <= 70; d++) {
+                wheel.add(d, start + d, key -> firedAt.put(key, -1L)); // none are due yet
+            }
+            for (long t = start + 1; t <= start + 70; t++) {
+                wheel.advanceTo(t, key -> firedAt.put(key, wheel.currentTick()));
+            }
+
+            for (long d = 1; d <= 70; d++) {
+                assertThat(firedAt.get(d)).as("key %d from start %d", d, start).isEqualTo(start + d);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("advanceTo: a long jump cascades through the levels and fires everything due")
+    void advanceTo_jump_firesAllDueInOrder() {
+        var wheel = new HierarchicalTimingWheel(BITS, LEVELS, 0);
+        var fired = new ArrayList<Long>();
+
+        wheel.add(1, 3, fired::add);
+        wheel.add(2, 9, fired::add);
+        wheel.add(3, 40, fired::add);   // beyond level 1: overflow
+        wheel.add(4, 200, fired::add);  // not yet due
+
+        wheel.advanceTo(100, fired::add);
+
+        assertThat(fired).containsExactly(1L, 2L, 3L);
+        assertThat(wheel.currentTick()).isEqualTo(100);
+
+        wheel.advanceTo(200, fired::add);
+        assertThat(fired).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("add: a deadline at or before the current tick fires immediately")
+    void add_pastDeadline_firesImmediately() {
+        var wheel = new HierarchicalTimingWheel(BITS, LEVELS, 10);
+        var fired = new ArrayList<Long>();
+
+        wheel.add(1, 10, fired::add);
+        wheel.add(2, 3, fired::add);
+
+        assertThat(fired).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("add from a callback: an entry re-armed while firing fires again at its new deadline")
+    void rearmFromCallback_firesAgain() {
+        var wheel = new HierarchicalTimingWheel(BITS, LEVELS, 0);
+        var firedAt = new ArrayList<Long>();
+        var later = new ArrayDeque<>(List.of(5L, 30L, 31L));
+
+        // re-arms itself like AuctionCloseWheel.fire does when the deadline moved later
+        var fire = new LongConsumer() {
+            @Override
+            public void accept(long key) {
+                firedAt.add(wheel.currentTick());
+                if (!later.isEmpty()) {
+                    wheel.add(key, later.poll(), this);
+                }
+            }
+        };
+        wheel.add(7, 2, fire);
+
+        for (long t = 1; t <= 40; t++) {
+            wheel.advanceTo(t, fire);
+        }
+
+        assertThat(firedAt).containsExactly(2L, 5L, 30L, 31L);
+    }
+}
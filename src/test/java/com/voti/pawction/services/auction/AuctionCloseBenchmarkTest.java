@@ -0,0 +1,207 @@
+package com.voti.pawction.services.auction;
+
+import com.voti.pawction.config.AuctionSchedulerProperties;
+import com.voti.pawction.entities.User;
+import com.voti.pawction.entities.auction.Auction;
+import com.voti.pawction.entities.auction.enums.Auction_Status;
+import com.voti.pawction.entities.pet.Pet;
+import com.voti.pawction.entities.pet.enums.Allergy;
+import com.voti.pawction.entities.pet.enums.Category;
+import com.voti.pawction.entities.pet.enums.Sex;
+import com.voti.pawction.entities.pet.enums.Size;
+import com.voti.pawction.entities.wallet.Account;
+import com.voti.pawction.repositories.UserRepository;
+import com.voti.pawction.repositories.auction.AuctionRepository;
+import com.voti.pawction.repositories.pet.PetRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares closing an auction through the per-row path ({@code set-based-close: false}) with
+ * {@link SettlementService#settleOnClose}. The statement-count check always runs; the timing
+ * run over 10, 1k and 100k bids is opt-in with {@code -Dpawction.benchmark=true}.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class AuctionCloseBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(AuctionCloseBenchmarkTest.class);
+    private static final int MAX_BIDDERS = 200;
+
+    @Autowired private AuctionService auctionService;
+    @Autowired private AuctionSchedulerProperties schedulerProperties;
+    @Autowired private UserRepository userRepository;
+    @Autowired private AuctionRepository auctionRepository;
+    @Autowired private PetRepository petRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private int users;
+
+    private record Run(long statements, long millis) {
+    }
+
+    @AfterEach
+    void restoreDefaults() {
+        schedulerProperties.setSetBasedClose(true);
+    }
+
+    @Test
+    @DisplayName("set-based close: statement count does not grow with the number of bids")
+    @Transactional
+    void setBasedClose_statementCount_isConstant() {
+        schedulerProperties.setSetBasedClose(true);
+
+        long few = close(seed(10, 10)).statements();
+        long many = close(seed(500, 50)).statements();
+
+        assertThat(many).isEqualTo(few);
+    }
+
+    @Test
+    @DisplayName("benchmark: per-row vs set-based close for 10, 1k and 100k bids")
+    @EnabledIfSystemProperty(named = "pawction.benchmark", matches = "true")
+    @Transactional
+    void benchmark_perRowVsSetBased() {
+        for (int bids : new int[]{10, 1_000, 100_000}) {
+            int bidders = Math.min(bids, MAX_BIDDERS);
+
+            schedulerProperties.setSetBasedClose(false);
+            var perRow = close(seed(bids, bidders));
+
+            schedulerProperties.setSetBasedClose(true);
+            var setBased = close(seed(bids, bidders));
+
+            log.info("close {} bids / {} holds: per-row {} statements {} ms | set-based {} statements {} ms",
+                    bids, bidders, perRow.statements(), perRow.millis(), setBased.statements(), setBased.millis());
+
+            assertThat(setBased.statements()).isLessThanOrEqualTo(perRow.statements());
+        }
+    }
+
+    private Run close(Long auctionId) {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.flush();
+        entityManager.clear();
+        stats.clear();
+
+        long start = System.nanoTime();
+        auctionService.end(auctionId);
+        entityManager.flush();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        return new Run(stats.getPrepareStatementCount(), millis);
+    }
+
+    /**
+     * A LIVE auction with {@code bids} ascending bids spread over {@code bidders} users, one
+     * HELD deposit per bidder and the winner/runner-up pointers a real auction would carry.
+     */
+    private Long seed(int bids, int bidders) {
+        User seller = newUser(BigDecimal.ZERO);
+        List<Long> bidderIds = new ArrayList<>();
+        for (int i = 0; i < bidders; i++) {
+            bidderIds.add(newUser(new BigDecimal("1000.00")).getUserId());
+        }
+
+        Pet pet = new Pet();
+        pet.setOwner(seller);
+        pet.setPetName("Barkley");
+        pet.setPetAgeMonths(18);
+        pet.setPetSex(Sex.M);
+        pet.setPetWeight(12.5);
+        pet.setPetCategory(Category.Dog);
+        pet.setDogBreed("Beagle");
+        pet.setDogSize(Size.MEDIUM);
+        pet.setDogTemperament("Friendly");
+        pet.setDogIsHypoallergenic(Allergy.UNKNOWN);
+        pet.setPrimaryPhotoUrl("notfound");
+        pet = petRepository.save(pet);
+
+        LocalDateTime now = LocalDateTime.now();
+        Auction auction = new Auction();
+        auction.setPet(pet);
+        auction.setSellingUser(seller);
+        auction.setDescription("Close benchmark auction");
+        auction.setStartPrice(new BigDecimal("20.00"));
+        auction.setHighestBid(new BigDecimal("20.00"));
+        auction.setStatus(Auction_Status.LIVE);
+        auction.setCreatedAt(now.minusHours(2));
+        auction.setUpdatedAt(now.minusHours(2));
+        auction.setEndTime(now.minusMinutes(1));
+        Long auctionId = auctionRepository.save(auction).getAuctionId();
+        entityManager.flush();
+
+        var created = Timestamp.valueOf(now.minusHours(1));
+        jdbcTemplate.batchUpdate(
+                "insert into deposit_hold (account_id, auction_id, status, amount, created_at, updated_at) values (?, ?, 'HELD', 2.00, ?, ?)",
+                bidderIds, 1_000, (ps, bidderId) -> {
+                    ps.setLong(1, bidderId);
+                    ps.setLong(2, auctionId);
+                    ps.setTimestamp(3, created);
+                    ps.setTimestamp(4, created);
+                });
+
+        List<Integer> steps = new ArrayList<>(bids);
+        for (int i = 0; i < bids; i++) {
+            steps.add(i);
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into bid (auction_id, user_id, amount, status, bid_time) values (?, ?, ?, ?, ?)",
+                steps, 1_000, (ps, i) -> {
+                    ps.setLong(1, auctionId);
+                    ps.setLong(2, bidderIds.get(i % bidders));
+                    ps.setBigDecimal(3, new BigDecimal("21.00").add(BigDecimal.valueOf(i)));
+                    ps.setString(4, i == bids - 1 ? "WINNING" : "OUTBID");
+                    ps.setTimestamp(5, Timestamp.valueOf(now.minusHours(1).plusNanos(i * 1_000_000L)));
+                });
+
+        jdbcTemplate.update("""
+                update auction a
+                join (select max(bid_id) as top_id from bid where auction_id = ?) t
+                set a.winning_bid_id = t.top_id,
+                    a.runner_up_bid_id = (select max(bid_id) from bid where auction_id = ? and bid_id < t.top_id),
+                    a.winner_user_id = (select user_id from bid where bid_id = t.top_id),
+                    a.highest_bid = (select amount from bid where bid_id = t.top_id),
+                    a.bid_count = ?
+                where a.auction_id = ?
+                """, auctionId, auctionId, bids, auctionId);
+
+        return auctionId;
+    }
+
+    private User newUser(BigDecimal balance) {
+        int n = users++;
+        User user = new User();
+        user.setName("Bidder " + n);
+        user.setEmail("close-bench-" + n + "@example.com");
+        user.setPasswordHash("secret");
+
+        var account = new Account();
+        account.setBalance(balance);
+        account.setCreatedAt(LocalDateTime.now());
+        user.attachNewAccount(account);
+        return userRepository.save(user);
+    }
+}
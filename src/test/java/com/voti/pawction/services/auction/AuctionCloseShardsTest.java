@@ -0,0 +1,191 @@
+package com.voti.pawction.services.auction;
+
+import com.voti.pawction.PawctionApplication;
+import com.voti.pawction.config.AuctionSchedulerProperties;
+import com.voti.pawction.entities.User;
+import com.voti.pawction.entities.auction.Auction;
+import com.voti.pawction.entities.auction.enums.Auction_Status;
+import com.voti.pawction.entities.pet.Pet;
+import com.voti.pawction.entities.pet.enums.Allergy;
+import com.voti.pawction.entities.pet.enums.Category;
+import com.voti.pawction.entities.pet.enums.Sex;
+import com.voti.pawction.entities.pet.enums.Size;
+import com.voti.pawction.repositories.UserRepository;
+import com.voti.pawction.repositories.auction.AuctionRepository;
+import com.voti.pawction.repositories.pet.PetRepository;
+import net.javacrumbs.shedlock.core.LockConfiguration;
+import net.javacrumbs.shedlock.core.LockProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the close job on two application contexts against the same database, standing in for
+ * two nodes. The test's own context is the first node; a second one is started per test.
+ * Only the auctions created here are closed, so other rows in the database are left alone.
+ */
+// not @Transactional: the second node only sees committed rows
+@SpringBootTest(properties = "auction.scheduler.wheel-enabled=false")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class AuctionCloseShardsTest {
+    private static final int AUCTIONS = 24;
+
+    @Autowired private AuctionService auctionService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PetRepository petRepository;
+    @Autowired private AuctionRepository auctionRepository;
+    @Autowired private AuctionCloseShards auctionCloseShards;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private ConfigurableApplicationContext secondNode;
+
+    // rows committed by a test, removed afterwards so later tests and classes start clean
+    private Long sellerId;
+    private final List<Long> auctionIds = new ArrayList<>();
+    private final List<Long> petIds = new ArrayList<>();
+
+    // how many times each of this test's auctions was closed, across both nodes
+    private final Map<Long, AtomicInteger> closes = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        secondNode = new SpringApplicationBuilder(PawctionApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("auction.scheduler.wheel-enabled=false", "spring.jmx.enabled=false")
+                .run();
+
+        User seller = new User();
+        seller.setName("Shard Seller");
+        seller.setEmail("shard.seller@example.com");
+        seller.setPasswordHash("secret");
+        seller = userRepository.save(seller);
+        sellerId = seller.getUserId();
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < AUCTIONS; i++) {
+            Pet pet = new Pet();
+            pet.setPetName("Shard Pet " + i);
+            pet.setPetAgeMonths(18);
+            pet.setPetSex(Sex.M);
+            pet.setPetWeight(8.5);
+            pet.setPetCategory(Category.Dog);
+            pet.setDogBreed("Beagle");
+            pet.setDogSize(Size.MEDIUM);
+            pet.setDogTemperament("Friendly");
+            pet.setDogIsHypoallergenic(Allergy.UNKNOWN);
+            pet.setPrimaryPhotoUrl("photo-url");
+            pet.setOwner(seller);
+            pet = petRepository.save(pet);
+            petIds.add(pet.getPetId());
+
+            Auction auction = new Auction();
+            auction.setPet(pet);
+            auction.setSellingUser(seller);
+            auction.setDescription("Shard auction " + i);
+            auction.setStartPrice(new BigDecimal("20.00"));
+            auction.setHighestBid(new BigDecimal("20.00"));
+            auction.setStatus(Auction_Status.LIVE);
+            auction.setCreatedAt(now.minusHours(2));
+            auction.setUpdatedAt(now.minusHours(2));
+            auction.setEndTime(now.minusMinutes(1));
+            auctionIds.add(auctionRepository.save(auction).getAuctionId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (secondNode != null) {
+            secondNode.close();
+        }
+        deleteWhere("settlement_timer", "auction_id", auctionIds);
+        deleteWhere("auction", "auction_id", auctionIds);
+        deleteWhere("pet", "pet_id", petIds);
+        if (sellerId != null) {
+            deleteWhere("user", "user_id", List.of(sellerId));
+        }
+    }
+
+    private void deleteWhere(String table, String column, List<Long> ids) {
+        for (var id : ids) {
+            jdbcTemplate.update("delete from `" + table + "` where " + column + " = ?", id);
+        }
+    }
+
+    /**
+     * Runs one close pass of a node over its leasable shards, closing only this test's auctions
+     * and counting every close it makes.
+     */
+    private void closeOwnAuctions(AuctionCloseShards shards, AuctionService service) {
+        var now = LocalDateTime.now();
+        shards.closeExpired(now, id -> {
+            if (!auctionIds.contains(id) || !service.closeOneIfExpired(id, now)) return false;
+            closes.computeIfAbsent(id, k -> new AtomicInteger()).incrementAndGet();
+            return true;
+        });
+    }
+
+    @Test
+    @DisplayName("closeExpired: two nodes split the shards and close every auction once")
+    void twoNodes_closeEveryAuctionOnce() {
+        var otherShards = secondNode.getBean(AuctionCloseShards.class);
+        var otherService = secondNode.getBean(AuctionService.class);
+
+        var first = CompletableFuture.runAsync(() -> closeOwnAuctions(auctionCloseShards, auctionService));
+        var second = CompletableFuture.runAsync(() -> closeOwnAuctions(otherShards, otherService));
+        CompletableFuture.allOf(first, second).join();
+
+        assertThat(closes.keySet()).containsExactlyInAnyOrderElementsOf(auctionIds);
+        assertThat(closes.values()).allMatch(count -> count.get() == 1);
+        assertThat(auctionRepository.findAllById(auctionIds))
+                .hasSize(AUCTIONS)
+                .allMatch(a -> a.getStatus() == Auction_Status.SETTLED);
+    }
+
+    @Test
+    @DisplayName("closeExpired: shards leased by a dead node are taken over once the lease lapses")
+    void deadNode_shardsAreTakenOver() throws InterruptedException {
+        var lease = Duration.ofSeconds(2);
+        var deadNodeLocks = secondNode.getBean(LockProvider.class);
+        int shards = secondNode.getBean(AuctionSchedulerProperties.class).getCloseShards();
+        for (int shard = 0; shard < shards; shard++) {
+            // never unlocked, as if the node died while closing
+            assertThat(deadNodeLocks.lock(new LockConfiguration(
+                    Instant.now(), AuctionCloseShards.LOCK_PREFIX + shard, lease, Duration.ZERO))).isPresent();
+        }
+        secondNode.close();
+        secondNode = null;
+
+        closeOwnAuctions(auctionCloseShards, auctionService);
+        assertThat(closes).isEmpty();
+
+        Thread.sleep(lease.plusMillis(500).toMillis());
+
+        closeOwnAuctions(auctionCloseShards, auctionService);
+        assertThat(closes.keySet()).containsExactlyInAnyOrderElementsOf(auctionIds);
+        assertThat(closes.values()).allMatch(count -> count.get() == 1);
+        assertThat(auctionRepository.findAllById(auctionIds))
+                .hasSize(AUCTIONS)
+                .allMatch(a -> a.getStatus() == Auction_Status.SETTLED);
+    }
+}
@@ -4,6 +4,7 @@ import com.voti.pawction.dtos.request.AuctionRequest.CreateAuctionRequest;
 import com.voti.pawction.dtos.request.AuctionRequest.UpdateAuctionDetailRequest;
 import com.voti.pawction.dtos.request.AuctionRequest.UpdateAuctionEndTimeRequest;
 import com.voti.pawction.dtos.request.PetRequest.UpdatePetWhenAuctionLiveRequest;
+import com.voti.pawction.dtos.response.AuctionCardDto;
 import com.voti.pawction.dtos.response.AuctionDto;
 import com.voti.pawction.entities.User;
 import com.voti.pawction.entities.auction.Auction;
@@ -16,14 +17,20 @@ import com.voti.pawction.exceptions.AuctionExceptions.InvalidAuctionException;
 import com.voti.pawction.repositories.UserRepository;
 import com.voti.pawction.repositories.auction.AuctionRepository;
 import com.voti.pawction.repositories.pet.PetRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,12 +43,18 @@ class AuctionServiceTest {
     @Autowired private UserRepository userRepository;
     @Autowired private PetRepository petRepository;
     @Autowired private AuctionRepository auctionRepository;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private JdbcTemplate jdbcTemplate;
 
     private Long sellerId;
     private Long petId;
     private Long auctionId;
     private AuctionDto auctionDto;
 
+    // rows committed by a non-transactional test, removed afterwards so later tests start clean
+    private final List<Long> committedAuctionIds = new ArrayList<>();
+    private final List<Long> committedPetIds = new ArrayList<>();
+    private final List<Long> committedUserIds = new ArrayList<>();
 
     @BeforeEach
     void setUp() {
@@ -90,6 +103,20 @@ class AuctionServiceTest {
         assertThat(a.getHighestBid()).isEqualByComparingTo("20.00");
     }
 
+    @AfterEach
+    void tearDown() {
+        deleteWhere("settlement_timer", "auction_id", committedAuctionIds);
+        deleteWhere("auction", "auction_id", committedAuctionIds);
+        deleteWhere("pet", "pet_id", committedPetIds);
+        deleteWhere("user", "user_id", committedUserIds);
+    }
+
+    private void deleteWhere(String table, String column, List<Long> ids) {
+        for (var id : ids) {
+            jdbcTemplate.update("delete from `" + table + "` where " + column + " = ?", id);
+        }
+    }
+
     // -------------------------------------------------------------------------
     // create
     // -------------------------------------------------------------------------
@@ -137,6 +164,74 @@ class AuctionServiceTest {
                 () -> auctionService.create(sellerId, petId, req));
     }
 
+    @Test
+    @Transactional
+    @DisplayName("create: a future startAt leaves the auction SCHEDULED")
+    void create_futureStart_isScheduled() {
+        CreateAuctionRequest req = new CreateAuctionRequest();
+        req.setStartPrice(new BigDecimal("15.00"));
+        req.setDescription("Scheduled auction");
+        req.setStartAt(LocalDateTime.now().plusHours(2));
+        req.setEndedAt(LocalDateTime.now().plusDays(1));
+
+        AuctionDto dto = auctionService.create(sellerId, newPetId("Scheduled Pet"), req);
+
+        Auction persisted = auctionRepository.findById(dto.getAuctionId()).orElseThrow();
+        assertThat(persisted.getStatus()).isEqualTo(Auction_Status.SCHEDULED);
+        assertThat(persisted.getStartTime()).isAfter(LocalDateTime.now().plusHours(1));
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("activateScheduled: flips due auctions to LIVE and skips canceled ones")
+    void activateScheduled_activatesDueAuctions() {
+        Long due = scheduledAuction("Due Pet");
+        Long canceled = scheduledAuction("Canceled Pet");
+        auctionService.cancel(canceled);
+
+        var cards = auctionRepository.findCardsByStatusAndStartTimeLteAfter(
+                Auction_Status.SCHEDULED, LocalDateTime.now().plusMinutes(1), 0L, PageRequest.of(0, 100));
+        assertThat(cards).extracting(AuctionCardDto::getAuctionId).contains(due).doesNotContain(canceled);
+
+        var live = auctionService.activateScheduled(
+                cards.stream().filter(c -> c.getAuctionId().equals(due)).toList());
+
+        assertThat(live).extracting(AuctionCardDto::getAuctionId).containsExactly(due);
+        assertThat(auctionRepository.findById(due).orElseThrow().getStatus()).isEqualTo(Auction_Status.LIVE);
+        assertThat(auctionRepository.findById(canceled).orElseThrow().getStatus()).isEqualTo(Auction_Status.CANCELED);
+    }
+
+    /** A SCHEDULED auction whose start time has just passed. */
+    private Long scheduledAuction(String petName) {
+        CreateAuctionRequest req = new CreateAuctionRequest();
+        req.setStartPrice(new BigDecimal("15.00"));
+        req.setDescription("Scheduled auction");
+        req.setStartAt(LocalDateTime.now().plusHours(1));
+        req.setEndedAt(LocalDateTime.now().plusDays(1));
+        Long id = auctionService.create(sellerId, newPetId(petName), req).getAuctionId();
+
+        Auction a = auctionRepository.findById(id).orElseThrow();
+        a.setStartTime(LocalDateTime.now().minusSeconds(5));
+        auctionRepository.saveAndFlush(a);
+        return id;
+    }
+
+    private Long newPetId(String name) {
+        Pet pet = new Pet();
+        pet.setPetName(name);
+        pet.setPetAgeMonths(12);
+        pet.setPetSex(Sex.F);
+        pet.setPetWeight(4.0);
+        pet.setPetCategory(Category.Dog);
+        pet.setDogBreed("Beagle");
+        pet.setDogSize(Size.SMALL);
+        pet.setDogTemperament("Calm");
+        pet.setDogIsHypoallergenic(Allergy.UNKNOWN);
+        pet.setPrimaryPhotoUrl("photo-url");
+        pet.setOwner(userRepository.findById(sellerId).orElseThrow());
+        return petRepository.save(pet).getPetId();
+    }
+
     // -------------------------------------------------------------------------
     // updateAuctionDetail
     // -------------------------------------------------------------------------
@@ -342,4 +437,71 @@ class AuctionServiceTest {
         assertThat(reloaded.getWinningUser()).isNull();
         assertThat(reloaded.getEndTime()).isBeforeOrEqualTo(LocalDateTime.now());
     }
-}
\ No newline at end of file
+
+    // -------------------------------------------------------------------------
+    // closeExpiredAuctions
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("closeExpiredAuctions: closes each expired auction in its own transaction")
+    void closeExpiredAuctions_closesEachExpiredAuction() {
+        // not @Transactional: each close commits on its own, so setUp's rows are committed too
+        committedUserIds.add(sellerId);
+        committedPetIds.add(petId);
+        committedAuctionIds.add(auctionId);
+
+        Pet secondPet = new Pet();
+        secondPet.setPetName("Second Auction Pet");
+        secondPet.setPetAgeMonths(12);
+        secondPet.setPetSex(Sex.F);
+        secondPet.setPetWeight(6.0);
+        secondPet.setPetCategory(Category.Dog);
+        secondPet.setDogBreed("Beagle");
+        secondPet.setDogSize(Size.SMALL);
+        secondPet.setDogTemperament("Calm");
+        secondPet.setDogIsHypoallergenic(Allergy.UNKNOWN);
+        secondPet.setPrimaryPhotoUrl("photo-url");
+        secondPet.setOwner(userRepository.findById(sellerId).orElseThrow());
+        Long secondPetId = petRepository.save(secondPet).getPetId();
+        committedPetIds.add(secondPetId);
+
+        CreateAuctionRequest req = new CreateAuctionRequest();
+        req.setStartPrice(new BigDecimal("15.00"));
+        req.setDescription("Second auction");
+        req.setEndedAt(LocalDateTime.now().plusDays(1));
+        Long secondId = auctionService.create(sellerId, secondPetId, req).getAuctionId();
+        committedAuctionIds.add(secondId);
+
+        for (Long id : new Long[]{auctionId, secondId}) {
+            Auction a = auctionRepository.findById(id).orElseThrow();
+            a.setEndTime(LocalDateTime.now().minusMinutes(1));
+            auctionRepository.save(a);
+        }
+
+        auctionService.closeExpiredAuctions();
+
+        assertThat(auctionRepository.findAllById(List.of(auctionId, secondId)))
+                .hasSize(2)
+                .allMatch(a -> a.getStatus() == Auction_Status.SETTLED);
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("closeOneIfExpired: records close lag and counts closes later than the grace window")
+    void closeOneIfExpired_recordsLag() {
+        Auction a = auctionRepository.findById(auctionId).orElseThrow();
+        a.setEndTime(LocalDateTime.now().minusMinutes(1));
+        auctionRepository.save(a);
+
+        long closesBefore = meterRegistry.get("auction.close.lag").timer().count();
+        double lateBefore = meterRegistry.get("auction.close.late").counter().count();
+
+        assertTrue(auctionService.closeOneIfExpired(auctionId, LocalDateTime.now()));
+
+        var lag = meterRegistry.get("auction.close.lag").timer();
+        assertThat(lag.count()).isEqualTo(closesBefore + 1);
+        assertThat(lag.max(TimeUnit.SECONDS)).isGreaterThanOrEqualTo(59);
+        assertThat(meterRegistry.get("auction.close.late").counter().count()).isEqualTo(lateBefore + 1);
+        assertThat(meterRegistry.get("auction.end.duration").timer().count()).isPositive();
+    }
+}
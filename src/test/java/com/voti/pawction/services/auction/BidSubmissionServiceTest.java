@@ -0,0 +1,238 @@
+package com.voti.pawction.services.auction;
+
+import com.voti.pawction.config.BidAdmissionProperties;
+import com.voti.pawction.config.BiddingProperties;
+import com.voti.pawction.dtos.response.BidDto;
+import com.voti.pawction.entities.auction.Bid;
+import com.voti.pawction.entities.auction.CeilingRaise;
+import com.voti.pawction.entities.auction.enums.Bid_Status;
+import com.voti.pawction.exceptions.AuctionExceptions.AuctionInvalidStateException;
+import com.voti.pawction.exceptions.BidExceptions.BidRateLimitedException;
+import com.voti.pawction.mappers.BidMapper;
+import com.voti.pawction.repositories.auction.BidRepository;
+import com.voti.pawction.repositories.auction.CeilingRaiseRepository;
+import com.voti.pawction.services.auction.admission.BidAdmissionLimiter;
+import com.voti.pawction.services.auction.idempotency.BidIdempotencyCache;
+import com.voti.pawction.services.auction.policy.AuctionPolicy;
+import com.voti.pawction.services.auction.ratelimit.BidRateLimiter;
+import com.voti.pawction.services.auction.sequencer.BidSequencer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import javax.sql.DataSource;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Idempotent submission against mocked bid paths, so that a first attempt can be held open
+ * while its duplicate arrives.
+ */
+class BidSubmissionServiceTest {
+    private static final Long BIDDER_ID = 10L;
+    private static final Long AUCTION_ID = 1L;
+    private static final BigDecimal AMOUNT = new BigDecimal("110.00");
+
+    private final BiddingService biddingService = mock(BiddingService.class);
+    private final BidSequencer bidSequencer = mock(BidSequencer.class);
+    private final BidRepository bidRepository = mock(BidRepository.class);
+    private final BidMapper bidMapper = mock(BidMapper.class);
+    private final CeilingRaiseRepository ceilingRaiseRepository = mock(CeilingRaiseRepository.class);
+    private final BidRateLimiter bidRateLimiter = mock(BidRateLimiter.class);
+    private final BiddingProperties props = new BiddingProperties();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private BidSubmissionService submissions;
+
+    @BeforeEach
+    void setUp() {
+        var admission = new BidAdmissionProperties();
+        admission.setInitialLimit(1);
+        admission.setMaxLimit(1);
+        submissions = new BidSubmissionService(
+                biddingService,
+                bidSequencer,
+                mock(AuctionPolicy.class),
+                props,
+                new BidIdempotencyCache(props, Clock.systemUTC()),
+                bidRepository,
+                bidMapper,
+                bidRateLimiter,
+                new BidAdmissionLimiter(admission, mock(DataSource.class), registry),
+                ceilingRaiseRepository);
+        when(bidRepository.findByUser_UserIdAndIdempotencyKey(any(), any())).thenReturn(Optional.empty());
+        when(ceilingRaiseRepository.findByUserIdAndIdempotencyKey(any(), any())).thenReturn(Optional.empty());
+    }
+
+    private static BidDto bid(Long bidId) {
+        return new BidDto(bidId, BIDDER_ID, AUCTION_ID, AMOUNT, Bid_Status.WINNING, LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("submit: a repeated key is replayed from memory without bidding again")
+    void submit_repeatedKey_replaysFromCache() {
+        props.setMode(BiddingProperties.Mode.LOCKING);
+        var first = bid(1L);
+        when(biddingService.placeBid(BIDDER_ID, AUCTION_ID, AMOUNT, "k-1")).thenReturn(first);
+
+        var a = submissions.submit(BIDDER_ID, AUCTION_ID, AMOUNT, "k-1");
+        var b = submissions.submit(BIDDER_ID, AUCTION_ID, AMOUNT, "k-1");
+
+        assertThat(a).isSameAs(first);
+        assertThat(b).isSameAs(first);
+        verify(biddingService, times(1)).placeBid(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("submit: resending a recorded bid gives its rate-limit token back")
+    void submit_recordedKey_refundsToken() {
+        props.setMode(BiddingProperties.Mode.LOCKING);
+        var row = new Bid();
+        var recorded = bid(4L);
+        when(bidRepository.findByUser_UserIdAndIdempotencyKey(BIDDER_ID, "k-1")).thenReturn(Optional.of(row));
+        when(bidMapper.toDto(row)).thenReturn(recorded);
+
+        assertThat(submissions.submit(BIDDER_ID, AUCTION_ID, AMOUNT, "k-1")).isSameAs(recorded);
+
+        verify(bidRateLimiter).acquire(BIDDER_ID, AUCTION_ID);
+        verify(bidRateLimiter).refund(BIDDER_ID, AUCTION_ID);
+        verify(biddingService, never()).placeBid(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("submit: a new key from a bidder with no tokens left is refused before any database work")
+    void submit_newKeyWithoutTokens_rejectedBeforeDatabase() {
+        props.setMode(BiddingProperties.Mode.LOCKING);
+        doThrow(new BidRateLimitedException("Too many bids")).when(bidRateLimiter).acquire(any(), any());
+
+        assertThrows(BidRateLimitedException.class,
+                () -> submissions.submit(BIDDER_ID, AUCTION_ID, AMOUNT, "k-new"));
+
+        verifyNoInteractions(bidRepository, ceilingRaiseRepository, biddingService, bidSequencer);
+        assertThat(registry.get("auction.bids.in_flight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("submit: a duplicate arriving while the first attempt runs waits for its result")
+    void submit_concurrentDuplicate_waitsForFirst() throws Exception {
+        props.setMode(BiddingProperties.Mode.LOCKING);
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var first = bid(1L);
+        when(biddingService.placeBid(BIDDER_ID, AUCTION_ID, AMOUNT, "k-1")).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return first;
+        });
+
+        try (var pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            var a = CompletableFuture.supplyAsync(() -> submissions.submit(BIDDER_ID, AUCTION_ID, AMOUNT, "k-1"), pool);
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            // the only admission slot is taken by the first attempt, so the duplicate must wait without one
+            var b = CompletableFuture.supplyAsync(() -> submissions.submit(BIDDER_ID, AUCTION_ID, AMOUNT, "k-1"), pool);
+
+            Thread.sleep(50);
+            assertThat(b).isNotDone();
+
+            release.countDown();
+            assertThat(a.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            assertThat(b.get(5, TimeUnit.SECONDS)).isSameAs(first);
+        }
+        verify(biddingService, times(1)).placeBid(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("submit: a sequenced bid holds no admission slot while it waits on the auction's lane")
+    void submit_sequenced_holdsNoSlotWhileQueued() throws Exception {
+        props.setMode(BiddingProperties.Mode.SEQUENCED);
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(bidSequencer.submit(BIDDER_ID, AUCTION_ID, AMOUNT, null)).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return bid(1L);
+        });
+        when(biddingService.placeBid(BIDDER_ID + 1, AUCTION_ID + 1, AMOUNT, null)).thenReturn(bid(2L));
+
+        try (var pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            var queued = CompletableFuture.supplyAsync(() -> submissions.submit(BIDDER_ID, AUCTION_ID, AMOUNT, null), pool);
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(registry.get("auction.bids.in_flight").gauge().value()).isZero();
+
+            // the single slot is still free for a bid on another auction
+            props.setMode(BiddingProperties.Mode.LOCKING);
+            assertThat(submissions.submit(BIDDER_ID + 1, AUCTION_ID + 1, AMOUNT, null).getBidId()).isEqualTo(2L);
+
+            release.countDown();
+            assertThat(queued.get(5, TimeUnit.SECONDS).getBidId()).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    @DisplayName("submit: a failed submission gives its admission slot back")
+    void submit_failure_releasesAdmissionSlot() {
+        props.setMode(BiddingProperties.Mode.LOCKING);
+        when(biddingService.placeBid(any(), any(), any(), any()))
+                .thenThrow(new AuctionInvalidStateException("Auction already ended"))
+                .thenReturn(bid(2L));
+
+        assertThrows(AuctionInvalidStateException.class,
+                () -> submissions.submit(BIDDER_ID, AUCTION_ID, AMOUNT, null));
+
+        assertThat(registry.get("auction.bids.in_flight").gauge().value()).isZero();
+        // the single slot is free again
+        assertThat(submissions.submit(BIDDER_ID, AUCTION_ID, AMOUNT, null).getBidId()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("submit: a key recorded by another node is answered from the bid row after the constraint fires")
+    void submit_sequencedDuplicateOnWrite_recoversRecordedBid() {
+        props.setMode(BiddingProperties.Mode.SEQUENCED);
+        var row = new Bid();
+        var recorded = bid(5L);
+        when(bidSequencer.submit(BIDDER_ID, AUCTION_ID, AMOUNT, "k-1"))
+                .thenThrow(new DataIntegrityViolationException("uq_bid_user_idempotency_key"));
+        when(bidRepository.findByUser_UserIdAndIdempotencyKey(BIDDER_ID, "k-1"))
+                .thenReturn(Optional.empty(), Optional.of(row));
+        when(bidMapper.toDto(row)).thenReturn(recorded);
+
+        assertThat(submissions.submit(BIDDER_ID, AUCTION_ID, AMOUNT, "k-1")).isSameAs(recorded);
+    }
+
+    @Test
+    @DisplayName("submitProxy: a retried ceiling raise is answered from the recorded raise")
+    void submitProxy_retriedCeilingRaise_isAnswered() {
+        props.setMode(BiddingProperties.Mode.LOCKING);
+        var raise = CeilingRaise.builder()
+                .bidId(3L)
+                .userId(BIDDER_ID)
+                .auctionId(AUCTION_ID)
+                .price(AMOUNT)
+                .maxAmount(new BigDecimal("500.00"))
+                .idempotencyKey("k-2")
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(ceilingRaiseRepository.findByUserIdAndIdempotencyKey(BIDDER_ID, "k-2")).thenReturn(Optional.of(raise));
+
+        var result = submissions.submitProxy(BIDDER_ID, AUCTION_ID, new BigDecimal("500.00"), "k-2");
+
+        assertThat(result.getBidId()).isEqualTo(3L);
+        assertThat(result.getAmount()).isEqualByComparingTo(AMOUNT);
+        verify(biddingService, never()).placeProxyBid(any(), any(), any(), any());
+    }
+}
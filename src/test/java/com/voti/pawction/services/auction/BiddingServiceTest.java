@@ -1,5 +1,6 @@
 package com.voti.pawction.services.auction;
 
+import com.voti.pawction.dtos.response.AccountSnapshot;
 import com.voti.pawction.dtos.response.BidDto;
 import com.voti.pawction.entities.User;
 import com.voti.pawction.entities.auction.Auction;
@@ -19,12 +20,16 @@ import com.voti.pawction.repositories.auction.AuctionRepository;
 import com.voti.pawction.repositories.auction.BidRepository;
 import com.voti.pawction.repositories.pet.PetRepository;
 import com.voti.pawction.services.auction.policy.AuctionPolicy;
+import com.voti.pawction.services.auction.policy.BidVerdict;
 import com.voti.pawction.services.wallet.AccountService;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.transaction.annotation.Transactional;
@@ -47,6 +52,7 @@ class BiddingServiceTest {
     @Autowired private AuctionRepository auctionRepository;
     @Autowired private BidRepository bidRepository;
     @Autowired private PetRepository petRepository;
+    @Autowired private EntityManager entityManager;
 
     @MockitoBean private AuctionPolicy auctionPolicy;
     @MockitoBean private AccountService accountService;
@@ -138,10 +144,10 @@ class BiddingServiceTest {
         BigDecimal requiredHold = new BigDecimal("10.00");
         BigDecimal bidAmount = new BigDecimal("30.00");
 
-        when(auctionPolicy.requireAmount(auctionId)).thenReturn(requiredHold);
-        when(auctionPolicy.isValidIncrement(eq(auctionId), eq(bidAmount))).thenReturn(true);
-        when(accountService.getAvailable(bidderId)).thenReturn(new BigDecimal("100.00"));
-        when(accountService.placeHold(eq(bidderId), eq(auctionId), eq(requiredHold))).thenReturn(null);
+        AccountSnapshot snapshot = snapshot(bidderId, "100.00");
+        when(accountService.getBidSnapshot(bidderId, auctionId)).thenReturn(snapshot);
+        when(auctionPolicy.evaluate(any(Auction.class), eq(bidAmount), eq(snapshot)))
+                .thenReturn(verdict(null, requiredHold));
 
         // Act
         BidDto dto = biddingService.placeBid(bidderId, auctionId, bidAmount);
@@ -163,8 +169,61 @@ class BiddingServiceTest {
         assertEquals(bidderId, winningBid.getUser().getUserId());
 
         // Assert: wallet interactions
-        verify(accountService).getAvailable(bidderId);
-        verify(accountService).placeHold(bidderId, auctionId, requiredHold);
+        verify(accountService).getBidSnapshot(bidderId, auctionId);
+        verify(accountService).placeHold(eq(snapshot), any(Auction.class), eq(requiredHold));
+    }
+
+    @Test
+    @DisplayName("placeBid: a bid inside the soft-close window pushes the end time out")
+    @Transactional
+    void placeBid_softCloseWindow_extendsEndTime() {
+        // Arrange: 30s left on a soft-close auction with a 2 minute window and extension
+        LocalDateTime endTime = LocalDateTime.now().plusSeconds(30);
+        auction.setEndTime(endTime);
+        auction.setSoftCloseWindowSeconds(120);
+        auction.setSoftCloseExtensionSeconds(120);
+        auctionRepository.save(auction);
+
+        BigDecimal bidAmount = new BigDecimal("30.00");
+        AccountSnapshot snapshot = snapshot(bidderId, "100.00");
+        when(accountService.getBidSnapshot(bidderId, auctionId)).thenReturn(snapshot);
+        when(auctionPolicy.evaluate(any(Auction.class), eq(bidAmount), eq(snapshot)))
+                .thenReturn(verdict(null, new BigDecimal("10.00")));
+
+        // Act
+        LocalDateTime before = LocalDateTime.now();
+        biddingService.placeBid(bidderId, auctionId, bidAmount);
+
+        // Assert: the auction now ends two minutes after the bid
+        Auction reloaded = auctionRepository.findById(auctionId).orElseThrow();
+        assertThat(reloaded.getEndTime()).isAfter(endTime);
+        assertThat(reloaded.getEndTime()).isAfterOrEqualTo(before.plusSeconds(119));
+        // end_time keeps whole seconds; the published deadline must match what is stored
+        assertThat(reloaded.getEndTime().getNano()).isZero();
+    }
+
+    @Test
+    @DisplayName("placeBid: a bid before the soft-close window leaves the end time alone")
+    @Transactional
+    void placeBid_beforeSoftCloseWindow_keepsEndTime() {
+        // Arrange: one day left, window is only 2 minutes
+        auction.setSoftCloseWindowSeconds(120);
+        auction.setSoftCloseExtensionSeconds(120);
+        auctionRepository.save(auction);
+        LocalDateTime endTime = auction.getEndTime();
+
+        BigDecimal bidAmount = new BigDecimal("30.00");
+        AccountSnapshot snapshot = snapshot(bidderId, "100.00");
+        when(accountService.getBidSnapshot(bidderId, auctionId)).thenReturn(snapshot);
+        when(auctionPolicy.evaluate(any(Auction.class), eq(bidAmount), eq(snapshot)))
+                .thenReturn(verdict(null, new BigDecimal("10.00")));
+
+        // Act
+        biddingService.placeBid(bidderId, auctionId, bidAmount);
+
+        // Assert
+        Auction reloaded = auctionRepository.findById(auctionId).orElseThrow();
+        assertThat(reloaded.getEndTime()).isEqualTo(endTime);
     }
 
     @Test
@@ -208,8 +267,10 @@ class BiddingServiceTest {
     void placeBid_invalidIncrement_throws() {
         BigDecimal bidAmount = new BigDecimal("21.00");
 
-        when(auctionPolicy.requireAmount(auctionId)).thenReturn(new BigDecimal("5.00"));
-        when(auctionPolicy.isValidIncrement(eq(auctionId), eq(bidAmount))).thenReturn(false);
+        AccountSnapshot snapshot = snapshot(bidderId, "100.00");
+        when(accountService.getBidSnapshot(bidderId, auctionId)).thenReturn(snapshot);
+        when(auctionPolicy.evaluate(any(Auction.class), eq(bidAmount), eq(snapshot)))
+                .thenReturn(verdict(BidVerdict.Rejection.INCREMENT_TOO_LOW, new BigDecimal("5.00")));
 
         var ex = assertThrows(
                 InvalidBidException.class,
@@ -217,9 +278,8 @@ class BiddingServiceTest {
         );
         assertTrue(ex.getMessage().toLowerCase().contains("bid must be at least"));
 
-        // No wallet calls for invalid increment
-        verify(accountService, never()).getAvailable(anyLong());
-        verify(accountService, never()).placeHold(anyLong(), anyLong(), any());
+        // No hold for invalid increment
+        verify(accountService, never()).placeHold(any(AccountSnapshot.class), any(), any());
     }
 
     @Test
@@ -229,9 +289,10 @@ class BiddingServiceTest {
         BigDecimal requiredHold = new BigDecimal("50.00");
         BigDecimal bidAmount = new BigDecimal("30.00");
 
-        when(auctionPolicy.requireAmount(auctionId)).thenReturn(requiredHold);
-        when(auctionPolicy.isValidIncrement(eq(auctionId), eq(bidAmount))).thenReturn(true);
-        when(accountService.getAvailable(bidderId)).thenReturn(new BigDecimal("10.00"));
+        AccountSnapshot snapshot = snapshot(bidderId, "10.00");
+        when(accountService.getBidSnapshot(bidderId, auctionId)).thenReturn(snapshot);
+        when(auctionPolicy.evaluate(any(Auction.class), eq(bidAmount), eq(snapshot)))
+                .thenReturn(verdict(BidVerdict.Rejection.INSUFFICIENT_FUNDS, requiredHold));
 
         var ex = assertThrows(
                 InvalidBidException.class,
@@ -240,8 +301,160 @@ class BiddingServiceTest {
         assertTrue(ex.getMessage().toLowerCase().contains("insufficient funds"));
 
         // Hold should not be placed when funds are insufficient
-        verify(accountService).getAvailable(bidderId);
-        verify(accountService, never()).placeHold(anyLong(), anyLong(), any());
+        verify(accountService).getBidSnapshot(bidderId, auctionId);
+        verify(accountService, never()).placeHold(any(AccountSnapshot.class), any(), any());
+    }
+
+    @Test
+    @DisplayName("placeBid: keeps winner/runner-up pointers and bid count, demotes only the previous winner")
+    @Transactional
+    void placeBid_maintainsPointersAndCount_andDemotesPreviousWinner() {
+        BigDecimal requiredHold = new BigDecimal("10.00");
+        when(accountService.getBidSnapshot(anyLong(), eq(auctionId))).thenReturn(snapshot(bidderId, "100.00"));
+        when(auctionPolicy.evaluate(any(Auction.class), any(BigDecimal.class), any(AccountSnapshot.class)))
+                .thenReturn(verdict(null, requiredHold));
+
+        BidDto first = biddingService.placeBid(bidderId, auctionId, new BigDecimal("25.00"));
+        BidDto second = biddingService.placeBid(bidderId, auctionId, new BigDecimal("30.00"));
+
+        Auction reloaded = auctionRepository.findById(auctionId).orElseThrow();
+        assertEquals(second.getBidId(), reloaded.getWinningBidId());
+        assertEquals(first.getBidId(), reloaded.getRunnerUpBidId());
+        assertEquals(2, reloaded.getBidCount());
+        assertEquals(first.getBidId(), biddingService.getSecondHighestBid(auctionId).orElseThrow().getBidId());
+        assertEquals(Bid_Status.OUTBID, bidRepository.findById(first.getBidId()).orElseThrow().getBidStatus());
+        assertEquals(Bid_Status.WINNING, bidRepository.findById(second.getBidId()).orElseThrow().getBidStatus());
+
+        biddingService.finalizeBidsOnClose(auctionId);
+        assertEquals(Bid_Status.WON, bidRepository.findById(second.getBidId()).orElseThrow().getBidStatus());
+        assertEquals(Bid_Status.OUTBID, bidRepository.findById(first.getBidId()).orElseThrow().getBidStatus());
+    }
+
+    @Test
+    @DisplayName("placeBid: records the idempotency key and rejects a second bid with the same key")
+    @Transactional
+    void placeBid_duplicateIdempotencyKey_rejectedByConstraint() {
+        when(accountService.getBidSnapshot(anyLong(), eq(auctionId))).thenReturn(snapshot(bidderId, "100.00"));
+        when(auctionPolicy.evaluate(any(Auction.class), any(BigDecimal.class), any(AccountSnapshot.class)))
+                .thenReturn(verdict(null, new BigDecimal("10.00")));
+
+        BidDto first = biddingService.placeBid(bidderId, auctionId, new BigDecimal("25.00"), "form-1");
+
+        Bid recorded = bidRepository.findByUser_UserIdAndIdempotencyKey(bidderId, "form-1").orElseThrow();
+        assertEquals(first.getBidId(), recorded.getBidId());
+
+        assertThrows(
+                DataIntegrityViolationException.class,
+                () -> biddingService.placeBid(bidderId, auctionId, new BigDecimal("30.00"), "form-1")
+        );
+    }
+
+    @Test
+    @DisplayName("placeProxyBid: leader's maximum defends in one step, a higher bid then takes the lead")
+    @Transactional
+    void placeProxyBid_resolvesAgainstLeaderMaximum() {
+        Long firstId = bidder.getUserId();
+        Long secondId = bidder2.getUserId();
+        when(accountService.getBidSnapshot(anyLong(), eq(auctionId))).thenReturn(snapshot(firstId, "100.00"));
+        when(auctionPolicy.evaluate(any(Auction.class), any(BigDecimal.class), any(AccountSnapshot.class)))
+                .thenReturn(verdict(null, new BigDecimal("10.00")));
+        when(auctionPolicy.minimumNextBid(any(BigDecimal.class)))
+                .thenAnswer(inv -> inv.getArgument(0, BigDecimal.class).add(BigDecimal.ONE));
+
+        BidDto opening = biddingService.placeProxyBid(firstId, auctionId, new BigDecimal("50.00"), null);
+        assertEquals(Bid_Status.WINNING, opening.getStatus());
+        assertThat(opening.getAmount()).isEqualByComparingTo("21.00");
+
+        BidDto challenge = biddingService.placeProxyBid(secondId, auctionId, new BigDecimal("40.00"), null);
+        assertEquals(Bid_Status.OUTBID, challenge.getStatus());
+
+        Auction defended = auctionRepository.findById(auctionId).orElseThrow();
+        assertThat(defended.getHighestBid()).isEqualByComparingTo("41.00");
+        assertThat(defended.getLeaderMaxBid()).isEqualByComparingTo("50.00");
+        assertEquals(firstId, defended.getWinningUser().getUserId());
+        assertEquals(3, defended.getBidCount());
+
+        BidDto overtake = biddingService.placeBid(secondId, auctionId, new BigDecimal("60.00"));
+        assertEquals(Bid_Status.WINNING, overtake.getStatus());
+
+        Auction taken = auctionRepository.findById(auctionId).orElseThrow();
+        assertThat(taken.getHighestBid()).isEqualByComparingTo("60.00");
+        assertNull(taken.getLeaderMaxBid());
+        assertEquals(secondId, taken.getWinningUser().getUserId());
+        assertEquals(overtake.getBidId(), taken.getWinningBidId());
+        assertEquals(5, taken.getBidCount());
+        assertThat(bidRepository.findById(taken.getRunnerUpBidId()).orElseThrow().getAmount())
+                .isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    @DisplayName("placeProxyBid: leader raising its own maximum writes no bid and keeps the price")
+    @Transactional
+    void placeProxyBid_leaderRaisesCeiling_keepsPrice() {
+        Long leaderId = bidder.getUserId();
+        when(accountService.getBidSnapshot(anyLong(), eq(auctionId))).thenReturn(snapshot(leaderId, "100.00"));
+        when(auctionPolicy.evaluate(any(Auction.class), any(BigDecimal.class), any(AccountSnapshot.class)))
+                .thenReturn(verdict(null, new BigDecimal("10.00")));
+        when(auctionPolicy.minimumNextBid(any(BigDecimal.class)))
+                .thenAnswer(inv -> inv.getArgument(0, BigDecimal.class).add(BigDecimal.ONE));
+
+        biddingService.placeProxyBid(leaderId, auctionId, new BigDecimal("50.00"), null);
+        biddingService.placeProxyBid(leaderId, auctionId, new BigDecimal("80.00"), null);
+
+        Auction reloaded = auctionRepository.findById(auctionId).orElseThrow();
+        assertThat(reloaded.getHighestBid()).isEqualByComparingTo("21.00");
+        assertThat(reloaded.getLeaderMaxBid()).isEqualByComparingTo("80.00");
+        assertEquals(1, reloaded.getBidCount());
+        verify(accountService, times(1)).placeHold(any(AccountSnapshot.class), any(Auction.class), any());
+
+        assertThrows(InvalidBidException.class,
+                () -> biddingService.placeProxyBid(leaderId, auctionId, new BigDecimal("70.00"), null));
+    }
+
+    @Test
+    @DisplayName("placeBidOptimistic: applies bid and bumps the auction version")
+    @Transactional
+    void placeBidOptimistic_appliesBid_andBumpsVersion() {
+        BigDecimal requiredHold = new BigDecimal("10.00");
+        BigDecimal bidAmount = new BigDecimal("30.00");
+        long versionBefore = auction.getVersion();
+
+        AccountSnapshot snapshot = snapshot(bidderId, "100.00");
+        when(accountService.getBidSnapshot(bidderId, auctionId)).thenReturn(snapshot);
+        when(auctionPolicy.evaluate(any(Auction.class), eq(bidAmount), eq(snapshot)))
+                .thenReturn(verdict(null, requiredHold));
+
+        BidDto dto = biddingService.placeBidOptimistic(bidderId, auctionId, bidAmount, null);
+        assertThat(dto.getAmount()).isEqualByComparingTo(bidAmount);
+
+        Auction reloaded = auctionRepository.findById(auctionId).orElseThrow();
+        entityManager.refresh(reloaded);
+        assertThat(reloaded.getHighestBid()).isEqualByComparingTo(bidAmount);
+        assertEquals(bidderId, reloaded.getWinningUser().getUserId());
+        assertEquals(versionBefore + 1, reloaded.getVersion());
+
+        verify(accountService).placeHold(eq(snapshot), any(Auction.class), eq(requiredHold));
+    }
+
+    @Test
+    @DisplayName("placeBidOptimistic: stale version is rejected without placing a hold")
+    @Transactional
+    void placeBidOptimistic_staleVersion_throws() {
+        BigDecimal bidAmount = new BigDecimal("30.00");
+
+        when(accountService.getBidSnapshot(bidderId, auctionId)).thenReturn(snapshot(bidderId, "100.00"));
+        when(auctionPolicy.evaluate(any(Auction.class), eq(bidAmount), any(AccountSnapshot.class)))
+                .thenReturn(verdict(null, new BigDecimal("10.00")));
+
+        // A concurrent bid moves the row; the managed Auction still carries the old version.
+        auctionRepository.applyAcceptedBid(
+                auctionId, new BigDecimal("25.00"), bidder2, null, null, LocalDateTime.now(), Auction_Status.LIVE);
+
+        assertThrows(
+                OptimisticLockingFailureException.class,
+                () -> biddingService.placeBidOptimistic(bidderId, auctionId, bidAmount, null)
+        );
+        verify(accountService, never()).placeHold(any(AccountSnapshot.class), any(), any());
     }
 
     @Test
@@ -367,4 +580,12 @@ class BiddingServiceTest {
         // Should not throw
         assertDoesNotThrow(() -> biddingService.finalizeBidsOnClose(auctionId));
     }
-}
\ No newline at end of file
+
+    private static AccountSnapshot snapshot(Long accountId, String available) {
+        return new AccountSnapshot(accountId, new BigDecimal(available), BigDecimal.ZERO, null);
+    }
+
+    private static BidVerdict verdict(BidVerdict.Rejection rejection, BigDecimal requiredHold) {
+        return new BidVerdict(rejection, requiredHold, null);
+    }
+}
@@ -0,0 +1,133 @@
+package com.voti.pawction.services.auction;
+
+import com.voti.pawction.entities.User;
+import com.voti.pawction.entities.auction.Auction;
+import com.voti.pawction.entities.auction.enums.Auction_Status;
+import com.voti.pawction.entities.pet.Pet;
+import com.voti.pawction.entities.pet.enums.Allergy;
+import com.voti.pawction.entities.pet.enums.Category;
+import com.voti.pawction.entities.pet.enums.Sex;
+import com.voti.pawction.entities.pet.enums.Size;
+import com.voti.pawction.entities.wallet.Account;
+import com.voti.pawction.repositories.UserRepository;
+import com.voti.pawction.repositories.auction.AuctionRepository;
+import com.voti.pawction.repositories.pet.PetRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the number of SQL statements one {@link BiddingService#placeBid} issues.
+ * Runs the real policy and wallet services, unlike {@link BiddingServiceTest}.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class PlaceBidQueryCountTest {
+
+    /**
+     * User, locked auction (plus its eager pet/seller/winner), account snapshot,
+     * held-total reservation, hold insert, bid insert, auction update and previous-winner update.
+     */
+    private static final long MAX_STATEMENTS_PER_BID = 12;
+
+    @Autowired private BiddingService biddingService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private AuctionRepository auctionRepository;
+    @Autowired private PetRepository petRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Long auctionId;
+    private final List<Long> bidderIds = new ArrayList<>();
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        User seller = newUser("Seller", "seller@example.com", BigDecimal.ZERO);
+
+        for (int i = 0; i < 5; i++) {
+            bidderIds.add(newUser("Bidder " + i, "bidder" + i + "@example.com", new BigDecimal("500.00")).getUserId());
+        }
+
+        Pet pet = new Pet();
+        pet.setOwner(seller);
+        pet.setPetName("Barkley");
+        pet.setPetAgeMonths(18);
+        pet.setPetSex(Sex.M);
+        pet.setPetWeight(12.5);
+        pet.setPetCategory(Category.Dog);
+        pet.setDogBreed("Beagle");
+        pet.setDogSize(Size.MEDIUM);
+        pet.setDogTemperament("Friendly");
+        pet.setDogIsHypoallergenic(Allergy.UNKNOWN);
+        pet.setPrimaryPhotoUrl("notfound");
+        pet = petRepository.save(pet);
+
+        LocalDateTime now = LocalDateTime.now();
+        Auction auction = new Auction();
+        auction.setPet(pet);
+        auction.setSellingUser(seller);
+        auction.setDescription("Query count auction");
+        auction.setStartPrice(new BigDecimal("20.00"));
+        auction.setHighestBid(new BigDecimal("20.00"));
+        auction.setStatus(Auction_Status.LIVE);
+        auction.setCreatedAt(now);
+        auction.setUpdatedAt(now);
+        auction.setEndTime(now.plusDays(1));
+        auctionId = auctionRepository.save(auction).getAuctionId();
+    }
+
+    @Test
+    @DisplayName("placeBid: statement count is bounded and does not grow with the number of bids")
+    @Transactional
+    void placeBid_statementCount_isConstant() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> counts = new ArrayList<>();
+        BigDecimal amount = new BigDecimal("20.00");
+        for (Long bidderId : bidderIds) {
+            amount = amount.add(BigDecimal.TEN);
+            entityManager.clear();
+            stats.clear();
+
+            biddingService.placeBid(bidderId, auctionId, amount);
+
+            counts.add(stats.getPrepareStatementCount());
+        }
+
+        // the first bid has no previous winner to load, so compare from the second bid on
+        List<Long> steady = counts.subList(1, counts.size());
+        assertThat(steady).allMatch(c -> c.equals(steady.get(0)));
+        assertThat(steady.get(0)).isLessThanOrEqualTo(MAX_STATEMENTS_PER_BID);
+    }
+
+    private User newUser(String name, String email, BigDecimal balance) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPasswordHash("secret");
+
+        var account = new Account();
+        account.setBalance(balance);
+        account.setCreatedAt(LocalDateTime.now());
+        user.attachNewAccount(account);
+        return userRepository.save(user);
+    }
+}
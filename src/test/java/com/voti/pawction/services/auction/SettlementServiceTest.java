@@ -21,6 +21,7 @@ import com.voti.pawction.exceptions.PaymentExceptions.UnauthorizedPaymentExcepti
 import com.voti.pawction.repositories.UserRepository;
 import com.voti.pawction.repositories.auction.AuctionRepository;
 import com.voti.pawction.repositories.auction.BidRepository;
+import com.voti.pawction.repositories.auction.SettlementTimerRepository;
 import com.voti.pawction.repositories.pet.PetRepository;
 import com.voti.pawction.repositories.wallet.AccountRepository;
 import com.voti.pawction.repositories.wallet.DepositHoldRepository;
@@ -37,11 +38,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+// close plans are prepared explicitly; the background scan would not see the test's transaction
+@SpringBootTest(properties = "auction.scheduler.pre-close-scan-ms=3600000")
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class SettlementServiceTest {
 
@@ -66,12 +69,18 @@ class SettlementServiceTest {
     @Autowired
     private BidRepository bidRepository;
 
+    @Autowired
+    private SettlementTimerRepository settlementTimerRepository;
+
     @Autowired
     private BiddingService biddingService;
 
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private AuctionClosePlanner auctionClosePlanner;
+
     private Long auctionId;
     private Long sellerUserId;
     private Long winnerUserId;
@@ -184,32 +193,10 @@ class SettlementServiceTest {
         auction = auctionRepository.save(auction);
         auctionId = auction.getAuctionId();
 
-        // --- Deposit holds (winner + runner-up) ---
-
-        DepositHold winnerHold = winnerAcc.addHold(auction, new BigDecimal("10.00"));
-        depositHoldRepository.save(winnerHold);
-        accountRepository.save(winnerAcc);
-        auction.addDepositHold(winnerHold);
-        auctionRepository.save(auction);
-        depositHoldRepository.save(winnerHold);
-        winnerHoldId = winnerHold.getHoldId();
-
-
-        DepositHold runnerUpHold = runnerUpAcc.addHold(auction, new BigDecimal("10.00"));
-        depositHoldRepository.save(runnerUpHold);
-        accountRepository.save(runnerUpAcc);
-        auction.addDepositHold(runnerUpHold);
-        auctionRepository.save(auction);
-        depositHoldRepository.save(runnerUpHold);
-        runnerUpHoldId = runnerUpHold.getHoldId();
-
-        DepositHold loserHold = loserAcc.addHold(auction, new BigDecimal("10.00"));
-        depositHoldRepository.save(loserHold);
-        accountRepository.save(loserAcc);
-        auction.addDepositHold(loserHold);
-        auctionRepository.save(auction);
-        depositHoldRepository.save(loserHold);
-        loserHoldId = loserHold.getHoldId();
+        // --- Deposit holds (winner + runner-up + loser), funded so held_total matches the holds ---
+        winnerHoldId = fundedHold(winnerAccountId);
+        runnerUpHoldId = fundedHold(runnerUpAccountId);
+        loserHoldId = fundedHold(loserAccountId);
 
         // --- bids (winner + runner-up) ---
         Bid loserBid = new Bid();
@@ -258,6 +245,12 @@ class SettlementServiceTest {
         userRepository.save(winner);
     }
 
+    /** Deposits into the account and places its 10.00 hold on the auction through the wallet. */
+    private Long fundedHold(Long accountId) {
+        accountService.deposit(accountId, new BigDecimal("50.00"));
+        return accountService.placeHold(accountId, auctionId, new BigDecimal("10.00")).getHoldId();
+    }
+
     @Test
     @DisplayName("begin: ENDED auction sets winner + due date and releases non-winner holds")
     @Transactional
@@ -274,6 +267,81 @@ class SettlementServiceTest {
 
         DepositHold loserHold = depositHoldRepository.findById(loserHoldId).orElseThrow();
         assertEquals(Status.RELEASED, loserHold.getDepositStatus());
+
+        assertTrue(settlementTimerRepository.findById(auctionId).isPresent(),
+                "begin should register the payment deadline in the settlement timer index");
+    }
+
+    @Test
+    @DisplayName("settleOnClose: picks winner + runner-up, finalizes bids and releases only the other holds")
+    @Transactional
+    void settleOnClose_finalizesBids_andReleasesNonFinalistHolds() {
+        // datetime columns keep whole seconds and the bulk updates clear the persistence context
+        LocalDateTime dueAt = LocalDateTime.now().plusHours(72).truncatedTo(ChronoUnit.SECONDS);
+
+        settlementService.settleOnClose(auctionId, dueAt);
+
+        Auction reloaded = auctionRepository.findById(auctionId).orElseThrow();
+        assertEquals(winnerUserId, reloaded.getWinningUser().getUserId());
+        assertEquals(dueAt, reloaded.getPaymentDueDate());
+
+        Bid top = bidRepository.findTopByAuction_AuctionIdOrderByAmountDesc(auctionId).orElseThrow();
+        assertEquals(Bid_Status.WON, top.getBidStatus());
+        assertThat(bidRepository.findByAuction_AuctionIdOrderByBidTimeDesc(auctionId))
+                .filteredOn(b -> !b.getBidId().equals(top.getBidId()))
+                .allMatch(b -> b.getBidStatus() == Bid_Status.OUTBID);
+
+        assertEquals(Status.HELD, depositHoldRepository.findById(winnerHoldId).orElseThrow().getDepositStatus());
+        assertEquals(Status.HELD, depositHoldRepository.findById(runnerUpHoldId).orElseThrow().getDepositStatus());
+        assertEquals(Status.RELEASED, depositHoldRepository.findById(loserHoldId).orElseThrow().getDepositStatus());
+        assertTrue(settlementTimerRepository.findById(auctionId).isPresent());
+    }
+
+    @Test
+    @DisplayName("settleOnClose: applies a close plan prepared before the end time")
+    @Transactional
+    void settleOnClose_withClosePlan_releasesPlannedHolds() {
+        LocalDateTime dueAt = LocalDateTime.now().plusHours(72).truncatedTo(ChronoUnit.SECONDS);
+        endingSoon();
+
+        assertEquals(1, auctionClosePlanner.refresh());
+        assertEquals(0, auctionClosePlanner.refresh(), "an unchanged auction keeps its plan");
+
+        Auction auction = auctionRepository.findById(auctionId).orElseThrow();
+        auction.setStatus(Auction_Status.ENDED);
+        auctionRepository.save(auction);
+        settlementService.settleOnClose(auctionId, dueAt);
+
+        assertTrue(auctionClosePlanner.take(auctionId).isEmpty(), "the plan is handed out once");
+        Auction reloaded = auctionRepository.findById(auctionId).orElseThrow();
+        assertEquals(winnerUserId, reloaded.getWinningUser().getUserId());
+        assertEquals(dueAt, reloaded.getPaymentDueDate());
+        assertEquals(Bid_Status.WON,
+                bidRepository.findTopByAuction_AuctionIdOrderByAmountDesc(auctionId).orElseThrow().getBidStatus());
+        assertEquals(Status.HELD, depositHoldRepository.findById(winnerHoldId).orElseThrow().getDepositStatus());
+        assertEquals(Status.HELD, depositHoldRepository.findById(runnerUpHoldId).orElseThrow().getDepositStatus());
+        assertEquals(Status.RELEASED, depositHoldRepository.findById(loserHoldId).orElseThrow().getDepositStatus());
+    }
+
+    @Test
+    @DisplayName("settleOnClose: a close plan outdated by a later bid is ignored")
+    @Transactional
+    void settleOnClose_staleClosePlan_readsHolds() {
+        LocalDateTime dueAt = LocalDateTime.now().plusHours(72).truncatedTo(ChronoUnit.SECONDS);
+        endingSoon();
+        assertEquals(1, auctionClosePlanner.refresh());
+
+        // the plan keeps the runner-up; the auction no longer has one
+        Auction auction = auctionRepository.findById(auctionId).orElseThrow();
+        auction.setBidCount(auction.getBidCount() + 1);
+        auction.setRunnerUpBidId(null);
+        auction.setStatus(Auction_Status.ENDED);
+        auctionRepository.save(auction);
+        settlementService.settleOnClose(auctionId, dueAt);
+
+        assertEquals(Status.HELD, depositHoldRepository.findById(winnerHoldId).orElseThrow().getDepositStatus());
+        assertEquals(Status.RELEASED, depositHoldRepository.findById(runnerUpHoldId).orElseThrow().getDepositStatus());
+        assertEquals(Status.RELEASED, depositHoldRepository.findById(loserHoldId).orElseThrow().getDepositStatus());
     }
 
     @Test
@@ -327,6 +395,12 @@ class SettlementServiceTest {
 
             var sellerBalance = accountRepository.findById(sellerUserId).orElseThrow().getBalance();
             assertThat(sellerBalance).isEqualByComparingTo("30.00");
+
+            // the finalists' deposits are returned with the settlement
+            assertEquals(Status.RELEASED, depositHoldRepository.findById(winnerHoldId).orElseThrow().getDepositStatus());
+            assertEquals(Status.RELEASED, depositHoldRepository.findById(runnerUpHoldId).orElseThrow().getDepositStatus());
+            assertThat(accountRepository.findById(winnerAccountId).orElseThrow().getHeldTotal()).isEqualByComparingTo("0.00");
+            assertThat(accountRepository.findById(runnerUpAccountId).orElseThrow().getHeldTotal()).isEqualByComparingTo("0.00");
         }
 
         @Test
@@ -470,5 +544,88 @@ class SettlementServiceTest {
         assertEquals(Status.RELEASED, winnerHold.getDepositStatus());
     }
 
+    @Nested
+    @DisplayName("settlement timer leases")
+    class TimerLeaseTests {
+        private static final int BATCH = 100;
+        private static final int MAX_ATTEMPTS = 3;
+
+        private LocalDateTime now;
+
+        @BeforeEach
+        void dueTimer() {
+            now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+            settlementTimerRepository.upsert(auctionId, now.minusMinutes(1));
+        }
+
+        @Test
+        @DisplayName("claimDue: a leased timer cannot be claimed by another owner")
+        @Transactional
+        void claimDue_singleClaim() {
+            settlementTimerRepository.claimDue("node-a#1", now.plusSeconds(60), now, BATCH, MAX_ATTEMPTS);
+            settlementTimerRepository.claimDue("node-b#1", now.plusSeconds(60), now, BATCH, MAX_ATTEMPTS);
+
+            assertThat(settlementTimerRepository.findLeased("node-a#1")).contains(auctionId);
+            assertThat(settlementTimerRepository.findLeased("node-b#1")).doesNotContain(auctionId);
+        }
+
+        @Test
+        @DisplayName("claimDue: a lease ending at the claim time can be re-claimed in that same second")
+        @Transactional
+        void claimDue_expiredLease_isReclaimed() {
+            settlementTimerRepository.claimDue("node-a#1", now, now.minusSeconds(1), BATCH, MAX_ATTEMPTS);
+            settlementTimerRepository.claimDue("node-b#1", now.plusSeconds(60), now.minusSeconds(1), BATCH, MAX_ATTEMPTS);
+            assertThat(settlementTimerRepository.findLeased("node-b#1")).doesNotContain(auctionId);
+
+            // the wakeup for a lapsed lease fires at leaseUntil, which must already be claimable
+            settlementTimerRepository.claimDue("node-b#2", now.plusSeconds(60), now, BATCH, MAX_ATTEMPTS);
+
+            assertThat(settlementTimerRepository.findLeased("node-b#2")).contains(auctionId);
+            assertEquals(2, settlementTimerRepository.findById(auctionId).orElseThrow().getAttempts());
+        }
+
+        @Test
+        @DisplayName("completeIfLeased: only the current lease owner retires the timer")
+        @Transactional
+        void completeIfLeased_onlyOwner() {
+            settlementTimerRepository.claimDue("node-a#1", now.plusSeconds(60), now, BATCH, MAX_ATTEMPTS);
+
+            assertEquals(0, settlementTimerRepository.completeIfLeased(auctionId, "node-b#1"));
+            assertThat(settlementTimerRepository.findLeased("node-a#1")).contains(auctionId);
 
-}
\ No newline at end of file
+            assertEquals(1, settlementTimerRepository.completeIfLeased(auctionId, "node-a#1"));
+            assertThat(settlementTimerRepository.findLeased("node-a#1")).doesNotContain(auctionId);
+        }
+
+        @Test
+        @DisplayName("claimDue: a timer claimed maxAttempts times is parked until it is registered again")
+        @Transactional
+        void claimDue_parksAfterMaxAttempts() {
+            for (int i = 1; i <= MAX_ATTEMPTS; i++) {
+                // each lease lapses immediately, as if the node died mid-run
+                settlementTimerRepository.claimDue("node-a#" + i, now, now, BATCH, MAX_ATTEMPTS);
+                assertThat(settlementTimerRepository.findLeased("node-a#" + i)).contains(auctionId);
+            }
+
+            settlementTimerRepository.claimDue("node-a#9", now.plusSeconds(60), now, BATCH, MAX_ATTEMPTS);
+            assertThat(settlementTimerRepository.findLeased("node-a#9")).doesNotContain(auctionId);
+
+            settlementTimerRepository.upsert(auctionId, now.minusMinutes(1));
+            settlementTimerRepository.claimDue("node-a#10", now.plusSeconds(60), now, BATCH, MAX_ATTEMPTS);
+            assertThat(settlementTimerRepository.findLeased("node-a#10")).contains(auctionId);
+        }
+    }
+
+    /** Turns the fixture into a LIVE auction ending within the pre-close lead, with its bid pointers. */
+    private void endingSoon() {
+        var top2 = bidRepository.findTop2ByAuction_AuctionIdOrderByAmountDescBidTimeAsc(auctionId);
+        Auction auction = auctionRepository.findById(auctionId).orElseThrow();
+        auction.setStatus(Auction_Status.LIVE);
+        auction.setEndTime(LocalDateTime.now().plusMinutes(1));
+        auction.setWinningBidId(top2.get(0).getBidId());
+        auction.setRunnerUpBidId(top2.get(1).getBidId());
+        auction.setBidCount(3);
+        auction.setPaymentDueDate(null);
+        auctionRepository.save(auction);
+    }
+}
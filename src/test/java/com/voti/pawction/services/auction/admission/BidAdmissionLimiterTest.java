@@ -0,0 +1,104 @@
+package com.voti.pawction.services.auction.admission;
+
+import com.voti.pawction.config.BidAdmissionProperties;
+import com.voti.pawction.exceptions.BidExceptions.BidOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class BidAdmissionLimiterTest {
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(10);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BidAdmissionProperties props = new BidAdmissionProperties();
+
+    @BeforeEach
+    void setUp() {
+        props.setInitialLimit(4);
+        props.setMinLimit(1);
+        props.setMaxLimit(6);
+        props.setTargetLatencyMs(1000);
+        props.setBackoffRatio(0.5);
+    }
+
+    private BidAdmissionLimiter limiter() {
+        // a plain DataSource is not a Hikari pool, so only latency signals congestion
+        return new BidAdmissionLimiter(props, mock(DataSource.class), registry);
+    }
+
+    private double limit() {
+        return registry.get("auction.bids.admission.limit").gauge().value();
+    }
+
+    private double inFlight() {
+        return registry.get("auction.bids.in_flight").gauge().value();
+    }
+
+    @Test
+    @DisplayName("release: fast bids raise the limit by 1/limit, up to maxLimit")
+    void release_fast_increasesAdditively() {
+        var limiter = limiter();
+
+        limiter.release(limiter.acquire());
+        assertThat(limit()).isEqualTo(4.25);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.release(limiter.acquire());
+        }
+        assertThat(limit()).isEqualTo(6.0);
+    }
+
+    @Test
+    @DisplayName("release: a slow bid multiplies the limit by backoffRatio, down to minLimit")
+    void release_slow_decreasesMultiplicatively() {
+        var limiter = limiter();
+
+        limiter.release(limiter.acquire() - SLOW);
+        assertThat(limit()).isEqualTo(2.0);
+
+        limiter.release(limiter.acquire() - SLOW);
+        limiter.release(limiter.acquire() - SLOW);
+        assertThat(limit()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("acquire: sheds once the limit is reached and admits again after a release")
+    void acquire_shedsAtLimit() {
+        props.setInitialLimit(2);
+        var limiter = limiter();
+
+        long first = limiter.acquire();
+        limiter.acquire();
+        assertThrows(BidOverloadedException.class, limiter::acquire);
+        assertThat(registry.counter("auction.bids.shed").count()).isEqualTo(1);
+        assertThat(inFlight()).isEqualTo(2);
+
+        limiter.release(first);
+        limiter.acquire();
+        assertThat(inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("enter: counts as in flight past the limit but is never shed")
+    void enter_ignoresLimit() {
+        props.setInitialLimit(1);
+        var limiter = limiter();
+
+        long admitted = limiter.acquire();
+        long write = limiter.enter();
+        assertThat(inFlight()).isEqualTo(2);
+        assertThrows(BidOverloadedException.class, limiter::acquire);
+
+        limiter.release(write);
+        limiter.release(admitted);
+        assertThat(inFlight()).isZero();
+    }
+}
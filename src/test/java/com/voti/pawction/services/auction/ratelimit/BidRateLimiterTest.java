@@ -0,0 +1,72 @@
+package com.voti.pawction.services.auction.ratelimit;
+
+import com.voti.pawction.config.BidRateLimitProperties;
+import com.voti.pawction.exceptions.BidExceptions.BidRateLimitedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BidRateLimiterTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private BidRateLimiter limiter(int perUser, int perAuction) {
+        var props = new BidRateLimitProperties();
+        props.setPerUserCapacity(perUser);
+        props.setPerUserRefillPerSecond(0);
+        props.setPerAuctionCapacity(perAuction);
+        props.setPerAuctionRefillPerSecond(0);
+        props.setStripes(1024);
+        return new BidRateLimiter(props, new StripedTokenBucketsTest.ManualClock(), registry);
+    }
+
+    private double limited(String scope) {
+        return registry.counter("auction.bids.rate_limited", "scope", scope).count();
+    }
+
+    @Test
+    @DisplayName("acquire: a bid rejected by the auction bucket does not spend the bidder's token")
+    void acquire_auctionRejection_refundsUserToken() {
+        var limiter = limiter(2, 1);
+
+        assertDoesNotThrow(() -> limiter.acquire(1L, 100L));
+        assertThrows(BidRateLimitedException.class, () -> limiter.acquire(1L, 100L));
+        assertThrows(BidRateLimitedException.class, () -> limiter.acquire(1L, 100L));
+
+        // the bidder still has the second of its two tokens
+        assertDoesNotThrow(() -> limiter.acquire(1L, 200L));
+        assertThrows(BidRateLimitedException.class, () -> limiter.acquire(1L, 300L));
+
+        assertThat(limited("auction")).isEqualTo(2);
+        assertThat(limited("user")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("acquire: a bid rejected by the bidder bucket never touches the auction bucket")
+    void acquire_userRejection_leavesAuctionBucket() {
+        var limiter = limiter(1, 2);
+
+        assertDoesNotThrow(() -> limiter.acquire(1L, 100L));
+        assertThrows(BidRateLimitedException.class, () -> limiter.acquire(1L, 100L));
+
+        assertDoesNotThrow(() -> limiter.acquire(2L, 100L));
+        assertThat(limited("user")).isEqualTo(1);
+        assertThat(limited("auction")).isZero();
+        assertThat(registry.counter("auction.bids.admitted").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("refund: gives back both the bidder's and the auction's token")
+    void refund_restoresBothBuckets() {
+        var limiter = limiter(1, 1);
+
+        limiter.acquire(1L, 100L);
+        limiter.refund(1L, 100L);
+
+        assertDoesNotThrow(() -> limiter.acquire(1L, 100L));
+        assertThrows(BidRateLimitedException.class, () -> limiter.acquire(1L, 100L));
+    }
+}
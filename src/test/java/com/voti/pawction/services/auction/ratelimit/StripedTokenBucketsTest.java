@@ -0,0 +1,111 @@
+package com.voti.pawction.services.auction.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedTokenBucketsTest {
+
+    /** Clock that only moves when the test moves it. */
+    static class ManualClock extends Clock {
+        private volatile long millis = 1_000_000;
+
+        void advance(long ms) {
+            millis += ms;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+
+    @Test
+    @DisplayName("tryAcquire: a drained bucket refills with time, up to its capacity")
+    void tryAcquire_refillsOverTime() {
+        var clock = new ManualClock();
+        var buckets = new StripedTokenBuckets(16, 2, 1, clock);
+
+        assertThat(buckets.tryAcquire(7)).isTrue();
+        assertThat(buckets.tryAcquire(7)).isTrue();
+        assertThat(buckets.tryAcquire(7)).isFalse();
+
+        clock.advance(999);
+        assertThat(buckets.tryAcquire(7)).isFalse();
+        clock.advance(1);
+        assertThat(buckets.tryAcquire(7)).isTrue();
+        assertThat(buckets.tryAcquire(7)).isFalse();
+
+        // a long idle period does not bank more than the burst size
+        clock.advance(60_000);
+        assertThat(buckets.tryAcquire(7)).isTrue();
+        assertThat(buckets.tryAcquire(7)).isTrue();
+        assertThat(buckets.tryAcquire(7)).isFalse();
+    }
+
+    @Test
+    @DisplayName("tryAcquire: racing threads never take more tokens than the bucket holds")
+    void tryAcquire_concurrentCallersShareCapacity() throws Exception {
+        var buckets = new StripedTokenBuckets(16, 100, 0, new ManualClock());
+        var granted = new AtomicInteger();
+        var start = new CountDownLatch(1);
+
+        try (var pool = Executors.newFixedThreadPool(16)) {
+            for (int t = 0; t < 16; t++) {
+                pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 50; i++) {
+                        if (buckets.tryAcquire(7)) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        assertThat(granted.get()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("refund: gives back one token without exceeding the capacity")
+    void refund_returnsOneToken() {
+        var buckets = new StripedTokenBuckets(16, 2, 0, new ManualClock());
+
+        buckets.refund(7); // unused bucket, already full
+        assertThat(buckets.tryAcquire(7)).isTrue();
+        buckets.refund(7);
+        buckets.refund(7);
+        assertThat(buckets.tryAcquire(7)).isTrue();
+        assertThat(buckets.tryAcquire(7)).isTrue();
+        assertThat(buckets.tryAcquire(7)).isFalse();
+
+        buckets.refund(7);
+        assertThat(buckets.tryAcquire(7)).isTrue();
+    }
+}
@@ -0,0 +1,114 @@
+package com.voti.pawction.services.auction.sequencer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AuctionLaneTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("enqueue: tasks run one at a time in submission order")
+    void enqueue_runsInOrder() {
+        var lane = new AuctionLane(1L);
+        var order = Collections.synchronizedList(new ArrayList<Integer>());
+        var running = new int[1];
+        var overlapped = new boolean[1];
+
+        var futures = IntStream.range(0, 200)
+                .mapToObj(i -> lane.enqueue(() -> {
+                    synchronized (running) {
+                        if (running[0]++ > 0) overlapped[0] = true;
+                    }
+                    order.add(i);
+                    synchronized (running) {
+                        running[0]--;
+                    }
+                    return i;
+                }, executor))
+                .toList();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        assertThat(order).containsExactlyElementsOf(IntStream.range(0, 200).boxed().toList());
+        assertThat(overlapped[0]).isFalse();
+    }
+
+    @Test
+    @DisplayName("enqueue: a failed task fails its own future and does not stop the next one")
+    void enqueue_failureDoesNotBreakChain() {
+        var lane = new AuctionLane(1L);
+
+        var failed = lane.enqueue(() -> {
+            throw new IllegalStateException("boom");
+        }, executor);
+        var next = lane.enqueue(() -> "ok", executor);
+
+        assertThrows(Exception.class, failed::join);
+        assertThat(next.join()).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("persist: writes run in acceptance order and awaitPersisted waits for all of them")
+    void persist_runsInOrder_andAwaitPersistedDrains() throws Exception {
+        var lane = new AuctionLane(1L);
+        var written = Collections.synchronizedList(new ArrayList<Integer>());
+        var gate = new CountDownLatch(1);
+
+        lane.persist(() -> {
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            written.add(0);
+            return null;
+        }, executor);
+        for (int i = 1; i < 50; i++) {
+            int n = i;
+            lane.persist(() -> written.add(n), executor);
+        }
+
+        var drained = CompletableFuture.runAsync(lane::awaitPersisted, executor);
+        Thread.sleep(50);
+        assertThat(drained).isNotDone();
+
+        gate.countDown();
+        drained.get(5, TimeUnit.SECONDS);
+        assertThat(written).containsExactlyElementsOf(IntStream.range(0, 50).boxed().toList());
+    }
+
+    @Test
+    @DisplayName("accepted/settled: a bidder counts as unpersisted until every accepted bid settled")
+    void unpersistedCount() {
+        var lane = new AuctionLane(1L);
+
+        lane.accepted(7L);
+        lane.accepted(7L);
+        assertThat(lane.hasUnpersisted(7L)).isTrue();
+
+        lane.settled(7L);
+        assertThat(lane.hasUnpersisted(7L)).isTrue();
+
+        lane.settled(7L);
+        assertThat(lane.hasUnpersisted(7L)).isFalse();
+        assertThat(lane.hasUnpersisted(8L)).isFalse();
+    }
+}
@@ -0,0 +1,240 @@
+package com.voti.pawction.services.auction.sequencer;
+
+import com.voti.pawction.config.BidAdmissionProperties;
+import com.voti.pawction.config.BiddingProperties;
+import com.voti.pawction.dtos.response.BidDto;
+import com.voti.pawction.entities.auction.Auction;
+import com.voti.pawction.entities.auction.Bid;
+import com.voti.pawction.entities.auction.enums.Auction_Status;
+import com.voti.pawction.entities.auction.enums.Bid_Status;
+import com.voti.pawction.exceptions.AuctionExceptions.AuctionInvalidStateException;
+import com.voti.pawction.exceptions.BidExceptions.InvalidBidException;
+import com.voti.pawction.exceptions.UserExceptions.UserNotFoundException;
+import com.voti.pawction.mappers.BidMapper;
+import com.voti.pawction.repositories.UserRepository;
+import com.voti.pawction.repositories.auction.AuctionRepository;
+import com.voti.pawction.repositories.auction.BidRepository;
+import com.voti.pawction.services.auction.BiddingService;
+import com.voti.pawction.services.auction.admission.BidAdmissionLimiter;
+import com.voti.pawction.services.auction.policy.AuctionPolicy;
+import com.voti.pawction.services.wallet.AccountService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Drives the sequencer against mocked services, so that the persist queue can be made to
+ * fail or stall on demand.
+ */
+class BidSequencerTest {
+    private static final Long AUCTION_ID = 1L;
+    private static final Long BIDDER_ID = 10L;
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private final AuctionRepository auctionRepository = mock(AuctionRepository.class);
+    private final BidRepository bidRepository = mock(BidRepository.class);
+    private final BidMapper bidMapper = mock(BidMapper.class);
+    private final AuctionPolicy auctionPolicy = mock(AuctionPolicy.class);
+    private final AccountService accountService = mock(AccountService.class);
+    private final BiddingService biddingService = mock(BiddingService.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final BiddingProperties props = new BiddingProperties();
+    private final BidAdmissionProperties admission = new BidAdmissionProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private BidSequencer sequencer;
+
+    @BeforeEach
+    void setUp() {
+        props.setAckTimeoutMs(5000);
+        var clock = Clock.fixed(NOW, ZoneOffset.UTC);
+        admission.setInitialLimit(2);
+        admission.setMaxLimit(2);
+        sequencer = new BidSequencer(auctionRepository, bidRepository, bidMapper, auctionPolicy, accountService,
+                biddingService, props, clock,
+                new BidAdmissionLimiter(admission, mock(DataSource.class), registry), userRepository);
+        when(userRepository.existsById(any())).thenReturn(true);
+
+        liveAuction(AUCTION_ID, clock);
+        when(auctionPolicy.requireAmount(any(Auction.class))).thenReturn(new BigDecimal("10.00"));
+        when(auctionPolicy.isValidIncrement(any(BigDecimal.class), any(BigDecimal.class))).thenAnswer(inv ->
+                inv.<BigDecimal>getArgument(1).compareTo(inv.<BigDecimal>getArgument(0).add(BigDecimal.ONE)) >= 0);
+    }
+
+    private void liveAuction(Long auctionId, Clock clock) {
+        var auction = new Auction();
+        auction.setAuctionId(auctionId);
+        auction.setStatus(Auction_Status.LIVE);
+        auction.setHighestBid(new BigDecimal("100.00"));
+        auction.setEndTime(LocalDateTime.now(clock).plusHours(1));
+        when(auctionRepository.findById(auctionId)).thenReturn(Optional.of(auction));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sequencer.shutdown();
+    }
+
+    @Test
+    @DisplayName("submit: acknowledges with the written bid, not before it")
+    void submit_acknowledgesPersistedBid() {
+        when(biddingService.recordSequencedBid(eq(BIDDER_ID), eq(AUCTION_ID), any(), any(), any()))
+                .thenAnswer(inv -> new BidDto(42L, BIDDER_ID, AUCTION_ID, inv.getArgument(2),
+                        Bid_Status.WINNING, inv.getArgument(3)));
+
+        var bid = sequencer.submit(BIDDER_ID, AUCTION_ID, new BigDecimal("110.00"), "k-1");
+
+        assertThat(bid.getBidId()).isEqualTo(42L);
+        verify(accountService).placeHold(BIDDER_ID, AUCTION_ID, new BigDecimal("10.00"));
+        verify(accountService, never()).releaseHold(any(), any());
+    }
+
+    @Test
+    @DisplayName("submit: a key already recorded in the database is answered without bidding again")
+    void submit_recordedKey_answersFromDatabase() {
+        var recorded = new Bid();
+        var dto = new BidDto(7L, BIDDER_ID, AUCTION_ID, new BigDecimal("110.00"), Bid_Status.WINNING,
+                LocalDateTime.now(Clock.fixed(NOW, ZoneOffset.UTC)));
+        when(bidRepository.findByUser_UserIdAndIdempotencyKey(BIDDER_ID, "k-1")).thenReturn(Optional.of(recorded));
+        when(bidMapper.toDto(recorded)).thenReturn(dto);
+
+        var bid = sequencer.submit(BIDDER_ID, AUCTION_ID, new BigDecimal("110.00"), "k-1");
+
+        assertThat(bid).isSameAs(dto);
+        verify(accountService, never()).placeHold(any(Long.class), any(), any());
+        verify(biddingService, never()).recordSequencedBid(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("submit: an unknown bidder is rejected before any idempotency lookup or hold")
+    void submit_unknownBidder_throwsUserNotFound() {
+        when(userRepository.existsById(BIDDER_ID)).thenReturn(false);
+
+        assertThrows(UserNotFoundException.class,
+                () -> sequencer.submit(BIDDER_ID, AUCTION_ID, new BigDecimal("110.00"), "k-1"));
+
+        verify(bidRepository, never()).findByUser_UserIdAndIdempotencyKey(any(), any());
+        verify(accountService, never()).placeHold(any(Long.class), any(), any());
+        assertThat(registry.get("auction.bids.in_flight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("submit: a failed write is reported to the bidder and releases their hold")
+    void submit_persistFailure_reportsAndReleasesHold() {
+        when(biddingService.recordSequencedBid(eq(BIDDER_ID), any(), any(), any(), any()))
+                .thenThrow(new AuctionInvalidStateException("closed"));
+        when(bidRepository.existsByUser_UserIdAndAuction_AuctionId(BIDDER_ID, AUCTION_ID)).thenReturn(false);
+
+        assertThrows(AuctionInvalidStateException.class,
+                () -> sequencer.submit(BIDDER_ID, AUCTION_ID, new BigDecimal("110.00"), null));
+
+        verify(accountService, timeout(2000)).releaseHold(BIDDER_ID, AUCTION_ID);
+    }
+
+    @Test
+    @DisplayName("submit: a failed write keeps the hold when another bid of the bidder is recorded")
+    void submit_persistFailure_keepsHoldBackingRecordedBid() {
+        when(biddingService.recordSequencedBid(eq(BIDDER_ID), any(), any(), any(), any()))
+                .thenThrow(new AuctionInvalidStateException("closed"));
+        when(bidRepository.existsByUser_UserIdAndAuction_AuctionId(BIDDER_ID, AUCTION_ID)).thenReturn(true);
+
+        assertThrows(AuctionInvalidStateException.class,
+                () -> sequencer.submit(BIDDER_ID, AUCTION_ID, new BigDecimal("110.00"), null));
+
+        // the release check runs in the lane; a later bid queues behind it
+        sequencer.submit(BIDDER_ID + 1, AUCTION_ID, new BigDecimal("200.00"), null);
+        verify(bidRepository, atLeastOnce()).existsByUser_UserIdAndAuction_AuctionId(BIDDER_ID, AUCTION_ID);
+        verify(accountService, never()).releaseHold(any(), any());
+    }
+
+    @Test
+    @DisplayName("submit: a failed write keeps the hold while a later bid of the same bidder is still pending")
+    void submit_persistFailure_keepsHoldForPendingBid() throws Exception {
+        var firstWriteStarted = new CountDownLatch(1);
+        var failFirstWrite = new CountDownLatch(1);
+        var secondRecorded = new AtomicBoolean();
+        when(biddingService.recordSequencedBid(eq(BIDDER_ID), eq(AUCTION_ID), any(), any(), any()))
+                .thenAnswer(inv -> {
+                    BigDecimal amount = inv.getArgument(2);
+                    if (amount.compareTo(new BigDecimal("110.00")) == 0) {
+                        firstWriteStarted.countDown();
+                        failFirstWrite.await(5, TimeUnit.SECONDS);
+                        throw new AuctionInvalidStateException("lost");
+                    }
+                    secondRecorded.set(true);
+                    return new BidDto(43L, BIDDER_ID, AUCTION_ID, amount, Bid_Status.WINNING, inv.getArgument(3));
+                });
+        when(bidRepository.existsByUser_UserIdAndAuction_AuctionId(BIDDER_ID, AUCTION_ID))
+                .thenAnswer(inv -> secondRecorded.get());
+
+        var first = Thread.ofVirtual().start(() -> assertThrows(AuctionInvalidStateException.class,
+                () -> sequencer.submit(BIDDER_ID, AUCTION_ID, new BigDecimal("110.00"), null)));
+        assertThat(firstWriteStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // accepted against the snapshot while the first write is still running
+        var second = Thread.ofVirtual().start(() -> sequencer.submit(BIDDER_ID, AUCTION_ID, new BigDecimal("120.00"), null));
+        verify(accountService, timeout(2000).times(2)).placeHold(BIDDER_ID, AUCTION_ID, new BigDecimal("10.00"));
+
+        failFirstWrite.countDown();
+        first.join(5000);
+        second.join(5000);
+
+        // the second bid was pending or recorded when the release was considered, so the shared hold stays
+        sequencer.submit(BIDDER_ID + 1, AUCTION_ID, new BigDecimal("200.00"), null);
+        verify(accountService, never()).releaseHold(any(), any());
+    }
+
+    @Test
+    @DisplayName("submit: bids waiting on a stalled write hold no admission slot, so other auctions still bid")
+    void submit_stalledLane_doesNotShedOtherAuctions() throws Exception {
+        var otherAuctionId = AUCTION_ID + 1;
+        liveAuction(otherAuctionId, Clock.fixed(NOW, ZoneOffset.UTC));
+        var firstWriteStarted = new CountDownLatch(1);
+        var stall = new CountDownLatch(1);
+        when(biddingService.recordSequencedBid(any(), any(), any(), any(), any())).thenAnswer(inv -> {
+            if (inv.<Long>getArgument(1).equals(AUCTION_ID)) {
+                firstWriteStarted.countDown();
+                stall.await(5, TimeUnit.SECONDS);
+            }
+            return new BidDto(44L, inv.getArgument(0), inv.getArgument(1), inv.getArgument(2),
+                    Bid_Status.WINNING, inv.getArgument(3));
+        });
+
+        var first = Thread.ofVirtual().start(() -> sequencer.submit(BIDDER_ID, AUCTION_ID, new BigDecimal("110.00"), null));
+        assertThat(firstWriteStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        // accepted, then waits behind the stalled write
+        var second = Thread.ofVirtual().start(() -> sequencer.submit(BIDDER_ID + 1, AUCTION_ID, new BigDecimal("120.00"), null));
+        verify(accountService, timeout(2000)).placeHold(BIDDER_ID + 1, AUCTION_ID, new BigDecimal("10.00"));
+        // runs in the lane after the second bid's accept task has given its slot back
+        assertThrows(InvalidBidException.class,
+                () -> sequencer.submit(BIDDER_ID + 2, AUCTION_ID, new BigDecimal("50.00"), null));
+
+        // only the stalled write is in flight; both waiting callers hold nothing
+        assertThat(registry.get("auction.bids.in_flight").gauge().value()).isEqualTo(1);
+        var other = sequencer.submit(BIDDER_ID, otherAuctionId, new BigDecimal("110.00"), null);
+        assertThat(other.getAuctionId()).isEqualTo(otherAuctionId);
+
+        stall.countDown();
+        first.join(5000);
+        second.join(5000);
+        assertThat(registry.get("auction.bids.in_flight").gauge().value()).isZero();
+    }
+}
@@ -10,14 +10,19 @@ import com.voti.pawction.entities.pet.enums.Sex;
 import com.voti.pawction.entities.pet.enums.Size;
 import com.voti.pawction.entities.wallet.Account;
 import com.voti.pawction.entities.wallet.DepositHold;
+import com.voti.pawction.entities.wallet.LedgerEntry;
 import com.voti.pawction.entities.wallet.Transaction;
 import com.voti.pawction.entities.wallet.enums.Status;
+import com.voti.pawction.entities.wallet.enums.Transaction_Type;
+import com.voti.pawction.dtos.response.TransactionDto;
 import com.voti.pawction.exceptions.AccountExceptions.InvalidAmountException;
+import com.voti.pawction.exceptions.AccountExceptions.InvalidCursorException;
 import com.voti.pawction.repositories.UserRepository;
 import com.voti.pawction.repositories.auction.AuctionRepository;
 import com.voti.pawction.repositories.pet.PetRepository;
 import com.voti.pawction.repositories.wallet.AccountRepository;
 import com.voti.pawction.repositories.wallet.DepositHoldRepository;
+import com.voti.pawction.repositories.wallet.LedgerEntryRepository;
 import com.voti.pawction.repositories.wallet.TransactionRepository;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,8 +32,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -44,6 +51,8 @@ class AccountServiceTest {
     @Autowired private PetRepository petRepository;
     @Autowired private AuctionRepository auctionRepository;
     @Autowired private DepositHoldRepository holdRepository;
+    @Autowired private LedgerService ledgerService;
+    @Autowired private LedgerEntryRepository ledgerEntryRepository;
 
     private Long userId;
     private Long accountId;
@@ -231,6 +240,53 @@ class AccountServiceTest {
             assertThat(hold.getDepositStatus()).isEqualTo(Status.HELD);
         }
 
+        @Test
+        @DisplayName("getBidSnapshot + placeHold(snapshot): one read reports balance, held total and existing hold")
+        @Transactional
+        void bidSnapshot_reportsHeldAndExistingHold() {
+            accountService.deposit(accountId, new BigDecimal("100.00"));
+
+            var before = accountService.getBidSnapshot(accountId, auctionId);
+            assertThat(before.getBalance()).isEqualByComparingTo("100.00");
+            assertThat(before.getHeld()).isEqualByComparingTo("0.00");
+            assertThat(before.getExistingHoldId()).isNull();
+
+            var auction = auctionRepository.findById(auctionId).orElseThrow();
+            DepositHold hold = accountService.placeHold(before, auction, new BigDecimal("25.00"));
+
+            var after = accountService.getBidSnapshot(accountId, auctionId);
+            assertThat(after.getHeld()).isEqualByComparingTo("25.00");
+            assertThat(after.getAvailable()).isEqualByComparingTo("75.00");
+            assertThat(after.getExistingHoldId()).isEqualTo(hold.getHoldId());
+
+            // a second bid on the same auction reuses the hold
+            assertThat(accountService.placeHold(after, auction, new BigDecimal("25.00")).getHoldId())
+                    .isEqualTo(hold.getHoldId());
+        }
+
+        @Test
+        @DisplayName("placeHold: reserves against the held total once per auction and rejects overspending")
+        @Transactional
+        void placeHold_reservesHeldTotal_once() {
+            accountService.deposit(accountId, new BigDecimal("30.00"));
+
+            var ex = assertThrows(InvalidAmountException.class,
+                    () -> accountService.placeHold(accountId, auctionId, new BigDecimal("30.01")));
+            assertTrue(ex.getMessage().toLowerCase().contains("insufficient"));
+            assertThat(holdRepository.findByAccountAccountIdAndAuctionAuctionId(accountId, auctionId)).isEmpty();
+            assertThat(accountService.getAvailable(accountId)).isEqualByComparingTo("30.00");
+
+            DepositHold first = accountService.placeHold(accountId, auctionId, new BigDecimal("20.00"));
+            DepositHold again = accountService.placeHold(accountId, auctionId, new BigDecimal("5.00"));
+
+            assertThat(again.getHoldId()).isEqualTo(first.getHoldId());
+            assertThat(accountService.getAvailable(accountId)).isEqualByComparingTo("10.00");
+            assertThat(accountService.getBidSnapshot(accountId, auctionId).getHeld()).isEqualByComparingTo("20.00");
+
+            accountService.releaseHoldsForAuction(auctionId, List.of());
+            assertThat(accountService.getAvailable(accountId)).isEqualByComparingTo("30.00");
+        }
+
         @Test
         @DisplayName("place + release: restores available and marks hold as RELEASED")
         @Transactional
@@ -269,11 +325,171 @@ class AccountServiceTest {
             assertThat(accountHold.getDepositStatus()).isEqualTo(Status.RELEASED);
             assertThat(auctionHold.getDepositStatus()).isEqualTo(Status.RELEASED);
 
+            // the hold history pages list it with its status, and the HELD page no longer does
+            var holdPage = accountService.getHoldPage(accountId, null, null, 10);
+            assertThat(holdPage.getItems()).singleElement()
+                    .satisfies(h -> {
+                        assertThat(h.getAuctionId()).isEqualTo(auctionId);
+                        assertThat(h.getStatus()).isEqualTo(Status.RELEASED);
+                        assertThat(h.getPetName()).isEqualTo("Barkley");
+                    });
+            assertThat(holdPage.isHasNext()).isFalse();
+            assertThat(accountService.getHoldPage(accountId, Status.HELD, null, 10).getItems()).isEmpty();
+
             // No active HELD holds should remain for this account/auction
             boolean hasActiveForAuction = accountService.getActiveHolds(accountId).stream()
                     .anyMatch(h -> Objects.equals(h.getAuction().getAuctionId(), auctionId));
             assertThat(hasActiveForAuction).isFalse();
         }
+
+        @Test
+        @DisplayName("releaseHoldsForAuction: releases every other HELD hold and records it, balances unchanged")
+        @Transactional
+        void releaseHoldsForAuction_keepsReservedAccounts() {
+            // Arrange: a second bidder whose hold must stay
+            User keptUser = new User();
+            keptUser.setName("Kept Bidder");
+            keptUser.setEmail("kept.bidder@example.com");
+            keptUser.setPasswordHash("secret");
+            keptUser = userRepository.save(keptUser);
+
+            Account kept = new Account();
+            kept.setBalance(BigDecimal.ZERO);
+            kept.setCreatedAt(LocalDateTime.now());
+            kept.setUser(keptUser);
+            Long keptAccountId = accountRepository.save(kept).getAccountId();
+
+            accountService.deposit(accountId, new BigDecimal("50.00"));
+            accountService.deposit(keptAccountId, new BigDecimal("50.00"));
+            accountService.placeHold(accountId, auctionId, new BigDecimal("10.00"));
+            accountService.placeHold(keptAccountId, auctionId, new BigDecimal("10.00"));
+
+            // Act
+            int released = accountService.releaseHoldsForAuction(auctionId, List.of(keptAccountId));
+
+            // Assert
+            assertThat(released).isEqualTo(1);
+            assertThat(holdRepository.findByAccountAccountIdAndAuctionAuctionId(accountId, auctionId)
+                    .orElseThrow().getDepositStatus()).isEqualTo(Status.RELEASED);
+            assertThat(holdRepository.findByAccountAccountIdAndAuctionAuctionId(keptAccountId, auctionId)
+                    .orElseThrow().getDepositStatus()).isEqualTo(Status.HELD);
+
+            assertThat(accountService.getBalance(accountId)).isEqualByComparingTo("50.00");
+            assertThat(accountService.getAvailable(accountId)).isEqualByComparingTo("50.00");
+            assertThat(accountService.getAvailable(keptAccountId)).isEqualByComparingTo("40.00");
+
+            assertThat(transactionRepository.findByAccountAccountIdOrderByCreatedAtDesc(accountId))
+                    .anyMatch(tx -> tx.getTransactionType() == Transaction_Type.HOLD_RELEASE
+                            && tx.getAmount().compareTo(new BigDecimal("10.00")) == 0);
+
+            // nothing left to release
+            assertThat(accountService.releaseHoldsForAuction(auctionId, List.of(keptAccountId))).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("history pages: walk transactions newest first without gaps or repeats")
+    @Transactional
+    void transactionPages_followCursor() {
+        for (int i = 1; i <= 5; i++) {
+            accountService.deposit(accountId, new BigDecimal(i + ".00"));
+        }
+
+        var seen = new ArrayList<TransactionDto>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var page = accountService.getTransactionPage(accountId, cursor, 2);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(2);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).extracting(TransactionDto::getTransactionId).doesNotHaveDuplicates().hasSize(5);
+        for (int i = 1; i < seen.size(); i++) {
+            assertThat(seen.get(i).getCreatedAt()).isBeforeOrEqualTo(seen.get(i - 1).getCreatedAt());
+        }
+
+        assertThrows(InvalidCursorException.class,
+                () -> accountService.getTransactionPage(accountId, "not-a-cursor", 2));
+    }
+
+    @Nested
+    @DisplayName("ledger")
+    @Transactional
+    class Ledger {
+
+        @Test
+        @DisplayName("journal: every money movement posts balanced entries that add up to the account")
+        @Transactional
+        void postings_balance_andMatchAccount() {
+            accountService.deposit(accountId, new BigDecimal("80.00"));
+            accountService.placeHold(accountId, auctionId, new BigDecimal("30.00"));
+            accountService.withdraw(accountId, new BigDecimal("20.00"));
+
+            var ledger = ledgerService.balanceOf(accountId);
+            assertThat(ledger.getBalance()).isEqualByComparingTo(accountService.getBalance(accountId));
+            assertThat(ledger.getBalance()).isEqualByComparingTo("60.00");
+            assertThat(ledger.getHeld()).isEqualByComparingTo("30.00");
+            assertThat(ledger.getCash()).isEqualByComparingTo(accountService.getAvailable(accountId));
+
+            accountService.releaseHold(accountId, auctionId);
+            ledger = ledgerService.balanceOf(accountId);
+            assertThat(ledger.getHeld()).isEqualByComparingTo("0.00");
+            assertThat(ledger.getCash()).isEqualByComparingTo("60.00");
+
+            // double entry: the lines of each journal sum to zero
+            var entries = ledgerEntryRepository.findByAccountIdOrderByEntryId(accountId);
+            assertThat(entries).isNotEmpty();
+            var journals = entries.stream().map(LedgerEntry::getJournalId).collect(Collectors.toSet());
+            for (var journalId : journals) {
+                var total = ledgerEntryRepository.findByJournalIdOrderByEntryId(journalId).stream()
+                        .map(LedgerEntry::getAmount)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add);
+                assertThat(total).isEqualByComparingTo("0");
+            }
+        }
+
+        @Test
+        @DisplayName("forfeitHold: takes the held amount off the balance and the ledger")
+        @Transactional
+        void forfeitHold_debitsBalance() {
+            accountService.deposit(accountId, new BigDecimal("50.00"));
+            accountService.placeHold(accountId, auctionId, new BigDecimal("10.00"));
+
+            accountService.forfeitHold(accountId, auctionId);
+
+            assertThat(accountService.getBalance(accountId)).isEqualByComparingTo("40.00");
+            assertThat(accountService.getAvailable(accountId)).isEqualByComparingTo("40.00");
+            var ledger = ledgerService.balanceOf(accountId);
+            assertThat(ledger.getBalance()).isEqualByComparingTo("40.00");
+            assertThat(ledger.getHeld()).isEqualByComparingTo("0.00");
+        }
+
+        @Test
+        @DisplayName("rebuild: restores a tampered balance from the journal and snapshots it")
+        @Transactional
+        void rebuild_restoresBalanceFromJournal() {
+            accountService.deposit(accountId, new BigDecimal("70.00"));
+            accountService.placeHold(accountId, auctionId, new BigDecimal("15.00"));
+            accountRepository.overwriteBalances(accountId, new BigDecimal("999.00"), BigDecimal.ZERO);
+
+            var result = ledgerService.rebuild(accountId);
+
+            assertThat(result.isChanged()).isTrue();
+            assertThat(result.getBalanceBefore()).isEqualByComparingTo("999.00");
+            assertThat(result.getBalanceAfter()).isEqualByComparingTo("70.00");
+            assertThat(result.getHeldAfter()).isEqualByComparingTo("15.00");
+            assertThat(accountService.getBalance(accountId)).isEqualByComparingTo("70.00");
+            assertThat(accountService.getAvailable(accountId)).isEqualByComparingTo("55.00");
+
+            // the snapshot plus an empty tail gives the same balance
+            accountService.withdraw(accountId, new BigDecimal("5.00"));
+            assertThat(ledgerService.balanceOf(accountId).getBalance()).isEqualByComparingTo("65.00");
+            assertThat(ledgerService.rebuild(accountId).isChanged()).isFalse();
+        }
     }
 
     @Test
@@ -0,0 +1,240 @@
+package com.voti.pawction.services.wallet;
+
+import com.voti.pawction.dtos.response.LedgerDiscrepancy;
+import com.voti.pawction.entities.User;
+import com.voti.pawction.entities.auction.Auction;
+import com.voti.pawction.entities.auction.enums.Auction_Status;
+import com.voti.pawction.entities.pet.Pet;
+import com.voti.pawction.entities.pet.enums.Allergy;
+import com.voti.pawction.entities.pet.enums.Category;
+import com.voti.pawction.entities.pet.enums.Sex;
+import com.voti.pawction.entities.pet.enums.Size;
+import com.voti.pawction.entities.wallet.Account;
+import com.voti.pawction.repositories.UserRepository;
+import com.voti.pawction.repositories.auction.AuctionRepository;
+import com.voti.pawction.repositories.pet.PetRepository;
+import com.voti.pawction.repositories.wallet.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// not @Transactional: the ranges are read on their own connections and only see committed rows
+@SpringBootTest(properties = {"ledger.reconcile-range-size=1", "ledger.reconcile-parallelism=2"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class LedgerReconciliationServiceTest {
+
+    @Autowired private LedgerReconciliationService reconciliationService;
+    @Autowired private AccountService accountService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private PetRepository petRepository;
+    @Autowired private AuctionRepository auctionRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Long firstId;
+    private Long secondId;
+
+    // rows committed by a test, removed afterwards so later tests and classes start clean
+    private final List<Long> accountIds = new ArrayList<>();
+    private final List<Long> auctionIds = new ArrayList<>();
+    private final List<Long> petIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        firstId = newAccount();
+        secondId = newAccount();
+
+        accountService.deposit(firstId, new BigDecimal("50.00"));
+        accountService.withdraw(firstId, new BigDecimal("20.00"));
+        accountService.deposit(secondId, new BigDecimal("15.00"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteWhere("ledger_snapshot", "account_id", accountIds);
+        deleteWhere("ledger_entry", "account_id", accountIds);
+        deleteWhere("ledger_entry", "auction_id", auctionIds);
+        deleteWhere("transaction", "account_id", accountIds);
+        deleteWhere("deposit_hold", "account_id", accountIds);
+        deleteWhere("auction", "auction_id", auctionIds);
+        deleteWhere("pet", "pet_id", petIds);
+        deleteWhere("account", "account_id", accountIds);
+        deleteWhere("user", "user_id", accountIds);
+    }
+
+    private void deleteWhere(String table, String column, List<Long> ids) {
+        for (var id : ids) {
+            jdbcTemplate.update("delete from `" + table + "` where " + column + " = ?", id);
+        }
+    }
+
+    private Long newAccount() {
+        User u = new User();
+        u.setName("Reconcile User");
+        u.setEmail("reconcile." + UUID.randomUUID() + "@example.com");
+        u.setPasswordHash("secret");
+        u = userRepository.save(u);
+
+        Account a = new Account();
+        a.setBalance(BigDecimal.ZERO);
+        a.setCreatedAt(LocalDateTime.now());
+        a.setUser(u);
+        var accountId = accountRepository.save(a).getAccountId();
+        accountIds.add(accountId);
+        return accountId;
+    }
+
+    /** A LIVE auction sold by the first account, for holds to be placed on. */
+    private Long newAuction() {
+        User seller = userRepository.findById(firstId).orElseThrow();
+
+        Pet pet = new Pet();
+        pet.setOwner(seller);
+        pet.setPetName("Ledger Pet");
+        pet.setPetAgeMonths(12);
+        pet.setPetSex(Sex.M);
+        pet.setPetWeight(10.0);
+        pet.setPetCategory(Category.Dog);
+        pet.setDogBreed("Beagle");
+        pet.setDogSize(Size.MEDIUM);
+        pet.setDogTemperament("Friendly");
+        pet.setDogIsHypoallergenic(Allergy.UNKNOWN);
+        pet.setPrimaryPhotoUrl("notfound");
+        pet = petRepository.save(pet);
+        petIds.add(pet.getPetId());
+
+        LocalDateTime now = LocalDateTime.now();
+        Auction auction = new Auction();
+        auction.setStartPrice(new BigDecimal("10.00"));
+        auction.setHighestBid(new BigDecimal("10.00"));
+        auction.setDescription("Reconcile auction");
+        auction.setStatus(Auction_Status.LIVE);
+        auction.setCreatedAt(now);
+        auction.setUpdatedAt(now);
+        auction.setEndTime(now.plusDays(1));
+        auction.setSellingUser(seller);
+        auction.setPet(pet);
+        var auctionId = auctionRepository.save(auction).getAuctionId();
+        auctionIds.add(auctionId);
+        return auctionId;
+    }
+
+    @Test
+    @DisplayName("reconcile: accounts changed only through the service are clean")
+    void reconcile_consistentAccounts_clean() {
+        var report = reconciliationService.reconcile(firstId, secondId);
+
+        assertThat(report.isClean()).isTrue();
+        assertThat(report.getAccountsChecked()).isEqualTo(secondId - firstId + 1);
+        assertThat(report.getRanges()).isEqualTo((int) (secondId - firstId + 1));
+    }
+
+    @Test
+    @DisplayName("reconcile: a balance changed behind the ledger is reported against journal and transactions")
+    void reconcile_tamperedBalance_reported() {
+        jdbcTemplate.update("update account set balance = balance + 7 where account_id = ?", secondId);
+
+        var report = reconciliationService.reconcile(firstId, secondId);
+
+        assertThat(report.isClean()).isFalse();
+        assertThat(report.getDiscrepancies())
+                .allMatch(d -> d.getAccountId().equals(secondId))
+                .extracting(LedgerDiscrepancy::getKind)
+                .containsExactlyInAnyOrder(LedgerDiscrepancy.Kind.BALANCE_VS_LEDGER,
+                        LedgerDiscrepancy.Kind.BALANCE_VS_TRANSACTIONS);
+        assertThat(report.getDiscrepancies()).allSatisfy(d -> {
+            assertThat(d.getExpected()).isEqualByComparingTo("15.00");
+            assertThat(d.getActual()).isEqualByComparingTo("22.00");
+        });
+    }
+
+    @Test
+    @DisplayName("reconcile: a snapshot disagreeing with the journal below it is reported")
+    void reconcile_snapshotBehindJournal_reported() {
+        // as if the snapshot had been written 5.00 short of the journal it covers
+        jdbcTemplate.update("""
+                insert into ledger_snapshot (account_id, last_entry_id, cash, held, taken_at)
+                select account_id, max(entry_id), sum(amount) - 5, 0, now()
+                from ledger_entry
+                where account_id = ?
+                group by account_id""", secondId);
+
+        var report = reconciliationService.reconcile(firstId, secondId);
+
+        assertThat(report.getDiscrepancies()).singleElement().satisfies(d -> {
+            assertThat(d.getKind()).isEqualTo(LedgerDiscrepancy.Kind.SNAPSHOT_VS_LEDGER);
+            assertThat(d.getAccountId()).isEqualTo(secondId);
+            assertThat(d.getExpected()).isEqualByComparingTo("15.00");
+            assertThat(d.getActual()).isEqualByComparingTo("10.00");
+        });
+    }
+
+    @Test
+    @DisplayName("reconcile: a hold amount changed behind the account is reported against held_total")
+    void reconcile_tamperedHold_reportedAgainstHolds() {
+        Long auctionId = newAuction();
+        accountService.placeHold(secondId, auctionId, new BigDecimal("5.00"));
+        jdbcTemplate.update("update deposit_hold set amount = amount + 2 where account_id = ? and auction_id = ?",
+                secondId, auctionId);
+
+        var report = reconciliationService.reconcile(firstId, secondId);
+
+        assertThat(report.getDiscrepancies()).singleElement().satisfies(d -> {
+            assertThat(d.getKind()).isEqualTo(LedgerDiscrepancy.Kind.HELD_VS_HOLDS);
+            assertThat(d.getAccountId()).isEqualTo(secondId);
+            assertThat(d.getExpected()).isEqualByComparingTo("7.00");
+            assertThat(d.getActual()).isEqualByComparingTo("5.00");
+        });
+    }
+
+    @Test
+    @DisplayName("reconcile: a hold raised without a posting is reported against the journal only")
+    void reconcile_unpostedHoldChange_reportedAgainstLedger() {
+        Long auctionId = newAuction();
+        accountService.placeHold(secondId, auctionId, new BigDecimal("5.00"));
+        // hold and held_total agree with each other, but no HOLD line records the extra 3.00
+        jdbcTemplate.update("update deposit_hold set amount = amount + 3 where account_id = ? and auction_id = ?",
+                secondId, auctionId);
+        jdbcTemplate.update("update account set held_total = held_total + 3 where account_id = ?", secondId);
+
+        var report = reconciliationService.reconcile(firstId, secondId);
+
+        assertThat(report.getDiscrepancies()).singleElement().satisfies(d -> {
+            assertThat(d.getKind()).isEqualTo(LedgerDiscrepancy.Kind.HELD_VS_LEDGER);
+            assertThat(d.getAccountId()).isEqualTo(secondId);
+            assertThat(d.getExpected()).isEqualByComparingTo("5.00");
+            assertThat(d.getActual()).isEqualByComparingTo("8.00");
+        });
+    }
+
+    @Test
+    @DisplayName("reconcile: a hold left HELD on a settled auction is reported with the hold")
+    void reconcile_holdOnSettledAuction_reported() {
+        Long auctionId = newAuction();
+        Long holdId = accountService.placeHold(secondId, auctionId, new BigDecimal("5.00")).getHoldId();
+        jdbcTemplate.update("update auction set status = 'SETTLED' where auction_id = ?", auctionId);
+
+        var report = reconciliationService.reconcile(firstId, secondId);
+
+        assertThat(report.getDiscrepancies()).singleElement().satisfies(d -> {
+            assertThat(d.getKind()).isEqualTo(LedgerDiscrepancy.Kind.HOLD_ON_CLOSED_AUCTION);
+            assertThat(d.getAccountId()).isEqualTo(secondId);
+            assertThat(d.getHoldId()).isEqualTo(holdId);
+            assertThat(d.getAuctionId()).isEqualTo(auctionId);
+            assertThat(d.getActual()).isEqualByComparingTo("5.00");
+        });
+    }
+}
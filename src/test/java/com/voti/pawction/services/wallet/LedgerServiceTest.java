@@ -0,0 +1,114 @@
+package com.voti.pawction.services.wallet;
+
+import com.voti.pawction.entities.User;
+import com.voti.pawction.entities.wallet.Account;
+import com.voti.pawction.repositories.UserRepository;
+import com.voti.pawction.repositories.wallet.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// not @Transactional: the posting and the snapshot run on their own connections and commit
+@SpringBootTest(properties = "ledger.snapshot-min-entries=1")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class LedgerServiceTest {
+
+    @Autowired private LedgerService ledgerService;
+    @Autowired private AccountService accountService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    // rows committed by a test, removed afterwards so later tests and classes start clean
+    private final List<Long> accountIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        deleteWhere("ledger_snapshot", "account_id", accountIds);
+        deleteWhere("ledger_entry", "account_id", accountIds);
+        deleteWhere("transaction", "account_id", accountIds);
+        deleteWhere("account", "account_id", accountIds);
+        deleteWhere("user", "user_id", accountIds);
+    }
+
+    private void deleteWhere(String table, String column, List<Long> ids) {
+        for (var id : ids) {
+            jdbcTemplate.update("delete from `" + table + "` where " + column + " = ?", id);
+        }
+    }
+
+    private Long newAccount() {
+        User u = new User();
+        u.setName("Ledger User");
+        u.setEmail("ledger." + UUID.randomUUID() + "@example.com");
+        u.setPasswordHash("secret");
+        u = userRepository.save(u);
+
+        Account a = new Account();
+        a.setBalance(BigDecimal.ZERO);
+        a.setCreatedAt(LocalDateTime.now());
+        a.setUser(u);
+        var accountId = accountRepository.save(a).getAccountId();
+        accountIds.add(accountId);
+        return accountId;
+    }
+
+    @Test
+    @DisplayName("takeSnapshots: a posting still open when the run starts is covered once it commits")
+    void takeSnapshots_postingCommitsAfterStart_notSkipped() throws Exception {
+        var accountId = newAccount();
+        accountService.deposit(accountId, new BigDecimal("10.00"));
+
+        var posted = new CountDownLatch(1);
+        var commit = new CountDownLatch(1);
+        var writer = CompletableFuture.runAsync(() -> new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> {
+                    accountService.deposit(accountId, new BigDecimal("5.00"));
+                    posted.countDown();
+                    try {
+                        commit.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertThat(posted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // the account is due from the committed deposit, but its row is locked by the open one
+        var snapshots = CompletableFuture.supplyAsync(ledgerService::takeSnapshots);
+        assertThatThrownBy(() -> snapshots.get(500, TimeUnit.MILLISECONDS))
+                .isInstanceOf(TimeoutException.class);
+
+        commit.countDown();
+        writer.get(10, TimeUnit.SECONDS);
+        assertThat(snapshots.get(10, TimeUnit.SECONDS)).isPositive();
+
+        var lastEntryId = jdbcTemplate.queryForObject(
+                "select max(entry_id) from ledger_entry where account_id = ?", Long.class, accountId);
+        var snapshotEntryId = jdbcTemplate.queryForObject(
+                "select max(last_entry_id) from ledger_snapshot where account_id = ?", Long.class, accountId);
+        assertThat(snapshotEntryId).isEqualTo(lastEntryId);
+
+        assertThat(ledgerService.balanceOf(accountId).getBalance()).isEqualByComparingTo("15.00");
+        assertThat(accountService.getBalance(accountId)).isEqualByComparingTo("15.00");
+    }
+}
@@ -0,0 +1,139 @@
+package com.voti.pawction.services.wallet;
+
+import com.voti.pawction.config.StatementExportProperties;
+import com.voti.pawction.entities.User;
+import com.voti.pawction.entities.wallet.Account;
+import com.voti.pawction.exceptions.AccountExceptions.StatementExportBusyException;
+import com.voti.pawction.repositories.UserRepository;
+import com.voti.pawction.repositories.wallet.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// not @Transactional: the export streams on its own connection and only sees committed rows
+@SpringBootTest(properties = "statement.export.max-concurrent-exports=1")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class StatementExportServiceTest {
+
+    @Autowired private StatementExportService statementExportService;
+    @Autowired private AccountService accountService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private AccountRepository accountRepository;
+
+    private Long accountId;
+
+    @BeforeEach
+    void setUp() {
+        User u = new User();
+        u.setName("Statement User");
+        u.setEmail("statement." + UUID.randomUUID() + "@example.com");
+        u.setPasswordHash("secret");
+        u = userRepository.save(u);
+
+        Account a = new Account();
+        a.setBalance(BigDecimal.ZERO);
+        a.setCreatedAt(LocalDateTime.now());
+        a.setUser(u);
+        accountId = accountRepository.save(a).getAccountId();
+
+        accountService.deposit(accountId, new BigDecimal("40.00"));
+        accountService.deposit(accountId, new BigDecimal("10.00"));
+        accountService.withdraw(accountId, new BigDecimal("5.00"));
+    }
+
+    @Test
+    @DisplayName("export CSV: header plus one line per row of the account, oldest first")
+    void exportCsv_account() throws Exception {
+        var out = new ByteArrayOutputStream();
+        var today = LocalDate.now();
+
+        long rows = statementExportService.export(accountId, today.minusDays(1), today.plusDays(1),
+                StatementExportProperties.Format.CSV, false, out);
+
+        var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(3);
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).isEqualTo(String.join(",", StatementExportService.COLUMNS));
+        assertThat(lines[1]).startsWith("TRANSACTION,").contains("," + accountId + ",DEPOSIT,");
+        assertThat(lines[3]).contains(",WITHDRAWAL,5.0000,");
+    }
+
+    @Test
+    @DisplayName("export NDJSON gzip: one object per line; a range without rows is empty")
+    void exportNdjsonGzip_andEmptyRange() throws Exception {
+        var out = new ByteArrayOutputStream();
+
+        long rows = statementExportService.export(accountId, null, null,
+                StatementExportProperties.Format.NDJSON, true, out);
+
+        String text;
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertThat(rows).isEqualTo(3);
+        assertThat(text.split("\n")).hasSize(3)
+                .allSatisfy(line -> assertThat(line).startsWith("{\"record\":\"TRANSACTION\"")
+                        .contains("\"accountId\":" + accountId));
+
+        var empty = new ByteArrayOutputStream();
+        var past = LocalDate.now().minusYears(1);
+        assertThat(statementExportService.export(accountId, past, past,
+                StatementExportProperties.Format.NDJSON, false, empty)).isZero();
+        assertThat(empty.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("export: beyond max-concurrent-exports a download is turned away, not queued")
+    void export_overLimit_busy() throws Exception {
+        var writing = new CountDownLatch(1);
+        var proceed = new CountDownLatch(1);
+        // a slow client: the first export stalls while writing out its rows
+        var slow = new OutputStream() {
+            @Override
+            public void write(int b) {
+                writing.countDown();
+                try {
+                    proceed.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        var first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return statementExportService.export(accountId, null, null,
+                        StatementExportProperties.Format.CSV, false, slow);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThrows(StatementExportBusyException.class, () -> statementExportService.export(accountId, null, null,
+                StatementExportProperties.Format.CSV, false, new ByteArrayOutputStream()));
+
+        proceed.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(3);
+        assertThat(statementExportService.export(accountId, null, null,
+                StatementExportProperties.Format.CSV, false, new ByteArrayOutputStream())).isEqualTo(3);
+    }
+}